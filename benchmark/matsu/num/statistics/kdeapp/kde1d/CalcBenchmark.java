@@ -0,0 +1,112 @@
+/*
+ * Copyright © 2026 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+/*
+ * 2026.10.18
+ */
+package matsu.num.statistics.kdeapp.kde1d;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import matsu.num.statistics.kdeapp.kde1d.command.GridPoints;
+
+/**
+ * 推定 (評価エンジン) のベンチマーク.
+ * 
+ * <p>
+ * {@code exact} エンジンのグリッド点数はライブラリが決定するので,
+ * {@code exact} は {@code gridSize} を持たない別の状態 ({@link ExactState}) で測定し,
+ * {@code gridSize} と組み合わせるのはグリッドを指定するエンジン ({@link GridState}) に限る. <br>
+ * {@code sampleSize} の既定値は 10^7 までであり,
+ * 10^8 は {@code -p sampleSize=100000000} により明示的に指定する
+ * (ヒープの既定値は 4 GB であるので, {@code -jvmArgsAppend -Xmx16g} などを併せて指定する).
+ * </p>
+ * 
+ * @author Matsuura Y.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = { "-Xmx4g" })
+public class CalcBenchmark {
+
+    /**
+     * {@code exact} エンジンの状態.
+     */
+    @State(Scope.Benchmark)
+    public static class ExactState {
+
+        @Param({ "1000", "100000", "10000000" })
+        public int sampleSize;
+
+        private Kde1dSource source;
+        private Kde1dCalculator calculator;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            source = Kde1dSource.of(SyntheticSources.gaussianMixture(sampleSize));
+            calculator = new GaussianStandardKde1dCalculator();
+        }
+    }
+
+    /**
+     * グリッド点数を指定するエンジンの状態.
+     */
+    @State(Scope.Benchmark)
+    public static class GridState {
+
+        @Param({ "1000", "100000", "10000000" })
+        public int sampleSize;
+
+        @Param({ "256", "1024", "4096" })
+        public int gridSize;
+
+        @Param({ "direct", "truncated", "binned" })
+        public String engine;
+
+        private Kde1dSource source;
+        private Kde1dCalculator calculator;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            source = Kde1dSource.of(SyntheticSources.gaussianMixture(sampleSize));
+            calculator = switch (engine) {
+                case "direct" -> new GaussianDirectKde1dCalculator(
+                        gridSize, Runtime.getRuntime().availableProcessors());
+                case "truncated" -> new GaussianTruncatedKde1dCalculator(
+                        GridPoints.fixed(gridSize), GaussianTruncatedKde1dCalculator.DEFAULT_CUTOFF,
+                        Runtime.getRuntime().availableProcessors());
+                case "binned" -> new GaussianBinnedKde1dCalculator(gridSize);
+                default -> throw new IllegalArgumentException("unknown engine: " + engine);
+            };
+        }
+    }
+
+    @Benchmark
+    public WritableKde1dResult exact(ExactState state) {
+        return state.calculator.calc(state.source);
+    }
+
+    @Benchmark
+    public WritableKde1dResult grid(GridState state) {
+        return state.calculator.calc(state.source);
+    }
+}
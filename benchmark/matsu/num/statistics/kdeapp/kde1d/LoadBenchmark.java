@@ -0,0 +1,94 @@
+/*
+ * Copyright © 2026 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+/*
+ * 2026.10.18
+ */
+package matsu.num.statistics.kdeapp.kde1d;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * 入力ファイルのロードのベンチマーク.
+ * 
+ * <p>
+ * 行ストリームによるローダー ({@link DoubleDataLoader}) と,
+ * バイト列を直接解析するローダー ({@link Kde1dSourceLoader#text(String, int, String...)}) と,
+ * バイナリ形式をメモリマップするローダー ({@link Kde1dSourceLoader#headeredBinary(String, int)})
+ * を比較する. <br>
+ * gzip 形式で圧縮したテキストの, 展開と解析を重ねたロードも測定する. <br>
+ * {@code sampleSize} の既定値は 10^7 までであり,
+ * 10^8 は {@code -p sampleSize=100000000} により明示的に指定する
+ * (ヒープの既定値は 4 GB であるので, {@code -jvmArgsAppend -Xmx16g} などを併せて指定する).
+ * </p>
+ * 
+ * @author Matsuura Y.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = { "-Xmx4g" })
+public class LoadBenchmark {
+
+    @Param({ "1000", "100000", "10000000" })
+    public int sampleSize;
+
+    private Path inputFile;
+    private Path binaryInputFile;
+    private Path gzipInputFile;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        double[] source = SyntheticSources.gaussianMixture(sampleSize);
+        inputFile = SyntheticSources.writeTemporaryInputFile(source);
+        binaryInputFile = SyntheticSources.writeTemporaryBinaryInputFile(source);
+        gzipInputFile = SyntheticSources.writeTemporaryGzipFile(inputFile);
+    }
+
+    @Benchmark
+    public double[] lineStreamLoader() throws IOException {
+        DoubleDataLoader loader = new DoubleDataLoader(new DoubleLineParser(List.of("#")));
+        return loader.load(() -> Files.lines(inputFile));
+    }
+
+    @Benchmark
+    public Kde1dSource byteChannelLoader() {
+        return Kde1dSourceLoader.text(
+                inputFile.toString(), Runtime.getRuntime().availableProcessors(), "#").load();
+    }
+
+    @Benchmark
+    public Kde1dSource gzipTextLoader() {
+        return Kde1dSourceLoader.text(
+                gzipInputFile.toString(), Runtime.getRuntime().availableProcessors(), "#").load();
+    }
+
+    @Benchmark
+    public Kde1dSource mappedBinaryLoader() {
+        return Kde1dSourceLoader.headeredBinary(
+                binaryInputFile.toString(), Runtime.getRuntime().availableProcessors()).load();
+    }
+}
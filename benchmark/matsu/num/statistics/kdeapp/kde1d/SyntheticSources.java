@@ -0,0 +1,155 @@
+/*
+ * Copyright © 2026 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+/*
+ * 2026.10.18
+ */
+package matsu.num.statistics.kdeapp.kde1d;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.SplittableRandom;
+import java.util.zip.GZIPOutputStream;
+
+import matsu.num.statistics.kdeapp.kde1d.binary.Kde1dBinarySamples;
+
+/**
+ * ベンチマーク用の合成データの生成器.
+ * 
+ * <p>
+ * 乱数のシードは固定であり, 同じ引数に対して常に同じデータを生成する.
+ * </p>
+ * 
+ * @author Matsuura Y.
+ */
+final class SyntheticSources {
+
+    private static final long SEED = 0x5EEDL;
+
+    private SyntheticSources() {
+        // インスタンス化不可
+        throw new AssertionError();
+    }
+
+    /**
+     * 2個の正規分布の混合 (重み 2:1, 平均 0 と 4, 標準偏差 1) に従うサンプルを生成する.
+     * 
+     * @param size サンプル数
+     * @return サンプル
+     * @throws IllegalArgumentException サンプル数が負の場合
+     */
+    static double[] gaussianMixture(int size) {
+        if (size < 0) {
+            throw new IllegalArgumentException("illegal size: " + size);
+        }
+        SplittableRandom random = new SplittableRandom(SEED);
+        double[] out = new double[size];
+        for (int i = 0; i < size; i++) {
+            out[i] = gaussian(random) + (random.nextInt(3) == 0 ? 4d : 0d);
+        }
+        return out;
+    }
+
+    /**
+     * 標準正規分布の確率密度を, 与えたグリッド上で計算する.
+     * 
+     * @param grid グリッド
+     * @return 各グリッド点での密度
+     */
+    static double[] standardNormalDensity(EvaluationGrid grid) {
+        double[] out = new double[grid.size()];
+        for (int i = 0; i < out.length; i++) {
+            double x = grid.x(i);
+            out[i] = Math.exp(-0.5 * x * x) / Math.sqrt(2 * Math.PI);
+        }
+        return out;
+    }
+
+    /**
+     * サンプルを, 入力ファイル形式 (先頭にコメント行, 1行1値) で一時ファイルに書き出す.
+     * 
+     * <p>
+     * ファイルはJVM終了時に削除される.
+     * </p>
+     * 
+     * @param source サンプル
+     * @return 一時ファイルのパス
+     * @throws IOException 書き出しに失敗した場合
+     */
+    static Path writeTemporaryInputFile(double[] source) throws IOException {
+        Path file = Files.createTempFile("kde1d-benchmark", ".txt");
+        file.toFile().deleteOnExit();
+        try (BufferedWriter writer =
+                Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("# synthetic source: " + source.length);
+            writer.newLine();
+            for (double v : source) {
+                writer.write(Double.toString(v));
+                writer.newLine();
+            }
+        }
+        return file;
+    }
+
+    /**
+     * サンプルを, ヘッダ付きのバイナリ形式 (リトルエンディアン) で一時ファイルに書き出す.
+     * 
+     * <p>
+     * ファイルはJVM終了時に削除される.
+     * </p>
+     * 
+     * @param source サンプル
+     * @return 一時ファイルのパス
+     * @throws IOException 書き出しに失敗した場合
+     */
+    static Path writeTemporaryBinaryInputFile(double[] source) throws IOException {
+        Path file = Files.createTempFile("kde1d-benchmark", ".bin");
+        file.toFile().deleteOnExit();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            Kde1dBinarySamples.write(channel, source, ByteOrder.LITTLE_ENDIAN);
+        }
+        return file;
+    }
+
+    /**
+     * ファイルを gzip 形式で圧縮した一時ファイルを書き出す.
+     * 
+     * <p>
+     * ファイルはJVM終了時に削除される.
+     * </p>
+     * 
+     * @param source 圧縮するファイル
+     * @return 一時ファイルのパス
+     * @throws IOException 書き出しに失敗した場合
+     */
+    static Path writeTemporaryGzipFile(Path source) throws IOException {
+        Path file = Files.createTempFile("kde1d-benchmark", ".gz");
+        file.toFile().deleteOnExit();
+        try (InputStream in = Files.newInputStream(source);
+                OutputStream out = new GZIPOutputStream(Files.newOutputStream(file), 1 << 16)) {
+            in.transferTo(out);
+        }
+        return file;
+    }
+
+    /**
+     * Box-Muller 法による標準正規乱数.
+     */
+    private static double gaussian(SplittableRandom random) {
+        double u = 1d - random.nextDouble();
+        double v = random.nextDouble();
+        return Math.sqrt(-2 * Math.log(u)) * Math.cos(2 * Math.PI * v);
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright © 2026 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+/*
+ * 2026.10.18
+ */
+package matsu.num.statistics.kdeapp.kde1d;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import matsu.num.statistics.kerneldensity.GaussianKd1D;
+import matsu.num.statistics.kerneldensity.Range;
+import matsu.num.statistics.kerneldensity.output.FormattableKdeResult1D;
+
+/**
+ * 結果の書き出しのベンチマーク.
+ * 
+ * <p>
+ * {@link WritableKde1dResult#write(PrintWriter, WritingFormatter)} (行ごとの文字列を経由) と
+ * {@link WritableKde1dResult#write(DelimitedTextWriter, WritingFormatter)} (バイト列バッファへの直接書き込み)
+ * を比較する. <br>
+ * 書き出し先は何もしない {@link Writer}, {@link OutputStream} であり, フォーマットのコストのみを測定する.
+ * </p>
+ * 
+ * <p>
+ * 既定の評価エンジン ({@code exact}) の結果は, ライブラリの結果をグリッド点と密度の配列に変換してから書き出す. <br>
+ * {@link #writeDelimitedExact(ExactState)} は, この変換 (ライブラリによる行ごとの文字列の生成と解析) を含めて測定する
+ * (グリッド点数はライブラリが決定するので, サンプル数をパラメータとする).
+ * </p>
+ * 
+ * @author Matsuura Y.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class WriteBenchmark {
+
+    /**
+     * グリッド上で評価された結果の状態.
+     */
+    @State(Scope.Benchmark)
+    public static class GridState {
+
+        @Param({ "256", "1024", "4096", "65536", "1048576" })
+        public int gridSize;
+
+        @Param({ "false", "true" })
+        public boolean label;
+
+        private WritableKde1dResult result;
+        private WritingFormatter formatter;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            EvaluationGrid grid = EvaluationGrid.of(-5d, 5d, gridSize);
+            result = WritableKde1dResult.of(grid, SyntheticSources.standardNormalDensity(grid));
+            formatter = formatter(label);
+        }
+    }
+
+    /**
+     * ライブラリによる ({@code exact} エンジンの) 結果の状態.
+     */
+    @State(Scope.Benchmark)
+    public static class ExactState {
+
+        @Param({ "1000", "100000" })
+        public int sampleSize;
+
+        @Param({ "false", "true" })
+        public boolean label;
+
+        private FormattableKdeResult1D kdeResult;
+        private WritingFormatter formatter;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            double[] samples = SyntheticSources.gaussianMixture(sampleSize);
+            SampleSummary summary = SampleSummary.of(samples);
+            kdeResult = FormattableKdeResult1D.evaluate(
+                    GaussianKd1D.Factory.withDefaultRule().createOf(samples),
+                    Range.of(summary.min(), summary.max()));
+            formatter = formatter(label);
+        }
+    }
+
+    private static WritingFormatter formatter(boolean label) {
+        WritingFormatter.Builder builder = new WritingFormatter.Builder();
+        return (label ? builder.enableLabel('#') : builder.disableLabel()).build();
+    }
+
+    @Benchmark
+    public boolean write(GridState state) {
+        return state.result.write(new PrintWriter(Writer.nullWriter()), state.formatter);
+    }
+
+    @Benchmark
+    public void writeDelimited(GridState state) throws IOException {
+        state.result.write(
+                new DelimitedTextWriter(OutputStream.nullOutputStream(), StandardCharsets.UTF_8),
+                state.formatter);
+    }
+
+    @Benchmark
+    public void writeDelimitedExact(ExactState state) throws IOException {
+        WritableKde1dResult.of(state.kdeResult).write(
+                new DelimitedTextWriter(OutputStream.nullOutputStream(), StandardCharsets.UTF_8),
+                state.formatter);
+    }
+}
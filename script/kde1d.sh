@@ -8,6 +8,31 @@ MODULE_PATH="$ROOT_PATH;$LIB_PATH;"
 MODULE_NAME=matsu.num.Statistics.KdeApp
 MAIN_CLASS=matsu.num.statistics.kdeapp.kde1d.Kde1dCliEntryPoint
 
+# ===== execute (client) =====
+# KDE1D_SOCKET が起動中のサーバー (kde1d-server.sh) のソケットを指す場合, 要求を送信する.
+# 標準入力 (-f -) はサーバーに送信できないので, その場合はこのプロセスで実行する.
+use_server=
+if [ -n "$KDE1D_SOCKET" ] && [ -S "$KDE1D_SOCKET" ] && command -v nc >/dev/null 2>&1; then
+  use_server=1
+  for arg in "$@"; do
+    if [ "$arg" = "-" ]; then
+      use_server=
+    fi
+  done
+fi
+if [ -n "$use_server" ]; then
+  {
+    printf 'KDE1D/1\n%s\n%s\n' "$PWD" "$#"
+    for arg in "$@"; do
+      printf '%s\n' "$arg"
+    done
+  } | nc -U "$KDE1D_SOCKET" | awk -v prefix='@@kde1d-exit@@ ' '
+    index($0, prefix) == 1 { code = substr($0, length(prefix) + 1); found = 1; next }
+    { print; fflush() }
+    END { exit found ? code : 1 }'
+  exit $?
+fi
+
 # ===== execute =====
 exec java \
   -p "$MODULE_PATH" \
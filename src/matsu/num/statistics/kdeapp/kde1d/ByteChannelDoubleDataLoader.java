@@ -0,0 +1,979 @@
+/*
+ * Copyright © 2026 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+/*
+ * 2026.10.18
+ */
+package matsu.num.statistics.kdeapp.kde1d;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.CharacterCodingException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.DoubleConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * バイトチャネルから, {@code double} 値配列としてのデータソースを構築するローダー.
+ * 
+ * <p>
+ * チャネルの内容を再利用するバッファに読み込み, 1行ごとに
+ * {@link ByteLineDoubleParser} で解析する. <br>
+ * 行ごとの文字列や {@link java.util.OptionalDouble} を生成しないので,
+ * 巨大な入力においても GC の負荷が小さい.
+ * </p>
+ * 
+ * <p>
+ * 要約統計量 ({@link SampleSummary}) は, 解析と同時に計算される.
+ * </p>
+ * 
+ * <p>
+ * 行終端は {@code "\n"}, {@code "\r"}, {@code "\r\n"} のいずれかであり,
+ * {@link java.io.BufferedReader#readLine()} と同一である.
+ * </p>
+ * 
+ * <p>
+ * {@link FileChannel} からの読み込みは, ファイルを改行位置で揃えたバイト範囲に分割し,
+ * 複数のスレッドで並列に解析できる
+ * ({@link #load(IOSupplier, int)}). <br>
+ * 結果はファイル内の順序で連結され, 例外メッセージの行番号はファイル先頭からの行番号となる. <br>
+ * バイト範囲の分割はファイルサイズのみで定まり並列度によらないので,
+ * 要約統計量などのバイト範囲ごとの集計の併合結果は, 並列度によらずビット単位で一致する. <br>
+ * 値を配列に保持せず, バイト範囲ごとのシンクに渡すだけの走査
+ * ({@link #scan(IOSupplier, int, Supplier)}) も可能である.
+ * </p>
+ * 
+ * <p>
+ * 各行が値と重みの組である入力は, {@link #loadWeighted(IOSupplier)},
+ * {@link #loadWeighted(IOSupplier, int)} で重み付きのデータソースとして読み込む. <br>
+ * 各行が複数のフィールドからなる入力は, {@link #loadColumns(IOSupplier, int[])},
+ * {@link #loadColumns(IOSupplier, int[], int)} で, 1回の読み込みで列ごとのデータソースとして読み込む.
+ * </p>
+ * 
+ * @author Matsuura Y.
+ */
+final class ByteChannelDoubleDataLoader {
+
+    /**
+     * 読み込みバッファのデフォルトサイズ.
+     */
+    static final int DEFAULT_BUFFER_SIZE = 1 << 20;
+
+    /**
+     * 並列解析において, 1タスクが担当するバイト範囲の最小サイズのデフォルト値.
+     */
+    static final long DEFAULT_MIN_CHUNK_SIZE = 1L << 22;
+
+    /**
+     * 並列解析において, バイト範囲の個数の上限 (シンクの個数の上限).
+     */
+    private static final int MAX_CHUNKS = 256;
+
+    private final ByteLineDoubleParser parser;
+    private final int bufferSize;
+
+    /**
+     * バイト列を {@code double} 値に変換するパーサーを与えて,
+     * ローダーを構築する.
+     * 
+     * @param parser パーサー
+     * @throws NullPointerException 引数がnull
+     */
+    ByteChannelDoubleDataLoader(ByteLineDoubleParser parser) {
+        this(parser, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * 読み込みバッファの初期サイズを指定してローダーを構築する. <br>
+     * (主にテスト用)
+     * 
+     * <p>
+     * バッファに収まらない長さの行がある場合, バッファは拡張される.
+     * </p>
+     * 
+     * @param parser パーサー
+     * @param bufferSize 読み込みバッファの初期サイズ
+     * @throws IllegalArgumentException バッファサイズが正でない場合
+     * @throws NullPointerException 引数がnull
+     */
+    ByteChannelDoubleDataLoader(ByteLineDoubleParser parser, int bufferSize) {
+        super();
+        this.parser = Objects.requireNonNull(parser);
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("illegal buffer size: " + bufferSize);
+        }
+        this.bufferSize = bufferSize;
+    }
+
+    /**
+     * バイトチャネルから {@code double} 値を解析し,
+     * データソースとして返す.
+     * 
+     * <p>
+     * 実行には, チャネルのサプライヤ ({@link IOSupplier}) を渡す. <br>
+     * このメソッド内でチャネルが生成され, クローズ処理が実行される.
+     * </p>
+     * 
+     * @param channelSupplier supplier
+     * @return データソース
+     * @throws IOException {@link IOSupplier} によるチャネルの生成や読み込みで例外が発生した場合,
+     *             文字列フォーマットが不正の場合 (メッセージに行番号を含む)
+     * @throws NullPointerException 引数がnullの場合
+     */
+    Kde1dSource load(IOSupplier<? extends ReadableByteChannel> channelSupplier) throws IOException {
+        SourceBuilder builder = new SourceBuilder();
+        try (ReadableByteChannel channel = channelSupplier.get()) {
+            parse(channel, handler(builder));
+        } catch (LineFormatException e) {
+            throw e.withLineOffset(0L);
+        }
+        return builder.build();
+    }
+
+    /**
+     * バイトチャネルから値と重みの組を解析し,
+     * 重み付きのデータソースとして返す.
+     * 
+     * <p>
+     * 各行の形式は {@link ByteLineDoubleParser#parseWeighted} に従う. <br>
+     * その他の契約は {@link #load(IOSupplier)} と同一である.
+     * </p>
+     * 
+     * @param channelSupplier supplier
+     * @return 重み付きのデータソース
+     * @throws IOException {@link #load(IOSupplier)} に準じる
+     * @throws NullPointerException 引数がnullの場合
+     */
+    Kde1dSource loadWeighted(IOSupplier<? extends ReadableByteChannel> channelSupplier)
+            throws IOException {
+        WeightedSourceBuilder builder = new WeightedSourceBuilder();
+        try (ReadableByteChannel channel = channelSupplier.get()) {
+            parse(channel, weightedHandler(builder));
+        } catch (LineFormatException e) {
+            throw e.withLineOffset(0L);
+        }
+        return builder.build();
+    }
+
+    /**
+     * バイトチャネルから複数のフィールドからなる行を解析し,
+     * 指定したフィールドごとのデータソースとして返す.
+     * 
+     * <p>
+     * 各行の形式は {@link ByteLineDoubleParser#parseColumns} に従う. <br>
+     * 戻り値の {@code i} 番目の要素は, {@code fields[i]} 番目 (0始まり) のフィールドのデータソースである. <br>
+     * その他の契約は {@link #load(IOSupplier)} と同一である.
+     * </p>
+     * 
+     * @param channelSupplier supplier
+     * @param fields 抽出するフィールドの番号 (0始まり)
+     * @return フィールドごとのデータソース
+     * @throws IllegalArgumentException フィールドの番号が空の場合, 負の場合
+     * @throws IOException {@link #load(IOSupplier)} に準じる
+     * @throws NullPointerException 引数がnullの場合
+     */
+    List<Kde1dSource> loadColumns(
+            IOSupplier<? extends ReadableByteChannel> channelSupplier, int[] fields)
+            throws IOException {
+        int[] checkedFields = checkFields(fields);
+        ColumnsSourceBuilder builder = new ColumnsSourceBuilder(checkedFields.length);
+        try (ReadableByteChannel channel = channelSupplier.get()) {
+            parse(channel, columnsHandler(builder, checkedFields));
+        } catch (LineFormatException e) {
+            throw e.withLineOffset(0L);
+        }
+        return ColumnsSourceBuilder.concat(List.of(builder));
+    }
+
+    /**
+     * バイトチャネルから {@code double} 値を解析し,
+     * 値を保持せずに1個のシンクに渡す.
+     * 
+     * <p>
+     * 逐次的に読むことしかできないチャネル (圧縮ストリームなど) の走査に用いる. <br>
+     * 戻り値は, {@link #scan(IOSupplier, int, Supplier)} と揃えるため,
+     * 1個のシンクからなるリストである.
+     * </p>
+     * 
+     * @param <T> シンクの型
+     * @param channelSupplier supplier
+     * @param sinkFactory シンクのファクトリ
+     * @return 1個のシンクからなるリスト
+     * @throws IOException {@link #load(IOSupplier)} に準じる
+     * @throws NullPointerException 引数がnullの場合
+     */
+    <T extends DoubleConsumer> List<T> scan(
+            IOSupplier<? extends ReadableByteChannel> channelSupplier,
+            Supplier<? extends T> sinkFactory) throws IOException {
+        T sink = Objects.requireNonNull(sinkFactory.get());
+        try (ReadableByteChannel channel = channelSupplier.get()) {
+            parse(channel, handler(sink));
+        } catch (LineFormatException e) {
+            throw e.withLineOffset(0L);
+        }
+        return List.of(sink);
+    }
+
+    /**
+     * ファイルチャネルから {@code double} 値を並列に解析し,
+     * ファイル内の順序のデータソースとして返す.
+     * 
+     * <p>
+     * 契約は {@link #load(IOSupplier)} と同一である. <br>
+     * 並列度が1の場合, ファイルが小さい場合は, 呼び出しスレッドで逐次的に解析する.
+     * </p>
+     * 
+     * @param channelSupplier supplier
+     * @param parallelism 並列度
+     * @return データソース
+     * @throws IllegalArgumentException 並列度が1未満の場合
+     * @throws IOException {@link #load(IOSupplier)} に準じる
+     * @throws NullPointerException 引数がnullの場合
+     */
+    Kde1dSource load(IOSupplier<? extends FileChannel> channelSupplier, int parallelism)
+            throws IOException {
+        return load(channelSupplier, parallelism, DEFAULT_MIN_CHUNK_SIZE);
+    }
+
+    /**
+     * 1タスクが担当するバイト範囲の最小サイズを指定して,
+     * ファイルチャネルから {@code double} 値を並列に解析する. <br>
+     * (主にテスト用)
+     * 
+     * @param channelSupplier supplier
+     * @param parallelism 並列度
+     * @param minChunkSize 1タスクが担当するバイト範囲の最小サイズ
+     * @return データソース
+     * @throws IllegalArgumentException 並列度が1未満の場合, 最小サイズが正でない場合
+     * @throws IOException {@link #load(IOSupplier)} に準じる
+     * @throws NullPointerException 引数がnullの場合
+     */
+    Kde1dSource load(IOSupplier<? extends FileChannel> channelSupplier,
+            int parallelism, long minChunkSize) throws IOException {
+        return SourceBuilder.concat(
+                scan(channelSupplier, parallelism, minChunkSize, SourceBuilder::new));
+    }
+
+    /**
+     * ファイルのバイト範囲 {@code [from, to)} から {@code double} 値を並列に解析し,
+     * ファイル内の順序のデータソースとして返す.
+     * 
+     * <p>
+     * {@code from} は行の先頭でなければならない. <br>
+     * {@code to} がファイルサイズを超える場合, ファイルの終端までを解析する. <br>
+     * 例外メッセージの行番号は, {@code from} より前の行数 {@code lineOffset} を加えたものとなる. <br>
+     * その他の契約は {@link #load(IOSupplier, int)} と同一である.
+     * </p>
+     * 
+     * @param channelSupplier supplier
+     * @param from 範囲の開始位置
+     * @param to 範囲の終了位置 (この位置を含まない)
+     * @param lineOffset 範囲より前の行数
+     * @param parallelism 並列度
+     * @return データソース
+     * @throws IllegalArgumentException 範囲が不正な場合, 行数が負の場合, 並列度が1未満の場合
+     * @throws IOException {@link #load(IOSupplier)} に準じる
+     * @throws NullPointerException 引数がnullの場合
+     */
+    Kde1dSource load(IOSupplier<? extends FileChannel> channelSupplier,
+            long from, long to, long lineOffset, int parallelism) throws IOException {
+        if (from < 0 || to < from || lineOffset < 0) {
+            throw new IllegalArgumentException(
+                    "illegal range: [" + from + ", " + to + "), line offset: " + lineOffset);
+        }
+        return SourceBuilder.concat(
+                scanRegions(channelSupplier, from, to, lineOffset,
+                        parallelism, DEFAULT_MIN_CHUNK_SIZE, SourceBuilder::new, this::handler));
+    }
+
+    /**
+     * ファイルチャネルから値と重みの組を並列に解析し,
+     * ファイル内の順序の重み付きのデータソースとして返す.
+     * 
+     * <p>
+     * 契約は {@link #loadWeighted(IOSupplier)}, {@link #load(IOSupplier, int)} と同一である.
+     * </p>
+     * 
+     * @param channelSupplier supplier
+     * @param parallelism 並列度
+     * @return 重み付きのデータソース
+     * @throws IllegalArgumentException 並列度が1未満の場合
+     * @throws IOException {@link #load(IOSupplier)} に準じる
+     * @throws NullPointerException 引数がnullの場合
+     */
+    Kde1dSource loadWeighted(IOSupplier<? extends FileChannel> channelSupplier, int parallelism)
+            throws IOException {
+        return loadWeighted(channelSupplier, parallelism, DEFAULT_MIN_CHUNK_SIZE);
+    }
+
+    /**
+     * 1タスクが担当するバイト範囲の最小サイズを指定して,
+     * ファイルチャネルから値と重みの組を並列に解析する. <br>
+     * (主にテスト用)
+     * 
+     * @param channelSupplier supplier
+     * @param parallelism 並列度
+     * @param minChunkSize 1タスクが担当するバイト範囲の最小サイズ
+     * @return 重み付きのデータソース
+     * @throws IllegalArgumentException 並列度が1未満の場合, 最小サイズが正でない場合
+     * @throws IOException {@link #load(IOSupplier)} に準じる
+     * @throws NullPointerException 引数がnullの場合
+     */
+    Kde1dSource loadWeighted(IOSupplier<? extends FileChannel> channelSupplier,
+            int parallelism, long minChunkSize) throws IOException {
+        return WeightedSourceBuilder.concat(
+                scanRegions(channelSupplier, parallelism, minChunkSize,
+                        WeightedSourceBuilder::new, this::weightedHandler));
+    }
+
+    /**
+     * ファイルチャネルから複数のフィールドからなる行を並列に解析し,
+     * ファイル内の順序のフィールドごとのデータソースとして返す.
+     * 
+     * <p>
+     * 契約は {@link #loadColumns(IOSupplier, int[])}, {@link #load(IOSupplier, int)} と同一である.
+     * </p>
+     * 
+     * @param channelSupplier supplier
+     * @param fields 抽出するフィールドの番号 (0始まり)
+     * @param parallelism 並列度
+     * @return フィールドごとのデータソース
+     * @throws IllegalArgumentException フィールドの番号が空の場合, 負の場合, 並列度が1未満の場合
+     * @throws IOException {@link #load(IOSupplier)} に準じる
+     * @throws NullPointerException 引数がnullの場合
+     */
+    List<Kde1dSource> loadColumns(
+            IOSupplier<? extends FileChannel> channelSupplier, int[] fields, int parallelism)
+            throws IOException {
+        return loadColumns(channelSupplier, fields, parallelism, DEFAULT_MIN_CHUNK_SIZE);
+    }
+
+    /**
+     * 1タスクが担当するバイト範囲の最小サイズを指定して,
+     * ファイルチャネルから複数のフィールドからなる行を並列に解析する. <br>
+     * (主にテスト用)
+     * 
+     * @param channelSupplier supplier
+     * @param fields 抽出するフィールドの番号 (0始まり)
+     * @param parallelism 並列度
+     * @param minChunkSize 1タスクが担当するバイト範囲の最小サイズ
+     * @return フィールドごとのデータソース
+     * @throws IllegalArgumentException フィールドの番号が空の場合, 負の場合,
+     *             並列度が1未満の場合, 最小サイズが正でない場合
+     * @throws IOException {@link #load(IOSupplier)} に準じる
+     * @throws NullPointerException 引数がnullの場合
+     */
+    List<Kde1dSource> loadColumns(
+            IOSupplier<? extends FileChannel> channelSupplier, int[] fields,
+            int parallelism, long minChunkSize) throws IOException {
+        int[] checkedFields = checkFields(fields);
+        return ColumnsSourceBuilder.concat(
+                scanRegions(channelSupplier, parallelism, minChunkSize,
+                        () -> new ColumnsSourceBuilder(checkedFields.length),
+                        builder -> columnsHandler(builder, checkedFields)));
+    }
+
+    /**
+     * フィールドの番号を検証し, 防御的コピーを返す.
+     */
+    private static int[] checkFields(int[] fields) {
+        int[] copy = fields.clone();
+        if (copy.length == 0) {
+            throw new IllegalArgumentException("no field");
+        }
+        for (int field : copy) {
+            if (field < 0) {
+                throw new IllegalArgumentException("illegal field: " + field);
+            }
+        }
+        return copy;
+    }
+
+    /**
+     * ファイルチャネルから {@code double} 値を並列に解析し,
+     * 値をバイト範囲ごとのシンクに渡す.
+     * 
+     * <p>
+     * シンクはバイト範囲ごとに {@code sinkFactory} から生成され,
+     * 1個のシンクは1個のスレッドからのみ値を受け取る. <br>
+     * 戻り値はファイル内の順序に並んだシンクのリストであり,
+     * 呼び出し側はこれを順に併合すればよい. <br>
+     * 値を保持するかどうかはシンクに委ねられるので,
+     * シンクが値を保持しなければ, 必要なメモリはファイルサイズによらない.
+     * </p>
+     * 
+     * @param <T> シンクの型
+     * @param channelSupplier supplier
+     * @param parallelism 並列度
+     * @param sinkFactory シンクのファクトリ
+     * @return ファイル内の順序に並んだシンク
+     * @throws IllegalArgumentException 並列度が1未満の場合
+     * @throws IOException {@link #load(IOSupplier)} に準じる
+     * @throws NullPointerException 引数がnullの場合
+     */
+    <T extends DoubleConsumer> List<T> scan(
+            IOSupplier<? extends FileChannel> channelSupplier,
+            int parallelism, Supplier<? extends T> sinkFactory) throws IOException {
+        return scan(channelSupplier, parallelism, DEFAULT_MIN_CHUNK_SIZE, sinkFactory);
+    }
+
+    /**
+     * 1タスクが担当するバイト範囲の最小サイズを指定して,
+     * 値をバイト範囲ごとのシンクに渡す. <br>
+     * (主にテスト用)
+     * 
+     * @param <T> シンクの型
+     * @param channelSupplier supplier
+     * @param parallelism 並列度
+     * @param minChunkSize 1タスクが担当するバイト範囲の最小サイズ
+     * @param sinkFactory シンクのファクトリ
+     * @return ファイル内の順序に並んだシンク
+     * @throws IllegalArgumentException 並列度が1未満の場合, 最小サイズが正でない場合
+     * @throws IOException {@link #load(IOSupplier)} に準じる
+     * @throws NullPointerException 引数がnullの場合
+     */
+    <T extends DoubleConsumer> List<T> scan(
+            IOSupplier<? extends FileChannel> channelSupplier,
+            int parallelism, long minChunkSize, Supplier<? extends T> sinkFactory)
+            throws IOException {
+        return scanRegions(channelSupplier, parallelism, minChunkSize, sinkFactory, this::handler);
+    }
+
+    /**
+     * ファイルチャネルをバイト範囲ごとに解析し, 各行をシンクに対応する行ハンドラに渡す.
+     * 
+     * @return ファイル内の順序に並んだシンク
+     */
+    private <T> List<T> scanRegions(
+            IOSupplier<? extends FileChannel> channelSupplier,
+            int parallelism, long minChunkSize, Supplier<? extends T> sinkFactory,
+            Function<? super T, LineHandler> handlerFactory) throws IOException {
+        return scanRegions(channelSupplier, 0L, Long.MAX_VALUE, 0L,
+                parallelism, minChunkSize, sinkFactory, handlerFactory);
+    }
+
+    /**
+     * ファイルのバイト範囲 {@code [from, to)} (ファイルサイズで切り詰める) を解析し,
+     * 各行をシンクに対応する行ハンドラに渡す.
+     * 
+     * @param lineOffset 範囲より前の行数 (例外メッセージの行番号に加える)
+     * @return ファイル内の順序に並んだシンク
+     */
+    private <T> List<T> scanRegions(
+            IOSupplier<? extends FileChannel> channelSupplier,
+            long from, long to, long lineOffset,
+            int parallelism, long minChunkSize, Supplier<? extends T> sinkFactory,
+            Function<? super T, LineHandler> handlerFactory) throws IOException {
+        Objects.requireNonNull(sinkFactory);
+        Objects.requireNonNull(handlerFactory);
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("illegal parallelism: " + parallelism);
+        }
+        if (minChunkSize <= 0) {
+            throw new IllegalArgumentException("illegal chunk size: " + minChunkSize);
+        }
+
+        try (FileChannel channel = channelSupplier.get()) {
+            long end = Math.min(to, channel.size());
+            long start = Math.min(from, end);
+            long size = end - start;
+
+            // 分割を並列度によらず定め, 集計の併合の順序を並列度によらず一定にする
+            List<Long> boundaries = size < 2 * minChunkSize
+                    ? List.of(start, end)
+                    : alignedBoundaries(
+                            channel, start, end, Math.max(minChunkSize, size / MAX_CHUNKS + 1));
+            return scanChunks(
+                    channel, boundaries, lineOffset, parallelism, sinkFactory, handlerFactory);
+        }
+    }
+
+    /**
+     * ファイルのバイト範囲 {@code [from, to)} を, 改行 ({@code '\n'}) の直後で区切られたバイト範囲に分割する.
+     * 
+     * <p>
+     * 境界は, 名目上の境界位置以降で最初に現れる {@code '\n'} の直後である. <br>
+     * {@code "\r\n"} は {@code '\n'} の直後で区切られるので, 分断されることはない.
+     * </p>
+     * 
+     * @return 境界位置のリスト (先頭は {@code from}, 末尾は {@code to})
+     */
+    private static List<Long> alignedBoundaries(
+            FileChannel channel, long from, long to, long chunkSize) throws IOException {
+        List<Long> boundaries = new ArrayList<>();
+        boundaries.add(from);
+
+        ByteBuffer probe = ByteBuffer.allocate(1 << 12);
+        long position = from + chunkSize;
+        while (position < to) {
+            long boundary = nextLineStart(channel, position, to, probe);
+            if (boundary >= to) {
+                break;
+            }
+            boundaries.add(boundary);
+            position = boundary + chunkSize;
+        }
+        boundaries.add(to);
+        return boundaries;
+    }
+
+    /**
+     * 位置 {@code from} 以降で最初の {@code '\n'} の直後の位置を返す
+     * (存在しない場合はファイルサイズ).
+     */
+    private static long nextLineStart(FileChannel channel, long from, long size, ByteBuffer probe)
+            throws IOException {
+        long position = from;
+        while (position < size) {
+            probe.clear();
+            int read = channel.read(probe, position);
+            if (read < 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (probe.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+        return size;
+    }
+
+    /**
+     * 各バイト範囲を解析し (並列度が2以上の場合は並列に), シンクをファイル内の順序で返す.
+     */
+    private <T> List<T> scanChunks(
+            FileChannel channel, List<Long> boundaries, long initialLineOffset,
+            int parallelism, Supplier<? extends T> sinkFactory,
+            Function<? super T, LineHandler> handlerFactory) throws IOException {
+        List<Callable<ChunkResult<T>>> tasks = new ArrayList<>();
+        for (int i = 0; i < boundaries.size() - 1; i++) {
+            RegionChannel region =
+                    new RegionChannel(channel, boundaries.get(i), boundaries.get(i + 1));
+            tasks.add(() -> {
+                T sink = sinkFactory.get();
+                return parseChunk(region, sink, handlerFactory.apply(sink));
+            });
+        }
+
+        List<ChunkResult<T>> results = new ArrayList<>();
+        if (parallelism == 1 || tasks.size() == 1) {
+            for (Callable<ChunkResult<T>> task : tasks) {
+                ChunkResult<T> result = call(task);
+                results.add(result);
+                if (Objects.nonNull(result.failure)) {
+                    break;
+                }
+            }
+            return collect(results, initialLineOffset);
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+        try {
+            for (Future<ChunkResult<T>> future : executor.invokeAll(tasks)) {
+                results.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("interrupted", e);
+        } catch (ExecutionException e) {
+            // 入出力の例外とシンクでの例外 (実行時例外を含む) はそのままスローする
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException ioException) {
+                throw ioException;
+            }
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IOException(cause);
+        } finally {
+            executor.shutdownNow();
+        }
+        return collect(results, initialLineOffset);
+    }
+
+    /**
+     * バイト範囲の解析タスクを呼び出しスレッドで実行する.
+     */
+    private static <T> ChunkResult<T> call(Callable<ChunkResult<T>> task) throws IOException {
+        try {
+            return task.call();
+        } catch (IOException | RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IOException(e);
+        }
+    }
+
+    /**
+     * ファイル内の順序に並んだ解析結果からシンクを取り出す. <br>
+     * ファイル内の順序で, 最初に失敗したバイト範囲の例外を報告する.
+     */
+    private static <T> List<T> collect(List<ChunkResult<T>> results, long initialLineOffset)
+            throws IOException {
+        long lineOffset = initialLineOffset;
+        List<T> sinks = new ArrayList<>(results.size());
+        for (ChunkResult<T> result : results) {
+            if (Objects.nonNull(result.failure)) {
+                throw result.failure.withLineOffset(lineOffset);
+            }
+            lineOffset += result.lineCount;
+            sinks.add(result.sink);
+        }
+        return sinks;
+    }
+
+    /**
+     * 1個のバイト範囲を解析する. <br>
+     * フォーマット不正は例外をスローせず, 結果に格納する.
+     */
+    private <T> ChunkResult<T> parseChunk(RegionChannel region, T sink, LineHandler handler)
+            throws IOException {
+        try {
+            long lineCount = parse(region, handler);
+            return new ChunkResult<>(sink, lineCount, null);
+        } catch (LineFormatException e) {
+            return new ChunkResult<>(null, 0L, e);
+        }
+    }
+
+    /**
+     * 値をシンクに渡す行ハンドラを返す.
+     */
+    private LineHandler handler(DoubleConsumer sink) {
+        return (bytes, from, to) -> parser.parse(bytes, from, to, sink);
+    }
+
+    /**
+     * 値と重みをシンクに渡す行ハンドラを返す.
+     */
+    private LineHandler weightedHandler(WeightedDoubleConsumer sink) {
+        return (bytes, from, to) -> parser.parseWeighted(bytes, from, to, sink);
+    }
+
+    /**
+     * 指定したフィールドの値をビルダーに渡す行ハンドラを返す.
+     */
+    private LineHandler columnsHandler(ColumnsSourceBuilder builder, int[] fields) {
+        return (bytes, from, to) -> {
+            if (parser.parseColumns(bytes, from, to, fields, builder.row)) {
+                builder.acceptRow();
+            }
+        };
+    }
+
+    /**
+     * チャネルの終端までを解析し, 各行を行ハンドラに渡す.
+     * 
+     * @return 解析した行数
+     * @throws LineFormatException 文字列フォーマットが不正の場合 (行番号はチャネル先頭から数える)
+     * @throws IOException 読み込みで例外が発生した場合
+     */
+    private long parse(ReadableByteChannel channel, LineHandler handler) throws IOException {
+        byte[] bytes = new byte[bufferSize];
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+
+        long lineNumber = 0L;
+        boolean afterCr = false;
+        int lineStart = 0;
+
+        while (true) {
+            int scanFrom = buffer.position();
+            if (channel.read(buffer) < 0) {
+                break;
+            }
+            int limit = buffer.position();
+
+            for (int i = scanFrom; i < limit; i++) {
+                byte b = bytes[i];
+                if (b == '\n' && afterCr) {
+                    // "\r\n" の "\n" は, 直前の "\r" で行が終わっている
+                    afterCr = false;
+                    lineStart = i + 1;
+                    continue;
+                }
+                afterCr = false;
+                if (b == '\n' || b == '\r') {
+                    lineNumber++;
+                    parseLine(bytes, lineStart, i, handler, lineNumber);
+                    lineStart = i + 1;
+                    afterCr = b == '\r';
+                }
+            }
+
+            // 未完了の行をバッファの先頭に移動し, 必要ならバッファを拡張する
+            int remaining = limit - lineStart;
+            if (lineStart == 0 && limit == bytes.length) {
+                bytes = Arrays.copyOf(bytes, bytes.length * 2);
+                buffer = ByteBuffer.wrap(bytes);
+            } else {
+                System.arraycopy(bytes, lineStart, bytes, 0, remaining);
+            }
+            buffer.position(remaining);
+            lineStart = 0;
+        }
+
+        if (buffer.position() > 0) {
+            lineNumber++;
+            parseLine(bytes, 0, buffer.position(), handler, lineNumber);
+        }
+        return lineNumber;
+    }
+
+    private void parseLine(byte[] bytes, int from, int to, LineHandler handler, long lineNumber)
+            throws LineFormatException {
+        try {
+            handler.handle(bytes, from, to);
+        } catch (NumberFormatException e) {
+            throw new LineFormatException("illegal number format", lineNumber, e.getMessage());
+        } catch (CharacterCodingException e) {
+            throw new LineFormatException("malformed input", lineNumber, e.getMessage());
+        }
+    }
+
+    /**
+     * 行終端文字を含まない1行 {@code bytes[from, to)} の処理.
+     */
+    @FunctionalInterface
+    private static interface LineHandler {
+
+        void handle(byte[] bytes, int from, int to) throws CharacterCodingException;
+    }
+
+    /**
+     * 1個のバイト範囲の解析結果.
+     */
+    private static final class ChunkResult<T> {
+
+        final T sink;
+        final long lineCount;
+        final LineFormatException failure;
+
+        ChunkResult(T sink, long lineCount, LineFormatException failure) {
+            super();
+            this.sink = sink;
+            this.lineCount = lineCount;
+            this.failure = failure;
+        }
+    }
+
+    /**
+     * 行のフォーマット不正を表す, ローダー内部の例外.
+     * 
+     * <p>
+     * 行番号は解析したチャネル (バイト範囲) の先頭から数えたものであり,
+     * 外部に報告する際には {@link #withLineOffset(long)} で変換する.
+     * </p>
+     */
+    private static final class LineFormatException extends IOException {
+
+        private static final long serialVersionUID = 1L;
+
+        private final String reason;
+        private final long lineNumber;
+        private final String detail;
+
+        LineFormatException(String reason, long lineNumber, String detail) {
+            super(reason);
+            this.reason = reason;
+            this.lineNumber = lineNumber;
+            this.detail = detail;
+        }
+
+        /**
+         * 先行する行数を加えた行番号をメッセージに含む例外を返す.
+         */
+        IOException withLineOffset(long lineOffset) {
+            return new IOException(
+                    reason + " at line " + (lineOffset + lineNumber) + ": " + detail);
+        }
+    }
+
+    /**
+     * ファイルチャネルのバイト範囲 {@code [from, to)} を, 位置指定読み込みで読むチャネル.
+     * 
+     * <p>
+     * 元のチャネルの位置は変更しないので, 複数のスレッドから同時に利用できる. <br>
+     * クローズしても元のチャネルはクローズされない.
+     * </p>
+     */
+    private static final class RegionChannel implements ReadableByteChannel {
+
+        private final FileChannel channel;
+        private final long to;
+        private long position;
+
+        RegionChannel(FileChannel channel, long from, long to) {
+            super();
+            this.channel = channel;
+            this.position = from;
+            this.to = to;
+        }
+
+        @Override
+        public int read(ByteBuffer dst) throws IOException {
+            if (position >= to) {
+                return -1;
+            }
+            int limit = dst.limit();
+            long remaining = to - position;
+            if (dst.remaining() > remaining) {
+                dst.limit(dst.position() + (int) remaining);
+            }
+            try {
+                int read = channel.read(dst, position);
+                if (read > 0) {
+                    position += read;
+                }
+                return read;
+            } finally {
+                dst.limit(limit);
+            }
+        }
+
+        @Override
+        public boolean isOpen() {
+            return channel.isOpen();
+        }
+
+        @Override
+        public void close() {
+            // 元のチャネルはクローズしない
+        }
+    }
+
+    /**
+     * チャンクで容量を拡張する配列 ({@link DoubleArrayBuilder}) に値を追加しながら,
+     * 要約統計量を計算する.
+     */
+    private static final class SourceBuilder implements DoubleConsumer {
+
+        final SampleSummary.Accumulator accumulator = new SampleSummary.Accumulator();
+        private final DoubleArrayBuilder values = new DoubleArrayBuilder();
+
+        @Override
+        public void accept(double value) {
+            values.accept(value);
+            accumulator.accept(value);
+        }
+
+        Kde1dSource build() {
+            return concat(List.of(this));
+        }
+
+        /**
+         * 値と要約統計量を, 与えた順序で連結する.
+         */
+        static Kde1dSource concat(List<SourceBuilder> builders) {
+            SampleSummary.Accumulator accumulator = new SampleSummary.Accumulator();
+            List<DoubleArrayBuilder> values = new ArrayList<>(builders.size());
+            for (SourceBuilder builder : builders) {
+                accumulator.combine(builder.accumulator);
+                values.add(builder.values);
+            }
+            return Kde1dSource.of(DoubleArrayBuilder.concat(values), accumulator.summary());
+        }
+    }
+
+    /**
+     * チャンクで容量を拡張する値と重みの配列に組を追加しながら,
+     * 要約統計量を計算する.
+     */
+    private static final class WeightedSourceBuilder implements WeightedDoubleConsumer {
+
+        final SampleSummary.Accumulator accumulator = new SampleSummary.Accumulator();
+        private final DoubleArrayBuilder values = new DoubleArrayBuilder();
+        private final DoubleArrayBuilder weights = new DoubleArrayBuilder();
+
+        @Override
+        public void accept(double value, double weight) {
+            values.accept(value);
+            weights.accept(weight);
+            accumulator.accept(value, weight);
+        }
+
+        Kde1dSource build() {
+            return concat(List.of(this));
+        }
+
+        /**
+         * 値, 重み, 要約統計量を, 与えた順序で連結する.
+         */
+        static Kde1dSource concat(List<WeightedSourceBuilder> builders) {
+            SampleSummary.Accumulator accumulator = new SampleSummary.Accumulator();
+            List<DoubleArrayBuilder> values = new ArrayList<>(builders.size());
+            List<DoubleArrayBuilder> weights = new ArrayList<>(builders.size());
+            for (WeightedSourceBuilder builder : builders) {
+                accumulator.combine(builder.accumulator);
+                values.add(builder.values);
+                weights.add(builder.weights);
+            }
+            return Kde1dSource.weighted(
+                    DoubleArrayBuilder.concat(values), DoubleArrayBuilder.concat(weights),
+                    accumulator.summary());
+        }
+    }
+
+    /**
+     * 列ごとの {@link SourceBuilder} に1行分の値を振り分ける.
+     * 
+     * <p>
+     * 行ハンドラは {@link #row} に1行分の値を格納した後, {@link #acceptRow()} を呼ぶ.
+     * </p>
+     */
+    private static final class ColumnsSourceBuilder {
+
+        final double[] row;
+        private final SourceBuilder[] columns;
+
+        ColumnsSourceBuilder(int columnCount) {
+            super();
+            this.row = new double[columnCount];
+            this.columns = new SourceBuilder[columnCount];
+            for (int i = 0; i < columnCount; i++) {
+                columns[i] = new SourceBuilder();
+            }
+        }
+
+        void acceptRow() {
+            for (int i = 0; i < columns.length; i++) {
+                columns[i].accept(row[i]);
+            }
+        }
+
+        /**
+         * 列ごとに, 値と要約統計量を与えた順序で連結する.
+         */
+        static List<Kde1dSource> concat(List<ColumnsSourceBuilder> builders) {
+            int columnCount = builders.get(0).columns.length;
+            List<Kde1dSource> out = new ArrayList<>(columnCount);
+            for (int i = 0; i < columnCount; i++) {
+                List<SourceBuilder> column = new ArrayList<>(builders.size());
+                for (ColumnsSourceBuilder builder : builders) {
+                    column.add(builder.columns[i]);
+                }
+                out.add(SourceBuilder.concat(column));
+            }
+            return List.copyOf(out);
+        }
+    }
+}
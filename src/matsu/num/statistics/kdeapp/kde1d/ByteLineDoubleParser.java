@@ -0,0 +1,428 @@
+/*
+ * Copyright © 2026 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+/*
+ * 2026.10.18
+ */
+package matsu.num.statistics.kdeapp.kde1d;
+
+import static java.nio.charset.StandardCharsets.*;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CodingErrorAction;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.OptionalDouble;
+import java.util.Set;
+import java.util.function.DoubleConsumer;
+
+/**
+ * UTF-8 でエンコードされた1行のバイト列を, 1個の {@code double} 値
+ * (あるいは値と重みの組, 複数列の値) に変換するパーサー.
+ * 
+ * <p>
+ * 解析の規則 (ブランク行とエスケープ行の扱い, 前後のブランクの削除, フィールドの区切り, 数値の解釈) は
+ * {@link DoubleLineParser} と同一である. <br>
+ * ASCII のみからなる行は, 文字列を生成せずにバイト列から直接解析する. <br>
+ * 非 ASCII 文字を含む行は, 文字列に復号して {@link DoubleLineParser} に委ねる.
+ * </p>
+ * 
+ * <p>
+ * 数値は, 仮数部が 2<sup>53</sup> 未満かつ10進指数の絶対値が22以下の場合,
+ * 1回の浮動小数点乗除算で正しく丸められた値が得られる (Clinger の fast path). <br>
+ * それ以外の形式 (桁数の多い値, 接尾辞 {@code d}, 16進表記, {@code NaN} など) は
+ * {@link Double#parseDouble(String)} で解釈するので, 結果は常に
+ * {@link Double#parseDouble(String)} と一致する.
+ * </p>
+ * 
+ * @author Matsuura Y.
+ */
+final class ByteLineDoubleParser {
+
+    /**
+     * 10<sup>0</sup> から 10<sup>22</sup> (いずれも {@code double} で正確に表現できる).
+     */
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+            1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20,
+            1e21, 1e22 };
+
+    private static final long MAX_EXACT_MANTISSA = 1L << 53;
+
+    private final DoubleLineParser lineParser;
+    private final byte[][] escapes;
+
+    /**
+     * インスタンスを生成する.
+     * 
+     * <p>
+     * 引数の規約は {@link DoubleLineParser#DoubleLineParser(Collection)} と同一である.
+     * </p>
+     * 
+     * @param escapes エスケープ文字列のセット (空の場合はエスケープしない)
+     * @throws IllegalArgumentException エスケープ文字列に空文字が含まれる場合
+     * @throws NullPointerException 引数がnullの場合, コレクションがnullを含む場合
+     */
+    ByteLineDoubleParser(Collection<String> escapes) {
+        super();
+
+        // 引数のバリデーションは DoubleLineParser に任せる
+        this.lineParser = new DoubleLineParser(escapes);
+
+        Set<String> stripped = new LinkedHashSet<>();
+        for (String s : escapes) {
+            stripped.add(s.strip());
+        }
+        this.escapes = stripped.stream()
+                .map(s -> s.getBytes(UTF_8))
+                .toArray(byte[][]::new);
+    }
+
+    /**
+     * バイト列 {@code bytes[from, to)} を1行として解析し,
+     * 値を抽出できた場合はシンクに渡す.
+     * 
+     * <p>
+     * 行は行終端文字を含まない. <br>
+     * ブランクの場合, エスケープ文字列から始まる場合はシンクに渡さない.
+     * </p>
+     * 
+     * @param bytes バイト列
+     * @param from 行の開始位置
+     * @param to 行の終了位置 (この位置を含まない)
+     * @param sink 値の渡し先
+     * @return 値をシンクに渡した場合はtrue
+     * @throws NumberFormatException フォーマット不正で値を抽出できなかった場合
+     * @throws CharacterCodingException UTF-8 として不正なバイト列の場合
+     * @throws NullPointerException 引数にnullが含まれる場合
+     */
+    boolean parse(byte[] bytes, int from, int to, DoubleConsumer sink)
+            throws CharacterCodingException {
+        for (int i = from; i < to; i++) {
+            if (bytes[i] < 0) {
+                return parseDecoded(bytes, from, to, sink);
+            }
+        }
+
+        while (from < to && isAsciiWhitespace(bytes[from])) {
+            from++;
+        }
+        while (to > from && isAsciiWhitespace(bytes[to - 1])) {
+            to--;
+        }
+        if (from == to) {
+            return false;
+        }
+
+        for (byte[] escape : escapes) {
+            if (startsWith(bytes, from, to, escape)) {
+                return false;
+            }
+        }
+
+        sink.accept(parseDouble(bytes, from, to));
+        return true;
+    }
+
+    /**
+     * バイト列 {@code bytes[from, to)} を {@code <値><区切り><重み>} の1行として解析し,
+     * 値と重みを抽出できた場合はシンクに渡す.
+     * 
+     * <p>
+     * 行の形式は {@link DoubleLineParser#parseWeighted(String, WeightedDoubleConsumer)}
+     * と同一である.
+     * </p>
+     * 
+     * @param bytes バイト列
+     * @param from 行の開始位置
+     * @param to 行の終了位置 (この位置を含まない)
+     * @param sink 値と重みの渡し先
+     * @return 値をシンクに渡した場合はtrue
+     * @throws NumberFormatException フォーマット不正で値を抽出できなかった場合,
+     *             重みが欠けている, または不正な場合
+     * @throws CharacterCodingException UTF-8 として不正なバイト列の場合
+     * @throws NullPointerException 引数にnullが含まれる場合
+     */
+    boolean parseWeighted(byte[] bytes, int from, int to, WeightedDoubleConsumer sink)
+            throws CharacterCodingException {
+        for (int i = from; i < to; i++) {
+            if (bytes[i] < 0) {
+                return lineParser.parseWeighted(decode(bytes, from, to), sink);
+            }
+        }
+
+        while (from < to && isAsciiWhitespace(bytes[from])) {
+            from++;
+        }
+        while (to > from && isAsciiWhitespace(bytes[to - 1])) {
+            to--;
+        }
+        if (from == to) {
+            return false;
+        }
+
+        for (byte[] escape : escapes) {
+            if (startsWith(bytes, from, to, escape)) {
+                return false;
+            }
+        }
+
+        int valueEnd = from;
+        while (valueEnd < to && bytes[valueEnd] != ',' && !isAsciiWhitespace(bytes[valueEnd])) {
+            valueEnd++;
+        }
+        int weightFrom = valueEnd;
+        while (weightFrom < to && isAsciiWhitespace(bytes[weightFrom])) {
+            weightFrom++;
+        }
+        if (weightFrom < to && bytes[weightFrom] == ',') {
+            weightFrom++;
+            while (weightFrom < to && isAsciiWhitespace(bytes[weightFrom])) {
+                weightFrom++;
+            }
+        }
+        if (weightFrom == to) {
+            throw new NumberFormatException(
+                    "weight is missing: " + new String(bytes, from, to - from, US_ASCII));
+        }
+        if (valueEnd == from) {
+            throw new NumberFormatException(
+                    "value is missing: " + new String(bytes, from, to - from, US_ASCII));
+        }
+
+        double value = parseDouble(bytes, from, valueEnd);
+        sink.accept(value, DoubleLineParser.checkedWeight(parseDouble(bytes, weightFrom, to)));
+        return true;
+    }
+
+    /**
+     * バイト列 {@code bytes[from, to)} を複数のフィールドからなる1行として解析し,
+     * 指定したフィールドの値を配列に格納する.
+     * 
+     * <p>
+     * 行の形式と引数の規約は {@link DoubleLineParser#parseColumns(String, int[], double[])}
+     * と同一である.
+     * </p>
+     * 
+     * @param bytes バイト列
+     * @param from 行の開始位置
+     * @param to 行の終了位置 (この位置を含まない)
+     * @param fields 抽出するフィールドの番号 (0始まり)
+     * @param row 値の格納先 ({@code fields} と同じ長さ)
+     * @return 値を抽出した場合はtrue
+     * @throws NumberFormatException フォーマット不正で値を抽出できなかった場合, フィールドが欠けている場合
+     * @throws CharacterCodingException UTF-8 として不正なバイト列の場合
+     * @throws NullPointerException 引数にnullが含まれる場合
+     */
+    boolean parseColumns(byte[] bytes, int from, int to, int[] fields, double[] row)
+            throws CharacterCodingException {
+        for (int i = from; i < to; i++) {
+            if (bytes[i] < 0) {
+                return lineParser.parseColumns(decode(bytes, from, to), fields, row);
+            }
+        }
+
+        while (from < to && isAsciiWhitespace(bytes[from])) {
+            from++;
+        }
+        while (to > from && isAsciiWhitespace(bytes[to - 1])) {
+            to--;
+        }
+        if (from == to) {
+            return false;
+        }
+
+        for (byte[] escape : escapes) {
+            if (startsWith(bytes, from, to, escape)) {
+                return false;
+            }
+        }
+
+        int maxField = 0;
+        for (int field : fields) {
+            maxField = Math.max(maxField, field);
+        }
+
+        int fieldFrom = from;
+        for (int field = 0; field <= maxField; field++) {
+            if (fieldFrom > to) {
+                throw new NumberFormatException(
+                        "column " + (field + 1) + " is missing: "
+                                + new String(bytes, from, to - from, US_ASCII));
+            }
+            int fieldEnd = fieldFrom;
+            while (fieldEnd < to && bytes[fieldEnd] != ',' && !isAsciiWhitespace(bytes[fieldEnd])) {
+                fieldEnd++;
+            }
+            for (int i = 0; i < fields.length; i++) {
+                if (fields[i] == field) {
+                    if (fieldEnd == fieldFrom) {
+                        throw new NumberFormatException(
+                                "column " + (field + 1) + " is empty: "
+                                        + new String(bytes, from, to - from, US_ASCII));
+                    }
+                    row[i] = parseDouble(bytes, fieldFrom, fieldEnd);
+                }
+            }
+
+            // 区切りを読み飛ばす (行末に達した場合は次のフィールドがない)
+            if (fieldEnd == to) {
+                fieldFrom = to + 1;
+                continue;
+            }
+            int next = fieldEnd;
+            while (next < to && isAsciiWhitespace(bytes[next])) {
+                next++;
+            }
+            if (next < to && bytes[next] == ',') {
+                next++;
+                while (next < to && isAsciiWhitespace(bytes[next])) {
+                    next++;
+                }
+            }
+            fieldFrom = next;
+        }
+        return true;
+    }
+
+    /**
+     * 非 ASCII 文字を含む行を文字列に復号し, {@link DoubleLineParser} で解析する.
+     */
+    private boolean parseDecoded(byte[] bytes, int from, int to, DoubleConsumer sink)
+            throws CharacterCodingException {
+        OptionalDouble value = lineParser.parse(decode(bytes, from, to));
+        if (value.isEmpty()) {
+            return false;
+        }
+        sink.accept(value.getAsDouble());
+        return true;
+    }
+
+    /**
+     * バイト列を UTF-8 として厳格に復号する.
+     */
+    private static String decode(byte[] bytes, int from, int to)
+            throws CharacterCodingException {
+        return UTF_8.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPORT)
+                .onUnmappableCharacter(CodingErrorAction.REPORT)
+                .decode(ByteBuffer.wrap(bytes, from, to - from))
+                .toString();
+    }
+
+    /**
+     * ASCII 文字が {@link Character#isWhitespace(char)} を満たすかを判定する.
+     */
+    private static boolean isAsciiWhitespace(byte b) {
+        return b == ' ' || (b >= 0x09 && b <= 0x0D) || (b >= 0x1C && b <= 0x1F);
+    }
+
+    private static boolean startsWith(byte[] bytes, int from, int to, byte[] prefix) {
+        if (to - from < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (bytes[from + i] != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 前後のブランクが削除された ASCII バイト列を {@code double} 値に変換する.
+     * 
+     * @throws NumberFormatException フォーマット不正の場合
+     */
+    static double parseDouble(byte[] bytes, int from, int to) {
+        int i = from;
+        boolean negative = false;
+        if (bytes[i] == '-' || bytes[i] == '+') {
+            negative = bytes[i] == '-';
+            i++;
+        }
+
+        long mantissa = 0L;
+        int significantDigits = 0;
+        int exponent = 0;
+        boolean hasDigit = false;
+
+        // 整数部
+        for (; i < to && isDigit(bytes[i]); i++) {
+            hasDigit = true;
+            if (mantissa == 0L && bytes[i] == '0') {
+                continue;
+            }
+            mantissa = mantissa * 10 + (bytes[i] - '0');
+            significantDigits++;
+        }
+
+        // 小数部
+        if (i < to && bytes[i] == '.') {
+            i++;
+            for (; i < to && isDigit(bytes[i]); i++) {
+                hasDigit = true;
+                exponent--;
+                if (mantissa == 0L && bytes[i] == '0') {
+                    continue;
+                }
+                mantissa = mantissa * 10 + (bytes[i] - '0');
+                significantDigits++;
+            }
+        }
+
+        // 指数部
+        if (hasDigit && i < to && (bytes[i] == 'e' || bytes[i] == 'E')) {
+            i++;
+            boolean negativeExponent = false;
+            if (i < to && (bytes[i] == '-' || bytes[i] == '+')) {
+                negativeExponent = bytes[i] == '-';
+                i++;
+            }
+            int e = 0;
+            boolean hasExponentDigit = false;
+            for (; i < to && isDigit(bytes[i]); i++) {
+                hasExponentDigit = true;
+                if (e < 10000) {
+                    e = e * 10 + (bytes[i] - '0');
+                }
+            }
+            if (!hasExponentDigit) {
+                return parseSlowly(bytes, from, to);
+            }
+            exponent += negativeExponent ? -e : e;
+        }
+
+        if (!hasDigit || i != to || significantDigits > 18) {
+            return parseSlowly(bytes, from, to);
+        }
+
+        if (mantissa == 0L) {
+            return negative ? -0d : 0d;
+        }
+        if (mantissa >= MAX_EXACT_MANTISSA || exponent < -22 || exponent > 22) {
+            return parseSlowly(bytes, from, to);
+        }
+
+        double value = exponent >= 0
+                ? mantissa * POWERS_OF_TEN[exponent]
+                : mantissa / POWERS_OF_TEN[-exponent];
+        return negative ? -value : value;
+    }
+
+    private static boolean isDigit(byte b) {
+        return b >= '0' && b <= '9';
+    }
+
+    /**
+     * {@link Double#parseDouble(String)} による解釈.
+     */
+    private static double parseSlowly(byte[] bytes, int from, int to) {
+        return Double.parseDouble(new String(bytes, from, to - from, US_ASCII));
+    }
+}
@@ -0,0 +1,193 @@
+/*
+ * Copyright © 2026 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+/*
+ * 2026.10.18
+ */
+package matsu.num.statistics.kdeapp.kde1d;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.util.Objects;
+
+/**
+ * 区切り文字で区切られたテキストを, 再利用するバイト列バッファに組み立てて,
+ * ブロック単位で出力ストリームに書き込むライター.
+ * 
+ * <p>
+ * {@code double} 値は {@link DoubleFormatter} によりバッファに直接書き込まれるので,
+ * 行ごとの文字列を生成しない. <br>
+ * 行終端は {@link System#lineSeparator()} であり, {@link java.io.PrintWriter#println()} と同一である. <br>
+ * 文字セットは ASCII 互換でなければならない (数値と区切り文字は ASCII として書き込まれる).
+ * </p>
+ * 
+ * <p>
+ * このクラスのインスタンスはスレッドセーフでない. <br>
+ * 出力ストリームはクローズされない.
+ * </p>
+ * 
+ * @author Matsuura Y.
+ */
+final class DelimitedTextWriter implements Flushable {
+
+    /**
+     * バッファのデフォルトサイズ.
+     */
+    static final int DEFAULT_BUFFER_SIZE = 1 << 16;
+
+    /**
+     * 1行の数値部分の最大バイト数 (2個の値と区切り文字と行終端に十分な大きさ).
+     */
+    private static final int MAX_ROW_LENGTH = 2 * DoubleFormatter.MAX_LENGTH + 8;
+
+    private final OutputStream out;
+    private final Charset charset;
+    private final byte[] lineSeparator;
+    private final byte[] buffer;
+    private int position;
+
+    /**
+     * 出力ストリームと文字セットを与えて, ライターを構築する.
+     * 
+     * @param out 出力ストリーム
+     * @param charset 文字セット (ASCII 互換)
+     * @throws NullPointerException 引数がnullの場合
+     */
+    DelimitedTextWriter(OutputStream out, Charset charset) {
+        this(out, charset, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * バッファサイズを指定して, ライターを構築する. <br>
+     * (主にテスト用)
+     * 
+     * @param out 出力ストリーム
+     * @param charset 文字セット (ASCII 互換)
+     * @param bufferSize バッファサイズ
+     * @throws IllegalArgumentException バッファサイズが1行の数値部分の最大バイト数未満の場合
+     * @throws NullPointerException 引数がnullの場合
+     */
+    DelimitedTextWriter(OutputStream out, Charset charset, int bufferSize) {
+        super();
+        this.out = Objects.requireNonNull(out);
+        this.charset = Objects.requireNonNull(charset);
+        if (bufferSize < MAX_ROW_LENGTH) {
+            throw new IllegalArgumentException("illegal buffer size: " + bufferSize);
+        }
+        this.lineSeparator = System.lineSeparator().getBytes(charset);
+        this.buffer = new byte[bufferSize];
+        this.position = 0;
+    }
+
+    /**
+     * 1行の文字列を書き込む (行終端が付与される).
+     * 
+     * @param line 文字列
+     * @throws IOException 書き込みで例外が発生した場合
+     * @throws NullPointerException 引数がnullの場合
+     */
+    void writeLine(String line) throws IOException {
+        byte[] bytes = line.getBytes(charset);
+        if (buffer.length - position < bytes.length + lineSeparator.length) {
+            drain();
+        }
+        if (buffer.length < bytes.length + lineSeparator.length) {
+            out.write(bytes);
+            out.write(lineSeparator);
+            return;
+        }
+        System.arraycopy(bytes, 0, buffer, position, bytes.length);
+        position += bytes.length;
+        writeLineSeparator();
+    }
+
+    /**
+     * 2個の値を区切り文字で区切った1行を書き込む (行終端が付与される).
+     * 
+     * @param x 1個目の値
+     * @param separator 区切り文字
+     * @param y 2個目の値
+     * @throws IOException 書き込みで例外が発生した場合
+     */
+    void writeRow(double x, char separator, double y) throws IOException {
+        if (separator >= 0x80) {
+            // ASCII 以外の区切り文字は文字列を経由する
+            writeLine(String.valueOf(x) + separator + y);
+            return;
+        }
+        if (buffer.length - position < MAX_ROW_LENGTH) {
+            drain();
+        }
+        position = DoubleFormatter.format(x, buffer, position);
+        buffer[position++] = (byte) separator;
+        position = DoubleFormatter.format(y, buffer, position);
+        writeLineSeparator();
+    }
+
+    /**
+     * 任意個の値を区切り文字で区切った1行を書き込む (行終端が付与される).
+     * 
+     * @param values 値
+     * @param separator 区切り文字
+     * @throws IOException 書き込みで例外が発生した場合
+     * @throws NullPointerException 引数がnullの場合
+     */
+    void writeRow(double[] values, char separator) throws IOException {
+        int rowLength = values.length * (DoubleFormatter.MAX_LENGTH + 1) + lineSeparator.length;
+        if (separator >= 0x80 || rowLength > buffer.length) {
+            // ASCII 以外の区切り文字, バッファに収まらない行は文字列を経由する
+            StringBuilder sb = new StringBuilder();
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    sb.append(separator);
+                }
+                sb.append(values[i]);
+            }
+            writeLine(sb.toString());
+            return;
+        }
+        if (buffer.length - position < rowLength) {
+            drain();
+        }
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                buffer[position++] = (byte) separator;
+            }
+            position = DoubleFormatter.format(values[i], buffer, position);
+        }
+        writeLineSeparator();
+    }
+
+    /**
+     * バッファの内容を書き込み, 出力ストリームをフラッシュする.
+     * 
+     * @throws IOException 書き込みで例外が発生した場合
+     */
+    @Override
+    public void flush() throws IOException {
+        drain();
+        out.flush();
+    }
+
+    private void writeLineSeparator() {
+        for (byte b : lineSeparator) {
+            buffer[position++] = b;
+        }
+    }
+
+    /**
+     * バッファの内容を書き込み, バッファを空にする.
+     */
+    private void drain() throws IOException {
+        if (position > 0) {
+            out.write(buffer, 0, position);
+            position = 0;
+        }
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright © 2026 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+/*
+ * 2026.10.18
+ */
+package matsu.num.statistics.kdeapp.kde1d;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.DoubleConsumer;
+
+/**
+ * 固定長のチャンクを連ねて容量を拡張する, {@code double} 値の可変長配列.
+ * 
+ * <p>
+ * 容量の拡張はチャンクを追加するのみであり, 既存の値のコピーを伴わない. <br>
+ * したがって, 要素数が事前にわからない解析の途中でも, 保持するメモリは要素数に
+ * 1チャンク分を加えたものに収まる
+ * (倍々に拡張する配列では, 拡張時に旧配列と新配列が共存し, 要素数の最大3倍となる). <br>
+ * 値は {@link #get(int)} によりコピーせずに読み出せ,
+ * {@link #toArray()} あるいは {@link #concat(List)} により1回のコピーで
+ * 要素数ちょうどの配列に詰められる
+ * (要素数が1チャンクちょうどの場合はコピーしない).
+ * </p>
+ * 
+ * <p>
+ * このクラスはスレッドセーフではない.
+ * </p>
+ * 
+ * @author Matsuura Y.
+ */
+final class DoubleArrayBuilder implements DoubleConsumer {
+
+    /**
+     * チャンクの長さの2進の桁数.
+     */
+    private static final int CHUNK_BITS = 13;
+
+    /**
+     * チャンクの長さ (64 KiB).
+     */
+    static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    /**
+     * 要素数の上限 (配列の最大長).
+     */
+    private static final int MAX_SIZE = Integer.MAX_VALUE - 8;
+
+    private final List<double[]> chunks = new ArrayList<>();
+    private double[] current = null;
+    private int position = CHUNK_SIZE;
+    private int size = 0;
+
+    /**
+     * 空の配列を構築する.
+     */
+    DoubleArrayBuilder() {
+        super();
+    }
+
+    /**
+     * 末尾に値を追加する.
+     * 
+     * @param value 値
+     * @throws IllegalStateException 要素数が配列の最大長を超える場合
+     */
+    @Override
+    public void accept(double value) {
+        if (position == CHUNK_SIZE) {
+            if (size > MAX_SIZE - CHUNK_SIZE) {
+                throw new IllegalStateException("too many values");
+            }
+            current = new double[CHUNK_SIZE];
+            chunks.add(current);
+            position = 0;
+        }
+        current[position++] = value;
+        size++;
+    }
+
+    /**
+     * 要素数を返す.
+     * 
+     * @return 要素数
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * 値をコピーせずに読み出す.
+     * 
+     * @param index インデックス
+     * @return 値
+     * @throws IndexOutOfBoundsException インデックスが範囲外の場合
+     */
+    double get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        return chunks.get(index >>> CHUNK_BITS)[index & CHUNK_MASK];
+    }
+
+    /**
+     * 値を, 与えた配列の与えた位置から書き込む.
+     * 
+     * @param dest 書き込み先
+     * @param offset 書き込み先の開始位置
+     * @throws IndexOutOfBoundsException 書き込み先が不足する場合
+     * @throws NullPointerException 引数がnullの場合
+     */
+    void copyTo(double[] dest, int offset) {
+        int remaining = size;
+        int at = offset;
+        for (double[] chunk : chunks) {
+            int n = Math.min(CHUNK_SIZE, remaining);
+            System.arraycopy(chunk, 0, dest, at, n);
+            at += n;
+            remaining -= n;
+        }
+    }
+
+    /**
+     * 要素数ちょうどの配列を返す.
+     * 
+     * <p>
+     * 要素数が1チャンクちょうどの場合, チャンクをそのまま返す
+     * (以降にこのインスタンスに値を追加しても, 戻り値は影響を受けない).
+     * </p>
+     * 
+     * @return 配列
+     */
+    double[] toArray() {
+        if (size == CHUNK_SIZE) {
+            return chunks.get(0);
+        }
+        double[] out = new double[size];
+        copyTo(out, 0);
+        return out;
+    }
+
+    /**
+     * 値を与えた順序で連結した, 要素数ちょうどの配列を返す.
+     * 
+     * <p>
+     * 各インスタンスのチャンクはコピーした後に解放されるので,
+     * 呼び出し後のインスタンスは空となる.
+     * </p>
+     * 
+     * @param builders 連結する配列
+     * @return 連結した配列
+     * @throws ArithmeticException 合計の要素数が {@code int} の範囲を超える場合
+     * @throws NullPointerException 引数にnullが含まれる場合
+     */
+    static double[] concat(List<DoubleArrayBuilder> builders) {
+        if (builders.size() == 1) {
+            double[] out = builders.get(0).toArray();
+            builders.get(0).clear();
+            return out;
+        }
+
+        int totalSize = 0;
+        for (DoubleArrayBuilder builder : builders) {
+            totalSize = Math.addExact(totalSize, builder.size);
+        }
+        double[] out = new double[totalSize];
+        int position = 0;
+        for (DoubleArrayBuilder builder : builders) {
+            builder.copyTo(out, position);
+            position += builder.size;
+            builder.clear();
+        }
+        return out;
+    }
+
+    /**
+     * すべての値を破棄し, チャンクを解放する.
+     */
+    void clear() {
+        chunks.clear();
+        current = null;
+        position = CHUNK_SIZE;
+        size = 0;
+    }
+}
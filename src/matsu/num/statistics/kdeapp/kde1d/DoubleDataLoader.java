@@ -12,7 +12,6 @@ package matsu.num.statistics.kdeapp.kde1d;
 
 import java.io.IOException;
 import java.util.Objects;
-import java.util.OptionalDouble;
 import java.util.stream.Stream;
 
 /**
@@ -58,11 +57,11 @@ final class DoubleDataLoader {
      * @throws NullPointerException 引数やストリームの要素にnullを含む場合
      */
     public double[] load(IOSupplier<Stream<String>> linesSupplier) throws IOException {
+        // 要素数が未知のまま配列を倍々に拡張するコピーを避けるため, チャンクに蓄積する
+        DoubleArrayBuilder builder = new DoubleArrayBuilder();
         try (Stream<String> lines = linesSupplier.get()) {
-            return lines
-                    .map(s -> parser.parse(s))
-                    .flatMapToDouble(OptionalDouble::stream)
-                    .toArray();
+            lines.forEachOrdered(s -> parser.parse(s).ifPresent(builder));
+            return builder.toArray();
         } catch (NumberFormatException e) {
             throw new IOException("illegal number format: " + e.getMessage());
         }
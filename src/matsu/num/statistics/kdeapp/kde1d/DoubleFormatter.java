@@ -0,0 +1,366 @@
+/*
+ * Copyright © 2026 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+/*
+ * 2026.10.18
+ */
+package matsu.num.statistics.kdeapp.kde1d;
+
+import java.math.BigInteger;
+
+/**
+ * {@code double} 値を, 往復変換で元の値に戻る最短の10進表現に変換し,
+ * ASCII のバイト列としてバッファに書き込む.
+ * 
+ * <p>
+ * 10進の桁は Schubfach アルゴリズム (R. Giulietti,
+ * "The Schubfach way to render doubles", 2020) で求める. <br>
+ * 出力のレイアウトは {@link Double#toString(double)} と同一である
+ * (絶対値が {@code 10^-3} 以上 {@code 10^7} 未満ならば固定小数点, それ以外は {@code E} による指数表記). <br>
+ * 桁は最短であるので, {@link Double#toString(double)} (Java 17) よりも短くなる場合がある.
+ * </p>
+ * 
+ * <p>
+ * 文字列などのオブジェクトを生成しない.
+ * </p>
+ * 
+ * @author Matsuura Y.
+ */
+final class DoubleFormatter {
+
+    /**
+     * 1個の値の出力の最大バイト数 (例: {@code -2.2250738585072014E-308}).
+     */
+    static final int MAX_LENGTH = 24;
+
+    private static final int P = 53;
+    private static final int Q_MIN = -1074;
+    private static final long C_MIN = 1L << (P - 1);
+    private static final long C_TINY = 3;
+    private static final long T_MASK = C_MIN - 1;
+    private static final int K_MIN = -324;
+    private static final int K_MAX = 292;
+    private static final long MASK_63 = (1L << 63) - 1;
+
+    /**
+     * {@code 10^-k} の 126 ビット近似 g を, 上位 63 ビットと下位 63 ビットに分けて並べた表.
+     */
+    private static final long[] G = table();
+
+    /**
+     * 0から99までの2桁の10進表現を並べた表.
+     */
+    private static final byte[] DIGIT_PAIRS = digitPairs();
+
+    /**
+     * {@code 10^0} から {@code 10^18} までの表.
+     */
+    private static final long[] POW10 = pow10();
+
+    private static final byte[] NAN = { 'N', 'a', 'N' };
+    private static final byte[] INFINITY = { 'I', 'n', 'f', 'i', 'n', 'i', 't', 'y' };
+
+    private DoubleFormatter() {
+        // インスタンス化不可
+        throw new AssertionError();
+    }
+
+    /**
+     * 値を10進表現に変換し, バッファの指定位置から書き込む.
+     * 
+     * @param v 値
+     * @param buffer バッファ
+     * @param position 書き込み開始位置
+     * @return 書き込み終了位置 (書き込んだ最後のバイトの次)
+     * @throws IndexOutOfBoundsException バッファに {@link #MAX_LENGTH} バイトの空きがない場合
+     *             (書き込む長さによってはスローされない)
+     */
+    static int format(double v, byte[] buffer, int position) {
+        long bits = Double.doubleToRawLongBits(v);
+        long t = bits & T_MASK;
+        int bq = (int) (bits >>> (P - 1)) & 0x7FF;
+        int pos = position;
+
+        if (bq == 0x7FF) {
+            if (t != 0L) {
+                return put(NAN, buffer, pos);
+            }
+            if (bits < 0L) {
+                buffer[pos++] = '-';
+            }
+            return put(INFINITY, buffer, pos);
+        }
+
+        if (bits < 0L) {
+            buffer[pos++] = '-';
+        }
+        if (bq != 0) {
+            // 正規化数
+            int mq = -Q_MIN + 1 - bq;
+            long c = C_MIN | t;
+            // 整数値の高速パス
+            if (0 < mq & mq < P) {
+                long f = c >> mq;
+                if (f << mq == c) {
+                    return toChars(f, 0, buffer, pos);
+                }
+            }
+            return toDecimal(-mq, c, 0, buffer, pos);
+        }
+        if (t != 0L) {
+            // 非正規化数
+            return t < C_TINY
+                    ? toDecimal(Q_MIN, 10 * t, -1, buffer, pos)
+                    : toDecimal(Q_MIN, t, 0, buffer, pos);
+        }
+        buffer[pos++] = '0';
+        buffer[pos++] = '.';
+        buffer[pos++] = '0';
+        return pos;
+    }
+
+    /**
+     * {@code c 2^q} の最短の10進表現 {@code f 10^e} を求め, 書き込む.
+     */
+    private static int toDecimal(int q, long c, int dk, byte[] buffer, int pos) {
+        int out = (int) c & 0x1;
+        long cb = c << 2;
+        long cbr = cb + 2;
+        long cbl;
+        int k;
+        if (c != C_MIN | q == Q_MIN) {
+            cbl = cb - 2;
+            k = flog10pow2(q);
+        } else {
+            cbl = cb - 1;
+            k = flog10threeQuartersPow2(q);
+        }
+        int h = q + flog2pow10(-k) + 2;
+
+        long g1 = G[(k - K_MIN) << 1];
+        long g0 = G[((k - K_MIN) << 1) | 1];
+
+        long vb = rop(g1, g0, cb << h);
+        long vbl = rop(g1, g0, cbl << h);
+        long vbr = rop(g1, g0, cbr << h);
+
+        long s = vb >> 2;
+        if (s >= 100) {
+            // 1桁少ない候補 (10の倍数) を優先する
+            long sp10 = 10 * Math.multiplyHigh(s, 115_292_150_460_684_698L << 4);
+            long tp10 = sp10 + 10;
+            boolean upin = vbl + out <= sp10 << 2;
+            boolean wpin = (tp10 << 2) + out <= vbr;
+            if (upin != wpin) {
+                return toChars(upin ? sp10 : tp10, k, buffer, pos);
+            }
+        }
+
+        long t = s + 1;
+        boolean uin = vbl + out <= s << 2;
+        boolean win = (t << 2) + out <= vbr;
+        if (uin != win) {
+            return toChars(uin ? s : t, k + dk, buffer, pos);
+        }
+
+        // 両方の候補が丸め区間にある場合は, 近い方 (等距離ならば偶数)
+        long cmp = vb - (s + t << 1);
+        return toChars(cmp < 0 || cmp == 0 && (s & 0x1) == 0 ? s : t, k + dk, buffer, pos);
+    }
+
+    /**
+     * {@code g cp 2^-127} を計算し, 端数がある場合は最下位ビットを立てる.
+     */
+    private static long rop(long g1, long g0, long cp) {
+        long x1 = Math.multiplyHigh(g0, cp);
+        long y0 = g1 * cp;
+        long y1 = Math.multiplyHigh(g1, cp);
+        long z = (y0 >>> 1) + x1;
+        long vbp = y1 + (z >>> 63);
+        return vbp | (z & MASK_63) + MASK_63 >>> 63;
+    }
+
+    /**
+     * {@code f 10^e} を, {@link Double#toString(double)} のレイアウトで書き込む.
+     */
+    private static int toChars(long f, int e, byte[] buffer, int pos) {
+        // 末尾の0を除く
+        while (f % 10 == 0 && f != 0) {
+            f /= 10;
+            e++;
+        }
+        // 10進桁数: log10(2) ~ 1233 / 4096 による推定を補正する
+        int length = (64 - Long.numberOfLeadingZeros(f)) * 1233 >>> 12;
+        if (length < POW10.length && f >= POW10[length]) {
+            length++;
+        }
+        length = Math.max(length, 1);
+
+        // 先頭の桁の10進指数
+        int exponent = length + e - 1;
+        if (0 <= exponent && exponent < 7) {
+            int integerLength = exponent + 1;
+            writeDigits(f, length, buffer, pos);
+            if (length <= integerLength) {
+                pos += length;
+                for (int i = length; i < integerLength; i++) {
+                    buffer[pos++] = '0';
+                }
+                buffer[pos++] = '.';
+                buffer[pos++] = '0';
+                return pos;
+            }
+            // 小数部を1バイトずらして小数点を挿入する
+            System.arraycopy(
+                    buffer, pos + integerLength, buffer, pos + integerLength + 1,
+                    length - integerLength);
+            buffer[pos + integerLength] = '.';
+            return pos + length + 1;
+        }
+        if (-3 <= exponent && exponent < 0) {
+            buffer[pos++] = '0';
+            buffer[pos++] = '.';
+            for (int i = exponent + 1; i < 0; i++) {
+                buffer[pos++] = '0';
+            }
+            writeDigits(f, length, buffer, pos);
+            return pos + length;
+        }
+
+        // 先頭の桁の後に小数点を挿入する
+        writeDigits(f, length, buffer, pos + 1);
+        buffer[pos] = buffer[pos + 1];
+        buffer[pos + 1] = '.';
+        pos += length + 1;
+        if (length == 1) {
+            buffer[pos++] = '0';
+        }
+        buffer[pos++] = 'E';
+        if (exponent < 0) {
+            buffer[pos++] = '-';
+            exponent = -exponent;
+        }
+        if (exponent >= 100) {
+            buffer[pos++] = (byte) ('0' + exponent / 100);
+            exponent %= 100;
+            buffer[pos++] = (byte) ('0' + exponent / 10);
+        } else if (exponent >= 10) {
+            buffer[pos++] = (byte) ('0' + exponent / 10);
+        }
+        buffer[pos++] = (byte) ('0' + exponent % 10);
+        return pos;
+    }
+
+    /**
+     * 正の整数 f の10進の各桁を, 指定位置から length バイトに書き込む.
+     * 
+     * <p>
+     * 8桁ごとに {@code int} に分割し, 2桁ずつ表引きで書き込む.
+     * </p>
+     */
+    private static void writeDigits(long f, int length, byte[] buffer, int from) {
+        int i = from + length;
+        while (f >= 100_000_000L) {
+            long q = f / 100_000_000L;
+            int r = (int) (f - q * 100_000_000L);
+            for (int j = 0; j < 4; j++) {
+                int rq = r / 100;
+                i = writePair(r - rq * 100, buffer, i);
+                r = rq;
+            }
+            f = q;
+        }
+        int n = (int) f;
+        while (n >= 100) {
+            int q = n / 100;
+            i = writePair(n - q * 100, buffer, i);
+            n = q;
+        }
+        if (n >= 10) {
+            writePair(n, buffer, i);
+        } else {
+            buffer[i - 1] = (byte) ('0' + n);
+        }
+    }
+
+    /**
+     * 2桁の値 (0以上100未満) を, 位置 {@code end} の直前の2バイトに書き込み, 書き込み開始位置を返す.
+     */
+    private static int writePair(int pair, byte[] buffer, int end) {
+        buffer[end - 1] = DIGIT_PAIRS[(pair << 1) | 1];
+        buffer[end - 2] = DIGIT_PAIRS[pair << 1];
+        return end - 2;
+    }
+
+    private static int put(byte[] src, byte[] buffer, int pos) {
+        System.arraycopy(src, 0, buffer, pos, src.length);
+        return pos + src.length;
+    }
+
+    /**
+     * {@code floor(log10(2^e))}.
+     */
+    private static int flog10pow2(int e) {
+        return (int) (e * 661_971_961_083L >> 41);
+    }
+
+    /**
+     * {@code floor(log10(3/4 2^e))}.
+     */
+    private static int flog10threeQuartersPow2(int e) {
+        return (int) (e * 661_971_961_083L + -274_743_187_321L >> 41);
+    }
+
+    /**
+     * {@code floor(log2(10^e))}.
+     */
+    private static int flog2pow10(int e) {
+        return (int) (e * 913_124_641_741L >> 38);
+    }
+
+    private static byte[] digitPairs() {
+        byte[] out = new byte[200];
+        for (int i = 0; i < 100; i++) {
+            out[i << 1] = (byte) ('0' + i / 10);
+            out[(i << 1) | 1] = (byte) ('0' + i % 10);
+        }
+        return out;
+    }
+
+    private static long[] pow10() {
+        long[] out = new long[19];
+        out[0] = 1L;
+        for (int i = 1; i < out.length; i++) {
+            out[i] = out[i - 1] * 10;
+        }
+        return out;
+    }
+
+    /**
+     * {@code 10^-k = beta 2^r} ({@code 2^125 <= beta < 2^126}) に対し,
+     * {@code g = floor(beta) + 1} の表を構築する.
+     */
+    private static long[] table() {
+        long[] out = new long[(K_MAX - K_MIN + 1) << 1];
+        BigInteger mask63 = BigInteger.ONE.shiftLeft(63).subtract(BigInteger.ONE);
+        for (int k = K_MIN; k <= K_MAX; k++) {
+            BigInteger g;
+            if (k <= 0) {
+                BigInteger n = BigInteger.TEN.pow(-k);
+                int r = n.bitLength() - 126;
+                g = (r >= 0 ? n.shiftRight(r) : n.shiftLeft(-r)).add(BigInteger.ONE);
+            } else {
+                // 10^k は2の累乗でないので, 2^(125 + L) / 10^k は (2^125, 2^126) にある
+                BigInteger d = BigInteger.TEN.pow(k);
+                g = BigInteger.ONE.shiftLeft(125 + d.bitLength()).divide(d).add(BigInteger.ONE);
+            }
+            out[(k - K_MIN) << 1] = g.shiftRight(63).longValue();
+            out[((k - K_MIN) << 1) | 1] = g.and(mask63).longValue();
+        }
+        return out;
+    }
+}
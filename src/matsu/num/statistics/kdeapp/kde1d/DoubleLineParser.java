@@ -6,7 +6,7 @@
  */
 
 /*
- * 2026.1.13
+ * 2026.10.18
  */
 package matsu.num.statistics.kdeapp.kde1d;
 
@@ -15,14 +15,22 @@ import java.util.Collection;
 import java.util.HashSet;
 import java.util.OptionalDouble;
 import java.util.Set;
+import java.util.regex.Pattern;
 
 /**
- * 1行の文字列を1個の {@code double} 値に変換するパーサー.
+ * 1行の文字列を1個の {@code double} 値 (あるいは値と重みの組, 複数列の値) に変換するパーサー.
  * 
  * @author Matsuura Y.
  */
 final class DoubleLineParser {
 
+    /**
+     * フィールドの区切り (カンマ (前後の空白を許す), または空白の連続). <br>
+     * 空白は {@link Character#isWhitespace(char)} に従う.
+     */
+    private static final Pattern FIELD_SEPARATOR = Pattern.compile(
+            "\\p{javaWhitespace}*,\\p{javaWhitespace}*|\\p{javaWhitespace}+");
+
     private final Set<String> escapes;
 
     /**
@@ -79,4 +87,90 @@ final class DoubleLineParser {
         }
         return OptionalDouble.of(Double.parseDouble(s));
     }
+
+    /**
+     * 文字列を解析し, 値と重みの組を抽出してコンシューマに渡す.
+     * 
+     * <p>
+     * 行は {@code <値><区切り><重み>} の形式であり,
+     * 区切りはカンマ (前後の空白を許す) または空白である. <br>
+     * ブランクの場合, エスケープ文字列から始まる場合は何もせずに false を返す. <br>
+     * 重みは正の有限値でなければならない.
+     * </p>
+     * 
+     * @param line 解析する文字列
+     * @param consumer 値と重みの受け取り先
+     * @return 値を抽出した場合はtrue
+     * @throws NumberFormatException フォーマット不正で値を抽出できなかった場合,
+     *             重みが欠けている, または不正な場合
+     * @throws NullPointerException null
+     */
+    public boolean parseWeighted(String line, WeightedDoubleConsumer consumer) {
+        String s = line.strip();
+        if (s.isEmpty()) {
+            return false;
+        }
+
+        if (escapes.stream().anyMatch(s::startsWith)) {
+            return false;
+        }
+        String[] fields = FIELD_SEPARATOR.split(s, 2);
+        if (fields.length < 2 || fields[1].isEmpty()) {
+            throw new NumberFormatException("weight is missing: " + s);
+        }
+        double value = Double.parseDouble(fields[0]);
+        consumer.accept(value, checkedWeight(Double.parseDouble(fields[1])));
+        return true;
+    }
+
+    /**
+     * 文字列を解析し, 指定したフィールドの {@code double} 値を抽出して配列に格納する.
+     * 
+     * <p>
+     * 行はフィールドを区切りで並べた形式であり,
+     * 区切りはカンマ (前後の空白を許す) または空白である. <br>
+     * {@code row[i]} には {@code fields[i]} 番目 (0始まり) のフィールドの値が格納される. <br>
+     * 指定されないフィールドは解釈されない. <br>
+     * ブランクの場合, エスケープ文字列から始まる場合は何もせずに false を返す.
+     * </p>
+     * 
+     * @param line 解析する文字列
+     * @param fields 抽出するフィールドの番号 (0始まり)
+     * @param row 値の格納先 ({@code fields} と同じ長さ)
+     * @return 値を抽出した場合はtrue
+     * @throws NumberFormatException フォーマット不正で値を抽出できなかった場合, フィールドが欠けている場合
+     * @throws NullPointerException null
+     */
+    public boolean parseColumns(String line, int[] fields, double[] row) {
+        String s = line.strip();
+        if (s.isEmpty()) {
+            return false;
+        }
+
+        if (escapes.stream().anyMatch(s::startsWith)) {
+            return false;
+        }
+        String[] tokens = FIELD_SEPARATOR.split(s, -1);
+        for (int i = 0; i < fields.length; i++) {
+            if (fields[i] >= tokens.length) {
+                throw new NumberFormatException("column " + (fields[i] + 1) + " is missing: " + s);
+            }
+            row[i] = Double.parseDouble(tokens[fields[i]]);
+        }
+        return true;
+    }
+
+    /**
+     * 重みが正の有限値であることを検証する.
+     * 
+     * @param weight 重み
+     * @return 引数そのもの
+     * @throws NumberFormatException 重みが正の有限値でない場合
+     */
+    static double checkedWeight(double weight) {
+        if (!(weight > 0d && Double.isFinite(weight))) {
+            throw new NumberFormatException("illegal weight: " + weight);
+        }
+        return weight;
+    }
 }
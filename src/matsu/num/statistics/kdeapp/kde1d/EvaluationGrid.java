@@ -0,0 +1,131 @@
+/*
+ * Copyright © 2026 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+/*
+ * 2026.10.18
+ */
+package matsu.num.statistics.kdeapp.kde1d;
+
+/**
+ * 密度を評価する等間隔グリッドを表現する.
+ * 
+ * <p>
+ * グリッド点は {@code start + i * step} ({@code i = 0, ..., size - 1}) である. <br>
+ * このクラスはイミュータブルである.
+ * </p>
+ * 
+ * @author Matsuura Y.
+ */
+final class EvaluationGrid {
+
+    /**
+     * グリッド点数のデフォルト値.
+     */
+    static final int DEFAULT_SIZE = 1024;
+
+    /**
+     * グリッド点数の最小値.
+     */
+    static final int MIN_SIZE = 2;
+
+    private final double start;
+    private final double step;
+    private final int size;
+
+    private EvaluationGrid(double start, double step, int size) {
+        super();
+        this.start = start;
+        this.step = step;
+        this.size = size;
+    }
+
+    /**
+     * 区間 {@code [min, max]} を両端を含めて等分割したグリッドを返す.
+     * 
+     * @param min 下端
+     * @param max 上端
+     * @param size グリッド点数
+     * @return グリッド
+     * @throws IllegalArgumentException 区間が不正 ({@code min < max} でない, 有限でない) の場合,
+     *             点数が {@link #MIN_SIZE} 未満の場合
+     */
+    static EvaluationGrid of(double min, double max, int size) {
+        if (!(Double.isFinite(min) && Double.isFinite(max) && min < max)) {
+            throw new IllegalArgumentException("illegal range: [%s, %s]".formatted(min, max));
+        }
+        if (size < MIN_SIZE) {
+            throw new IllegalArgumentException("illegal size: " + size);
+        }
+        return new EvaluationGrid(min, (max - min) / (size - 1), size);
+    }
+
+    /**
+     * 間隔を保ったまま, 両側にグリッド点を加えたグリッドを返す.
+     * 
+     * @param margin 片側に加える点数
+     * @return グリッド
+     * @throws IllegalArgumentException 点数が負の場合
+     */
+    EvaluationGrid extended(int margin) {
+        if (margin < 0) {
+            throw new IllegalArgumentException("illegal margin: " + margin);
+        }
+        return margin == 0
+                ? this
+                : new EvaluationGrid(start - margin * step, step, size + 2 * margin);
+    }
+
+    /**
+     * グリッドの始点を返す.
+     * 
+     * @return 始点
+     */
+    double start() {
+        return start;
+    }
+
+    /**
+     * グリッドの間隔を返す.
+     * 
+     * @return 間隔
+     */
+    double step() {
+        return step;
+    }
+
+    /**
+     * グリッド点数を返す.
+     * 
+     * @return 点数
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * <i>i</i> 番目のグリッド点を返す.
+     * 
+     * @param i インデックス
+     * @return グリッド点
+     */
+    double x(int i) {
+        return start + i * step;
+    }
+
+    /**
+     * 全グリッド点を配列で返す.
+     * 
+     * @return グリッド点の配列
+     */
+    double[] points() {
+        double[] out = new double[size];
+        for (int i = 0; i < size; i++) {
+            out[i] = x(i);
+        }
+        return out;
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright © 2026 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+/*
+ * 2026.10.18
+ */
+package matsu.num.statistics.kdeapp.kde1d;
+
+/**
+ * 長さが2の累乗である複素数列に対する, 基数2の高速フーリエ変換.
+ * 
+ * <p>
+ * 変換は in-place で行われ, 複素数列は実部と虚部の配列の組で表現される. <br>
+ * 正変換は {@code X[k] = Σ x[j] exp(-2πi jk / n)},
+ * 逆変換は {@code x[j] = (1/n) Σ X[k] exp(2πi jk / n)} である.
+ * </p>
+ * 
+ * <p>
+ * インスタンスは長さごとの回転因子を保持し, イミュータブルである.
+ * </p>
+ * 
+ * @author Matsuura Y.
+ */
+final class FastFourierTransform {
+
+    private final int length;
+    private final double[] cos;
+    private final double[] sin;
+
+    /**
+     * 変換長を与えてインスタンスを構築する.
+     * 
+     * @param length 変換長
+     * @throws IllegalArgumentException 変換長が2の累乗でない場合
+     */
+    FastFourierTransform(int length) {
+        super();
+        if (length <= 0 || Integer.bitCount(length) != 1) {
+            throw new IllegalArgumentException("length is not power of 2: " + length);
+        }
+        this.length = length;
+
+        int half = length / 2;
+        this.cos = new double[half];
+        this.sin = new double[half];
+        for (int k = 0; k < half; k++) {
+            double theta = 2 * Math.PI * k / length;
+            cos[k] = Math.cos(theta);
+            sin[k] = Math.sin(theta);
+        }
+    }
+
+    /**
+     * 引数以上の最小の2の累乗を返す.
+     * 
+     * @param n 下限
+     * @return 2の累乗
+     * @throws IllegalArgumentException 引数が1未満, または2の累乗が {@code int} で表現できない場合
+     */
+    static int ceilPowerOf2(int n) {
+        if (n < 1 || n > (1 << 30)) {
+            throw new IllegalArgumentException("out of range: " + n);
+        }
+        return n == 1 ? 1 : Integer.highestOneBit(n - 1) << 1;
+    }
+
+    /**
+     * 変換長を返す.
+     * 
+     * @return 変換長
+     */
+    int length() {
+        return length;
+    }
+
+    /**
+     * 正変換を in-place で実行する.
+     * 
+     * @param re 実部
+     * @param im 虚部
+     * @throws IllegalArgumentException 配列長が変換長と一致しない場合
+     * @throws NullPointerException 引数がnullの場合
+     */
+    void forward(double[] re, double[] im) {
+        transform(re, im, -1);
+    }
+
+    /**
+     * 逆変換を in-place で実行する (1/n の規格化を含む).
+     * 
+     * @param re 実部
+     * @param im 虚部
+     * @throws IllegalArgumentException 配列長が変換長と一致しない場合
+     * @throws NullPointerException 引数がnullの場合
+     */
+    void inverse(double[] re, double[] im) {
+        transform(re, im, 1);
+        double scale = 1d / length;
+        for (int i = 0; i < length; i++) {
+            re[i] *= scale;
+            im[i] *= scale;
+        }
+    }
+
+    /**
+     * 反復型の Cooley-Tukey 変換.
+     * 
+     * @param sign 回転因子の指数の符号
+     */
+    private void transform(double[] re, double[] im, int sign) {
+        if (re.length != length || im.length != length) {
+            throw new IllegalArgumentException("length mismatch");
+        }
+
+        // ビット反転による並べ替え
+        for (int i = 1, j = 0; i < length; i++) {
+            int bit = length >> 1;
+            for (; (j & bit) != 0; bit >>= 1) {
+                j ^= bit;
+            }
+            j ^= bit;
+            if (i < j) {
+                double tr = re[i];
+                re[i] = re[j];
+                re[j] = tr;
+                double ti = im[i];
+                im[i] = im[j];
+                im[j] = ti;
+            }
+        }
+
+        // バタフライ演算
+        for (int size = 2; size <= length; size <<= 1) {
+            int half = size >> 1;
+            int tableStep = length / size;
+            for (int begin = 0; begin < length; begin += size) {
+                for (int k = 0; k < half; k++) {
+                    double wr = cos[k * tableStep];
+                    double wi = sign * sin[k * tableStep];
+                    int p = begin + k;
+                    int q = p + half;
+                    double xr = re[q] * wr - im[q] * wi;
+                    double xi = re[q] * wi + im[q] * wr;
+                    re[q] = re[p] - xr;
+                    im[q] = im[p] - xi;
+                    re[p] += xr;
+                    im[p] += xi;
+                }
+            }
+        }
+    }
+}
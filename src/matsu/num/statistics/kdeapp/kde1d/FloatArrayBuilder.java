@@ -0,0 +1,193 @@
+/*
+ * Copyright © 2026 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+/*
+ * 2026.10.18
+ */
+package matsu.num.statistics.kdeapp.kde1d;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.DoubleConsumer;
+
+/**
+ * 固定長のチャンクを連ねて容量を拡張する, {@code float} 値の可変長配列.
+ * 
+ * <p>
+ * 単精度モードのロードで値を蓄積するために用いる. <br>
+ * 値は {@code double} で受け取り, 追加時に {@code float} に丸めて保持するので,
+ * 保持するメモリは {@link DoubleArrayBuilder} の半分である. <br>
+ * 容量の拡張とコピーに関する性質は {@link DoubleArrayBuilder} と同一である.
+ * </p>
+ * 
+ * <p>
+ * このクラスはスレッドセーフではない.
+ * </p>
+ * 
+ * @author Matsuura Y.
+ */
+final class FloatArrayBuilder implements DoubleConsumer {
+
+    /**
+     * チャンクの長さの2進の桁数.
+     */
+    private static final int CHUNK_BITS = 13;
+
+    /**
+     * チャンクの長さ (32 KiB).
+     */
+    static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    /**
+     * 要素数の上限 (配列の最大長).
+     */
+    private static final int MAX_SIZE = Integer.MAX_VALUE - 8;
+
+    private final List<float[]> chunks = new ArrayList<>();
+    private float[] current = null;
+    private int position = CHUNK_SIZE;
+    private int size = 0;
+
+    /**
+     * 空の配列を構築する.
+     */
+    FloatArrayBuilder() {
+        super();
+    }
+
+    /**
+     * 末尾に値を {@code float} に丸めて追加する.
+     * 
+     * <p>
+     * 丸めは {@code (float) value} による (最近接偶数丸め). <br>
+     * {@code float} の範囲を超える有限値は無限大となる.
+     * </p>
+     * 
+     * @param value 値
+     * @throws IllegalStateException 要素数が配列の最大長を超える場合
+     */
+    @Override
+    public void accept(double value) {
+        if (position == CHUNK_SIZE) {
+            if (size > MAX_SIZE - CHUNK_SIZE) {
+                throw new IllegalStateException("too many values");
+            }
+            current = new float[CHUNK_SIZE];
+            chunks.add(current);
+            position = 0;
+        }
+        current[position++] = (float) value;
+        size++;
+    }
+
+    /**
+     * 要素数を返す.
+     * 
+     * @return 要素数
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * 値をコピーせずに読み出す.
+     * 
+     * @param index インデックス
+     * @return 値
+     * @throws IndexOutOfBoundsException インデックスが範囲外の場合
+     */
+    float get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        return chunks.get(index >>> CHUNK_BITS)[index & CHUNK_MASK];
+    }
+
+    /**
+     * 値を, 与えた配列の与えた位置から書き込む.
+     * 
+     * @param dest 書き込み先
+     * @param offset 書き込み先の開始位置
+     * @throws IndexOutOfBoundsException 書き込み先が不足する場合
+     * @throws NullPointerException 引数がnullの場合
+     */
+    void copyTo(float[] dest, int offset) {
+        int remaining = size;
+        int at = offset;
+        for (float[] chunk : chunks) {
+            int n = Math.min(CHUNK_SIZE, remaining);
+            System.arraycopy(chunk, 0, dest, at, n);
+            at += n;
+            remaining -= n;
+        }
+    }
+
+    /**
+     * 要素数ちょうどの配列を返す.
+     * 
+     * <p>
+     * 要素数が1チャンクちょうどの場合, チャンクをそのまま返す
+     * (以降にこのインスタンスに値を追加しても, 戻り値は影響を受けない).
+     * </p>
+     * 
+     * @return 配列
+     */
+    float[] toArray() {
+        if (size == CHUNK_SIZE) {
+            return chunks.get(0);
+        }
+        float[] out = new float[size];
+        copyTo(out, 0);
+        return out;
+    }
+
+    /**
+     * 値を与えた順序で連結した, 要素数ちょうどの配列を返す.
+     * 
+     * <p>
+     * 各インスタンスのチャンクはコピーした後に解放されるので,
+     * 呼び出し後のインスタンスは空となる.
+     * </p>
+     * 
+     * @param builders 連結する配列
+     * @return 連結した配列
+     * @throws ArithmeticException 合計の要素数が {@code int} の範囲を超える場合
+     * @throws NullPointerException 引数にnullが含まれる場合
+     */
+    static float[] concat(List<FloatArrayBuilder> builders) {
+        if (builders.size() == 1) {
+            float[] out = builders.get(0).toArray();
+            builders.get(0).clear();
+            return out;
+        }
+
+        int totalSize = 0;
+        for (FloatArrayBuilder builder : builders) {
+            totalSize = Math.addExact(totalSize, builder.size);
+        }
+        float[] out = new float[totalSize];
+        int position = 0;
+        for (FloatArrayBuilder builder : builders) {
+            builder.copyTo(out, position);
+            position += builder.size;
+            builder.clear();
+        }
+        return out;
+    }
+
+    /**
+     * すべての値を破棄し, チャンクを解放する.
+     */
+    void clear() {
+        chunks.clear();
+        current = null;
+        position = CHUNK_SIZE;
+        size = 0;
+    }
+}
@@ -0,0 +1,291 @@
+/*
+ * Copyright © 2026 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+/*
+ * 2026.10.18
+ */
+package matsu.num.statistics.kdeapp.kde1d;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+import matsu.num.statistics.kdeapp.kde1d.command.GridPoints;
+import matsu.num.statistics.kdeapp.kde1d.command.PlotRange;
+import matsu.num.statistics.kdeapp.kde1d.exception.CalculationException;
+
+/**
+ * 線形ビニングと FFT による畳み込みで, ガウシアンKdeを評価する計算器.
+ * 
+ * <p>
+ * サンプルを評価グリッド上に線形ビニングし (O(<i>n</i>)),
+ * サンプリングしたガウシアンカーネルとの畳み込みを FFT で計算する (O(<i>m</i> log <i>m</i>)). <br>
+ * ここで, <i>n</i> はサンプル数, <i>m</i> はグリッド点数である. <br>
+ * バンド幅は {@link NormalReferenceBandwidth} による. <br>
+ * 重み付きのソースでは, 重みをビンに配分して総重みで規格化する (<i>n</i> は値と重みの組の数である).
+ * </p>
+ * 
+ * <p>
+ * <u><i>厳密な評価との誤差</i></u> <br>
+ * 同じバンド幅 <i>h</i> を用いた厳密な和
+ * {@code f(x) = (1/n) Σ K_h(x - X_j)} に対し,
+ * グリッド点 <i>x</i> での誤差は次で抑えられる
+ * (Δ はグリッド間隔). <br>
+ * {@code |f_binned(x) - f(x)| <= Δ^2 / (8 √(2π) h^3)} <br>
+ * これは, 線形ビニングがグリッド点上で {@code K_h(x - X)} を
+ * {@code X} について線形補間することと等価であり,
+ * 補間誤差が {@code (Δ^2 / 8) sup|K_h''|} で抑えられることによる. <br>
+ * 密度の典型的な大きさ {@code 1/h} に対する相対誤差はおよそ
+ * {@code 0.05 (Δ/h)^2} であり, Δ = h/4 で 0.3% 程度である. <br>
+ * このほか, カーネルを {@link #KERNEL_CUTOFF} バンド幅で打ち切る誤差 (相対 1e-14 程度) と,
+ * FFT の丸め誤差 (最大値に対して相対 1e-15 log <i>m</i> 程度) が加わる. <br>
+ * 丸め誤差により生じた負の値は 0 に切り上げる.
+ * </p>
+ * 
+ * <p>
+ * 単精度のソース ({@link Kde1dSource#isSinglePrecision()}) では,
+ * {@code float} の値を読み出して {@code double} のビンに配分する
+ * (値の丸めによる誤差は {@link Kde1dSource} を参照).
+ * </p>
+ * 
+ * @author Matsuura Y.
+ */
+final class GaussianBinnedKde1dCalculator implements Kde1dCalculator {
+
+    /**
+     * カーネルを打ち切る半径 (バンド幅を単位とする).
+     */
+    static final double KERNEL_CUTOFF = 8d;
+
+    private static final double INV_SQRT_2PI = 1d / Math.sqrt(2 * Math.PI);
+
+    private final GridPoints gridPoints;
+    private final PlotRange plotRange;
+
+    /**
+     * デフォルトのグリッド点数で計算器を構築する.
+     */
+    GaussianBinnedKde1dCalculator() {
+        this(EvaluationGrid.DEFAULT_SIZE);
+    }
+
+    /**
+     * グリッド点数を指定して計算器を構築する.
+     * 
+     * @param gridSize グリッド点数
+     * @throws IllegalArgumentException グリッド点数が {@link GridPoints#fixed(int)} で許容されない場合
+     */
+    GaussianBinnedKde1dCalculator(int gridSize) {
+        this(GridPoints.fixed(gridSize));
+    }
+
+    /**
+     * グリッド点数の指定を与えて計算器を構築する.
+     * 
+     * @param gridPoints グリッド点数の指定
+     * @throws NullPointerException 引数がnullの場合
+     */
+    GaussianBinnedKde1dCalculator(GridPoints gridPoints) {
+        this(gridPoints, PlotRange.data());
+    }
+
+    /**
+     * グリッド点数の指定と描画区間の指定を与えて計算器を構築する.
+     * 
+     * @param gridPoints グリッド点数の指定
+     * @param plotRange 描画区間の指定
+     * @throws NullPointerException 引数がnullの場合
+     */
+    GaussianBinnedKde1dCalculator(GridPoints gridPoints, PlotRange plotRange) {
+        super();
+        this.gridPoints = Objects.requireNonNull(gridPoints);
+        this.plotRange = Objects.requireNonNull(plotRange);
+    }
+
+    /**
+     * {@inheritDoc }
+     * 
+     * <p>
+     * 描画区間は描画区間の指定を {@link PlotInterval} で解決して定め,
+     * グリッド点数は {@link PlotInterval#toGrid(double, GridPoints)} により定める. <br>
+     * 描画区間がソースの範囲を含まない場合, グリッドを延長してビニングする
+     * ({@link #binningMargin(EvaluationGrid, double, double, double)}).
+     * </p>
+     * 
+     * @throws CalculationException {@inheritDoc }, ソースが広がりを持たない場合, 描画区間が空の場合
+     * @throws NullPointerException {@inheritDoc }
+     */
+    @Override
+    public WritableKde1dResult calc(Kde1dSource source) {
+        SampleSummary summary = source.summary().requireValid();
+        double bandwidth = summary.normalReferenceBandwidth();
+        if (!(bandwidth > 0 && summary.min() < summary.max())) {
+            throw new CalculationException("source has no spread");
+        }
+
+        EvaluationGrid grid = PlotInterval.resolve(
+                plotRange, summary, bandwidth, source::quantileFunction)
+                .toGrid(bandwidth, gridPoints);
+        int margin = binningMargin(grid, summary.min(), summary.max(), bandwidth);
+        EvaluationGrid binGrid = grid.extended(margin);
+        double[] density;
+        if (source.isSinglePrecision()) {
+            density = evaluate(source.floatValues(), binGrid, bandwidth);
+        } else if (source.isWeighted()) {
+            density = evaluate(source.values(), source.weights().get(), binGrid, bandwidth);
+        } else {
+            density = evaluate(source.values(), binGrid, bandwidth);
+        }
+        return WritableKde1dResult.of(grid, crop(density, margin, grid.size()));
+    }
+
+    /**
+     * 与えたグリッド上で密度を評価する.
+     * 
+     * <p>
+     * 線形ビニングは {@link LinearBins} による.
+     * </p>
+     * 
+     * @param source ソース
+     * @param grid グリッド
+     * @param bandwidth バンド幅
+     * @return 各グリッド点での密度
+     */
+    static double[] evaluate(double[] source, EvaluationGrid grid, double bandwidth) {
+        LinearBins bins = new LinearBins(grid);
+        for (double v : source) {
+            bins.accept(v);
+        }
+        return convolve(bins.toArray(), source.length, grid, bandwidth);
+    }
+
+    /**
+     * 単精度のソースの密度を, 与えたグリッド上で評価する.
+     * 
+     * @param source ソース
+     * @param grid グリッド
+     * @param bandwidth バンド幅
+     * @return 各グリッド点での密度
+     */
+    static double[] evaluate(float[] source, EvaluationGrid grid, double bandwidth) {
+        LinearBins bins = new LinearBins(grid);
+        for (float v : source) {
+            bins.accept(v);
+        }
+        return convolve(bins.toArray(), source.length, grid, bandwidth);
+    }
+
+    /**
+     * 重み付きのソースの密度を, 与えたグリッド上で評価する.
+     * 
+     * @param source ソースの値
+     * @param weights ソースの重み
+     * @param grid グリッド
+     * @param bandwidth バンド幅
+     * @return 各グリッド点での密度
+     */
+    static double[] evaluate(double[] source, double[] weights, EvaluationGrid grid, double bandwidth) {
+        LinearBins bins = new LinearBins(grid);
+        for (int i = 0; i < source.length; i++) {
+            bins.accept(source[i], weights[i]);
+        }
+        return convolve(bins.toArray(), bins.totalWeight(), grid, bandwidth);
+    }
+
+    /**
+     * サンプルの範囲 {@code [min, max]} を線形ビニングするために, グリッドの両側に加える点数を返す.
+     * 
+     * <p>
+     * {@link LinearBins} はグリッド外のサンプルを端のビンに寄せるので,
+     * サンプルの範囲がグリッドに含まれない場合 (描画区間を狭めた場合),
+     * グリッドを両側に {@link #KERNEL_CUTOFF} バンド幅だけ延長してビニングし,
+     * 畳み込みの後に元のグリッドの範囲を切り出す. <br>
+     * これにより, グリッド外のサンプルの寄与も正しく評価される. <br>
+     * 含まれる場合は0を返す.
+     * </p>
+     * 
+     * @param grid グリッド
+     * @param min サンプルの最小値
+     * @param max サンプルの最大値
+     * @param bandwidth バンド幅
+     * @return 片側に加える点数
+     */
+    static int binningMargin(EvaluationGrid grid, double min, double max, double bandwidth) {
+        if (grid.start() <= min && max <= grid.x(grid.size() - 1)) {
+            return 0;
+        }
+        return (int) Math.min(GridPoints.MAX_POINTS, Math.ceil(KERNEL_CUTOFF * bandwidth / grid.step()));
+    }
+
+    /**
+     * 延長したグリッドでの密度から, 元のグリッドの範囲を切り出す.
+     * 
+     * @param density 延長したグリッドでの密度
+     * @param margin 片側に加えた点数
+     * @param size 元のグリッドの点数
+     * @return 元のグリッドでの密度
+     */
+    static double[] crop(double[] density, int margin, int size) {
+        return margin == 0 ? density : Arrays.copyOfRange(density, margin, margin + size);
+    }
+
+    /**
+     * ビンとガウシアンカーネルの畳み込みを FFT で計算し, 密度を返す.
+     * 
+     * <p>
+     * カーネルは {@link #KERNEL_CUTOFF} バンド幅で打ち切られる. <br>
+     * 循環畳み込みによる折り返しが生じないよう,
+     * 変換長はグリッド点数とカーネルの片側幅の和以上としている.
+     * </p>
+     * 
+     * @param bins ビン
+     * @param totalWeight ビンの総和 (サンプル数, 重み付きでは総重み)
+     * @param grid グリッド
+     * @param bandwidth バンド幅
+     * @return 各グリッド点での密度
+     */
+    static double[] convolve(double[] bins, double totalWeight, EvaluationGrid grid, double bandwidth) {
+        final int m = bins.length;
+        final double step = grid.step();
+        final int lag = (int) Math.min(m - 1, Math.ceil(KERNEL_CUTOFF * bandwidth / step));
+
+        FastFourierTransform fft =
+                new FastFourierTransform(FastFourierTransform.ceilPowerOf2(m + lag));
+        final int length = fft.length();
+
+        // 対称なカーネルを, 負のラグは末尾に折り返して配置
+        double norm = INV_SQRT_2PI / (totalWeight * bandwidth);
+        double[] kernelRe = new double[length];
+        double[] kernelIm = new double[length];
+        for (int j = 0; j <= lag; j++) {
+            double z = j * step / bandwidth;
+            double w = norm * Math.exp(-0.5 * z * z);
+            kernelRe[j] = w;
+            if (j > 0) {
+                kernelRe[length - j] = w;
+            }
+        }
+
+        double[] re = Arrays.copyOf(bins, length);
+        double[] im = new double[length];
+
+        fft.forward(re, im);
+        fft.forward(kernelRe, kernelIm);
+        for (int k = 0; k < length; k++) {
+            double r = re[k] * kernelRe[k] - im[k] * kernelIm[k];
+            double i = re[k] * kernelIm[k] + im[k] * kernelRe[k];
+            re[k] = r;
+            im[k] = i;
+        }
+        fft.inverse(re, im);
+
+        double[] density = new double[m];
+        for (int i = 0; i < m; i++) {
+            density[i] = Math.max(0d, re[i]);
+        }
+        return density;
+    }
+}
@@ -0,0 +1,291 @@
+/*
+ * Copyright © 2026 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+/*
+ * 2026.10.18
+ */
+package matsu.num.statistics.kdeapp.kde1d;
+
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import matsu.num.statistics.kdeapp.kde1d.command.GridPoints;
+import matsu.num.statistics.kdeapp.kde1d.command.PlotRange;
+import matsu.num.statistics.kdeapp.kde1d.exception.CalculationException;
+
+/**
+ * 全サンプルについてのカーネルの和を直接計算して, ガウシアンKdeを評価する計算器.
+ * 
+ * <p>
+ * 計算量は O(<i>n</i>·<i>m</i>) である
+ * (<i>n</i> はサンプル数, <i>m</i> はグリッド点数). <br>
+ * バンド幅は {@link NormalReferenceBandwidth} による. <br>
+ * 重み付きのソースでは, <i>n</i> は値と重みの組の数であり,
+ * 各カーネルに重みを乗じて総重みで規格化する.
+ * </p>
+ * 
+ * <p>
+ * 評価グリッドをチャンクに分割し, {@link ForkJoinPool} 上で並列に評価する. <br>
+ * 各グリッド点の和は, 並列度によらず常にサンプルの順に同じ演算で計算されるので,
+ * 結果は並列度によらずビット単位で一致する.
+ * </p>
+ * 
+ * <p>
+ * 単精度のソース ({@link Kde1dSource#isSinglePrecision()}) では,
+ * {@code float} の値を読み出して {@code double} で和を計算する.
+ * </p>
+ * 
+ * @author Matsuura Y.
+ */
+final class GaussianDirectKde1dCalculator implements Kde1dCalculator {
+
+    /**
+     * 1タスクが担当するグリッド点数の上限.
+     */
+    static final int CHUNK_SIZE = 32;
+
+    private static final double INV_SQRT_2PI = 1d / Math.sqrt(2 * Math.PI);
+
+    private final GridPoints gridPoints;
+    private final PlotRange plotRange;
+    private final int parallelism;
+
+    /**
+     * グリッド点数と並列度を指定して計算器を構築する.
+     * 
+     * @param gridSize グリッド点数
+     * @param parallelism 並列度
+     * @throws IllegalArgumentException グリッド点数が {@link GridPoints#fixed(int)} で許容されない場合,
+     *             並列度が1未満の場合
+     */
+    GaussianDirectKde1dCalculator(int gridSize, int parallelism) {
+        this(GridPoints.fixed(gridSize), parallelism);
+    }
+
+    /**
+     * グリッド点数の指定と並列度を与えて計算器を構築する.
+     * 
+     * @param gridPoints グリッド点数の指定
+     * @param parallelism 並列度
+     * @throws IllegalArgumentException 並列度が1未満の場合
+     * @throws NullPointerException 引数がnullの場合
+     */
+    GaussianDirectKde1dCalculator(GridPoints gridPoints, int parallelism) {
+        this(gridPoints, PlotRange.data(), parallelism);
+    }
+
+    /**
+     * グリッド点数の指定, 描画区間の指定, 並列度を与えて計算器を構築する.
+     * 
+     * @param gridPoints グリッド点数の指定
+     * @param plotRange 描画区間の指定
+     * @param parallelism 並列度
+     * @throws IllegalArgumentException 並列度が1未満の場合
+     * @throws NullPointerException 引数がnullの場合
+     */
+    GaussianDirectKde1dCalculator(GridPoints gridPoints, PlotRange plotRange, int parallelism) {
+        super();
+        this.gridPoints = Objects.requireNonNull(gridPoints);
+        this.plotRange = Objects.requireNonNull(plotRange);
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("illegal parallelism: " + parallelism);
+        }
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * {@inheritDoc }
+     * 
+     * <p>
+     * 描画区間は描画区間の指定を {@link PlotInterval} で解決して定め,
+     * グリッド点数は {@link PlotInterval#toGrid(double, GridPoints)} により定める.
+     * </p>
+     * 
+     * @throws CalculationException {@inheritDoc }, ソースが広がりを持たない場合, 描画区間が空の場合
+     * @throws NullPointerException {@inheritDoc }
+     */
+    @Override
+    public WritableKde1dResult calc(Kde1dSource source) {
+        SampleSummary summary = source.summary().requireValid();
+        double bandwidth = summary.normalReferenceBandwidth();
+        if (!(bandwidth > 0 && summary.min() < summary.max())) {
+            throw new CalculationException("source has no spread");
+        }
+
+        EvaluationGrid grid = PlotInterval.resolve(
+                plotRange, summary, bandwidth, source::quantileFunction)
+                .toGrid(bandwidth, gridPoints);
+        double[] density;
+        if (source.isSinglePrecision()) {
+            density = evaluate(source.floatValues(), grid, bandwidth, parallelism);
+        } else if (source.isWeighted()) {
+            density = evaluate(source.values(), source.weights().get(), summary.totalWeight(),
+                    grid, bandwidth, parallelism);
+        } else {
+            density = evaluate(source.values(), grid, bandwidth, parallelism);
+        }
+        return WritableKde1dResult.of(grid, density);
+    }
+
+    /**
+     * 与えたグリッド上で, 与えた並列度で密度を評価する.
+     * 
+     * <p>
+     * 並列度が1の場合は, 呼び出しスレッドで逐次的に評価する.
+     * </p>
+     * 
+     * @param source ソース
+     * @param grid グリッド
+     * @param bandwidth バンド幅
+     * @param parallelism 並列度
+     * @return 各グリッド点での密度
+     */
+    static double[] evaluate(double[] source, EvaluationGrid grid, double bandwidth, int parallelism) {
+        return evaluate(source, null, source.length, grid, bandwidth, parallelism);
+    }
+
+    /**
+     * 重み付きのソースの密度を, 与えたグリッド上で, 与えた並列度で評価する.
+     * 
+     * <p>
+     * 重みがnullの場合は, すべての重みを1とみなす.
+     * </p>
+     * 
+     * @param source ソースの値
+     * @param weights ソースの重み (nullの場合は重みなし)
+     * @param totalWeight 重みの総和
+     * @param grid グリッド
+     * @param bandwidth バンド幅
+     * @param parallelism 並列度
+     * @return 各グリッド点での密度
+     */
+    static double[] evaluate(double[] source, double[] weights, double totalWeight,
+            EvaluationGrid grid, double bandwidth, int parallelism) {
+        double[] density = new double[grid.size()];
+        return invoke(new ChunkTask(
+                source, null, weights, totalWeight, grid, bandwidth, density, 0, grid.size()),
+                density, parallelism);
+    }
+
+    /**
+     * 単精度のソースの密度を, 与えたグリッド上で, 与えた並列度で評価する.
+     * 
+     * <p>
+     * 和は {@code double} で計算される.
+     * </p>
+     * 
+     * @param source ソース
+     * @param grid グリッド
+     * @param bandwidth バンド幅
+     * @param parallelism 並列度
+     * @return 各グリッド点での密度
+     */
+    static double[] evaluate(float[] source, EvaluationGrid grid, double bandwidth, int parallelism) {
+        double[] density = new double[grid.size()];
+        return invoke(new ChunkTask(
+                null, source, null, source.length, grid, bandwidth, density, 0, grid.size()),
+                density, parallelism);
+    }
+
+    /**
+     * 全区間を担当するタスクを, 与えた並列度で実行する.
+     */
+    private static double[] invoke(ChunkTask task, double[] density, int parallelism) {
+        if (parallelism == 1) {
+            task.evaluateSequentially();
+            return density;
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            pool.invoke(task);
+        } finally {
+            pool.shutdown();
+        }
+        return density;
+    }
+
+    /**
+     * グリッド点の区間 {@code [from, to)} を評価するタスク.
+     */
+    private static final class ChunkTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final double[] source;
+        private final float[] floatSource;
+        private final double[] weights;
+        private final double totalWeight;
+        private final EvaluationGrid grid;
+        private final double bandwidth;
+        private final double[] density;
+        private final int from;
+        private final int to;
+
+        /**
+         * ソースは {@code source}, {@code floatSource} のいずれか一方のみを与える.
+         */
+        ChunkTask(double[] source, float[] floatSource, double[] weights, double totalWeight,
+                EvaluationGrid grid, double bandwidth,
+                double[] density, int from, int to) {
+            super();
+            this.source = source;
+            this.floatSource = floatSource;
+            this.weights = weights;
+            this.totalWeight = totalWeight;
+            this.grid = grid;
+            this.bandwidth = bandwidth;
+            this.density = density;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= CHUNK_SIZE) {
+                evaluateSequentially();
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(
+                    new ChunkTask(source, floatSource, weights, totalWeight,
+                            grid, bandwidth, density, from, mid),
+                    new ChunkTask(source, floatSource, weights, totalWeight,
+                            grid, bandwidth, density, mid, to));
+        }
+
+        /**
+         * 担当区間を逐次的に評価する.
+         */
+        void evaluateSequentially() {
+            final double invBandwidth = 1d / bandwidth;
+            final double norm = INV_SQRT_2PI / (totalWeight * bandwidth);
+            for (int i = from; i < to; i++) {
+                final double x = grid.x(i);
+                double sum = 0d;
+                if (Objects.nonNull(floatSource)) {
+                    for (float v : floatSource) {
+                        double z = (x - v) * invBandwidth;
+                        sum += Math.exp(-0.5 * z * z);
+                    }
+                } else if (Objects.isNull(weights)) {
+                    for (double v : source) {
+                        double z = (x - v) * invBandwidth;
+                        sum += Math.exp(-0.5 * z * z);
+                    }
+                } else {
+                    for (int j = 0; j < source.length; j++) {
+                        double z = (x - source[j]) * invBandwidth;
+                        sum += weights[j] * Math.exp(-0.5 * z * z);
+                    }
+                }
+                density[i] = sum * norm;
+            }
+        }
+    }
+}
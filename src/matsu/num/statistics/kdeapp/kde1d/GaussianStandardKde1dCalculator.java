@@ -6,12 +6,13 @@
  */
 
 /*
- * 2026.1.21
+ * 2026.10.18
  */
 package matsu.num.statistics.kdeapp.kde1d;
 
-import java.util.Arrays;
+import java.util.Objects;
 
+import matsu.num.statistics.kdeapp.kde1d.command.PlotRange;
 import matsu.num.statistics.kdeapp.kde1d.exception.CalculationException;
 import matsu.num.statistics.kerneldensity.GaussianKd1D;
 import matsu.num.statistics.kerneldensity.KernelDensity1D;
@@ -23,54 +24,56 @@ import matsu.num.statistics.kerneldensity.output.FormattableKdeResult1D;
  * 
  * @author Matsuura Y.
  */
-final class GaussianStandardKde1dCalculator {
+final class GaussianStandardKde1dCalculator implements Kde1dCalculator {
 
     private final GaussianKd1D.Factory kde1dFactory = GaussianKd1D.Factory.withDefaultRule();
 
+    private final PlotRange plotRange;
+
+    /**
+     * デフォルトの描画区間の指定 ({@link PlotRange#data()}) で計算器を構築する.
+     */
     GaussianStandardKde1dCalculator() {
+        this(PlotRange.data());
     }
 
     /**
-     * ソースを入力し, 推定を実行する. <br>
-     * 結果は, {@link WritableKde1dResult} の形で得られる.
+     * 描画区間の指定を与えて計算器を構築する.
      * 
-     * <p>
-     * 入力ソースは配列である. <br>
-     * メソッド終了まで書き換えられることは想定されていない.
-     * </p>
+     * @param plotRange 描画区間の指定
+     * @throws NullPointerException 引数がnullの場合
+     */
+    GaussianStandardKde1dCalculator(PlotRange plotRange) {
+        super();
+        this.plotRange = Objects.requireNonNull(plotRange);
+    }
+
+    /**
+     * {@inheritDoc }
      * 
      * <p>
-     * 計算における範囲と空間分解能は, ソースから自動的に判定される.
+     * 描画区間は描画区間の指定を {@link PlotInterval} で解決して定める
+     * (余白をバンド幅で与える場合, バンド幅は {@link NormalReferenceBandwidth} による). <br>
+     * 空間分解能は, ライブラリにより自動的に判定される.
      * </p>
      * 
-     * @param source 入力ソース
-     * @throws CalculationException ソースが空の場合, infやNaNを含む場合
-     * @throws NullPointerException 引数にnullが含まれる場合
+     * @throws CalculationException {@inheritDoc }, ソースが重み付きの場合 (ライブラリが重みを扱わない)
+     * @throws NullPointerException {@inheritDoc }
      */
-    WritableKde1dResult calc(double[] source) {
-        // 暫定的に, 描画区間を自動で定めるとする
-        if (source.length == 0) {
-            throw new CalculationException("source is empty");
-        }
-        if (Arrays.stream(source)
-                .anyMatch(d -> !Double.isFinite(d))) {
-            throw new CalculationException("source includes inf or NaN");
-        }
-
-        double min = Arrays.stream(source).min().getAsDouble();
-        double max = Arrays.stream(source).max().getAsDouble();
-        if (Double.isFinite(min) && Double.isFinite(max)) {
-            double newMin = min - (max - min) * 0.5;
-            double newMax = max + (max - min) * 0.5;
-
-            min = newMin;
-            max = newMax;
+    @Override
+    public WritableKde1dResult calc(Kde1dSource source) {
+        SampleSummary summary = source.summary().requireValid();
+        if (source.isWeighted()) {
+            throw new CalculationException("weighted source is not supported by exact engine");
         }
+        PlotInterval interval = PlotInterval.resolve(
+                plotRange, summary, summary.normalReferenceBandwidth(),
+                source::quantileFunction);
 
-        KernelDensity1D kde = kde1dFactory.createOf(source);
+        KernelDensity1D kde = kde1dFactory.createOf(source.values());
         FormattableKdeResult1D kdeResult =
-                FormattableKdeResult1D.evaluate(kde, Range.of(min, max));
+                FormattableKdeResult1D.evaluate(kde, Range.of(interval.lower(), interval.upper()));
 
-        return new WritableKde1dResult(kdeResult);
+        return WritableKde1dResult.of(kdeResult);
     }
 }
@@ -0,0 +1,138 @@
+/*
+ * Copyright © 2026 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+/*
+ * 2026.10.18
+ */
+package matsu.num.statistics.kdeapp.kde1d;
+
+import java.util.Objects;
+
+import matsu.num.statistics.kdeapp.kde1d.command.GridPoints;
+import matsu.num.statistics.kdeapp.kde1d.command.PlotRange;
+import matsu.num.statistics.kdeapp.kde1d.exception.CalculationException;
+import matsu.num.statistics.kdeapp.kde1d.exception.InputException;
+
+/**
+ * ソース全体を配列として保持せずに, ファイルを2回走査してガウシアンKdeを評価する計算器.
+ * 
+ * <p>
+ * 1回目の走査で要約統計量 (範囲とバンド幅) を計算し ({@link Kde1dSourceLoader#summarize()}),
+ * 2回目の走査でサンプルを評価グリッドに直接線形ビニングする ({@link LinearBins}). <br>
+ * 畳み込みと誤差評価は {@link GaussianBinnedKde1dCalculator} と同一である. <br>
+ * 必要なメモリはグリッド点数 (とバイト範囲の個数, 上限あり) に依存し, サンプル数によらない.
+ * </p>
+ * 
+ * <p>
+ * 分位点による描画区間の指定では, 2回目の走査の前に分位点のスケッチ ({@link QuantileSketch})
+ * を計算するための走査を1回加える. <br>
+ * スケッチはファイル内の順序で併合され, 分割の仕方は並列度によらないので,
+ * 分位点 (したがって描画区間) は並列度によらない.
+ * </p>
+ * 
+ * @author Matsuura Y.
+ */
+final class GaussianStreamingKde1dCalculator {
+
+    private final GridPoints gridPoints;
+    private final PlotRange plotRange;
+
+    /**
+     * デフォルトのグリッド点数で計算器を構築する.
+     */
+    GaussianStreamingKde1dCalculator() {
+        this(EvaluationGrid.DEFAULT_SIZE);
+    }
+
+    /**
+     * グリッド点数を指定して計算器を構築する.
+     * 
+     * @param gridSize グリッド点数
+     * @throws IllegalArgumentException グリッド点数が {@link GridPoints#fixed(int)} で許容されない場合
+     */
+    GaussianStreamingKde1dCalculator(int gridSize) {
+        this(GridPoints.fixed(gridSize));
+    }
+
+    /**
+     * グリッド点数の指定を与えて計算器を構築する.
+     * 
+     * @param gridPoints グリッド点数の指定
+     * @throws NullPointerException 引数がnullの場合
+     */
+    GaussianStreamingKde1dCalculator(GridPoints gridPoints) {
+        this(gridPoints, PlotRange.data());
+    }
+
+    /**
+     * グリッド点数の指定と描画区間の指定を与えて計算器を構築する.
+     * 
+     * @param gridPoints グリッド点数の指定
+     * @param plotRange 描画区間の指定
+     * @throws NullPointerException 引数がnullの場合
+     */
+    GaussianStreamingKde1dCalculator(GridPoints gridPoints, PlotRange plotRange) {
+        super();
+        this.gridPoints = Objects.requireNonNull(gridPoints);
+        this.plotRange = Objects.requireNonNull(plotRange);
+    }
+
+    /**
+     * 1回目の走査で得た要約統計量を与えて, 2回目の走査を行い推定を実行する.
+     * 
+     * <p>
+     * 描画区間とグリッドは {@link GaussianBinnedKde1dCalculator} と同様に定める.
+     * </p>
+     * 
+     * @param loader ローダー
+     * @param summary 1回目の走査で得た要約統計量
+     * @return 推定結果
+     * @throws CalculationException ソースが空の場合, infやNaNを含む場合, ソースが広がりを持たない場合,
+     *             描画区間が空の場合
+     * @throws InputException ファイルアクセスで例外が発生した場合, ファイルのフォーマットが不正の場合,
+     *             走査の間にファイルが変更された場合
+     * @throws NullPointerException 引数にnullが含まれる場合
+     */
+    WritableKde1dResult calc(Kde1dSourceLoader loader, SampleSummary summary) {
+        summary.requireValid();
+        double bandwidth = summary.normalReferenceBandwidth();
+        if (!(bandwidth > 0 && summary.min() < summary.max())) {
+            throw new CalculationException("source has no spread");
+        }
+
+        EvaluationGrid grid = PlotInterval.resolve(
+                plotRange, summary, bandwidth, () -> sketch(loader)::quantile)
+                .toGrid(bandwidth, gridPoints);
+        int margin = GaussianBinnedKde1dCalculator.binningMargin(
+                grid, summary.min(), summary.max(), bandwidth);
+        EvaluationGrid binGrid = grid.extended(margin);
+
+        LinearBins bins = new LinearBins(binGrid);
+        for (LinearBins part : loader.scan(() -> new LinearBins(binGrid))) {
+            bins.combine(part);
+        }
+        if (bins.count() != summary.count()) {
+            throw new InputException("source changed between passes");
+        }
+
+        double[] density = GaussianBinnedKde1dCalculator.convolve(
+                bins.toArray(), bins.count(), binGrid, bandwidth);
+        return WritableKde1dResult.of(grid,
+                GaussianBinnedKde1dCalculator.crop(density, margin, grid.size()));
+    }
+
+    /**
+     * ファイルを走査し, 分位点のスケッチを計算する.
+     */
+    private static QuantileSketch sketch(Kde1dSourceLoader loader) {
+        QuantileSketch sketch = new QuantileSketch();
+        for (QuantileSketch part : loader.scan(QuantileSketch::new)) {
+            sketch.combine(part);
+        }
+        return sketch;
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright © 2026 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+/*
+ * 2026.10.18
+ */
+package matsu.num.statistics.kdeapp.kde1d;
+
+import static matsu.num.statistics.kdeapp.kde1d.command.ArgumentRequiringCommand.*;
+
+import matsu.num.statistics.kdeapp.kde1d.command.ConsoleParameterInterpreter;
+import matsu.num.statistics.kdeapp.kde1d.command.GridPoints;
+import matsu.num.statistics.kdeapp.kde1d.exception.InvalidParameterException;
+
+/**
+ * {@link GaussianStreamingKde1dCalculator} の構築器.
+ * 
+ * <p>
+ * ストリーミングモードの評価は線形ビニングと FFT による
+ * (評価エンジンの指定とは併用できない). <br>
+ * グリッド点数はオプションコマンドで指定される.
+ * 指定されない場合, {@link EvaluationGrid#DEFAULT_SIZE} 点となる. <br>
+ * 描画区間の指定は {@link PlotRangeConstructor} により構築される.
+ * </p>
+ * 
+ * @author Matsuura Y.
+ */
+final class GaussianStreamingKde1dCalculatorConstructor
+        implements ComponentConstructor<GaussianStreamingKde1dCalculator> {
+
+    /**
+     * 唯一のコンストラクタ.
+     */
+    GaussianStreamingKde1dCalculatorConstructor() {
+    }
+
+    /**
+     * @throws InvalidParameterException 描画区間の指定が不正な場合
+     * @throws NullPointerException {@inheritDoc }
+     */
+    @Override
+    public GaussianStreamingKde1dCalculator construct(ConsoleParameterInterpreter interpreter) {
+        return new GaussianStreamingKde1dCalculator(
+                interpreter.valueOf(GRID_POINTS)
+                        .orElse(GridPoints.fixed(EvaluationGrid.DEFAULT_SIZE)),
+                new PlotRangeConstructor().construct(interpreter));
+    }
+}
@@ -0,0 +1,412 @@
+/*
+ * Copyright © 2026 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+/*
+ * 2026.10.18
+ */
+package matsu.num.statistics.kdeapp.kde1d;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import matsu.num.statistics.kdeapp.kde1d.command.GridPoints;
+import matsu.num.statistics.kdeapp.kde1d.command.PlotRange;
+import matsu.num.statistics.kdeapp.kde1d.exception.CalculationException;
+
+/**
+ * カーネルを打ち切り半径で打ち切り, 半径内のサンプルについてのみ和を計算して,
+ * ガウシアンKdeを評価する計算器.
+ * 
+ * <p>
+ * サンプルを1回ソートし, 各グリッド点 <i>x</i> について
+ * {@code |x - X_j| <= k h} を満たすサンプルのみの和を計算する
+ * (<i>k</i> は打ち切り半径, <i>h</i> はバンド幅). <br>
+ * 和をとるサンプルの範囲は, チャンクの先頭で二分探索し, 以降はスライディングウィンドウで求める. <br>
+ * 計算量は O(<i>n</i> log <i>n</i> + <i>m</i> log <i>n</i> + <i>n</i>·<i>k</i>·<i>h</i>/Δ) である
+ * (<i>n</i> はサンプル数, <i>m</i> はグリッド点数, Δ はグリッド間隔). <br>
+ * バンド幅は {@link NormalReferenceBandwidth} による. <br>
+ * 重み付きのソースでは, 値と重みの組を値の順に並べ替え, 各カーネルに重みを乗じて総重みで規格化する
+ * (<i>n</i> は組の数である).
+ * </p>
+ * 
+ * <p>
+ * <u><i>厳密な評価との誤差</i></u> <br>
+ * 打ち切られた各サンプルの寄与は {@code exp(-k^2 / 2) / (n h √(2π))} 未満であるので
+ * (重み付きでは重み1あたり {@code exp(-k^2 / 2) / (W h √(2π))} 未満, <i>W</i> は総重み),
+ * 同じバンド幅による全サンプルの和との差は
+ * {@code exp(-k^2 / 2) / (h √(2π))} 未満である
+ * (密度の典型値 {@code 1/h} に対する相対誤差は {@code 0.4 exp(-k^2 / 2)} 未満であり,
+ * <i>k</i> = 8 で 5e-15 程度).
+ * </p>
+ * 
+ * <p>
+ * 評価グリッドをチャンクに分割し, {@link ForkJoinPool} 上で並列に評価する. <br>
+ * 各グリッド点の和をとるサンプルの範囲はグリッド点のみで定まり,
+ * 和は常にソート順に同じ演算で計算されるので,
+ * 結果は並列度によらずビット単位で一致する.
+ * </p>
+ * 
+ * <p>
+ * 単精度のソース ({@link Kde1dSource#isSinglePrecision()}) では,
+ * {@code float} の配列をコピーしてソートし, 和は {@code double} で計算する.
+ * </p>
+ * 
+ * @author Matsuura Y.
+ */
+final class GaussianTruncatedKde1dCalculator implements Kde1dCalculator {
+
+    /**
+     * 打ち切り半径 (バンド幅を単位とする) のデフォルト値.
+     */
+    static final double DEFAULT_CUTOFF = 8d;
+
+    /**
+     * 1タスクが担当するグリッド点数の上限.
+     */
+    static final int CHUNK_SIZE = 32;
+
+    private static final double INV_SQRT_2PI = 1d / Math.sqrt(2 * Math.PI);
+
+    private final GridPoints gridPoints;
+    private final PlotRange plotRange;
+    private final double cutoff;
+    private final int parallelism;
+
+    /**
+     * グリッド点数の指定, 打ち切り半径, 並列度を与えて計算器を構築する.
+     * 
+     * @param gridPoints グリッド点数の指定
+     * @param cutoff 打ち切り半径 (バンド幅を単位とする)
+     * @param parallelism 並列度
+     * @throws IllegalArgumentException 打ち切り半径が正の有限値でない場合, 並列度が1未満の場合
+     * @throws NullPointerException 引数がnullの場合
+     */
+    GaussianTruncatedKde1dCalculator(GridPoints gridPoints, double cutoff, int parallelism) {
+        this(gridPoints, PlotRange.data(), cutoff, parallelism);
+    }
+
+    /**
+     * グリッド点数の指定, 描画区間の指定, 打ち切り半径, 並列度を与えて計算器を構築する.
+     * 
+     * @param gridPoints グリッド点数の指定
+     * @param plotRange 描画区間の指定
+     * @param cutoff 打ち切り半径 (バンド幅を単位とする)
+     * @param parallelism 並列度
+     * @throws IllegalArgumentException 打ち切り半径が正の有限値でない場合, 並列度が1未満の場合
+     * @throws NullPointerException 引数がnullの場合
+     */
+    GaussianTruncatedKde1dCalculator(
+            GridPoints gridPoints, PlotRange plotRange, double cutoff, int parallelism) {
+        super();
+        this.gridPoints = Objects.requireNonNull(gridPoints);
+        this.plotRange = Objects.requireNonNull(plotRange);
+        if (!(cutoff > 0 && Double.isFinite(cutoff))) {
+            throw new IllegalArgumentException("illegal cutoff: " + cutoff);
+        }
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("illegal parallelism: " + parallelism);
+        }
+        this.cutoff = cutoff;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * {@inheritDoc }
+     * 
+     * <p>
+     * 描画区間は描画区間の指定を {@link PlotInterval} で解決して定め,
+     * グリッド点数は {@link PlotInterval#toGrid(double, GridPoints)} により定める.
+     * </p>
+     * 
+     * @throws CalculationException {@inheritDoc }, ソースが広がりを持たない場合, 描画区間が空の場合
+     * @throws NullPointerException {@inheritDoc }
+     */
+    @Override
+    public WritableKde1dResult calc(Kde1dSource source) {
+        SampleSummary summary = source.summary().requireValid();
+        double bandwidth = summary.normalReferenceBandwidth();
+        if (!(bandwidth > 0 && summary.min() < summary.max())) {
+            throw new CalculationException("source has no spread");
+        }
+
+        EvaluationGrid grid = PlotInterval.resolve(
+                plotRange, summary, bandwidth, source::quantileFunction)
+                .toGrid(bandwidth, gridPoints);
+        double[] density;
+        if (source.isSinglePrecision()) {
+            density = evaluate(source.floatValues(), grid, bandwidth, cutoff, parallelism);
+        } else if (source.isWeighted()) {
+            density = evaluate(source.values(), source.weights().get(), summary.totalWeight(),
+                    grid, bandwidth, cutoff, parallelism);
+        } else {
+            density = evaluate(source.values(), grid, bandwidth, cutoff, parallelism);
+        }
+        return WritableKde1dResult.of(grid, density);
+    }
+
+    /**
+     * 与えたグリッド上で, 与えた打ち切り半径と並列度で密度を評価する.
+     * 
+     * <p>
+     * ソースはコピーしてソートされるので, 引数の配列は変更されない. <br>
+     * 並列度が1の場合は, 呼び出しスレッドで逐次的に評価する.
+     * </p>
+     * 
+     * @param source ソース
+     * @param grid グリッド
+     * @param bandwidth バンド幅
+     * @param cutoff 打ち切り半径 (バンド幅を単位とする)
+     * @param parallelism 並列度
+     * @return 各グリッド点での密度
+     */
+    static double[] evaluate(
+            double[] source, EvaluationGrid grid, double bandwidth, double cutoff, int parallelism) {
+        double[] sorted = source.clone();
+        if (parallelism == 1) {
+            Arrays.sort(sorted);
+        } else {
+            Arrays.parallelSort(sorted);
+        }
+        return evaluateSorted(sorted, null, sorted.length, grid, bandwidth, cutoff, parallelism);
+    }
+
+    /**
+     * 単精度のソースの密度を, 与えたグリッド上で, 与えた打ち切り半径と並列度で評価する.
+     * 
+     * <p>
+     * ソースはコピーしてソートされるので, 引数の配列は変更されない. <br>
+     * 和は {@code double} で計算される. <br>
+     * 並列度が1の場合は, 呼び出しスレッドで逐次的に評価する.
+     * </p>
+     * 
+     * @param source ソース
+     * @param grid グリッド
+     * @param bandwidth バンド幅
+     * @param cutoff 打ち切り半径 (バンド幅を単位とする)
+     * @param parallelism 並列度
+     * @return 各グリッド点での密度
+     */
+    static double[] evaluate(
+            float[] source, EvaluationGrid grid, double bandwidth, double cutoff, int parallelism) {
+        float[] sorted = source.clone();
+        if (parallelism == 1) {
+            Arrays.sort(sorted);
+        } else {
+            Arrays.parallelSort(sorted);
+        }
+        double[] density = new double[grid.size()];
+        return invoke(new ChunkTask(
+                null, sorted, null, sorted.length, grid, bandwidth, cutoff * bandwidth,
+                density, 0, grid.size()), density, parallelism);
+    }
+
+    /**
+     * 重み付きのソースの密度を, 与えたグリッド上で, 与えた打ち切り半径と並列度で評価する.
+     * 
+     * <p>
+     * 値と重みはコピーして値の順に並べ替えられるので, 引数の配列は変更されない. <br>
+     * 並列度が1の場合は, 呼び出しスレッドで逐次的に評価する.
+     * </p>
+     * 
+     * @param source ソースの値
+     * @param weights ソースの重み
+     * @param totalWeight 重みの総和
+     * @param grid グリッド
+     * @param bandwidth バンド幅
+     * @param cutoff 打ち切り半径 (バンド幅を単位とする)
+     * @param parallelism 並列度
+     * @return 各グリッド点での密度
+     */
+    static double[] evaluate(double[] source, double[] weights, double totalWeight,
+            EvaluationGrid grid, double bandwidth, double cutoff, int parallelism) {
+        double[] sorted = source.clone();
+        double[] sortedWeights = weights.clone();
+        PairedArrays.sortByKey(sorted, sortedWeights);
+        return evaluateSorted(
+                sorted, sortedWeights, totalWeight, grid, bandwidth, cutoff, parallelism);
+    }
+
+    /**
+     * ソート済みのソース (重みがnullの場合は重みなし) の密度を評価する.
+     */
+    private static double[] evaluateSorted(double[] sorted, double[] weights, double totalWeight,
+            EvaluationGrid grid, double bandwidth, double cutoff, int parallelism) {
+        double[] density = new double[grid.size()];
+        return invoke(new ChunkTask(
+                sorted, null, weights, totalWeight, grid, bandwidth, cutoff * bandwidth,
+                density, 0, grid.size()), density, parallelism);
+    }
+
+    /**
+     * 全区間を担当するタスクを, 与えた並列度で実行する.
+     */
+    private static double[] invoke(ChunkTask task, double[] density, int parallelism) {
+        if (parallelism == 1) {
+            task.evaluateSequentially();
+            return density;
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            pool.invoke(task);
+        } finally {
+            pool.shutdown();
+        }
+        return density;
+    }
+
+    /**
+     * ソート済みの配列において, 値が {@code key} 以上である最初のインデックスを返す
+     * (存在しない場合は配列の長さ).
+     */
+    static int lowerBound(double[] sorted, double key) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid] < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * ソート済みの {@code float} の配列において, 値が {@code key} 以上である最初のインデックスを返す
+     * (存在しない場合は配列の長さ).
+     */
+    static int lowerBound(float[] sorted, double key) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid] < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * グリッド点の区間 {@code [from, to)} を評価するタスク.
+     */
+    private static final class ChunkTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final double[] sorted;
+        private final float[] floatSorted;
+        private final double[] weights;
+        private final double totalWeight;
+        private final EvaluationGrid grid;
+        private final double bandwidth;
+        private final double radius;
+        private final double[] density;
+        private final int from;
+        private final int to;
+
+        /**
+         * ソート済みのソースは {@code sorted}, {@code floatSorted} のいずれか一方のみを与える.
+         */
+        ChunkTask(double[] sorted, float[] floatSorted, double[] weights, double totalWeight,
+                EvaluationGrid grid, double bandwidth, double radius,
+                double[] density, int from, int to) {
+            super();
+            this.sorted = sorted;
+            this.floatSorted = floatSorted;
+            this.weights = weights;
+            this.totalWeight = totalWeight;
+            this.grid = grid;
+            this.bandwidth = bandwidth;
+            this.radius = radius;
+            this.density = density;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= CHUNK_SIZE) {
+                evaluateSequentially();
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(
+                    new ChunkTask(sorted, floatSorted, weights, totalWeight,
+                            grid, bandwidth, radius, density, from, mid),
+                    new ChunkTask(sorted, floatSorted, weights, totalWeight,
+                            grid, bandwidth, radius, density, mid, to));
+        }
+
+        /**
+         * 担当区間を逐次的に評価する.
+         * 
+         * <p>
+         * 各グリッド点 <i>x</i> について, 和をとる範囲は
+         * {@code [x - radius, x + radius]} に含まれるサンプルである. <br>
+         * グリッド点は単調増加であるので, 範囲の両端は単調に進む.
+         * </p>
+         */
+        void evaluateSequentially() {
+            final double invBandwidth = 1d / bandwidth;
+            final double norm = INV_SQRT_2PI / (totalWeight * bandwidth);
+            final boolean single = Objects.nonNull(floatSorted);
+            final int n = single ? floatSorted.length : sorted.length;
+
+            int low = single
+                    ? lowerBound(floatSorted, grid.x(from) - radius)
+                    : lowerBound(sorted, grid.x(from) - radius);
+            int high = low;
+            for (int i = from; i < to; i++) {
+                final double x = grid.x(i);
+                final double lower = x - radius;
+                final double upper = x + radius;
+                while (low < n && value(low) < lower) {
+                    low++;
+                }
+                if (high < low) {
+                    high = low;
+                }
+                while (high < n && value(high) <= upper) {
+                    high++;
+                }
+
+                double sum = 0d;
+                if (single) {
+                    for (int j = low; j < high; j++) {
+                        double z = (x - floatSorted[j]) * invBandwidth;
+                        sum += Math.exp(-0.5 * z * z);
+                    }
+                } else if (Objects.isNull(weights)) {
+                    for (int j = low; j < high; j++) {
+                        double z = (x - sorted[j]) * invBandwidth;
+                        sum += Math.exp(-0.5 * z * z);
+                    }
+                } else {
+                    for (int j = low; j < high; j++) {
+                        double z = (x - sorted[j]) * invBandwidth;
+                        sum += weights[j] * Math.exp(-0.5 * z * z);
+                    }
+                }
+                density[i] = sum * norm;
+            }
+        }
+
+        /**
+         * ソート済みのソースの値を返す.
+         */
+        private double value(int index) {
+            return Objects.nonNull(floatSorted) ? floatSorted[index] : sorted[index];
+        }
+    }
+}
@@ -0,0 +1,251 @@
+/*
+ * Copyright © 2026 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+/*
+ * 2026.10.18
+ */
+package matsu.num.statistics.kdeapp.kde1d;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * gzip 形式で圧縮されたストリームを, 専用のスレッドで展開しながら読むチャネル.
+ * 
+ * <p>
+ * 展開スレッドは展開したバイト列をブロック単位で有界キューに格納し,
+ * このチャネルの読み手 (パーサー) はキューからブロックを取り出す. <br>
+ * これにより, 展開と解析が重なって実行される. <br>
+ * 読み終えたブロックは展開スレッドに返却され, 再利用される.
+ * </p>
+ * 
+ * <p>
+ * 連結された複数のメンバからなる gzip ストリームにも対応する
+ * ({@link GZIPInputStream} に準じる).
+ * </p>
+ * 
+ * <p>
+ * このチャネルは1個のスレッドから読まれることを想定している. <br>
+ * クローズすると展開スレッドは停止し, 元のストリームはクローズされる.
+ * </p>
+ * 
+ * @author Matsuura Y.
+ */
+final class GzipInflatingChannel implements ReadableByteChannel {
+
+    /**
+     * 展開したバイト列のブロックのデフォルトサイズ.
+     */
+    static final int DEFAULT_BLOCK_SIZE = 1 << 20;
+
+    /**
+     * キューに格納できるブロック数のデフォルト値.
+     */
+    static final int DEFAULT_QUEUE_CAPACITY = 4;
+
+    /**
+     * {@link GZIPInputStream} の入力バッファのサイズ.
+     */
+    private static final int INFLATER_BUFFER_SIZE = 1 << 16;
+
+    /**
+     * gzip のマジックナンバー.
+     */
+    private static final byte MAGIC_0 = (byte) 0x1f;
+    private static final byte MAGIC_1 = (byte) 0x8b;
+
+    /**
+     * ストリームの終端を表す番兵.
+     */
+    private static final ByteBuffer END = ByteBuffer.allocate(0);
+
+    private final BlockingQueue<ByteBuffer> filled;
+    private final BlockingQueue<byte[]> free;
+    private final int blockSize;
+    private final Thread inflater;
+
+    /**
+     * 展開スレッドで発生した例外 (終端の番兵より前に書き込まれる).
+     */
+    private volatile IOException failure;
+
+    private ByteBuffer current;
+    private boolean endOfStream;
+    private boolean closed;
+
+    /**
+     * gzip 形式のストリームを与えて, 展開を開始する.
+     * 
+     * @param compressed 圧縮されたストリーム
+     * @throws NullPointerException 引数がnullの場合
+     */
+    GzipInflatingChannel(InputStream compressed) {
+        this(compressed, DEFAULT_BLOCK_SIZE, DEFAULT_QUEUE_CAPACITY);
+    }
+
+    /**
+     * ブロックサイズとキューの容量を指定して, 展開を開始する. <br>
+     * (主にテスト用)
+     * 
+     * @param compressed 圧縮されたストリーム
+     * @param blockSize ブロックサイズ
+     * @param queueCapacity キューに格納できるブロック数
+     * @throws IllegalArgumentException ブロックサイズ, キューの容量が正でない場合
+     * @throws NullPointerException 引数がnullの場合
+     */
+    GzipInflatingChannel(InputStream compressed, int blockSize, int queueCapacity) {
+        super();
+        Objects.requireNonNull(compressed);
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("illegal block size: " + blockSize);
+        }
+        if (queueCapacity <= 0) {
+            throw new IllegalArgumentException("illegal queue capacity: " + queueCapacity);
+        }
+        this.blockSize = blockSize;
+
+        this.filled = new ArrayBlockingQueue<>(queueCapacity);
+        this.free = new ArrayBlockingQueue<>(queueCapacity + 1);
+
+        this.inflater = new Thread(() -> inflate(compressed), "kde1d-gzip-inflater");
+        this.inflater.setDaemon(true);
+        this.inflater.start();
+    }
+
+    /**
+     * ファイルの先頭が gzip のマジックナンバーであるかを判定する. <br>
+     * チャネルの位置は変更しない.
+     * 
+     * @param channel ファイルチャネル
+     * @return gzip 形式と判定される場合はtrue
+     * @throws IOException 読み込みで例外が発生した場合
+     * @throws NullPointerException 引数がnullの場合
+     */
+    static boolean isGzip(FileChannel channel) throws IOException {
+        ByteBuffer magic = ByteBuffer.allocate(2);
+        while (magic.hasRemaining()) {
+            if (channel.read(magic, magic.position()) < 0) {
+                return false;
+            }
+        }
+        return isGzip(magic.array());
+    }
+
+    /**
+     * ストリームの先頭のバイト列が gzip のマジックナンバーであるかを判定する.
+     * 
+     * @param head 先頭のバイト列
+     * @return gzip 形式と判定される場合はtrue
+     * @throws NullPointerException 引数がnullの場合
+     */
+    static boolean isGzip(byte[] head) {
+        return head.length >= 2 && head[0] == MAGIC_0 && head[1] == MAGIC_1;
+    }
+
+    /**
+     * 展開スレッドの処理.
+     */
+    private void inflate(InputStream compressed) {
+        try (InputStream in = new GZIPInputStream(compressed, INFLATER_BUFFER_SIZE)) {
+            while (true) {
+                byte[] block = free.poll();
+                if (Objects.isNull(block)) {
+                    block = new byte[blockSize];
+                }
+                int length = in.readNBytes(block, 0, blockSize);
+                if (length == 0) {
+                    break;
+                }
+                filled.put(ByteBuffer.wrap(block, 0, length));
+                if (length < blockSize) {
+                    break;
+                }
+            }
+        } catch (IOException e) {
+            failure = e;
+        } catch (InterruptedException e) {
+            // クローズによる停止
+            return;
+        }
+        try {
+            filled.put(END);
+        } catch (InterruptedException e) {
+            // クローズによる停止
+        }
+    }
+
+    @Override
+    public int read(ByteBuffer dst) throws IOException {
+        if (closed) {
+            throw new ClosedChannelException();
+        }
+        while (Objects.isNull(current) || !current.hasRemaining()) {
+            if (endOfStream) {
+                return -1;
+            }
+            if (Objects.nonNull(current)) {
+                free.offer(current.array());
+                current = null;
+            }
+            ByteBuffer next;
+            try {
+                next = filled.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("interrupted", e);
+            }
+            if (next == END) {
+                endOfStream = true;
+                IOException e = failure;
+                if (Objects.nonNull(e)) {
+                    throw new IOException(e.getMessage(), e);
+                }
+                return -1;
+            }
+            current = next;
+        }
+
+        int length = Math.min(dst.remaining(), current.remaining());
+        ByteBuffer src = current.duplicate();
+        src.limit(src.position() + length);
+        dst.put(src);
+        current.position(current.position() + length);
+        return length;
+    }
+
+    @Override
+    public boolean isOpen() {
+        return !closed;
+    }
+
+    /**
+     * 展開スレッドを停止し, 元のストリームがクローズされるまで待機する.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        inflater.interrupt();
+        filled.clear();
+        try {
+            inflater.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("interrupted", e);
+        }
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright © 2026 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+/*
+ * 2026.10.18
+ */
+package matsu.num.statistics.kdeapp.kde1d;
+
+import static java.nio.file.StandardOpenOption.*;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+import matsu.num.statistics.kdeapp.kde1d.exception.CalculationException;
+import matsu.num.statistics.kdeapp.kde1d.exception.InputException;
+import matsu.num.statistics.kdeapp.kde1d.exception.OutputException;
+
+/**
+ * 増分モードで, テキスト形式のファイルの部分集計 ({@link PartialAggregate}) を更新する.
+ * 
+ * <p>
+ * チェックポイント ({@link IncrementalCheckpoint}) が有効ならば,
+ * 入力ファイルのうちチェックポイント以降に追記された部分のみを解析し,
+ * チェックポイントの部分集計に併合する. <br>
+ * 入力ファイルの先頭部分 (チェックポイントまで) が変更されている場合,
+ * 解析パラメータ (グリッドを含む) が異なる場合, チェックポイントが読めない場合は,
+ * チェックポイントを破棄して全体を解析する. <br>
+ * gzip 形式で圧縮されたファイルには対応しない.
+ * </p>
+ * 
+ * <p>
+ * 新しいチェックポイントは更新時には書き込まれず, 推定結果の出力が成功した後に
+ * {@link #commit()} で書き込まれる. <br>
+ * チェックポイントは最後の行の終端までの部分集計であり,
+ * 終端のない最後の行 (書き込み途中の可能性がある) は今回の結果には含まれるが, 次回に再解析される.
+ * </p>
+ * 
+ * @author Matsuura Y.
+ */
+final class IncrementalAggregator {
+
+    private final String pathString;
+    private final int parallelism;
+    private final String checkpointPathString;
+    private final double lower;
+    private final double upper;
+    private final int size;
+    private final ByteChannelDoubleDataLoader loader;
+
+    /**
+     * チェックポイントの再利用の可否を判定する解析パラメータ.
+     */
+    private final String parameters;
+
+    /**
+     * 直前の更新で作成され, まだ書き込まれていないチェックポイント (なければnull).
+     */
+    private IncrementalCheckpoint pending;
+
+    /**
+     * 入力, グリッド, チェックポイントを与えて構築する.
+     * 
+     * @param pathString 入力ファイルのパス
+     * @param parallelism 解析の並列度
+     * @param checkpointPathString チェックポイントのファイルのパス
+     * @param lower グリッドの下端
+     * @param upper グリッドの上端
+     * @param size グリッド点数
+     * @param escapes エスケープする文字列のセット
+     * @throws IllegalArgumentException グリッドが不正な場合 (see {@link EvaluationGrid#of(double, double, int)}),
+     *             エスケープ文字列に空文字が含まれる場合, 並列度が1未満の場合
+     * @throws NullPointerException 引数にnullを含む場合
+     */
+    IncrementalAggregator(String pathString, int parallelism, String checkpointPathString,
+            double lower, double upper, int size, String... escapes) {
+        super();
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("illegal parallelism: " + parallelism);
+        }
+        EvaluationGrid.of(lower, upper, size);
+        this.pathString = Objects.requireNonNull(pathString);
+        this.parallelism = parallelism;
+        this.checkpointPathString = Objects.requireNonNull(checkpointPathString);
+        this.lower = lower;
+        this.upper = upper;
+        this.size = size;
+        this.loader = new ByteChannelDoubleDataLoader(new ByteLineDoubleParser(List.of(escapes)));
+        this.parameters = "text;comment=%s;grid=%s,%s,%d".formatted(
+                String.join(",", escapes), lower, upper, size);
+    }
+
+    /**
+     * 入力ファイルの追記部分を解析し, 入力ファイル全体の部分集計を返す.
+     * 
+     * @return 入力ファイル全体の部分集計
+     * @throws InputException ファイルアクセスで例外が発生した場合, ファイルのフォーマットが不正の場合,
+     *             gzip 形式の場合
+     * @throws CalculationException サンプルが inf や NaN を含む場合, グリッドの区間の外にサンプルがある場合
+     */
+    PartialAggregate update() {
+        try {
+            return updateAggregate(Path.of(pathString));
+        } catch (InvalidPathException | IOException e) {
+            throw new InputException(
+                    e.getClass().getSimpleName() + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * 直前の更新で作成したチェックポイントを書き込む. <br>
+     * 失敗した実行で状態が進まないよう, 推定結果の出力が成功した後に呼ぶ.
+     * 
+     * @throws OutputException チェックポイントの書き込みで例外が発生した場合
+     */
+    void commit() {
+        if (Objects.isNull(pending)) {
+            return;
+        }
+        try {
+            pending.write(Path.of(checkpointPathString));
+            pending = null;
+        } catch (InvalidPathException | IOException e) {
+            throw new OutputException(
+                    e.getClass().getSimpleName() + ": " + e.getMessage());
+        }
+    }
+
+    private PartialAggregate updateAggregate(Path path) throws IOException {
+        IOSupplier<FileChannel> channelSupplier = () -> FileChannel.open(path, READ);
+        Optional<IncrementalCheckpoint> previous = IncrementalCheckpoint.read(Path.of(checkpointPathString));
+
+        IncrementalCheckpoint reused = null;
+        long fileSize;
+        long end;
+        long tailLines;
+        int fingerprint;
+        try (FileChannel channel = channelSupplier.get()) {
+            if (GzipInflatingChannel.isGzip(channel)) {
+                throw new IOException("incremental mode does not support gzip input");
+            }
+            fileSize = channel.size();
+            if (previous.isPresent()
+                    && previous.get().parameters().equals(parameters)
+                    && previous.get().offset() <= fileSize
+                    && IncrementalCheckpoint.fingerprint(channel, previous.get().offset())
+                            == previous.get().fingerprint()) {
+                reused = previous.get();
+            }
+            long offset = Objects.nonNull(reused) ? reused.offset() : 0L;
+            end = IncrementalCheckpoint.lastLineEnd(channel, offset, fileSize);
+            tailLines = IncrementalCheckpoint.countLineEnds(channel, offset, end);
+            fingerprint = IncrementalCheckpoint.fingerprint(channel, end);
+        }
+
+        long offset = Objects.nonNull(reused) ? reused.offset() : 0L;
+        long lineCount = Objects.nonNull(reused) ? reused.lineCount() : 0L;
+        PartialAggregate base = Objects.nonNull(reused)
+                ? reused.aggregate()
+                : aggregate(Kde1dSource.of(new double[0]));
+
+        // 行の終端までの追記部分と, 終端のない最後の行を分けて解析する
+        Kde1dSource tail = loader.load(channelSupplier, offset, end, lineCount, parallelism);
+        Kde1dSource last = loader.load(channelSupplier, end, fileSize, lineCount + tailLines, 1);
+
+        PartialAggregate complete = base.merge(aggregate(tail));
+        pending = Objects.isNull(reused) || end > offset
+                ? new IncrementalCheckpoint(parameters, end, lineCount + tailLines, fingerprint, complete)
+                : null;
+        return complete.merge(aggregate(last));
+    }
+
+    private PartialAggregate aggregate(Kde1dSource source) {
+        return PartialAggregate.of(source, lower, upper, size);
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright © 2026 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+/*
+ * 2026.10.18
+ */
+package matsu.num.statistics.kdeapp.kde1d;
+
+import static matsu.num.statistics.kdeapp.kde1d.command.ArgumentRequiringCommand.*;
+import static matsu.num.statistics.kdeapp.kde1d.command.NoArgumentCommand.*;
+
+import matsu.num.statistics.kdeapp.kde1d.command.ConsoleParameterInterpreter;
+import matsu.num.statistics.kdeapp.kde1d.command.GridPoints;
+import matsu.num.statistics.kdeapp.kde1d.command.InputFormat;
+import matsu.num.statistics.kdeapp.kde1d.command.PlotRange;
+import matsu.num.statistics.kdeapp.kde1d.exception.InvalidParameterException;
+
+/**
+ * {@link IncrementalAggregator} の構築器.
+ * 
+ * <p>
+ * 出力ファイルのパスに {@value IncrementalCheckpoint#SUFFIX} を付加したファイルをチェックポイントとする. <br>
+ * 増分モードはファイルからのテキスト形式 (重み付き, 多列を除く) に限られ,
+ * 上書きする出力ファイルの指定
+ * ({@link matsu.num.statistics.kdeapp.kde1d.command.ArgumentRequiringCommand#OUTPUT_FORCE_FILE_PATH}) を必要とする.
+ * </p>
+ * 
+ * <p>
+ * チェックポイントは固定のグリッド上の部分集計 ({@link PartialAggregate}) なので,
+ * 部分集計の出力と同様に, 描画区間は固定の区間 ({@code --range <下限>,<上限>}) で指定しなければならない. <br>
+ * グリッド点数は固定の点数で指定される.
+ * 指定されない場合, {@link PartialAggregate#DEFAULT_SIZE} 点となる. <br>
+ * 密度は線形ビニングによるので, 評価エンジン, ストリーミングモード, 部分集計の出力とは併用できない.
+ * </p>
+ * 
+ * <p>
+ * 解析の並列度はオプションコマンドで指定される. <br>
+ * 指定されない場合, 利用可能なプロセッサ数となる.
+ * </p>
+ * 
+ * @author Matsuura Y.
+ */
+final class IncrementalAggregatorConstructor implements ComponentConstructor<IncrementalAggregator> {
+
+    /**
+     * 唯一のコンストラクタ.
+     */
+    IncrementalAggregatorConstructor() {
+    }
+
+    /**
+     * @throws InvalidParameterException 入力が増分モードに対応しない場合,
+     *             描画区間が固定の区間でない場合, グリッド点数が自動の場合,
+     *             出力ファイルの指定が不正な場合, 併用できないオプションが指定された場合
+     * @throws NullPointerException {@inheritDoc }
+     */
+    @Override
+    public IncrementalAggregator construct(ConsoleParameterInterpreter interpreter) {
+        String pathString = interpreter.valueOf(INPUT_FILE_PATH)
+                .orElseThrow(() -> new AssertionError("unreachable"));
+
+        if (STANDARD_INPUT.equals(pathString)) {
+            throw new InvalidParameterException(
+                    "standard input cannot be used with " + INCREMENTAL.commandString());
+        }
+        if (interpreter.valueOf(INPUT_FORMAT).orElse(InputFormat.TEXT) != InputFormat.TEXT
+                || interpreter.valueOf(COLUMNS).isPresent()) {
+            throw new InvalidParameterException(
+                    INCREMENTAL.commandString() + " supports only single-column text format");
+        }
+        if (interpreter.valueOf(ENGINE).isPresent()) {
+            throw new InvalidParameterException(
+                    ENGINE.commandString() + " cannot be used with " + INCREMENTAL.commandString());
+        }
+        if (interpreter.contains(STREAMING)) {
+            throw new InvalidParameterException(
+                    INCREMENTAL.commandString() + " cannot be used with " + STREAMING.commandString());
+        }
+        if (interpreter.valueOf(PARTIAL_OUTPUT_FILE_PATH).isPresent()) {
+            throw new InvalidParameterException(
+                    INCREMENTAL.commandString() + " cannot be used with "
+                            + PARTIAL_OUTPUT_FILE_PATH.commandString());
+        }
+        // 上書きしない出力では, 2回目以降の実行が必ず失敗する
+        if (interpreter.valueOf(OUTPUT_FILE_PATH).isPresent()) {
+            throw new InvalidParameterException(
+                    INCREMENTAL.commandString() + " cannot be used with "
+                            + OUTPUT_FILE_PATH.commandString()
+                            + " (use " + OUTPUT_FORCE_FILE_PATH.commandString() + ")");
+        }
+        String outputPathString = interpreter.valueOf(OUTPUT_FORCE_FILE_PATH)
+                .orElseThrow(() -> new InvalidParameterException(
+                        INCREMENTAL.commandString() + " requires "
+                                + OUTPUT_FORCE_FILE_PATH.commandString()));
+
+        PlotRange range = new PlotRangeConstructor().construct(interpreter);
+        if (!range.isFixed()) {
+            throw new InvalidParameterException(
+                    INCREMENTAL.commandString() + " requires fixed "
+                            + RANGE.commandString() + " <lower>,<upper>");
+        }
+        GridPoints gridPoints = interpreter.valueOf(GRID_POINTS)
+                .orElse(GridPoints.fixed(PartialAggregate.DEFAULT_SIZE));
+        if (gridPoints.isAuto()) {
+            throw new InvalidParameterException(
+                    INCREMENTAL.commandString() + " requires fixed "
+                            + GRID_POINTS.commandString());
+        }
+
+        String escape = interpreter.valueOf(COMMENT_CHAR)
+                .orElse("#");
+        int parallelism = interpreter.valueOf(PARALLELISM)
+                .orElse(Runtime.getRuntime().availableProcessors());
+
+        // 固定の点数は区間の幅とバンド幅によらない
+        return new IncrementalAggregator(
+                pathString, parallelism, outputPathString + IncrementalCheckpoint.SUFFIX,
+                range.lowerLimit(), range.upperLimit(), gridPoints.sizeFor(1d, 1d), escape);
+    }
+}
@@ -0,0 +1,388 @@
+/*
+ * Copyright © 2026 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+/*
+ * 2026.10.18
+ */
+package matsu.num.statistics.kdeapp.kde1d;
+
+import static java.nio.charset.StandardCharsets.*;
+import static java.nio.file.StandardCopyOption.*;
+import static java.nio.file.StandardOpenOption.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.zip.CRC32C;
+
+/**
+ * 増分モードのチェックポイント.
+ * 
+ * <p>
+ * チェックポイントは, 入力ファイルの解析済みの位置 (行の終端の直後のバイト位置),
+ * そこまでの行数と内容のフィンガープリント, および解析済みのサンプルの部分集計 ({@link PartialAggregate})
+ * からなる. <br>
+ * 部分集計の大きさはグリッド点数のみで決まり, サンプル数によらない. <br>
+ * 次回の実行では, フィンガープリントにより入力ファイルの先頭部分が変更されていないことを確かめ,
+ * 追記された部分のみを解析して部分集計に併合する.
+ * </p>
+ * 
+ * <p>
+ * フィンガープリントは, 先頭部分の長さと, 先頭部分から等間隔に選んだ窓 (および末尾の窓) の
+ * CRC-32C である (先頭部分が短い場合は全体の CRC-32C となる). <br>
+ * 先頭部分の読み込みは窓の分だけなので, 各実行のコストは追記された部分の大きさで決まる. <br>
+ * 入力ファイルは追記のみされることを前提としており,
+ * 窓に掛からない位置での長さを変えない書き換えは検出されない.
+ * </p>
+ * 
+ * <p>
+ * ファイルの形式は, ヘッダ (マジックナンバー, バージョン, 位置, 行数, フィンガープリント,
+ * 解析パラメータの文字列) に続く部分集計 ({@link PartialAggregate} のファイルの形式) である. <br>
+ * 書き込みは一時ファイルを経由したアトミックな移動で行われる.
+ * </p>
+ * 
+ * @author Matsuura Y.
+ */
+final class IncrementalCheckpoint {
+
+    /**
+     * チェックポイントの形式のバージョン.
+     */
+    static final int VERSION = 2;
+
+    /**
+     * チェックポイントのファイルの拡張子 (出力ファイル名に付加する).
+     */
+    static final String SUFFIX = ".checkpoint";
+
+    /**
+     * マジックナンバー ("KDEC").
+     */
+    private static final int MAGIC = 0x4B444543;
+
+    /**
+     * 解析パラメータの文字列の最大バイト長.
+     */
+    private static final int MAX_PARAMETERS_LENGTH = 1 << 16;
+
+    /**
+     * フィンガープリントの窓の大きさ.
+     */
+    private static final int WINDOW_SIZE = 1 << 12;
+
+    /**
+     * フィンガープリントの等間隔の窓の個数 (末尾の窓を除く).
+     */
+    private static final int WINDOW_COUNT = 16;
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final String parameters;
+    private final long offset;
+    private final long lineCount;
+    private final int fingerprint;
+    private final PartialAggregate aggregate;
+
+    /**
+     * チェックポイントを構築する.
+     * 
+     * @param parameters 解析パラメータの文字列表現
+     * @param offset 解析済みの位置
+     * @param lineCount 解析済みの行数
+     * @param fingerprint 解析済みの部分のフィンガープリント
+     * @param aggregate 解析済みのサンプルの部分集計
+     * @throws IllegalArgumentException 位置, 行数が負の場合
+     * @throws NullPointerException 引数にnullを含む場合
+     */
+    IncrementalCheckpoint(String parameters, long offset, long lineCount, int fingerprint,
+            PartialAggregate aggregate) {
+        super();
+        this.parameters = Objects.requireNonNull(parameters);
+        if (offset < 0 || lineCount < 0) {
+            throw new IllegalArgumentException("offset: " + offset + ", line count: " + lineCount);
+        }
+        this.offset = offset;
+        this.lineCount = lineCount;
+        this.fingerprint = fingerprint;
+        this.aggregate = Objects.requireNonNull(aggregate);
+    }
+
+    /**
+     * 解析パラメータの文字列表現を返す.
+     * 
+     * @return 解析パラメータ
+     */
+    String parameters() {
+        return parameters;
+    }
+
+    /**
+     * 解析済みの位置を返す.
+     * 
+     * @return 解析済みの位置
+     */
+    long offset() {
+        return offset;
+    }
+
+    /**
+     * 解析済みの行数を返す.
+     * 
+     * @return 解析済みの行数
+     */
+    long lineCount() {
+        return lineCount;
+    }
+
+    /**
+     * 解析済みの部分のフィンガープリントを返す.
+     * 
+     * @return フィンガープリント
+     */
+    int fingerprint() {
+        return fingerprint;
+    }
+
+    /**
+     * 解析済みのサンプルの部分集計を返す.
+     * 
+     * @return 部分集計
+     */
+    PartialAggregate aggregate() {
+        return aggregate;
+    }
+
+    /**
+     * チェックポイントのファイルを読み込む.
+     * 
+     * <p>
+     * ファイルが存在しない場合, 形式が不正の場合は空を返す.
+     * </p>
+     * 
+     * @param path チェックポイントのファイル
+     * @return チェックポイント
+     * @throws IOException ファイルアクセスで例外が発生した場合
+     * @throws NullPointerException 引数がnullの場合
+     */
+    static Optional<IncrementalCheckpoint> read(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, READ)) {
+            ByteBuffer header = ByteBuffer.allocate(4 + 4 + 8 + 8 + 4 + 4)
+                    .order(ByteOrder.LITTLE_ENDIAN);
+            if (!readFully(channel, header)) {
+                return Optional.empty();
+            }
+            header.flip();
+            if (header.getInt() != MAGIC || header.getInt() != VERSION) {
+                return Optional.empty();
+            }
+            long offset = header.getLong();
+            long lineCount = header.getLong();
+            int fingerprint = header.getInt();
+            int parametersLength = header.getInt();
+            if (offset < 0 || lineCount < 0
+                    || parametersLength < 0 || parametersLength > MAX_PARAMETERS_LENGTH) {
+                return Optional.empty();
+            }
+
+            ByteBuffer parametersBytes = ByteBuffer.allocate(parametersLength);
+            if (!readFully(channel, parametersBytes)) {
+                return Optional.empty();
+            }
+            PartialAggregate aggregate;
+            try {
+                aggregate = PartialAggregate.read(channel, path.toString());
+            } catch (IOException e) {
+                // 形式が不正な部分集計は, チェックポイントがないものとして扱う
+                return Optional.empty();
+            }
+            return Optional.of(new IncrementalCheckpoint(
+                    new String(parametersBytes.array(), UTF_8), offset, lineCount, fingerprint, aggregate));
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * チェックポイントをファイルに書き込む. <br>
+     * 一時ファイルに書き込んだ後, アトミックに置き換える.
+     * 
+     * @param path チェックポイントのファイル
+     * @throws IOException ファイルアクセスで例外が発生した場合
+     * @throws NullPointerException 引数がnullの場合
+     */
+    void write(Path path) throws IOException {
+        Path absolute = path.toAbsolutePath();
+        Path temp = Files.createTempFile(
+                absolute.getParent(), absolute.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, WRITE, TRUNCATE_EXISTING)) {
+                byte[] parametersBytes = parameters.getBytes(UTF_8);
+                ByteBuffer header = ByteBuffer.allocate(4 + 4 + 8 + 8 + 4 + 4 + parametersBytes.length)
+                        .order(ByteOrder.LITTLE_ENDIAN);
+                header.putInt(MAGIC)
+                        .putInt(VERSION)
+                        .putLong(offset)
+                        .putLong(lineCount)
+                        .putInt(fingerprint)
+                        .putInt(parametersBytes.length)
+                        .put(parametersBytes);
+                writeFully(channel, header.flip());
+                aggregate.write(channel);
+            }
+            Files.move(temp, absolute, REPLACE_EXISTING, ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * 先頭部分 {@code [0, end)} のフィンガープリントを計算する.
+     * 
+     * <p>
+     * 先頭部分が窓の合計より短い場合は, 先頭部分全体の CRC-32C である. <br>
+     * そうでない場合は, 長さと, 等間隔に選んだ窓および末尾の窓の内容の CRC-32C である.
+     * </p>
+     * 
+     * @param channel チャネル
+     * @param end 先頭部分の終了位置 (この位置を含まない)
+     * @return フィンガープリント
+     * @throws IOException ファイルアクセスで例外が発生した場合, 先頭部分の途中でファイルが終了した場合
+     */
+    static int fingerprint(FileChannel channel, long end) throws IOException {
+        CRC32C crc = new CRC32C();
+        crc.update(ByteBuffer.allocate(Long.BYTES).order(ByteOrder.LITTLE_ENDIAN).putLong(0, end));
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        if (end <= (long) (WINDOW_COUNT + 1) * WINDOW_SIZE) {
+            updateRange(channel, 0L, end, crc, buffer);
+            return (int) crc.getValue();
+        }
+        long stride = (end - WINDOW_SIZE) / WINDOW_COUNT;
+        for (int k = 0; k < WINDOW_COUNT; k++) {
+            long from = k * stride;
+            updateRange(channel, from, from + WINDOW_SIZE, crc, buffer);
+        }
+        updateRange(channel, end - WINDOW_SIZE, end, crc, buffer);
+        return (int) crc.getValue();
+    }
+
+    /**
+     * バイト範囲 {@code [from, to)} に含まれる行の終端の数を返す.
+     * 
+     * <p>
+     * 行の終端は {@code '\n'}, {@code '\r'}, {@code "\r\n"} であり,
+     * {@link ByteChannelDoubleDataLoader} の行の数え方と一致する.
+     * </p>
+     * 
+     * @param channel チャネル
+     * @param from 範囲の開始位置
+     * @param to 範囲の終了位置 (この位置を含まない)
+     * @return 行の終端の数
+     * @throws IOException ファイルアクセスで例外が発生した場合, 範囲の途中でファイルが終了した場合
+     */
+    static long countLineEnds(FileChannel channel, long from, long to) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        byte[] array = buffer.array();
+        long lines = 0L;
+        boolean afterCr = false;
+        long position = from;
+        while (position < to) {
+            buffer.clear();
+            buffer.limit((int) Math.min(BUFFER_SIZE, to - position));
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                throw new IOException("unexpected end of file at " + position);
+            }
+            for (int i = 0; i < read; i++) {
+                byte b = array[i];
+                if (b == '\r') {
+                    lines++;
+                } else if (b == '\n' && !afterCr) {
+                    lines++;
+                }
+                afterCr = b == '\r';
+            }
+            position += read;
+        }
+        return lines;
+    }
+
+    /**
+     * バイト範囲 {@code [from, to)} の中で最後の行の終端の直後の位置を返す. <br>
+     * 範囲に行の終端がない場合は {@code from} を返す.
+     * 
+     * @param channel チャネル
+     * @param from 範囲の開始位置
+     * @param to 範囲の終了位置 (この位置を含まない)
+     * @return 最後の行の終端の直後の位置
+     * @throws IOException ファイルアクセスで例外が発生した場合
+     */
+    static long lastLineEnd(FileChannel channel, long from, long to) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(1 << 12);
+        byte[] array = buffer.array();
+        long end = to;
+        while (end > from) {
+            int length = (int) Math.min(array.length, end - from);
+            long start = end - length;
+            buffer.clear();
+            buffer.limit(length);
+            int read = 0;
+            while (read < length) {
+                int n = channel.read(buffer, start + read);
+                if (n < 0) {
+                    throw new IOException("unexpected end of file at " + (start + read));
+                }
+                read += n;
+            }
+            for (int i = length - 1; i >= 0; i--) {
+                if (array[i] == '\n' || array[i] == '\r') {
+                    return start + i + 1;
+                }
+            }
+            end = start;
+        }
+        return from;
+    }
+
+    /**
+     * バイト範囲 {@code [from, to)} の内容で CRC を更新する.
+     */
+    private static void updateRange(
+            FileChannel channel, long from, long to, CRC32C crc, ByteBuffer buffer) throws IOException {
+        long position = from;
+        while (position < to) {
+            buffer.clear();
+            buffer.limit((int) Math.min(buffer.capacity(), to - position));
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                throw new IOException("unexpected end of file at " + position);
+            }
+            crc.update(buffer.flip());
+            position += read;
+        }
+    }
+
+    private static boolean readFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
@@ -0,0 +1,245 @@
+/*
+ * Copyright © 2026 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+/*
+ * 2026.10.18
+ */
+package matsu.num.statistics.kdeapp.kde1d;
+
+import static matsu.num.statistics.kdeapp.kde1d.command.ArgumentRequiringCommand.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import matsu.num.statistics.kdeapp.kde1d.command.ConsoleParameterInterpreter;
+import matsu.num.statistics.kdeapp.kde1d.exception.ApplicationException;
+import matsu.num.statistics.kdeapp.kde1d.exception.InputException;
+
+/**
+ * マニフェストに記載された複数の1次元カーネル密度推定を, 1個の JVM で実行するクラス.
+ * 
+ * <p>
+ * マニフェストは1行1ジョブであり, 各行は {@link Kde1dCliWithStyle020} と同じ形式のコンソール引数である
+ * (分解規則は {@link ManifestLineTokenizer} に従う). <br>
+ * ジョブは, 並列度で上限を定めたスレッドプールで実行される. <br>
+ * 各ジョブで発生した {@link ApplicationException} はそのジョブの失敗として記録され,
+ * 他のジョブの実行には影響しない.
+ * </p>
+ * 
+ * @author Matsuura Y.
+ */
+final class Kde1dBatch {
+
+    /**
+     * スレッドプールの大きさあたりの, 投入済みで出力を終えていないジョブの数の上限.
+     */
+    private static final int JOBS_IN_FLIGHT_PER_THREAD = 2;
+
+    /**
+     * 唯一のコンストラクタ.
+     */
+    Kde1dBatch() {
+        super();
+    }
+
+    /**
+     * マニフェストのファイルパスをコマンドライン引数として受け取り, バッチを実行する.
+     * 
+     * <p>
+     * コマンドライン引数は, {@link ConsoleParameterInterpreter#fromBatch(String[])} に従う. <br>
+     * スレッドプールの大きさ (同時に実行するジョブの数) は並列度のオプションコマンドで指定され,
+     * 指定されない場合は利用可能なプロセッサ数となる. <br>
+     * 並列度を指定していないジョブは, ジョブ内の処理を並列度1で実行する.
+     * </p>
+     * 
+     * <p>
+     * 各ジョブの標準出力と標準エラー出力はジョブごとにバッファされ,
+     * マニフェストの順に出力される. <br>
+     * バッファが保持されるジョブの数を抑えるため,
+     * 投入済みで出力を終えていないジョブはスレッドプールの大きさの
+     * {@value #JOBS_IN_FLIGHT_PER_THREAD} 倍までとし,
+     * 出力を終えたジョブの結果はただちに破棄する.
+     * </p>
+     * 
+     * @param args コマンドライン引数
+     * @return 終了コード (全ジョブが成功した場合は0, そうでない場合は1)
+     * @throws ApplicationException バッチ自体のパラメータが不正な場合, マニフェストを読み込めない場合
+     */
+    int run(String[] args) {
+        return run(args, System.out, System.err);
+    }
+
+    /**
+     * クラス内部での利用とテスト用に用意された run メソッド. <br>
+     * 契約は {@link #run(String[])} と同一.
+     * 
+     * @param out System.out
+     * @param err System.err
+     * @throws ApplicationException アプリケーション例外がスローされた場合
+     */
+    int run(String[] args, PrintStream out, PrintStream err) {
+
+        out.println("kde1d batch...");
+
+        ConsoleParameterInterpreter interpretation = ConsoleParameterInterpreter.fromBatch(args);
+
+        String manifestPath = interpretation.valueOf(MANIFEST_FILE_PATH)
+                .orElseThrow(() -> new AssertionError("unreachable"));
+        int poolSize = interpretation.valueOf(PARALLELISM)
+                .orElse(Runtime.getRuntime().availableProcessors());
+
+        List<Job> jobs = readManifest(manifestPath);
+
+        int failures = 0;
+        ExecutorService executor = Executors.newFixedThreadPool(poolSize);
+        try {
+            int inFlight = (int) Math.min(jobs.size(), (long) JOBS_IN_FLIGHT_PER_THREAD * poolSize);
+            List<Future<JobResult>> futures = new ArrayList<>(jobs.size());
+            for (int i = 0; i < inFlight; i++) {
+                futures.add(executor.submit(jobs.get(i)::execute));
+            }
+
+            for (int i = 0; i < jobs.size(); i++) {
+                JobResult result = futures.get(i).get();
+                // 出力を終えたジョブの結果を解放し, 次のジョブを投入する
+                futures.set(i, null);
+                if (i + inFlight < jobs.size()) {
+                    futures.add(executor.submit(jobs.get(i + inFlight)::execute));
+                }
+                out.println("[job " + jobs.get(i).lineNumber + "] "
+                        + (result.succeeded() ? "succeeded" : "failed"));
+                out.write(result.out, 0, result.out.length);
+                err.write(result.err, 0, result.err.length);
+                if (!result.succeeded()) {
+                    err.println("[job " + jobs.get(i).lineNumber + "] " + result.errorMessage);
+                    failures++;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ApplicationException("interrupted");
+        } catch (ExecutionException e) {
+            // ApplicationException 以外の例外はバグとみなす
+            throw new AssertionError(e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        out.println("jobs: " + jobs.size() + ", succeeded: " + (jobs.size() - failures)
+                + ", failed: " + failures);
+        out.println("Bye.");
+        return failures == 0 ? 0 : 1;
+    }
+
+    /**
+     * マニフェストを読み込み, ジョブのリストを返す.
+     * 
+     * @throws InputException ファイルアクセスで例外が発生した場合, 引用符が閉じていない行がある場合
+     */
+    private static List<Job> readManifest(String manifestPath) {
+        List<String> lines;
+        try {
+            lines = Files.readAllLines(Path.of(manifestPath));
+        } catch (InvalidPathException | IOException e) {
+            throw new InputException(
+                    e.getClass().getSimpleName() + ": " + e.getMessage());
+        }
+
+        List<Job> jobs = new ArrayList<>();
+        for (int i = 0; i < lines.size(); i++) {
+            String[] jobArgs;
+            try {
+                jobArgs = ManifestLineTokenizer.tokenize(lines.get(i));
+            } catch (IllegalArgumentException e) {
+                throw new InputException("manifest line " + (i + 1) + ": " + e.getMessage());
+            }
+            if (jobArgs.length > 0) {
+                jobs.add(new Job(i + 1, withDefaultParallelism(jobArgs)));
+            }
+        }
+        return jobs;
+    }
+
+    /**
+     * 並列度が指定されていないジョブに, 並列度1を指定する.
+     */
+    private static String[] withDefaultParallelism(String[] jobArgs) {
+        if (Arrays.asList(jobArgs).contains(PARALLELISM.commandString())) {
+            return jobArgs;
+        }
+        String[] out = Arrays.copyOf(jobArgs, jobArgs.length + 2);
+        out[jobArgs.length] = PARALLELISM.commandString();
+        out[jobArgs.length + 1] = "1";
+        return out;
+    }
+
+    /**
+     * マニフェストの1行に対応するジョブ.
+     */
+    private static final class Job {
+
+        final int lineNumber;
+        private final String[] args;
+
+        Job(int lineNumber, String[] args) {
+            super();
+            this.lineNumber = lineNumber;
+            this.args = args;
+        }
+
+        /**
+         * ジョブを実行する. <br>
+         * {@link ApplicationException} はスローせず, 結果に格納する.
+         */
+        JobResult execute() {
+            ByteArrayOutputStream outBuffer = new ByteArrayOutputStream();
+            ByteArrayOutputStream errBuffer = new ByteArrayOutputStream();
+            String errorMessage = null;
+            try (PrintStream out = new PrintStream(outBuffer);
+                    PrintStream err = new PrintStream(errBuffer)) {
+                try {
+                    new Kde1dCliWithStyle020().run(args, out, err);
+                } catch (ApplicationException e) {
+                    errorMessage = e.getClass().getName() + ": " + e.getMessage();
+                }
+            }
+            return new JobResult(outBuffer.toByteArray(), errBuffer.toByteArray(), errorMessage);
+        }
+    }
+
+    /**
+     * ジョブの実行結果.
+     */
+    private static final class JobResult {
+
+        final byte[] out;
+        final byte[] err;
+        final String errorMessage;
+
+        JobResult(byte[] out, byte[] err, String errorMessage) {
+            super();
+            this.out = out;
+            this.err = err;
+            this.errorMessage = errorMessage;
+        }
+
+        boolean succeeded() {
+            return errorMessage == null;
+        }
+    }
+}
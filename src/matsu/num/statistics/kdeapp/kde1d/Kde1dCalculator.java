@@ -0,0 +1,43 @@
+/*
+ * Copyright © 2026 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+/*
+ * 2026.10.18
+ */
+package matsu.num.statistics.kdeapp.kde1d;
+
+import matsu.num.statistics.kdeapp.kde1d.exception.CalculationException;
+
+/**
+ * 1次元のカーネル密度推定を実行する計算器を表現するインターフェース.
+ * 
+ * <p>
+ * 実装ごとに推定の評価方法 (評価エンジン) が異なる. <br>
+ * どの実装を用いるかは, {@link Kde1dCalculatorConstructor} によって決定される.
+ * </p>
+ * 
+ * @author Matsuura Y.
+ */
+interface Kde1dCalculator {
+
+    /**
+     * ソースを入力し, 推定を実行する. <br>
+     * 結果は, {@link WritableKde1dResult} の形で得られる.
+     * 
+     * <p>
+     * 入力ソースは値の配列と要約統計量の組である. <br>
+     * 範囲やバンド幅の決定には要約統計量を用い, 配列を再走査しない. <br>
+     * 配列はメソッド終了まで書き換えられることは想定されていない.
+     * </p>
+     * 
+     * @param source 入力ソース
+     * @return 推定結果
+     * @throws CalculationException ソースが空の場合, infやNaNを含む場合
+     * @throws NullPointerException 引数にnullが含まれる場合
+     */
+    public abstract WritableKde1dResult calc(Kde1dSource source);
+}
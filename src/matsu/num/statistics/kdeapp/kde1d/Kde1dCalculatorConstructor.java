@@ -0,0 +1,152 @@
+/*
+ * Copyright © 2026 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+/*
+ * 2026.10.18
+ */
+package matsu.num.statistics.kdeapp.kde1d;
+
+import static matsu.num.statistics.kdeapp.kde1d.command.ArgumentRequiringCommand.*;
+
+import java.util.Optional;
+
+import matsu.num.statistics.kdeapp.kde1d.command.ConsoleParameterInterpreter;
+import matsu.num.statistics.kdeapp.kde1d.command.GridPoints;
+import matsu.num.statistics.kdeapp.kde1d.command.InputFormat;
+import matsu.num.statistics.kdeapp.kde1d.command.KdeEngine;
+import matsu.num.statistics.kdeapp.kde1d.command.NoArgumentCommand;
+import matsu.num.statistics.kdeapp.kde1d.command.PlotRange;
+import matsu.num.statistics.kdeapp.kde1d.exception.InvalidParameterException;
+
+/**
+ * {@link Kde1dCalculator} の構築器.
+ * 
+ * <p>
+ * 評価エンジンはオプションコマンドで指定される. <br>
+ * 指定されない場合, {@link KdeEngine#EXACT} (ライブラリによる厳密な評価) となる.
+ * </p>
+ * 
+ * <p>
+ * 並列評価に対応するエンジンの並列度はオプションコマンドで指定される. <br>
+ * 指定されない場合, 利用可能なプロセッサ数となる. <br>
+ * 多列の入力で複数の列を同時に推定する場合, 同時に推定する列数を与えて構築器を生成すると,
+ * エンジンの並列度は指定された並列度を列数で割ったもの (1以上) となる.
+ * </p>
+ * 
+ * <p>
+ * アプリ内部で実装されたエンジンのグリッド点数はオプションコマンドで指定される. <br>
+ * 指定されない場合, {@link EvaluationGrid#DEFAULT_SIZE} 点となる. <br>
+ * ライブラリによる評価では空間分解能はライブラリが定めるので, グリッド点数は指定できない.
+ * </p>
+ * 
+ * <p>
+ * {@link KdeEngine#TRUNCATED} の打ち切り半径はオプションコマンドで指定される. <br>
+ * 指定されない場合, {@link GaussianTruncatedKde1dCalculator#DEFAULT_CUTOFF} となる. <br>
+ * 他のエンジンでは打ち切り半径は指定できない.
+ * </p>
+ * 
+ * <p>
+ * 描画区間の指定は {@link PlotRangeConstructor} により構築され, すべてのエンジンで有効である.
+ * </p>
+ * 
+ * <p>
+ * 重み付きの入力 ({@link InputFormat#WEIGHTED_TEXT}) は, ライブラリが重みを扱わないので,
+ * {@link KdeEngine#EXACT} では評価できない. <br>
+ * 同様に, 単精度モード ({@link NoArgumentCommand#FLOAT32}) のソースは,
+ * ライブラリが {@code double} の配列を要求するので {@link KdeEngine#EXACT} では評価できない.
+ * </p>
+ * 
+ * @author Matsuura Y.
+ */
+final class Kde1dCalculatorConstructor implements ComponentConstructor<Kde1dCalculator> {
+
+    /**
+     * 同時に推定する列数.
+     */
+    private final int concurrentColumns;
+
+    /**
+     * 1個のソースを推定する計算器の構築器を生成する.
+     */
+    Kde1dCalculatorConstructor() {
+        this(1);
+    }
+
+    /**
+     * 同時に推定する列数を与えて構築器を生成する.
+     * 
+     * @param concurrentColumns 同時に推定する列数
+     * @throws IllegalArgumentException 列数が1未満の場合
+     */
+    Kde1dCalculatorConstructor(int concurrentColumns) {
+        if (concurrentColumns < 1) {
+            throw new IllegalArgumentException("illegal concurrent columns: " + concurrentColumns);
+        }
+        this.concurrentColumns = concurrentColumns;
+    }
+
+    /**
+     * @throws InvalidParameterException ライブラリによる評価でグリッド点数が指定された場合,
+     *             打ち切り評価以外で打ち切り半径が指定された場合,
+     *             描画区間の指定が不正な場合,
+     *             ライブラリによる評価で重み付きの入力あるいは単精度モードが指定された場合
+     * @throws NullPointerException {@inheritDoc }
+     */
+    @Override
+    public Kde1dCalculator construct(ConsoleParameterInterpreter interpreter) {
+
+        KdeEngine engine = interpreter.valueOf(ENGINE)
+                .orElse(KdeEngine.EXACT);
+        int parallelism = Math.max(1, interpreter.valueOf(PARALLELISM)
+                .orElse(Runtime.getRuntime().availableProcessors()) / concurrentColumns);
+        Optional<GridPoints> specifiedGridPoints = interpreter.valueOf(GRID_POINTS);
+        GridPoints gridPoints = specifiedGridPoints
+                .orElse(GridPoints.fixed(EvaluationGrid.DEFAULT_SIZE));
+
+        if (engine == KdeEngine.EXACT && specifiedGridPoints.isPresent()) {
+            throw new InvalidParameterException(
+                    GRID_POINTS.commandString() + " is not supported by engine: "
+                            + engine.stringValue());
+        }
+        Optional<Double> specifiedCutoff = interpreter.valueOf(CUTOFF);
+        if (engine != KdeEngine.TRUNCATED && specifiedCutoff.isPresent()) {
+            throw new InvalidParameterException(
+                    CUTOFF.commandString() + " is not supported by engine: "
+                            + engine.stringValue());
+        }
+
+        if (engine == KdeEngine.EXACT
+                && interpreter.valueOf(INPUT_FORMAT).orElse(InputFormat.TEXT) == InputFormat.WEIGHTED_TEXT) {
+            throw new InvalidParameterException(
+                    "weighted input is not supported by engine: " + engine.stringValue()
+                            + " (use " + ENGINE.commandString() + " "
+                            + KdeEngine.DIRECT.stringValue() + ", "
+                            + KdeEngine.TRUNCATED.stringValue() + " or "
+                            + KdeEngine.BINNED.stringValue() + ")");
+        }
+
+        if (engine == KdeEngine.EXACT && interpreter.contains(NoArgumentCommand.FLOAT32)) {
+            throw new InvalidParameterException(
+                    NoArgumentCommand.FLOAT32.commandString() + " is not supported by engine: "
+                            + engine.stringValue()
+                            + " (use " + ENGINE.commandString() + " "
+                            + KdeEngine.DIRECT.stringValue() + ", "
+                            + KdeEngine.TRUNCATED.stringValue() + " or "
+                            + KdeEngine.BINNED.stringValue() + ")");
+        }
+
+        PlotRange plotRange = new PlotRangeConstructor().construct(interpreter);
+
+        return switch (engine) {
+            case EXACT -> new GaussianStandardKde1dCalculator(plotRange);
+            case DIRECT -> new GaussianDirectKde1dCalculator(gridPoints, plotRange, parallelism);
+            case TRUNCATED -> new GaussianTruncatedKde1dCalculator(gridPoints, plotRange,
+                    specifiedCutoff.orElse(GaussianTruncatedKde1dCalculator.DEFAULT_CUTOFF), parallelism);
+            case BINNED -> new GaussianBinnedKde1dCalculator(gridPoints, plotRange);
+        };
+    }
+}
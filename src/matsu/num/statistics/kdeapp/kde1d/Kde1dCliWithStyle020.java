@@ -6,14 +6,31 @@
  */
 
 /*
- * 2026.2.2
+ * 2026.10.18
  */
 package matsu.num.statistics.kdeapp.kde1d;
 
+import static matsu.num.statistics.kdeapp.kde1d.command.ArgumentRequiringCommand.*;
+import static matsu.num.statistics.kdeapp.kde1d.command.NoArgumentCommand.*;
+
+import java.io.InputStream;
 import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
+import matsu.num.statistics.kdeapp.kde1d.command.ColumnLayout;
+import matsu.num.statistics.kdeapp.kde1d.command.ColumnSelection;
 import matsu.num.statistics.kdeapp.kde1d.command.ConsoleParameterInterpreter;
+import matsu.num.statistics.kdeapp.kde1d.command.OutputFormat;
 import matsu.num.statistics.kdeapp.kde1d.exception.ApplicationException;
+import matsu.num.statistics.kdeapp.kde1d.exception.CalculationException;
+import matsu.num.statistics.kdeapp.kde1d.exception.InvalidParameterException;
 
 /**
  * 最も単純な1次元カーネル密度推定を実行するクラス.
@@ -38,7 +55,50 @@ final class Kde1dCliWithStyle020 {
      * 
      * <p>
      * 入力ファイルのフォーマットは, {@link Kde1dSourceLoaderConstructor} に従う. <br>
-     * 出力フォーマットは, {@link WritingFormatterConstructor} に従う.
+     * 出力フォーマットは, {@link WritingFormatterConstructor} に従う. <br>
+     * 評価エンジンは, {@link Kde1dCalculatorConstructor} に従う. <br>
+     * オプションコマンドで指定された場合, ソースの要約統計量を標準出力する.
+     * </p>
+     * 
+     * <p>
+     * ストリーミングモードが指定された場合, ソースを配列として保持せず,
+     * {@link GaussianStreamingKde1dCalculator} によりファイルを2回走査して推定する.
+     * </p>
+     * 
+     * <p>
+     * 計測が指定された場合, ステージごとの時間とメモリを {@link StageProfiler} で計測し,
+     * {@link ProfileOutputConstructor} に従って出力する.
+     * </p>
+     * 
+     * <p>
+     * 入力ファイルパスに {@code -} が指定された場合, 標準入力から読み込む.
+     * </p>
+     * 
+     * <p>
+     * キャッシュが有効な場合 ({@link ResultCacheConstructor}),
+     * キャッシュに推定結果があればロードと推定を省略してそれを出力し,
+     * なければ推定結果をキャッシュに保存する.
+     * </p>
+     * 
+     * <p>
+     * 列が指定された場合, 多列のテキストから選択した列を1回の読み込みでロードし,
+     * 列ごとの推定を並列に実行する. <br>
+     * 結果は, 列を横に並べた1個の出力, あるいは列ごとのファイルへの出力
+     * ({@link ResultOutput#resolveColumn(int)}) となる
+     * (表示は常に列を横に並べたものである).
+     * </p>
+     * 
+     * <p>
+     * 増分モードが指定された場合, 入力ファイルの追記部分のみを解析して固定のグリッド上の部分集計
+     * ({@link PartialAggregate}) を更新し, そこから密度を評価する ({@link IncrementalAggregatorConstructor}). <br>
+     * 部分集計のチェックポイントは, 出力が成功した後に書き込まれる.
+     * </p>
+     * 
+     * <p>
+     * 部分集計の出力先が指定された場合, 密度の代わりに固定のグリッド上の部分集計
+     * ({@link PartialAggregate}) を計算してファイルに書き込む
+     * ({@link PartialAggregatorConstructor}). <br>
+     * 部分集計は {@link Kde1dMerge} で併合して密度を評価する.
      * </p>
      * 
      * <p>
@@ -50,38 +110,242 @@ final class Kde1dCliWithStyle020 {
      * @throws ApplicationException アプリケーション例外がスローされた場合
      */
     int run(String[] args) {
-        return run(args, System.out, System.err);
+        return run(args, System.in, System.out, System.err);
     }
 
     /**
      * クラス内部での利用とテスト用に用意された run メソッド. <br>
      * 契約は {@link #run(String[])} と同一.
      * 
+     * @param in System.in
+     * @param out System.out
+     * @param err System.err
+     * @throws ApplicationException アプリケーション例外がスローされた場合
+     */
+    int run(String[] args, InputStream in, PrintStream out, PrintStream err) {
+        return run(args, new Kde1dSourceLoaderConstructor(in), out, err);
+    }
+
+    /**
+     * 標準入力を利用しない run メソッド (バッチ実行, サーバー実行から呼ばれる). <br>
+     * 契約は {@link #run(String[])} と同一であるが,
+     * 入力ファイルパスに {@code -} を指定することはできない.
+     * 
      * @param out System.out
      * @param err System.err
      * @throws ApplicationException アプリケーション例外がスローされた場合
      */
     int run(String[] args, PrintStream out, PrintStream err) {
+        return run(args, new Kde1dSourceLoaderConstructor(), out, err);
+    }
+
+    private int run(
+            String[] args, Kde1dSourceLoaderConstructor loaderConstructor,
+            PrintStream out, PrintStream err) {
 
         out.println("kde1d...");
 
         ConsoleParameterInterpreter interpretation = ConsoleParameterInterpreter.from(args);
 
-        Kde1dSourceLoader loader =
-                new Kde1dSourceLoaderConstructor().construct(interpretation);
+        Kde1dSourceLoader loader = loaderConstructor.construct(interpretation);
         WritingFormatter writingFormatter =
                 new WritingFormatterConstructor().construct(interpretation);
         ResultOutput output =
                 new ResultOutputConstructor().construct(interpretation);
         ResultDisplay stdout =
                 new ResultDisplayConstructor(out, err).construct(interpretation);
+        StageProfiler profiler =
+                new StageProfilerConstructor().construct(interpretation);
+        ProfileOutput profileOutput =
+                new ProfileOutputConstructor(err).construct(interpretation);
 
-        double[] source = loader.load();
-        WritableKde1dResult result = new GaussianStandardKde1dCalculator().calc(source);
-        stdout.write(result, writingFormatter);
-        output.write(result, writingFormatter);
+        Optional<ColumnSelection> columns = interpretation.valueOf(COLUMNS);
+        if (interpretation.contains(INCREMENTAL)) {
+            IncrementalAggregator aggregator = new IncrementalAggregatorConstructor().construct(interpretation);
+            PartialAggregate aggregate = profiler.measure("load", aggregator::update);
+            if (interpretation.contains(SHOW_SUMMARY)) {
+                aggregate.summary().describe().forEach(out::println);
+            }
+            WritableKde1dResult result = profiler.measure("calc", aggregate::evaluate);
+            profiler.run("display", () -> stdout.write(result, writingFormatter));
+            profiler.run("output", () -> output.write(result, writingFormatter));
+            // 出力が成功した後に, チェックポイントを書き込む
+            aggregator.commit();
+        } else if (interpretation.valueOf(PARTIAL_OUTPUT_FILE_PATH).isPresent()) {
+            PartialAggregator aggregator = new PartialAggregatorConstructor().construct(interpretation);
+            Kde1dSource source = profiler.measure("load", loader::load);
+            if (interpretation.contains(SHOW_SUMMARY)) {
+                source.summary().describe().forEach(out::println);
+            }
+            PartialAggregate partial = profiler.measure("calc", () -> aggregator.aggregate(source));
+            profiler.run("output", () -> aggregator.write(partial));
+        } else if (columns.isPresent()) {
+            int[] columnNumbers = columns.get().columns();
+            ColumnLayout layout = interpretation.valueOf(COLUMN_OUTPUT).orElse(ColumnLayout.WIDE);
+            if (layout == ColumnLayout.WIDE && columnNumbers.length > 1
+                    && interpretation.valueOf(OUTPUT_FORMAT).orElse(OutputFormat.TEXT) == OutputFormat.BINARY) {
+                throw new InvalidParameterException(
+                        "binary output of multiple columns requires "
+                                + COLUMN_OUTPUT.commandString() + " " + ColumnLayout.SPLIT.stringValue());
+            }
+
+            List<WritableKde1dResult> results =
+                    calcColumns(interpretation, loader, columnNumbers, profiler, out);
+            WritableKde1dResult wide = WritableKde1dResult.wide(results, columnNumbers);
+            profiler.run("display", () -> stdout.write(wide, writingFormatter));
+            profiler.run("output", () -> {
+                switch (layout) {
+                    case WIDE:
+                        output.write(wide, writingFormatter);
+                        break;
+                    case SPLIT:
+                        for (int j = 0; j < columnNumbers.length; j++) {
+                            output.resolveColumn(columnNumbers[j])
+                                    .write(results.get(j), writingFormatter);
+                        }
+                        break;
+                    default:
+                        throw new AssertionError("unreachable");
+                }
+            });
+        } else {
+            ResultCache cache = new ResultCacheConstructor().construct(interpretation);
+            WritableKde1dResult result = interpretation.contains(STREAMING)
+                    ? calcStreaming(interpretation, loader, cache, profiler, out)
+                    : calc(interpretation, loader, cache, profiler, out);
+            profiler.run("display", () -> stdout.write(result, writingFormatter));
+            profiler.run("output", () -> output.write(result, writingFormatter));
+        }
+        profileOutput.write(profiler.records());
 
         out.println("Bye.");
         return 0;
     }
+
+    /**
+     * ソースを配列としてロードして推定する (キャッシュにあればそれを返す).
+     */
+    private static WritableKde1dResult calc(
+            ConsoleParameterInterpreter interpretation, Kde1dSourceLoader loader,
+            ResultCache cache, StageProfiler profiler, PrintStream out) {
+        Kde1dCalculator calculator =
+                new Kde1dCalculatorConstructor().construct(interpretation);
+
+        Optional<ResultCache.Entry> cached = profiler.measure("cache-lookup", cache::lookup);
+        if (cached.isPresent()) {
+            return cachedResult(interpretation, cached.get(), out);
+        }
+
+        Kde1dSource source = profiler.measure("load", loader::load);
+        if (interpretation.contains(SHOW_SUMMARY)) {
+            source.summary().describe().forEach(out::println);
+        }
+        WritableKde1dResult result = profiler.measure("calc", () -> calculator.calc(source));
+        profiler.run("cache-store", () -> cache.store(result, source.summary()));
+        return result;
+    }
+
+    /**
+     * キャッシュのエントリから推定結果を返す (要約統計量は保存されたものを表示する).
+     */
+    private static WritableKde1dResult cachedResult(
+            ConsoleParameterInterpreter interpretation, ResultCache.Entry entry, PrintStream out) {
+        if (interpretation.contains(SHOW_SUMMARY)) {
+            entry.summary().forEach(out::println);
+        }
+        return entry.result();
+    }
+
+    /**
+     * 多列の入力を列ごとのソースとしてロードし, 列ごとに並列に推定する.
+     * 
+     * <p>
+     * 同時に推定する列数は, 列数と並列度の小さいほうである. <br>
+     * 各列のエンジンの並列度は並列度を同時に推定する列数で割ったものとし,
+     * 合計のスレッド数が並列度を大きく超えないようにする.
+     * </p>
+     */
+    private static List<WritableKde1dResult> calcColumns(
+            ConsoleParameterInterpreter interpretation, Kde1dSourceLoader loader,
+            int[] columnNumbers, StageProfiler profiler, PrintStream out) {
+        int parallelism = interpretation.valueOf(PARALLELISM)
+                .orElse(Runtime.getRuntime().availableProcessors());
+        int concurrency = Math.min(columnNumbers.length, parallelism);
+        Kde1dCalculator calculator =
+                new Kde1dCalculatorConstructor(concurrency).construct(interpretation);
+
+        List<Kde1dSource> sources = profiler.measure("load", loader::loadColumns);
+        if (interpretation.contains(SHOW_SUMMARY)) {
+            for (int j = 0; j < columnNumbers.length; j++) {
+                out.println("column " + columnNumbers[j] + ":");
+                sources.get(j).summary().describe().forEach(out::println);
+            }
+        }
+        return profiler.measure("calc", () -> calcConcurrently(calculator, sources, concurrency));
+    }
+
+    /**
+     * ソースごとの推定を, 与えた並列度で並列に実行する.
+     * 
+     * @return ソースの順に並んだ推定結果
+     * @throws CalculationException 推定で例外が発生した場合, 割り込まれた場合
+     */
+    private static List<WritableKde1dResult> calcConcurrently(
+            Kde1dCalculator calculator, List<Kde1dSource> sources, int concurrency) {
+        if (concurrency == 1) {
+            return sources.stream().map(calculator::calc).toList();
+        }
+
+        List<Callable<WritableKde1dResult>> tasks = new ArrayList<>(sources.size());
+        for (Kde1dSource source : sources) {
+            tasks.add(() -> calculator.calc(source));
+        }
+
+        List<WritableKde1dResult> results = new ArrayList<>(sources.size());
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+        try {
+            for (Future<WritableKde1dResult> future : executor.invokeAll(tasks)) {
+                results.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CalculationException("interrupted", e);
+        } catch (ExecutionException e) {
+            // 推定での例外 (アプリケーション例外を含む) はそのままスローする
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new CalculationException(cause);
+        } finally {
+            executor.shutdownNow();
+        }
+        return results;
+    }
+
+    /**
+     * ソースを配列として保持せず, ファイルを2回走査して推定する.
+     */
+    private static WritableKde1dResult calcStreaming(
+            ConsoleParameterInterpreter interpretation, Kde1dSourceLoader loader,
+            ResultCache cache, StageProfiler profiler, PrintStream out) {
+        GaussianStreamingKde1dCalculator calculator =
+                new GaussianStreamingKde1dCalculatorConstructor().construct(interpretation);
+
+        Optional<ResultCache.Entry> cached = profiler.measure("cache-lookup", cache::lookup);
+        if (cached.isPresent()) {
+            return cachedResult(interpretation, cached.get(), out);
+        }
+
+        SampleSummary summary = profiler.measure("summarize", loader::summarize);
+        if (interpretation.contains(SHOW_SUMMARY)) {
+            summary.describe().forEach(out::println);
+        }
+        WritableKde1dResult result = profiler.measure("calc", () -> calculator.calc(loader, summary));
+        profiler.run("cache-store", () -> cache.store(result, summary));
+        return result;
+    }
 }
@@ -0,0 +1,148 @@
+/*
+ * Copyright © 2026 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+/*
+ * 2026.10.18
+ */
+package matsu.num.statistics.kdeapp.kde1d;
+
+import static matsu.num.statistics.kdeapp.kde1d.command.ArgumentRequiringCommand.*;
+import static matsu.num.statistics.kdeapp.kde1d.command.NoArgumentCommand.*;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+import matsu.num.statistics.kdeapp.kde1d.command.ConsoleParameterInterpreter;
+import matsu.num.statistics.kdeapp.kde1d.exception.ApplicationException;
+import matsu.num.statistics.kdeapp.kde1d.exception.InputException;
+
+/**
+ * シャードごとに計算された部分集計 ({@link PartialAggregate}) を併合し,
+ * 密度を評価するクラス.
+ * 
+ * <p>
+ * 部分集計は, 各シャードで {@link Kde1dCliWithStyle020} に部分集計の出力先
+ * ({@link matsu.num.statistics.kdeapp.kde1d.command.ArgumentRequiringCommand#PARTIAL_OUTPUT_FILE_PATH})
+ * を指定して計算する. <br>
+ * 併合するのは, 指定したディレクトリにある拡張子 {@value PartialAggregate#SUFFIX} のファイルのすべてであり,
+ * ファイル名の順に併合される (併合の順序は丸め誤差のみに影響する).
+ * </p>
+ * 
+ * @author Matsuura Y.
+ */
+final class Kde1dMerge {
+
+    /**
+     * 唯一のコンストラクタ.
+     */
+    Kde1dMerge() {
+        super();
+    }
+
+    /**
+     * 部分集計のディレクトリをコマンドライン引数として受け取り, 併合した推定結果を出力する.
+     * 
+     * <p>
+     * コマンドライン引数は, {@link ConsoleParameterInterpreter#fromMerge(String[])} に従う. <br>
+     * 出力フォーマット, 出力先, 表示, 計測, 要約統計量の表示は {@link Kde1dCliWithStyle020} と同一である. <br>
+     * 描画区間とグリッドは部分集計のものであり, バンド幅は併合した要約統計量による.
+     * </p>
+     * 
+     * @param args コマンドライン引数
+     * @return 終了コード
+     * @throws ApplicationException アプリケーション例外がスローされた場合
+     */
+    int run(String[] args) {
+        return run(args, System.out, System.err);
+    }
+
+    /**
+     * クラス内部での利用とテスト用に用意された run メソッド. <br>
+     * 契約は {@link #run(String[])} と同一.
+     * 
+     * @param out System.out
+     * @param err System.err
+     * @throws ApplicationException アプリケーション例外がスローされた場合
+     */
+    int run(String[] args, PrintStream out, PrintStream err) {
+
+        out.println("kde1d merge...");
+
+        ConsoleParameterInterpreter interpretation = ConsoleParameterInterpreter.fromMerge(args);
+
+        String dirString = interpretation.valueOf(PARTIAL_DIR_PATH)
+                .orElseThrow(() -> new AssertionError("unreachable"));
+        WritingFormatter writingFormatter =
+                new WritingFormatterConstructor().construct(interpretation);
+        ResultOutput output =
+                new ResultOutputConstructor().construct(interpretation);
+        ResultDisplay stdout =
+                new ResultDisplayConstructor(out, err).construct(interpretation);
+        StageProfiler profiler =
+                new StageProfilerConstructor().construct(interpretation);
+        ProfileOutput profileOutput =
+                new ProfileOutputConstructor(err).construct(interpretation);
+
+        PartialAggregate merged = profiler.measure("load", () -> readAndMerge(dirString));
+        if (interpretation.contains(SHOW_SUMMARY)) {
+            merged.summary().describe().forEach(out::println);
+        }
+        WritableKde1dResult result = profiler.measure("calc", merged::evaluate);
+        profiler.run("display", () -> stdout.write(result, writingFormatter));
+        profiler.run("output", () -> output.write(result, writingFormatter));
+        profileOutput.write(profiler.records());
+
+        out.println("Bye.");
+        return 0;
+    }
+
+    /**
+     * ディレクトリの部分集計をすべて読み込み, ファイル名の順に併合する.
+     * 
+     * @throws InputException ファイルアクセスで例外が発生した場合, 部分集計がない場合,
+     *             形式が不正の場合, グリッドが一致しない場合
+     */
+    private static PartialAggregate readAndMerge(String dirString) {
+        List<Path> files;
+        try (Stream<Path> list = Files.list(Path.of(dirString))) {
+            files = list
+                    .filter(f -> f.getFileName().toString().endsWith(PartialAggregate.SUFFIX))
+                    .sorted()
+                    .toList();
+        } catch (InvalidPathException | IOException e) {
+            throw new InputException(
+                    e.getClass().getSimpleName() + ": " + e.getMessage());
+        }
+        if (files.isEmpty()) {
+            throw new InputException(
+                    "no partial aggregate (*" + PartialAggregate.SUFFIX + ") in " + dirString);
+        }
+
+        PartialAggregate merged = null;
+        for (Path file : files) {
+            PartialAggregate partial;
+            try {
+                partial = PartialAggregate.read(file);
+            } catch (IOException e) {
+                throw new InputException(
+                        e.getClass().getSimpleName() + ": " + e.getMessage());
+            }
+            try {
+                merged = Objects.isNull(merged) ? partial : merged.merge(partial);
+            } catch (IllegalArgumentException e) {
+                throw new InputException(file + ": " + e.getMessage());
+            }
+        }
+        return merged;
+    }
+}
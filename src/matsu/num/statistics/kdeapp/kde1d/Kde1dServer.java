@@ -0,0 +1,230 @@
+/*
+ * Copyright © 2026 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+/*
+ * 2026.10.18
+ */
+package matsu.num.statistics.kdeapp.kde1d;
+
+import static java.nio.charset.StandardCharsets.*;
+import static matsu.num.statistics.kdeapp.kde1d.command.ArgumentRequiringCommand.*;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.ClosedByInterruptException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import matsu.num.statistics.kdeapp.kde1d.command.ConsoleParameterInterpreter;
+import matsu.num.statistics.kdeapp.kde1d.exception.ApplicationException;
+
+/**
+ * UNIX ドメインソケットで要求を待ち受け, 1次元カーネル密度推定を常駐した JVM で実行するクラス.
+ * 
+ * <p>
+ * 各要求は {@link Kde1dCliWithStyle020} と同じ形式のコンソール引数であり,
+ * 要求と応答の形式は {@link Kde1dServerProtocol} に従う. <br>
+ * 要求は, 並列度で上限を定めたスレッドプールで実行される. <br>
+ * 各要求で発生した {@link ApplicationException} はその要求の失敗として応答され,
+ * サーバーの動作には影響しない.
+ * </p>
+ * 
+ * @author Matsuura Y.
+ */
+final class Kde1dServer {
+
+    /**
+     * 応答の書き込みのバッファサイズ.
+     */
+    private static final int RESPONSE_BUFFER_SIZE = 1 << 16;
+
+    /**
+     * 唯一のコンストラクタ.
+     */
+    Kde1dServer() {
+        super();
+    }
+
+    /**
+     * ソケットのファイルパスをコマンドライン引数として受け取り, 要求の待ち受けを開始する.
+     * 
+     * <p>
+     * コマンドライン引数は, {@link ConsoleParameterInterpreter#fromServer(String[])} に従う. <br>
+     * スレッドプールの大きさ (同時に実行する要求の数) は並列度のオプションコマンドで指定され,
+     * 指定されない場合は利用可能なプロセッサ数となる.
+     * </p>
+     * 
+     * <p>
+     * このメソッドは, 呼び出したスレッドが割り込まれるか JVM が終了するまで復帰しない. <br>
+     * ソケットファイルは待ち受けの終了時に削除される.
+     * 既にソケットファイルが存在する場合, 応答するサーバーがなければ削除して置き換え,
+     * 応答するサーバーがあれば例外をスローする.
+     * </p>
+     * 
+     * @param args コマンドライン引数
+     * @return 終了コード
+     * @throws ApplicationException パラメータが不正な場合, ソケットを開けない場合
+     */
+    int run(String[] args) {
+        return run(args, System.out, System.err);
+    }
+
+    /**
+     * クラス内部での利用とテスト用に用意された run メソッド. <br>
+     * 契約は {@link #run(String[])} と同一.
+     * 
+     * @param out System.out
+     * @param err System.err
+     * @throws ApplicationException アプリケーション例外がスローされた場合
+     */
+    int run(String[] args, PrintStream out, PrintStream err) {
+
+        out.println("kde1d server...");
+
+        ConsoleParameterInterpreter interpretation = ConsoleParameterInterpreter.fromServer(args);
+
+        Path socketPath;
+        try {
+            socketPath = Path.of(interpretation.valueOf(SOCKET_FILE_PATH)
+                    .orElseThrow(() -> new AssertionError("unreachable")))
+                    .toAbsolutePath();
+        } catch (InvalidPathException e) {
+            throw new ApplicationException(
+                    e.getClass().getSimpleName() + ": " + e.getMessage());
+        }
+        int poolSize = interpretation.valueOf(PARALLELISM)
+                .orElse(Runtime.getRuntime().availableProcessors());
+
+        ServerSocketChannel server = bind(socketPath);
+        Thread cleaner = new Thread(() -> deleteSocket(socketPath));
+        Runtime.getRuntime().addShutdownHook(cleaner);
+
+        ExecutorService executor = Executors.newFixedThreadPool(poolSize);
+        try (server) {
+            out.println("listening: " + socketPath);
+            while (!Thread.currentThread().isInterrupted()) {
+                SocketChannel client = server.accept();
+                executor.execute(() -> handle(client, err));
+            }
+        } catch (ClosedByInterruptException e) {
+            // 割り込みによる待ち受けの終了
+        } catch (IOException e) {
+            throw new ApplicationException(
+                    e.getClass().getSimpleName() + ": " + e.getMessage());
+        } finally {
+            executor.shutdown();
+            deleteSocket(socketPath);
+            try {
+                Runtime.getRuntime().removeShutdownHook(cleaner);
+            } catch (IllegalStateException ignore) {
+                // JVM の終了処理中
+            }
+        }
+
+        out.println("Bye.");
+        return 0;
+    }
+
+    /**
+     * ソケットを開き, ソケットファイルにバインドする.
+     * 
+     * @throws ApplicationException 既にサーバーが応答する場合, ソケットファイルがソケットでない場合, バインドに失敗した場合
+     */
+    private static ServerSocketChannel bind(Path socketPath) {
+        UnixDomainSocketAddress address = UnixDomainSocketAddress.of(socketPath);
+
+        if (Files.exists(socketPath)) {
+            if (!isSocketFile(socketPath)) {
+                throw new ApplicationException("not a socket: " + socketPath);
+            }
+            try {
+                SocketChannel.open(address).close();
+                throw new ApplicationException("server already running: " + socketPath);
+            } catch (IOException stale) {
+                // 応答しないソケットファイルは削除して置き換える
+                deleteSocket(socketPath);
+            }
+        }
+
+        try {
+            ServerSocketChannel server = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+            try {
+                server.bind(address);
+            } catch (IOException e) {
+                server.close();
+                throw e;
+            }
+            return server;
+        } catch (IOException | UnsupportedOperationException e) {
+            throw new ApplicationException(
+                    e.getClass().getSimpleName() + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * ソケットファイル (通常のファイル, ディレクトリ, シンボリックリンクのいずれでもないファイル) であるかを判定する.
+     */
+    private static boolean isSocketFile(Path path) {
+        try {
+            return Files.readAttributes(path, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS)
+                    .isOther();
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static void deleteSocket(Path socketPath) {
+        try {
+            Files.deleteIfExists(socketPath);
+        } catch (IOException ignore) {
+            // 削除できなくても, 次回の起動時に置き換えられる
+        }
+    }
+
+    /**
+     * 1個の要求を処理する. <br>
+     * ジョブの標準出力と標準エラー出力はまとめて, バッファを経由して逐次応答される.
+     */
+    private static void handle(SocketChannel client, PrintStream err) {
+        try (client) {
+            BufferedReader request = new BufferedReader(
+                    new InputStreamReader(Channels.newInputStream(client), UTF_8));
+            PrintStream response = new PrintStream(
+                    new BufferedOutputStream(Channels.newOutputStream(client), RESPONSE_BUFFER_SIZE),
+                    false, UTF_8);
+
+            int exitCode;
+            try {
+                String[] args = Kde1dServerProtocol.readRequest(request);
+                exitCode = new Kde1dCliWithStyle020().run(args, response, response);
+            } catch (ApplicationException e) {
+                response.println(e.getClass().getName() + ": " + e.getMessage());
+                exitCode = 1;
+            }
+            response.println(Kde1dServerProtocol.EXIT_STATUS_PREFIX + exitCode);
+            response.flush();
+            if (response.checkError()) {
+                err.println("response failed: client disconnected");
+            }
+        } catch (IOException e) {
+            err.println("request failed: " + e.getClass().getSimpleName() + ": " + e.getMessage());
+        }
+    }
+}
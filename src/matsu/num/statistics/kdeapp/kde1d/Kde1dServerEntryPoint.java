@@ -0,0 +1,34 @@
+/*
+ * Copyright © 2026 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+/*
+ * 2026.10.18
+ */
+package matsu.num.statistics.kdeapp.kde1d;
+
+/**
+ * 1次元カーネル密度推定のサーバー実行のエントリーポイント.
+ * 
+ * @author Matsuura Y.
+ */
+public final class Kde1dServerEntryPoint {
+
+    private Kde1dServerEntryPoint() {
+        // インスタンス化不可
+        throw new AssertionError();
+    }
+
+    /**
+     * エントリーポイント.
+     * 
+     * @param args パラメータ
+     * @throws Exception 例外スロー時
+     */
+    public static void main(String[] args) throws Exception {
+        System.exit(new Kde1dServer().run(args));
+    }
+}
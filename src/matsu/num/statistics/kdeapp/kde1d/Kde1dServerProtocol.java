@@ -0,0 +1,127 @@
+/*
+ * Copyright © 2026 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+/*
+ * 2026.10.18
+ */
+package matsu.num.statistics.kdeapp.kde1d;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+
+import matsu.num.statistics.kdeapp.kde1d.command.ConsoleParameterInterpreter;
+import matsu.num.statistics.kdeapp.kde1d.exception.InputException;
+
+/**
+ * {@link Kde1dServer} とクライアントの間の, 行単位のテキストプロトコル.
+ * 
+ * <p>
+ * 文字コードは UTF-8, 改行は LF である. <br>
+ * 要求は次の行からなる. <br>
+ * (シェルスクリプトから {@code printf} と {@code nc -U} などで送信できる形式とする.)
+ * </p>
+ * 
+ * <ol>
+ * <li>{@link #VERSION_LINE}</li>
+ * <li>クライアントの作業ディレクトリ (絶対パス)</li>
+ * <li>引数の個数</li>
+ * <li>引数 (1行1個, 個数分)</li>
+ * </ol>
+ * 
+ * <p>
+ * 応答は, ジョブの標準出力と標準エラー出力をまとめたテキストであり,
+ * 最終行は {@link #EXIT_STATUS_PREFIX} に続く終了コードである. <br>
+ * ジョブが {@link matsu.num.statistics.kdeapp.kde1d.exception.ApplicationException} で失敗した場合,
+ * 最終行の直前に例外の内容が出力される.
+ * </p>
+ * 
+ * @author Matsuura Y.
+ */
+final class Kde1dServerProtocol {
+
+    /**
+     * 要求の先頭行.
+     */
+    static final String VERSION_LINE = "KDE1D/1";
+
+    /**
+     * 応答の最終行の prefix.
+     */
+    static final String EXIT_STATUS_PREFIX = "@@kde1d-exit@@ ";
+
+    /**
+     * 1個の要求に含まれる引数の個数の上限.
+     */
+    private static final int MAX_ARGUMENT_COUNT = 1024;
+
+    private Kde1dServerProtocol() {
+        // インスタンス化不可
+        throw new AssertionError();
+    }
+
+    /**
+     * 要求を読み込み, ジョブのコンソール引数を返す.
+     * 
+     * <p>
+     * ファイルパスを引数にとるコマンドの相対パスは, クライアントの作業ディレクトリを基準に解決される
+     * (see {@link ConsoleParameterInterpreter#resolveFilePaths(String[], Path)}).
+     * </p>
+     * 
+     * @param reader 要求の読み込み元
+     * @return ジョブのコンソール引数
+     * @throws IOException 読み込みで例外が発生した場合
+     * @throws InputException 要求の形式が不正な場合
+     */
+    static String[] readRequest(BufferedReader reader) throws IOException {
+        String version = reader.readLine();
+        if (!VERSION_LINE.equals(version)) {
+            throw new InputException("unsupported request: " + version);
+        }
+
+        Path workingDirectory;
+        try {
+            workingDirectory = Path.of(requireLine(reader));
+        } catch (InvalidPathException e) {
+            throw new InputException("invalid working directory: " + e.getMessage());
+        }
+        if (!workingDirectory.isAbsolute()) {
+            throw new InputException("working directory is not absolute: " + workingDirectory);
+        }
+
+        String countLine = requireLine(reader);
+        int count;
+        try {
+            count = Integer.parseInt(countLine);
+        } catch (NumberFormatException e) {
+            throw new InputException("invalid argument count: " + countLine);
+        }
+        if (count < 0 || count > MAX_ARGUMENT_COUNT) {
+            throw new InputException("invalid argument count: " + countLine);
+        }
+
+        String[] args = new String[count];
+        for (int i = 0; i < count; i++) {
+            args[i] = requireLine(reader);
+        }
+        return ConsoleParameterInterpreter.resolveFilePaths(args, workingDirectory);
+    }
+
+    /**
+     * 1行を読み込む.
+     * 
+     * @throws InputException 要求が途中で終了している場合
+     */
+    private static String requireLine(BufferedReader reader) throws IOException {
+        String line = reader.readLine();
+        if (line == null) {
+            throw new InputException("unexpected end of request");
+        }
+        return line;
+    }
+}
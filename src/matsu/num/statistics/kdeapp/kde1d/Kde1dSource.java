@@ -0,0 +1,310 @@
+/*
+ * Copyright © 2026 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+/*
+ * 2026.10.18
+ */
+package matsu.num.statistics.kdeapp.kde1d;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * 1次元のカーネル密度推定のデータソースを表現する.
+ * 
+ * <p>
+ * ソースの値の配列 (重み付きのソースでは, 値と重みの配列) と, その要約統計量の組である. <br>
+ * 要約統計量はローダーが解析と同時に計算するので,
+ * 計算器はソース全体を再走査せずに範囲やバンド幅を決定できる.
+ * </p>
+ * 
+ * <p>
+ * 重みは度数として扱われ, 重み {@code w} の値は同じ値が {@code w} 個あることと同等である. <br>
+ * 重み付きのソースでは, 計算量は (展開後の件数ではなく) 値と重みの組の数で決まる.
+ * </p>
+ * 
+ * <p>
+ * 単精度のソース ({@link #singlePrecision(float[], SampleSummary)}) は,
+ * 値を {@code float} の配列として保持し, メモリを {@code double} の配列の半分とする. <br>
+ * 単精度のソースは重みを持たない. <br>
+ * 値の配列は {@link #isSinglePrecision()} に応じて {@link #values()} あるいは
+ * {@link #floatValues()} で取得する. <br>
+ * 要約統計量は丸めた後の値から計算されたものであり,
+ * 計算器はカーネルの和を {@code double} で計算する.
+ * </p>
+ * 
+ * <p>
+ * <u><i>倍精度との誤差</i></u> <br>
+ * 値を {@code float} に丸める相対誤差は {@code u = 2^-24} (約 6e-8) 以下である. <br>
+ * ガウシアンカーネルの導関数の絶対値は {@code 1 / √(2πe)} (約 0.24) 以下であるので,
+ * 同じバンド幅 <i>h</i> において, 値の丸めによる密度の変化は
+ * 密度の典型値 {@code 1/h} に対する相対誤差で {@code 0.25 u max|X| / h} 以下である
+ * (max|X| はサンプルの絶対値の最大値). <br>
+ * バンド幅と描画区間も丸めた値の要約統計量から定まるので,
+ * 相対的に {@code u max|X| / σ} 程度変化しうる (σ は標準偏差). <br>
+ * したがって, 原点から離れた位置にバンド幅に比べて狭く分布するデータ
+ * ({@code max|X| / h} が 1e6 を超えるようなもの) では, 単精度は適さない. <br>
+ * {@code float} の範囲 (約 3.4e38) を超える値は無限大に丸められ, 推定は失敗する.
+ * </p>
+ * 
+ * <p>
+ * 値と重みの配列は防御的コピーされない. <br>
+ * インスタンスの生成後に配列が書き換えられることは想定されていない.
+ * </p>
+ * 
+ * @author Matsuura Y.
+ */
+final class Kde1dSource {
+
+    private final double[] values;
+    private final float[] floatValues;
+    private final double[] weights;
+    private final SampleSummary summary;
+
+    private Kde1dSource(double[] values, double[] weights, SampleSummary summary) {
+        super();
+        this.values = values;
+        this.floatValues = null;
+        this.weights = weights;
+        this.summary = summary;
+    }
+
+    private Kde1dSource(float[] floatValues, SampleSummary summary) {
+        super();
+        this.values = null;
+        this.floatValues = floatValues;
+        this.weights = null;
+        this.summary = summary;
+    }
+
+    /**
+     * 値の配列と, あらかじめ計算された要約統計量からソースを構築する.
+     * 
+     * @param values 値の配列
+     * @param summary 値の配列の要約統計量
+     * @return ソース
+     * @throws IllegalArgumentException 件数が整合しない場合
+     * @throws NullPointerException 引数がnullの場合
+     */
+    static Kde1dSource of(double[] values, SampleSummary summary) {
+        long count = summary.count() + summary.nonFiniteCount();
+        if (values.length != count) {
+            throw new IllegalArgumentException(
+                    "count mismatch: values = " + values.length + ", summary = " + count);
+        }
+        if (summary.isWeighted()) {
+            throw new IllegalArgumentException("summary is weighted");
+        }
+        return new Kde1dSource(values, null, summary);
+    }
+
+    /**
+     * 値の配列からソースを構築する. <br>
+     * 要約統計量は, このメソッド内で計算される.
+     * 
+     * @param values 値の配列
+     * @return ソース
+     * @throws NullPointerException 引数がnullの場合
+     */
+    static Kde1dSource of(double[] values) {
+        return new Kde1dSource(values, null, SampleSummary.of(Objects.requireNonNull(values)));
+    }
+
+    /**
+     * {@code float} の値の配列と, あらかじめ計算された要約統計量から単精度のソースを構築する.
+     * 
+     * <p>
+     * 要約統計量は, 配列の値 ({@code float} に丸めた後の値) から計算されたものでなければならない.
+     * </p>
+     * 
+     * @param values 値の配列
+     * @param summary 値の配列の要約統計量
+     * @return 単精度のソース
+     * @throws IllegalArgumentException 件数が整合しない場合
+     * @throws NullPointerException 引数がnullの場合
+     */
+    static Kde1dSource singlePrecision(float[] values, SampleSummary summary) {
+        long count = summary.count() + summary.nonFiniteCount();
+        if (values.length != count) {
+            throw new IllegalArgumentException(
+                    "count mismatch: values = " + values.length + ", summary = " + count);
+        }
+        if (summary.isWeighted()) {
+            throw new IllegalArgumentException("summary is weighted");
+        }
+        return new Kde1dSource(values, summary);
+    }
+
+    /**
+     * {@code float} の値の配列から単精度のソースを構築する. <br>
+     * 要約統計量は, このメソッド内で計算される.
+     * 
+     * @param values 値の配列
+     * @return 単精度のソース
+     * @throws NullPointerException 引数がnullの場合
+     */
+    static Kde1dSource singlePrecision(float[] values) {
+        SampleSummary.Accumulator accumulator = new SampleSummary.Accumulator();
+        for (float v : values) {
+            accumulator.accept(v);
+        }
+        return new Kde1dSource(values, accumulator.summary());
+    }
+
+    /**
+     * 値と重みの配列, あらかじめ計算された要約統計量から重み付きのソースを構築する.
+     * 
+     * <p>
+     * 重みは正の有限値であることを呼び出し側が保証する.
+     * </p>
+     * 
+     * @param values 値の配列
+     * @param weights 重みの配列
+     * @param summary 値と重みの配列の要約統計量
+     * @return 重み付きのソース
+     * @throws IllegalArgumentException 配列長や件数が整合しない場合
+     * @throws NullPointerException 引数がnullの場合
+     */
+    static Kde1dSource weighted(double[] values, double[] weights, SampleSummary summary) {
+        if (values.length != weights.length) {
+            throw new IllegalArgumentException(
+                    "length mismatch: values = " + values.length + ", weights = " + weights.length);
+        }
+        long count = summary.count() + summary.nonFiniteCount();
+        if (values.length != count) {
+            throw new IllegalArgumentException(
+                    "count mismatch: values = " + values.length + ", summary = " + count);
+        }
+        return new Kde1dSource(values, weights, summary);
+    }
+
+    /**
+     * 値と重みの配列から重み付きのソースを構築する. <br>
+     * 要約統計量は, このメソッド内で計算される.
+     * 
+     * @param values 値の配列
+     * @param weights 重みの配列
+     * @return 重み付きのソース
+     * @throws IllegalArgumentException 配列長が一致しない場合
+     * @throws NullPointerException 引数がnullの場合
+     */
+    static Kde1dSource weighted(double[] values, double[] weights) {
+        return new Kde1dSource(values, weights, SampleSummary.of(values, weights));
+    }
+
+    /**
+     * 値の配列を返す. <br>
+     * 戻り値は内部の配列そのものであり, 書き換えてはいけない.
+     * 
+     * @return 値の配列
+     * @throws IllegalStateException 単精度のソースの場合
+     */
+    double[] values() {
+        if (Objects.isNull(values)) {
+            throw new IllegalStateException("single precision source");
+        }
+        return values;
+    }
+
+    /**
+     * 単精度のソースであるかを返す.
+     * 
+     * @return 単精度ならtrue
+     */
+    boolean isSinglePrecision() {
+        return Objects.nonNull(floatValues);
+    }
+
+    /**
+     * 単精度のソースの値の配列を返す. <br>
+     * 戻り値は内部の配列そのものであり, 書き換えてはいけない.
+     * 
+     * @return 値の配列
+     * @throws IllegalStateException 単精度のソースでない場合
+     */
+    float[] floatValues() {
+        if (Objects.isNull(floatValues)) {
+            throw new IllegalStateException("double precision source");
+        }
+        return floatValues;
+    }
+
+    /**
+     * 重み付きのソースであるかを返す.
+     * 
+     * @return 重み付きならtrue
+     */
+    boolean isWeighted() {
+        return Objects.nonNull(weights);
+    }
+
+    /**
+     * 重みの配列を返す (重みなしのソースでは空). <br>
+     * 戻り値は内部の配列そのものであり, 書き換えてはいけない.
+     * 
+     * @return 重みの配列
+     */
+    Optional<double[]> weights() {
+        return Optional.ofNullable(weights);
+    }
+
+    /**
+     * ソースの分位点関数 (確率 {@code p} から分位点への関数) を構築する.
+     * 
+     * <p>
+     * 重みなしのソースでは分位点のスケッチ ({@link QuantileSketch}) による近似であり,
+     * 重み付きのソースでは (重みを度数とする) 正確な分位点である. <br>
+     * 分位点は, 累積の重みが {@code p} 倍の総重み以上となる最小の値である. <br>
+     * ソースは検証済み (有限値のみで空でない) であることを前提とする.
+     * </p>
+     * 
+     * @return 分位点関数
+     */
+    DoubleUnaryOperator quantileFunction() {
+        if (Objects.nonNull(floatValues)) {
+            return QuantileSketch.of(floatValues)::quantile;
+        }
+        if (Objects.isNull(weights)) {
+            return QuantileSketch.of(values)::quantile;
+        }
+
+        double[] sortedValues = values.clone();
+        double[] sortedWeights = weights.clone();
+        PairedArrays.sortByKey(sortedValues, sortedWeights);
+        double[] cumulative = new double[sortedWeights.length];
+        double sum = 0d;
+        for (int i = 0; i < sortedWeights.length; i++) {
+            sum += sortedWeights[i];
+            cumulative[i] = sum;
+        }
+        double total = sum;
+        return p -> {
+            double target = p * total;
+            int low = 0;
+            int high = cumulative.length - 1;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (cumulative[mid] >= target) {
+                    high = mid;
+                } else {
+                    low = mid + 1;
+                }
+            }
+            return sortedValues[low];
+        };
+    }
+
+    /**
+     * 要約統計量を返す.
+     * 
+     * @return 要約統計量
+     */
+    SampleSummary summary() {
+        return summary;
+    }
+}
@@ -6,56 +6,662 @@
  */
 
 /*
- * 2026.2.2
+ * 2026.10.18
  */
 package matsu.num.statistics.kdeapp.kde1d;
 
+import static java.nio.file.StandardOpenOption.*;
+
+import java.io.FilterInputStream;
 import java.io.IOException;
-import java.nio.file.Files;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
 import java.nio.file.InvalidPathException;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.function.DoubleConsumer;
+import java.util.function.Supplier;
 
+import matsu.num.statistics.kdeapp.kde1d.binary.Kde1dBinarySamples;
 import matsu.num.statistics.kdeapp.kde1d.exception.InputException;
 
 /**
  * 1次元のカーネル密度推定に使うデータソースのローダー.
  * 
+ * <p>
+ * テキスト形式のファイルは {@link FileChannel} を通して読み込まれ,
+ * {@link ByteChannelDoubleDataLoader} によりバイト列から直接解析される. <br>
+ * 大きなファイルは, 改行位置で揃えたバイト範囲ごとに並列に解析される. <br>
+ * gzip 形式で圧縮されたファイル (先頭のマジックナンバーで判定) は,
+ * {@link GzipInflatingChannel} により展開スレッドと並行して逐次的に解析される.
+ * </p>
+ * 
+ * <p>
+ * 標準入力などのストリームからのテキストも, 同じパーサーで逐次的に解析される. <br>
+ * ストリームは1回しか読めないので, ロードあるいは走査は1回に限られる.
+ * </p>
+ * 
+ * <p>
+ * 値と重みの組を記載したテキスト形式 (重み付きのテキスト) は,
+ * 重み付きのデータソースとしてロードされる. <br>
+ * 重み付きのテキストは値の走査 ({@link #scan(Supplier)}) に対応しない.
+ * </p>
+ * 
+ * <p>
+ * 各行が複数のフィールドからなるテキスト形式 (多列のテキスト) は,
+ * 1回の読み込みで選択した列ごとのデータソースとしてロードされる ({@link #loadColumns()}). <br>
+ * 多列のテキストは値の走査に対応せず, 単一のデータソースとしてのロード ({@link #load()}) は
+ * 1列のみを選択した場合に限られる.
+ * </p>
+ * 
+ * <p>
+ * バイナリ形式 (float64 の配列) のファイルは,
+ * {@link MappedDoubleDataLoader} によりメモリマップして読み込まれる.
+ * </p>
+ * 
+ * <p>
+ * 単精度モード ({@link #singlePrecision(Kde1dSourceLoader)}) のローダーは,
+ * 元のローダーの走査で受け取った値を {@code float} に丸めて {@link FloatArrayBuilder} に蓄積し,
+ * 単精度のソース ({@link Kde1dSource#singlePrecision(float[], SampleSummary)}) としてロードする. <br>
+ * {@code double} の配列を経由しないので, ロード時のメモリも半分となる. <br>
+ * 走査に対応しないローダー (重み付き, 多列) は単精度モードにできない.
+ * </p>
+ * 
  * @author Matsuura Y.
  */
-final class Kde1dSourceLoader {
+abstract class Kde1dSourceLoader {
+
+    /**
+     * テキスト形式のファイルのローダーを, エスケープする文字列を指定して返す.
+     * 
+     * @param pathString ロードするファイルのパス
+     * @param parallelism 解析の並列度
+     * @param escapes エスケープする文字列のセット
+     * @return ローダー
+     * @throws IllegalArgumentException エスケープ文字列に空文字が含まれる場合, 並列度が1未満の場合
+     * @throws NullPointerException 引数にnullを含む場合
+     */
+    static Kde1dSourceLoader text(String pathString, int parallelism, String... escapes) {
+        return new TextLoader(pathString, parallelism, false, null, escapes);
+    }
+
+    /**
+     * 重み付きのテキスト形式のファイルのローダーを, エスケープする文字列を指定して返す.
+     * 
+     * @param pathString ロードするファイルのパス
+     * @param parallelism 解析の並列度
+     * @param escapes エスケープする文字列のセット
+     * @return ローダー
+     * @throws IllegalArgumentException エスケープ文字列に空文字が含まれる場合, 並列度が1未満の場合
+     * @throws NullPointerException 引数にnullを含む場合
+     * @see ByteLineDoubleParser#parseWeighted(byte[], int, int, WeightedDoubleConsumer)
+     */
+    static Kde1dSourceLoader weightedText(String pathString, int parallelism, String... escapes) {
+        return new TextLoader(pathString, parallelism, true, null, escapes);
+    }
+
+    /**
+     * 多列のテキスト形式のファイルのローダーを, 列とエスケープする文字列を指定して返す.
+     * 
+     * @param pathString ロードするファイルのパス
+     * @param parallelism 解析の並列度
+     * @param columns ロードする列の番号 (1始まり)
+     * @param escapes エスケープする文字列のセット
+     * @return ローダー
+     * @throws IllegalArgumentException エスケープ文字列に空文字が含まれる場合, 並列度が1未満の場合,
+     *             列の番号が空の場合, 正でない場合
+     * @throws NullPointerException 引数にnullを含む場合
+     * @see ByteLineDoubleParser#parseColumns(byte[], int, int, int[], double[])
+     */
+    static Kde1dSourceLoader columns(
+            String pathString, int parallelism, int[] columns, String... escapes) {
+        return new TextLoader(pathString, parallelism, false, toFields(columns), escapes);
+    }
+
+    /**
+     * ヘッダ無しのバイナリ形式のファイルのローダーを返す.
+     * 
+     * @param pathString ロードするファイルのパス
+     * @param parallelism 読み込みの並列度
+     * @param order バイトオーダー
+     * @return ローダー
+     * @throws IllegalArgumentException 並列度が1未満の場合
+     * @throws NullPointerException 引数にnullを含む場合
+     * @see Kde1dBinarySamples#raw(FileChannel, ByteOrder)
+     */
+    static Kde1dSourceLoader rawBinary(String pathString, int parallelism, ByteOrder order) {
+        Objects.requireNonNull(order);
+        return new BinaryLoader(pathString, parallelism,
+                channel -> Kde1dBinarySamples.raw(channel, order));
+    }
+
+    /**
+     * ヘッダ付きのバイナリ形式のファイルのローダーを返す.
+     * 
+     * @param pathString ロードするファイルのパス
+     * @param parallelism 読み込みの並列度
+     * @return ローダー
+     * @throws IllegalArgumentException 並列度が1未満の場合
+     * @throws NullPointerException 引数にnullを含む場合
+     * @see Kde1dBinarySamples#headered(FileChannel)
+     */
+    static Kde1dSourceLoader headeredBinary(String pathString, int parallelism) {
+        return new BinaryLoader(pathString, parallelism, Kde1dBinarySamples::headered);
+    }
 
-    private final DoubleDataLoader loader;
-    private final String pathString;
+    /**
+     * テキスト形式のストリームのローダーを, エスケープする文字列を指定して返す.
+     * 
+     * <p>
+     * ストリームはローダーによりクローズされない. <br>
+     * gzip 形式で圧縮されたストリーム (先頭のマジックナンバーで判定) は展開しながら解析される.
+     * </p>
+     * 
+     * @param in ロードするストリーム
+     * @param escapes エスケープする文字列のセット
+     * @return ローダー
+     * @throws IllegalArgumentException エスケープ文字列に空文字が含まれる場合
+     * @throws NullPointerException 引数にnullを含む場合
+     */
+    static Kde1dSourceLoader text(InputStream in, String... escapes) {
+        return new StreamLoader(in, false, null, escapes);
+    }
 
     /**
-     * エスケープする文字列を指定し, ローダーを起動.
+     * 重み付きのテキスト形式のストリームのローダーを, エスケープする文字列を指定して返す.
+     * 
+     * <p>
+     * ストリームの扱いは {@link #text(InputStream, String...)} と同一である.
+     * </p>
      * 
-     * @param path ロードするファイルのパス
+     * @param in ロードするストリーム
      * @param escapes エスケープする文字列のセット
+     * @return ローダー
      * @throws IllegalArgumentException エスケープ文字列に空文字が含まれる場合
      * @throws NullPointerException 引数にnullを含む場合
      */
-    Kde1dSourceLoader(String pathString, String... escapes) {
-        DoubleLineParser lineParser = new DoubleLineParser(List.of(escapes));
-        this.loader = new DoubleDataLoader(lineParser);
-        this.pathString = Objects.requireNonNull(pathString);
+    static Kde1dSourceLoader weightedText(InputStream in, String... escapes) {
+        return new StreamLoader(in, true, null, escapes);
+    }
+
+    /**
+     * 多列のテキスト形式のストリームのローダーを, 列とエスケープする文字列を指定して返す.
+     * 
+     * <p>
+     * ストリームの扱いは {@link #text(InputStream, String...)} と同一である.
+     * </p>
+     * 
+     * @param in ロードするストリーム
+     * @param columns ロードする列の番号 (1始まり)
+     * @param escapes エスケープする文字列のセット
+     * @return ローダー
+     * @throws IllegalArgumentException エスケープ文字列に空文字が含まれる場合,
+     *             列の番号が空の場合, 正でない場合
+     * @throws NullPointerException 引数にnullを含む場合
+     */
+    static Kde1dSourceLoader columns(InputStream in, int[] columns, String... escapes) {
+        return new StreamLoader(in, false, toFields(columns), escapes);
+    }
+
+    /**
+     * 与えたローダーの値を {@code float} に丸めて保持する, 単精度モードのローダーを返す.
+     * 
+     * <p>
+     * ロードは元のローダーの走査 ({@link #scan(Supplier)}) により行われ,
+     * 要約統計量は丸めた後の値から計算される. <br>
+     * 走査は元のローダーに委譲される (値は丸められない).
+     * </p>
+     * 
+     * @param loader 元のローダー (走査に対応するもの)
+     * @return 単精度モードのローダー
+     * @throws NullPointerException 引数がnullの場合
+     */
+    static Kde1dSourceLoader singlePrecision(Kde1dSourceLoader loader) {
+        return new SinglePrecisionLoader(loader);
+    }
+
+    /**
+     * 1始まりの列の番号を, 0始まりのフィールドの番号に変換する.
+     * 
+     * @throws IllegalArgumentException 列の番号が空の場合, 正でない場合
+     */
+    private static int[] toFields(int[] columns) {
+        if (columns.length == 0) {
+            throw new IllegalArgumentException("no column");
+        }
+        int[] fields = new int[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            if (columns[i] < 1) {
+                throw new IllegalArgumentException("illegal column: " + columns[i]);
+            }
+            fields[i] = columns[i] - 1;
+        }
+        return fields;
+    }
+
+    /**
+     * 非公開のコンストラクタ. <br>
+     * ネストしたクラスからの継承のみ許可.
+     */
+    private Kde1dSourceLoader() {
+        super();
     }
 
     /**
      * ファイルをロードし, データソースを取得する.
      * 
-     * @return データソース
+     * @return データソース (要約統計量を含む)
      * @throws InputException ファイルアクセスで例外が発生した場合, ファイルのフォーマットが不正の場合
+     * @throws UnsupportedOperationException 2列以上を選択した多列のテキストの場合
      */
-    double[] load() {
+    final Kde1dSource load() {
         try {
-            Path path = Path.of(pathString);
-            return loader.load(() -> Files.lines(path));
+            return loadSource();
+        } catch (InvalidPathException | IOException e) {
+            throw new InputException(
+                    e.getClass().getSimpleName() + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * ファイルをロードし, 列ごとのデータソースを取得する.
+     * 
+     * <p>
+     * 多列のテキストの場合, 選択した列の順に並んだデータソースを返す. <br>
+     * それ以外の場合, {@link #load()} によるデータソースのみからなるリストを返す.
+     * </p>
+     * 
+     * @return 列ごとのデータソース
+     * @throws InputException ファイルアクセスで例外が発生した場合, ファイルのフォーマットが不正の場合
+     */
+    final List<Kde1dSource> loadColumns() {
+        try {
+            return loadColumnSources();
+        } catch (InvalidPathException | IOException e) {
+            throw new InputException(
+                    e.getClass().getSimpleName() + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * ファイルを走査し, 値を配列に保持せずにバイト範囲ごとのシンクに渡す.
+     * 
+     * <p>
+     * 戻り値はファイル内の順序に並んだシンクのリストである. <br>
+     * 呼び出すたびにファイルを先頭から読み直すので, 複数パスの処理に用いることができる.
+     * </p>
+     * 
+     * @param <T> シンクの型
+     * @param sinkFactory シンクのファクトリ (複数のスレッドから呼ばれる)
+     * @return ファイル内の順序に並んだシンク
+     * @throws InputException ファイルアクセスで例外が発生した場合, ファイルのフォーマットが不正の場合
+     * @throws UnsupportedOperationException 重み付きのテキスト, 多列のテキストの場合
+     * @throws NullPointerException 引数がnullの場合
+     * @see ByteChannelDoubleDataLoader#scan(IOSupplier, int, Supplier)
+     */
+    final <T extends DoubleConsumer> List<T> scan(Supplier<? extends T> sinkFactory) {
+        try {
+            return scanSource(sinkFactory);
         } catch (InvalidPathException | IOException e) {
             throw new InputException(
                     e.getClass().getSimpleName() + ": " + e.getMessage());
         }
     }
+
+    /**
+     * ファイルを走査し, 値を保持せずに要約統計量のみを計算する.
+     * 
+     * @return 要約統計量
+     * @throws InputException ファイルアクセスで例外が発生した場合, ファイルのフォーマットが不正の場合
+     * @throws UnsupportedOperationException 重み付きのテキスト, 多列のテキストの場合
+     */
+    final SampleSummary summarize() {
+        SampleSummary.Accumulator accumulator = new SampleSummary.Accumulator();
+        for (SampleSummary.Accumulator part : scan(SampleSummary.Accumulator::new)) {
+            accumulator.combine(part);
+        }
+        return accumulator.summary();
+    }
+
+    /**
+     * 入力をロードする.
+     */
+    abstract Kde1dSource loadSource() throws IOException;
+
+    /**
+     * 入力を列ごとにロードする.
+     */
+    List<Kde1dSource> loadColumnSources() throws IOException {
+        return List.of(loadSource());
+    }
+
+    /**
+     * 入力を走査する.
+     */
+    abstract <T extends DoubleConsumer> List<T> scanSource(
+            Supplier<? extends T> sinkFactory) throws IOException;
+
+    /**
+     * 多列のテキストが1列のみを選択していることを検証する.
+     * 
+     * @throws UnsupportedOperationException 2列以上を選択している場合
+     */
+    private static void requireSingleColumn(int[] fields) {
+        if (fields.length != 1) {
+            throw new UnsupportedOperationException("multiple columns cannot be loaded as a source");
+        }
+    }
+
+    /**
+     * ファイルのローダー.
+     */
+    private static abstract class FileLoader extends Kde1dSourceLoader {
+
+        private final String pathString;
+        private final int parallelism;
+
+        /**
+         * @throws IllegalArgumentException 並列度が1未満の場合
+         * @throws NullPointerException 引数にnullを含む場合
+         */
+        FileLoader(String pathString, int parallelism) {
+            super();
+            this.pathString = Objects.requireNonNull(pathString);
+            if (parallelism < 1) {
+                throw new IllegalArgumentException("illegal parallelism: " + parallelism);
+            }
+            this.parallelism = parallelism;
+        }
+
+        @Override
+        final Kde1dSource loadSource() throws IOException {
+            Path path = Path.of(pathString);
+            return load(() -> FileChannel.open(path, READ), parallelism);
+        }
+
+        @Override
+        final List<Kde1dSource> loadColumnSources() throws IOException {
+            Path path = Path.of(pathString);
+            return loadColumns(() -> FileChannel.open(path, READ), parallelism);
+        }
+
+        @Override
+        final <T extends DoubleConsumer> List<T> scanSource(
+                Supplier<? extends T> sinkFactory) throws IOException {
+            Path path = Path.of(pathString);
+            return scan(() -> FileChannel.open(path, READ), parallelism, sinkFactory);
+        }
+
+        /**
+         * 形式に応じてファイルをロードする.
+         */
+        abstract Kde1dSource load(
+                IOSupplier<? extends FileChannel> channelSupplier, int parallelism)
+                throws IOException;
+
+        /**
+         * 形式に応じてファイルを列ごとにロードする.
+         */
+        List<Kde1dSource> loadColumns(
+                IOSupplier<? extends FileChannel> channelSupplier, int parallelism)
+                throws IOException {
+            return List.of(load(channelSupplier, parallelism));
+        }
+
+        /**
+         * 形式に応じてファイルを走査する.
+         */
+        abstract <T extends DoubleConsumer> List<T> scan(
+                IOSupplier<? extends FileChannel> channelSupplier,
+                int parallelism, Supplier<? extends T> sinkFactory) throws IOException;
+    }
+
+    /**
+     * テキスト形式 (重み付き, 多列を含む) のファイルのローダー.
+     */
+    private static final class TextLoader extends FileLoader {
+
+        private final ByteChannelDoubleDataLoader loader;
+        private final boolean weighted;
+
+        /**
+         * 多列のテキストの場合のフィールドの番号 (0始まり), それ以外は null.
+         */
+        private final int[] fields;
+
+        TextLoader(String pathString, int parallelism,
+                boolean weighted, int[] fields, String... escapes) {
+            super(pathString, parallelism);
+            ByteLineDoubleParser lineParser = new ByteLineDoubleParser(List.of(escapes));
+            this.loader = new ByteChannelDoubleDataLoader(lineParser);
+            this.weighted = weighted;
+            this.fields = fields;
+        }
+
+        @Override
+        Kde1dSource load(
+                IOSupplier<? extends FileChannel> channelSupplier, int parallelism)
+                throws IOException {
+            if (Objects.nonNull(fields)) {
+                requireSingleColumn(fields);
+                return loadColumns(channelSupplier, parallelism).get(0);
+            }
+            if (isGzip(channelSupplier)) {
+                return weighted
+                        ? loader.loadWeighted(inflating(channelSupplier))
+                        : loader.load(inflating(channelSupplier));
+            }
+            return weighted
+                    ? loader.loadWeighted(channelSupplier, parallelism)
+                    : loader.load(channelSupplier, parallelism);
+        }
+
+        @Override
+        List<Kde1dSource> loadColumns(
+                IOSupplier<? extends FileChannel> channelSupplier, int parallelism)
+                throws IOException {
+            if (Objects.isNull(fields)) {
+                return super.loadColumns(channelSupplier, parallelism);
+            }
+            if (isGzip(channelSupplier)) {
+                return loader.loadColumns(inflating(channelSupplier), fields);
+            }
+            return loader.loadColumns(channelSupplier, fields, parallelism);
+        }
+
+        @Override
+        <T extends DoubleConsumer> List<T> scan(
+                IOSupplier<? extends FileChannel> channelSupplier,
+                int parallelism, Supplier<? extends T> sinkFactory) throws IOException {
+            if (weighted) {
+                throw new UnsupportedOperationException("weighted text cannot be scanned");
+            }
+            if (Objects.nonNull(fields)) {
+                throw new UnsupportedOperationException("multi-column text cannot be scanned");
+            }
+            if (isGzip(channelSupplier)) {
+                return loader.scan(inflating(channelSupplier), sinkFactory);
+            }
+            return loader.scan(channelSupplier, parallelism, sinkFactory);
+        }
+
+        private static boolean isGzip(IOSupplier<? extends FileChannel> channelSupplier)
+                throws IOException {
+            try (FileChannel channel = channelSupplier.get()) {
+                return GzipInflatingChannel.isGzip(channel);
+            }
+        }
+
+        /**
+         * ファイルを展開しながら読むチャネルのサプライヤを返す.
+         */
+        private static IOSupplier<ReadableByteChannel> inflating(
+                IOSupplier<? extends FileChannel> channelSupplier) {
+            return () -> new GzipInflatingChannel(Channels.newInputStream(channelSupplier.get()));
+        }
+    }
+
+    /**
+     * バイナリ形式のファイルのローダー.
+     */
+    private static final class BinaryLoader extends FileLoader {
+
+        private final MappedDoubleDataLoader loader;
+
+        BinaryLoader(String pathString, int parallelism, MappedDoubleDataLoader.Layout layout) {
+            super(pathString, parallelism);
+            this.loader = new MappedDoubleDataLoader(layout);
+        }
+
+        @Override
+        Kde1dSource load(
+                IOSupplier<? extends FileChannel> channelSupplier, int parallelism)
+                throws IOException {
+            return loader.load(channelSupplier, parallelism);
+        }
+
+        @Override
+        <T extends DoubleConsumer> List<T> scan(
+                IOSupplier<? extends FileChannel> channelSupplier,
+                int parallelism, Supplier<? extends T> sinkFactory) throws IOException {
+            return loader.scan(channelSupplier, parallelism, sinkFactory);
+        }
+    }
+
+    /**
+     * 元のローダーの走査により, 値を {@code float} に丸めてロードするローダー.
+     */
+    private static final class SinglePrecisionLoader extends Kde1dSourceLoader {
+
+        private final Kde1dSourceLoader loader;
+
+        SinglePrecisionLoader(Kde1dSourceLoader loader) {
+            super();
+            this.loader = Objects.requireNonNull(loader);
+        }
+
+        /**
+         * @throws UnsupportedOperationException 元のローダーが走査に対応しない場合
+         */
+        @Override
+        Kde1dSource loadSource() throws IOException {
+            List<FloatSourceBuilder> builders = loader.scanSource(FloatSourceBuilder::new);
+            SampleSummary.Accumulator accumulator = new SampleSummary.Accumulator();
+            List<FloatArrayBuilder> values = new ArrayList<>(builders.size());
+            for (FloatSourceBuilder builder : builders) {
+                accumulator.combine(builder.accumulator);
+                values.add(builder.values);
+            }
+            return Kde1dSource.singlePrecision(FloatArrayBuilder.concat(values), accumulator.summary());
+        }
+
+        @Override
+        <T extends DoubleConsumer> List<T> scanSource(
+                Supplier<? extends T> sinkFactory) throws IOException {
+            return loader.scanSource(sinkFactory);
+        }
+    }
+
+    /**
+     * 値を {@code float} に丸めて配列に追加しながら, 丸めた値の要約統計量を計算する.
+     */
+    private static final class FloatSourceBuilder implements DoubleConsumer {
+
+        final SampleSummary.Accumulator accumulator = new SampleSummary.Accumulator();
+        final FloatArrayBuilder values = new FloatArrayBuilder();
+
+        @Override
+        public void accept(double value) {
+            float rounded = (float) value;
+            values.accept(rounded);
+            accumulator.accept(rounded);
+        }
+    }
+
+    /**
+     * テキスト形式 (重み付き, 多列を含む) のストリームのローダー.
+     */
+    private static final class StreamLoader extends Kde1dSourceLoader {
+
+        private final InputStream in;
+        private final ByteChannelDoubleDataLoader loader;
+        private final boolean weighted;
+
+        /**
+         * 多列のテキストの場合のフィールドの番号 (0始まり), それ以外は null.
+         */
+        private final int[] fields;
+        private boolean consumed;
+
+        StreamLoader(InputStream in, boolean weighted, int[] fields, String... escapes) {
+            super();
+            this.in = Objects.requireNonNull(in);
+            ByteLineDoubleParser lineParser = new ByteLineDoubleParser(List.of(escapes));
+            this.loader = new ByteChannelDoubleDataLoader(lineParser);
+            this.weighted = weighted;
+            this.fields = fields;
+            this.consumed = false;
+        }
+
+        @Override
+        Kde1dSource loadSource() throws IOException {
+            if (Objects.nonNull(fields)) {
+                requireSingleColumn(fields);
+                return loadColumnSources().get(0);
+            }
+            return weighted
+                    ? loader.loadWeighted(this::channel)
+                    : loader.load(this::channel);
+        }
+
+        @Override
+        <T extends DoubleConsumer> List<T> scanSource(
+                Supplier<? extends T> sinkFactory) throws IOException {
+            if (weighted) {
+                throw new UnsupportedOperationException("weighted text cannot be scanned");
+            }
+            if (Objects.nonNull(fields)) {
+                throw new UnsupportedOperationException("multi-column text cannot be scanned");
+            }
+            return loader.scan(this::channel, sinkFactory);
+        }
+
+        @Override
+        List<Kde1dSource> loadColumnSources() throws IOException {
+            if (Objects.isNull(fields)) {
+                return super.loadColumnSources();
+            }
+            return loader.loadColumns(this::channel, fields);
+        }
+
+        /**
+         * ストリームを読むチャネルを返す (1回に限る). <br>
+         * チャネルをクローズしても, 元のストリームはクローズされない.
+         */
+        private ReadableByteChannel channel() throws IOException {
+            if (consumed) {
+                throw new IOException("input stream has already been read");
+            }
+            consumed = true;
+
+            PushbackInputStream source = new PushbackInputStream(new FilterInputStream(in) {
+
+                @Override
+                public void close() {
+                    // 元のストリームはクローズしない
+                }
+            }, 2);
+            byte[] magic = source.readNBytes(2);
+            source.unread(magic);
+            return GzipInflatingChannel.isGzip(magic)
+                    ? new GzipInflatingChannel(source)
+                    : Channels.newChannel(source);
+        }
+    }
 }
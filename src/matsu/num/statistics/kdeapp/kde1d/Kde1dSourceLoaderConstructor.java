@@ -6,19 +6,28 @@
  */
 
 /*
- * 2026.2.5
+ * 2026.10.18
  */
 package matsu.num.statistics.kdeapp.kde1d;
 
 import static matsu.num.statistics.kdeapp.kde1d.command.ArgumentRequiringCommand.*;
+import static matsu.num.statistics.kdeapp.kde1d.command.NoArgumentCommand.*;
 
+import java.io.InputStream;
+import java.nio.ByteOrder;
+import java.util.Objects;
+
+import matsu.num.statistics.kdeapp.kde1d.command.ColumnSelection;
 import matsu.num.statistics.kdeapp.kde1d.command.ConsoleParameterInterpreter;
+import matsu.num.statistics.kdeapp.kde1d.command.InputFormat;
+import matsu.num.statistics.kdeapp.kde1d.exception.InvalidParameterException;
 
 /**
  * {@link Kde1dSourceLoader} の構築器.
  * 
  * <p>
- * 入力ファイルのフォーマットは, 次である.
+ * 入力ファイルの形式はオプションコマンドで指定される. <br>
+ * 指定されない場合はテキスト形式であり, そのフォーマットは次である.
  * </p>
  * 
  * <ul>
@@ -27,27 +36,164 @@ import matsu.num.statistics.kdeapp.kde1d.command.ConsoleParameterInterpreter;
  * <li>ソースの値には inf, NaN を含まず, {@link Double#parseDouble(String)} で解釈可能</li>
  * </ul>
  * 
+ * <p>
+ * 重み付きのテキスト形式では, 各行に値と重み (正の有限値) をカンマまたは空白で区切って記載する. <br>
+ * 重み付きのテキスト形式は, 値を保持しない走査を行うストリーミングモードとは併用できない.
+ * </p>
+ * 
+ * <p>
+ * 列の指定 ({@link matsu.num.statistics.kdeapp.kde1d.command.ArgumentRequiringCommand#COLUMNS}) がある場合,
+ * テキスト形式の各行をカンマまたは空白で区切られたフィールドの並びとして解釈し,
+ * 指定した列を1回の読み込みで列ごとのデータソースとしてロードする. <br>
+ * 列の指定はテキスト形式に限られ, ストリーミングモードとは併用できない.
+ * </p>
+ * 
+ * <p>
+ * 単精度モード ({@link matsu.num.statistics.kdeapp.kde1d.command.NoArgumentCommand#FLOAT32}) では,
+ * 値を {@code float} に丸めて保持するローダー ({@link Kde1dSourceLoader#singlePrecision(Kde1dSourceLoader)}) となる. <br>
+ * 単精度モードは値の走査に対応する入力 (テキスト形式とバイナリ形式, 重み付き, 多列を除く) に限られ,
+ * 増分モード, ストリーミングモードとは併用できない.
+ * </p>
+ * 
+ * <p>
+ * バイナリ形式 (float64 の配列) については,
+ * {@link matsu.num.statistics.kdeapp.kde1d.binary.Kde1dBinarySamples} を参照.
+ * </p>
+ * 
+ * <p>
+ * 解析の並列度はオプションコマンドで指定される. <br>
+ * 指定されない場合, 利用可能なプロセッサ数となる.
+ * </p>
+ * 
+ * <p>
+ * 入力ファイルパスが {@link matsu.num.statistics.kdeapp.kde1d.command.ArgumentRequiringCommand#STANDARD_INPUT}
+ * の場合, 標準入力からテキスト形式 (重み付きを含む) で読み込む. <br>
+ * 標準入力は1回しか読めないので, ストリーミングモードとは併用できない.
+ * </p>
+ * 
  * @author Matsuura Y.
  */
 final class Kde1dSourceLoaderConstructor implements ComponentConstructor<Kde1dSourceLoader> {
 
     /**
-     * 唯一のコンストラクタ.
+     * 標準入力 (利用できない場合はnull).
+     */
+    private final InputStream stdin;
+
+    /**
+     * 標準入力を利用できない構築器を生成する.
      */
     Kde1dSourceLoaderConstructor() {
+        this.stdin = null;
     }
 
     /**
+     * 標準入力を与えて構築器を生成する.
+     * 
+     * @param stdin System.in
+     * @throws NullPointerException 引数がnullの場合
+     */
+    Kde1dSourceLoaderConstructor(InputStream stdin) {
+        this.stdin = Objects.requireNonNull(stdin);
+    }
+
+    /**
+     * @throws InvalidParameterException 標準入力の指定が不正な場合, 単精度モードの指定が不正な場合
      * @throws NullPointerException {@inheritDoc }
      */
     @Override
     public Kde1dSourceLoader construct(ConsoleParameterInterpreter interpreter) {
+        Kde1dSourceLoader loader = constructDoublePrecision(interpreter);
+        if (!interpreter.contains(FLOAT32)) {
+            return loader;
+        }
+
+        if (interpreter.valueOf(INPUT_FORMAT).orElse(InputFormat.TEXT) == InputFormat.WEIGHTED_TEXT
+                || interpreter.valueOf(COLUMNS).isPresent()) {
+            throw new InvalidParameterException(
+                    FLOAT32.commandString() + " does not support weighted or multi-column input");
+        }
+        if (interpreter.contains(INCREMENTAL)) {
+            throw new InvalidParameterException(
+                    FLOAT32.commandString() + " cannot be used with " + INCREMENTAL.commandString());
+        }
+        if (interpreter.contains(STREAMING)) {
+            throw new InvalidParameterException(
+                    FLOAT32.commandString() + " cannot be used with " + STREAMING.commandString());
+        }
+        return Kde1dSourceLoader.singlePrecision(loader);
+    }
+
+    /**
+     * 単精度モードを考慮せずにローダーを構築する.
+     */
+    private Kde1dSourceLoader constructDoublePrecision(ConsoleParameterInterpreter interpreter) {
 
         String pathString = interpreter.valueOf(INPUT_FILE_PATH)
                 .orElseThrow(() -> new AssertionError("unreachable"));
 
         String escape = interpreter.valueOf(COMMENT_CHAR)
                 .orElse("#");
-        return new Kde1dSourceLoader(pathString, escape);
+        int parallelism = interpreter.valueOf(PARALLELISM)
+                .orElse(Runtime.getRuntime().availableProcessors());
+        InputFormat format = interpreter.valueOf(INPUT_FORMAT).orElse(InputFormat.TEXT);
+        int[] columns = interpreter.valueOf(COLUMNS)
+                .map(ColumnSelection::columns)
+                .orElse(null);
+
+        if (Objects.nonNull(columns)) {
+            if (format != InputFormat.TEXT) {
+                throw new InvalidParameterException(
+                        COLUMNS.commandString() + " supports only text format: " + format.stringValue());
+            }
+            if (interpreter.contains(STREAMING)) {
+                throw new InvalidParameterException(
+                        COLUMNS.commandString() + " cannot be used with " + STREAMING.commandString());
+            }
+        }
+
+        if (STANDARD_INPUT.equals(pathString)) {
+            if (Objects.isNull(stdin)) {
+                throw new InvalidParameterException(
+                        "standard input is not available: "
+                                + INPUT_FILE_PATH.commandString() + " " + STANDARD_INPUT);
+            }
+            if (format != InputFormat.TEXT && format != InputFormat.WEIGHTED_TEXT) {
+                throw new InvalidParameterException(
+                        "standard input supports only text format: " + format.stringValue());
+            }
+            if (interpreter.contains(STREAMING)) {
+                throw new InvalidParameterException(
+                        "standard input cannot be used with " + STREAMING.commandString());
+            }
+            if (Objects.nonNull(columns)) {
+                return Kde1dSourceLoader.columns(stdin, columns, escape);
+            }
+            return format == InputFormat.WEIGHTED_TEXT
+                    ? Kde1dSourceLoader.weightedText(stdin, escape)
+                    : Kde1dSourceLoader.text(stdin, escape);
+        }
+
+        if (format == InputFormat.WEIGHTED_TEXT && interpreter.contains(STREAMING)) {
+            throw new InvalidParameterException(
+                    "weighted input cannot be used with " + STREAMING.commandString());
+        }
+
+        switch (format) {
+            case TEXT:
+                return Objects.nonNull(columns)
+                        ? Kde1dSourceLoader.columns(pathString, parallelism, columns, escape)
+                        : Kde1dSourceLoader.text(pathString, parallelism, escape);
+            case WEIGHTED_TEXT:
+                return Kde1dSourceLoader.weightedText(pathString, parallelism, escape);
+            case FLOAT64_LE:
+                return Kde1dSourceLoader.rawBinary(pathString, parallelism, ByteOrder.LITTLE_ENDIAN);
+            case FLOAT64_BE:
+                return Kde1dSourceLoader.rawBinary(pathString, parallelism, ByteOrder.BIG_ENDIAN);
+            case BINARY:
+                return Kde1dSourceLoader.headeredBinary(pathString, parallelism);
+            default:
+                throw new AssertionError("unreachable");
+        }
     }
 }
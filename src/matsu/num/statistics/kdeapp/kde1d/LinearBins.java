@@ -0,0 +1,146 @@
+/*
+ * Copyright © 2026 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+/*
+ * 2026.10.18
+ */
+package matsu.num.statistics.kdeapp.kde1d;
+
+import java.util.Arrays;
+import java.util.function.DoubleConsumer;
+
+/**
+ * サンプルを評価グリッド上に線形ビニングするビン.
+ * 
+ * <p>
+ * サンプル <i>X</i> が {@code x(j) <= X < x(j+1)} にあるとき,
+ * {@code t = (X - x(j)) / Δ} として,
+ * ビン <i>j</i> に {@code 1 - t}, ビン <i>j</i>+1 に {@code t} を加える. <br>
+ * グリッドの外にあるサンプルは, 最も近い端点にビニングされる. <br>
+ * 重み付きのサンプル ({@link #accept(double, double)}) は, 同じ比率で重みを配分する.
+ * </p>
+ * 
+ * <p>
+ * 必要なメモリはグリッド点数のみに依存し, サンプル数によらない. <br>
+ * 別々にビニングされた2個のビンは, {@link #combine(LinearBins)} により併合できる. <br>
+ * このクラスはスレッドセーフではない.
+ * </p>
+ * 
+ * @author Matsuura Y.
+ */
+final class LinearBins implements DoubleConsumer, WeightedDoubleConsumer {
+
+    private final EvaluationGrid grid;
+    private final int last;
+    private final double start;
+    private final double invStep;
+    private final double[] bins;
+    private long count;
+    private double totalWeight;
+
+    /**
+     * 空のビンを構築する.
+     * 
+     * @param grid グリッド
+     * @throws NullPointerException 引数がnullの場合
+     */
+    LinearBins(EvaluationGrid grid) {
+        super();
+        this.grid = grid;
+        this.last = grid.size() - 1;
+        this.start = grid.start();
+        this.invStep = 1d / grid.step();
+        this.bins = new double[grid.size()];
+        this.count = 0L;
+        this.totalWeight = 0d;
+    }
+
+    @Override
+    public void accept(double v) {
+        count++;
+        totalWeight += 1d;
+        double pos = (v - start) * invStep;
+        if (pos <= 0) {
+            bins[0] += 1d;
+            return;
+        }
+        if (pos >= last) {
+            bins[last] += 1d;
+            return;
+        }
+        int j = (int) pos;
+        double t = pos - j;
+        bins[j] += 1d - t;
+        bins[j + 1] += t;
+    }
+
+    @Override
+    public void accept(double v, double weight) {
+        count++;
+        totalWeight += weight;
+        double pos = (v - start) * invStep;
+        if (pos <= 0) {
+            bins[0] += weight;
+            return;
+        }
+        if (pos >= last) {
+            bins[last] += weight;
+            return;
+        }
+        int j = (int) pos;
+        double t = pos - j;
+        bins[j] += weight * (1d - t);
+        bins[j + 1] += weight * t;
+    }
+
+    /**
+     * 他のビンの内容を, このビンに加算する.
+     * 
+     * @param other 併合するビン
+     * @return this
+     * @throws IllegalArgumentException グリッドが異なる場合
+     * @throws NullPointerException 引数がnullの場合
+     */
+    LinearBins combine(LinearBins other) {
+        if (other.grid != grid) {
+            throw new IllegalArgumentException("grid mismatch");
+        }
+        for (int i = 0; i < bins.length; i++) {
+            bins[i] += other.bins[i];
+        }
+        count += other.count;
+        totalWeight += other.totalWeight;
+        return this;
+    }
+
+    /**
+     * ビニングしたサンプル数を返す.
+     * 
+     * @return サンプル数
+     */
+    long count() {
+        return count;
+    }
+
+    /**
+     * ビニングした重みの総和を返す (重みなしのサンプルは重み1とする).
+     * 
+     * @return 重みの総和
+     */
+    double totalWeight() {
+        return totalWeight;
+    }
+
+    /**
+     * ビンの値のコピーを返す.
+     * 
+     * @return ビン
+     */
+    double[] toArray() {
+        return Arrays.copyOf(bins, bins.length);
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright © 2026 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+/*
+ * 2026.10.18
+ */
+package matsu.num.statistics.kdeapp.kde1d;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * バッチのマニフェストの1行を, コンソール引数の列に分解する.
+ * 
+ * <p>
+ * 引数は空白文字で区切られる. <br>
+ * 二重引用符 ({@code "}) で囲まれた部分は空白文字を含めてそのまま引数となり,
+ * その内部では {@code \"} と {@code \\} のみがエスケープとして解釈される
+ * (それ以外のバックスラッシュは文字として残る). <br>
+ * 空白のみの行と, 先頭が {@code #} である行は, 引数を持たない.
+ * </p>
+ * 
+ * @author Matsuura Y.
+ */
+final class ManifestLineTokenizer {
+
+    private ManifestLineTokenizer() {
+        // インスタンス化不可
+        throw new AssertionError();
+    }
+
+    /**
+     * 1行を引数の列に分解する.
+     * 
+     * @param line 行
+     * @return 引数の列 (空白行, コメント行では空)
+     * @throws IllegalArgumentException 二重引用符が閉じていない場合
+     * @throws NullPointerException 引数がnullの場合
+     */
+    static String[] tokenize(String line) {
+        String stripped = line.strip();
+        if (stripped.isEmpty() || stripped.startsWith("#")) {
+            return new String[0];
+        }
+
+        List<String> tokens = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean inToken = false;
+        boolean inQuote = false;
+
+        for (int i = 0; i < stripped.length(); i++) {
+            char c = stripped.charAt(i);
+            if (inQuote) {
+                if (c == '"') {
+                    inQuote = false;
+                } else if (c == '\\' && i + 1 < stripped.length()
+                        && (stripped.charAt(i + 1) == '"' || stripped.charAt(i + 1) == '\\')) {
+                    current.append(stripped.charAt(++i));
+                } else {
+                    current.append(c);
+                }
+                continue;
+            }
+            if (Character.isWhitespace(c)) {
+                if (inToken) {
+                    tokens.add(current.toString());
+                    current.setLength(0);
+                    inToken = false;
+                }
+                continue;
+            }
+            inToken = true;
+            if (c == '"') {
+                inQuote = true;
+            } else {
+                current.append(c);
+            }
+        }
+        if (inQuote) {
+            throw new IllegalArgumentException("unclosed quote");
+        }
+        if (inToken) {
+            tokens.add(current.toString());
+        }
+        return tokens.toArray(String[]::new);
+    }
+}
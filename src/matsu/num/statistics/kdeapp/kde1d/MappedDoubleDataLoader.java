@@ -0,0 +1,292 @@
+/*
+ * Copyright © 2026 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+/*
+ * 2026.10.18
+ */
+package matsu.num.statistics.kdeapp.kde1d;
+
+import java.io.IOException;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.DoubleConsumer;
+import java.util.function.Supplier;
+
+import matsu.num.statistics.kdeapp.kde1d.binary.Kde1dBinarySamples;
+
+/**
+ * float64 の配列として格納されたファイルから, データソースを構築するローダー.
+ * 
+ * <p>
+ * ファイルはメモリマップされ, {@link DoubleBuffer} として参照される. <br>
+ * 文字列の解析を行わないので, 読み込みは I/O の速度で律速される.
+ * </p>
+ * 
+ * <p>
+ * 配列は要素の範囲ごとに分割され, 範囲ごとにマップされて並列に処理される. <br>
+ * {@link #load(IOSupplier, int)} は, 範囲ごとに値を結果の配列へ一括で転送し,
+ * 要約統計量を計算する
+ * (計算器は {@code double[]} を要求するので, 転送は1回だけ行われる). <br>
+ * {@link #scan(IOSupplier, int, Supplier)} は, マップした領域から直接シンクに値を渡すので,
+ * 値はコピーされない.
+ * </p>
+ * 
+ * @author Matsuura Y.
+ */
+final class MappedDoubleDataLoader {
+
+    /**
+     * 1タスクが担当する要素数の最小値のデフォルト (4 MiB).
+     */
+    static final long DEFAULT_MIN_CHUNK_LENGTH = 1L << 19;
+
+    /**
+     * 1タスクが担当する要素数の最大値 (1回のマップが {@code int} の範囲に収まるように定める).
+     */
+    private static final long MAX_CHUNK_LENGTH = 1L << 27;
+
+    /**
+     * 1スレッドあたりのタスク数の目安.
+     */
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    private final Layout layout;
+
+    /**
+     * ファイルのレイアウトの読み取り方を与えて, ローダーを構築する.
+     * 
+     * @param layout レイアウトの読み取り方
+     * @throws NullPointerException 引数がnullの場合
+     */
+    MappedDoubleDataLoader(Layout layout) {
+        super();
+        this.layout = Objects.requireNonNull(layout);
+    }
+
+    /**
+     * ファイルを読み込み, データソースを構築する.
+     * 
+     * @param channelSupplier supplier
+     * @param parallelism 並列度
+     * @return データソース (要約統計量を含む)
+     * @throws IllegalArgumentException 並列度が1未満の場合
+     * @throws IOException ファイルアクセスで例外が発生した場合, ファイルの形式が不正な場合,
+     *             サンプル数が配列で扱える大きさを超える場合
+     * @throws NullPointerException 引数がnullの場合
+     */
+    Kde1dSource load(IOSupplier<? extends FileChannel> channelSupplier, int parallelism)
+            throws IOException {
+        return load(channelSupplier, parallelism, DEFAULT_MIN_CHUNK_LENGTH);
+    }
+
+    /**
+     * 1タスクが担当する要素数の最小値を指定して, ファイルを読み込む. <br>
+     * (主にテスト用)
+     * 
+     * @param channelSupplier supplier
+     * @param parallelism 並列度
+     * @param minChunkLength 1タスクが担当する要素数の最小値
+     * @return データソース (要約統計量を含む)
+     * @throws IllegalArgumentException 並列度が1未満の場合, 最小値が正でない場合
+     * @throws IOException {@link #load(IOSupplier, int)} に準じる
+     * @throws NullPointerException 引数がnullの場合
+     */
+    Kde1dSource load(IOSupplier<? extends FileChannel> channelSupplier,
+            int parallelism, long minChunkLength) throws IOException {
+        try (FileChannel channel = channelSupplier.get()) {
+            Kde1dBinarySamples samples = layout.of(channel);
+            if (samples.count() > Integer.MAX_VALUE - 8) {
+                throw new IOException("too many samples: " + samples.count());
+            }
+
+            double[] values = new double[(int) samples.count()];
+            List<SampleSummary.Accumulator> parts = forEachChunk(
+                    channel, samples, parallelism, minChunkLength,
+                    SampleSummary.Accumulator::new,
+                    (view, start, accumulator) -> {
+                        int from = (int) start;
+                        int to = from + view.remaining();
+                        view.get(values, from, view.remaining());
+                        for (int i = from; i < to; i++) {
+                            accumulator.accept(values[i]);
+                        }
+                    });
+
+            SampleSummary.Accumulator accumulator = new SampleSummary.Accumulator();
+            for (SampleSummary.Accumulator part : parts) {
+                accumulator.combine(part);
+            }
+            return Kde1dSource.of(values, accumulator.summary());
+        }
+    }
+
+    /**
+     * ファイルを走査し, 値を要素の範囲ごとのシンクに渡す.
+     * 
+     * <p>
+     * 契約は {@link ByteChannelDoubleDataLoader#scan(IOSupplier, int, Supplier)} と同様である.
+     * </p>
+     * 
+     * @param <T> シンクの型
+     * @param channelSupplier supplier
+     * @param parallelism 並列度
+     * @param sinkFactory シンクのファクトリ
+     * @return ファイル内の順序に並んだシンク
+     * @throws IllegalArgumentException 並列度が1未満の場合
+     * @throws IOException ファイルアクセスで例外が発生した場合, ファイルの形式が不正な場合
+     * @throws NullPointerException 引数がnullの場合
+     */
+    <T extends DoubleConsumer> List<T> scan(
+            IOSupplier<? extends FileChannel> channelSupplier,
+            int parallelism, Supplier<? extends T> sinkFactory) throws IOException {
+        return scan(channelSupplier, parallelism, DEFAULT_MIN_CHUNK_LENGTH, sinkFactory);
+    }
+
+    /**
+     * 1タスクが担当する要素数の最小値を指定して, ファイルを走査する. <br>
+     * (主にテスト用)
+     * 
+     * @param <T> シンクの型
+     * @param channelSupplier supplier
+     * @param parallelism 並列度
+     * @param minChunkLength 1タスクが担当する要素数の最小値
+     * @param sinkFactory シンクのファクトリ
+     * @return ファイル内の順序に並んだシンク
+     * @throws IllegalArgumentException 並列度が1未満の場合, 最小値が正でない場合
+     * @throws IOException {@link #scan(IOSupplier, int, Supplier)} に準じる
+     * @throws NullPointerException 引数がnullの場合
+     */
+    <T extends DoubleConsumer> List<T> scan(
+            IOSupplier<? extends FileChannel> channelSupplier,
+            int parallelism, long minChunkLength, Supplier<? extends T> sinkFactory)
+            throws IOException {
+        try (FileChannel channel = channelSupplier.get()) {
+            return forEachChunk(
+                    channel, layout.of(channel), parallelism, minChunkLength, sinkFactory,
+                    (view, start, sink) -> {
+                        for (int i = 0, n = view.remaining(); i < n; i++) {
+                            sink.accept(view.get(i));
+                        }
+                    });
+        }
+    }
+
+    /**
+     * 配列を要素の範囲に分割し, 範囲ごとにマップした領域とシンクを処理に渡す. <br>
+     * 戻り値はファイル内の順序に並んだシンクである (空の配列の場合は, 空のシンク1個).
+     */
+    private static <T> List<T> forEachChunk(
+            FileChannel channel, Kde1dBinarySamples samples,
+            int parallelism, long minChunkLength,
+            Supplier<? extends T> sinkFactory, ChunkProcessor<? super T> processor)
+            throws IOException {
+        Objects.requireNonNull(sinkFactory);
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("illegal parallelism: " + parallelism);
+        }
+        if (minChunkLength <= 0) {
+            throw new IllegalArgumentException("illegal chunk length: " + minChunkLength);
+        }
+
+        long count = samples.count();
+        if (count == 0L) {
+            return List.of(sinkFactory.get());
+        }
+
+        long chunkLength = Math.min(MAX_CHUNK_LENGTH, Math.max(
+                minChunkLength, count / ((long) parallelism * CHUNKS_PER_THREAD) + 1));
+        List<Callable<T>> tasks = new ArrayList<>();
+        for (long start = 0L; start < count; start += chunkLength) {
+            long from = start;
+            long length = Math.min(chunkLength, count - start);
+            tasks.add(() -> {
+                DoubleBuffer view = channel.map(
+                        FileChannel.MapMode.READ_ONLY,
+                        samples.offset() + from * Double.BYTES, length * Double.BYTES)
+                        .order(samples.order()).asDoubleBuffer();
+                T sink = sinkFactory.get();
+                processor.process(view, from, sink);
+                return sink;
+            });
+        }
+
+        if (parallelism == 1 || tasks.size() == 1) {
+            List<T> sinks = new ArrayList<>(tasks.size());
+            for (Callable<T> task : tasks) {
+                sinks.add(call(task));
+            }
+            return sinks;
+        }
+
+        List<T> sinks = new ArrayList<>(tasks.size());
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+        try {
+            for (Future<T> future : executor.invokeAll(tasks)) {
+                sinks.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException ioe) {
+                throw ioe;
+            }
+            throw new IOException(e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        return sinks;
+    }
+
+    private static <T> T call(Callable<T> task) throws IOException {
+        try {
+            return task.call();
+        } catch (IOException | RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    /**
+     * マップした領域とシンクを受け取り, 処理する.
+     */
+    @FunctionalInterface
+    private static interface ChunkProcessor<T> {
+
+        /**
+         * @param view マップした領域 (位置は0)
+         * @param start 領域の先頭の, 配列全体におけるインデックス
+         * @param sink シンク
+         */
+        void process(DoubleBuffer view, long start, T sink);
+    }
+
+    /**
+     * ファイルのレイアウトの読み取り方.
+     */
+    @FunctionalInterface
+    static interface Layout {
+
+        /**
+         * ファイルのレイアウトを読み取る.
+         * 
+         * @param channel ファイル
+         * @return レイアウト
+         * @throws IOException ファイルアクセスで例外が発生した場合, ファイルの形式が不正な場合
+         */
+        Kde1dBinarySamples of(FileChannel channel) throws IOException;
+    }
+}
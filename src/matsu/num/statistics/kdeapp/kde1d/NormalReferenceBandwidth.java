@@ -0,0 +1,57 @@
+/*
+ * Copyright © 2026 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+/*
+ * 2026.10.18
+ */
+package matsu.num.statistics.kdeapp.kde1d;
+
+/**
+ * 正規分布参照則 (normal reference rule) によるガウシアンカーネルのバンド幅.
+ * 
+ * <p>
+ * バンド幅は, サンプル数 <i>n</i>, 標準偏差 <i>σ</i> に対し, <br>
+ * {@code h = (4/3)^(1/5) σ n^(-1/5)} <br>
+ * で与えられる. <br>
+ * 標準偏差は不偏分散から計算する.
+ * </p>
+ * 
+ * <p>
+ * このバンド幅は, アプリ内部で実装された評価エンジンが用いるものである. <br>
+ * ライブラリ ({@code GaussianKd1D.Factory.withDefaultRule()}) のバンド幅と一致する保証はない.
+ * </p>
+ * 
+ * @author Matsuura Y.
+ */
+final class NormalReferenceBandwidth {
+
+    private static final double COEFFICIENT = Math.pow(4d / 3d, 0.2);
+
+    private NormalReferenceBandwidth() {
+        // インスタンス化不可
+        throw new AssertionError();
+    }
+
+    /**
+     * サンプル数と, サンプルの偏差平方和からバンド幅を計算する.
+     * 
+     * <p>
+     * サンプル数が2未満の場合, 偏差平方和が正でない場合は, 0 を返す.
+     * </p>
+     * 
+     * @param count サンプル数
+     * @param sumOfSquaredDeviations 偏差平方和
+     * @return バンド幅
+     */
+    static double of(double count, double sumOfSquaredDeviations) {
+        if (!(count >= 2 && sumOfSquaredDeviations > 0)) {
+            return 0d;
+        }
+        double sigma = Math.sqrt(sumOfSquaredDeviations / (count - 1));
+        return COEFFICIENT * sigma * Math.pow(count, -0.2);
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright © 2026 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+/*
+ * 2026.10.18
+ */
+package matsu.num.statistics.kdeapp.kde1d;
+
+/**
+ * キーの配列と, それに付随する値の配列の組を扱うユーティリティ.
+ * 
+ * @author Matsuura Y.
+ */
+final class PairedArrays {
+
+    private PairedArrays() {
+        // インスタンス化不可
+        throw new AssertionError();
+    }
+
+    /**
+     * キーの昇順に, キーと付随する値の組を in-place で並べ替える.
+     * 
+     * <p>
+     * ボトムアップのマージソートであり, 安定である (等しいキーの組は元の順序を保つ). <br>
+     * 計算量は O(<i>n</i> log <i>n</i>), 作業領域は O(<i>n</i>) である. <br>
+     * キーに NaN を含む場合の順序は規定しない.
+     * </p>
+     * 
+     * @param keys キー
+     * @param values 付随する値
+     * @throws IllegalArgumentException 配列長が一致しない場合
+     * @throws NullPointerException 引数にnullが含まれる場合
+     */
+    static void sortByKey(double[] keys, double[] values) {
+        final int n = keys.length;
+        if (values.length != n) {
+            throw new IllegalArgumentException("length mismatch");
+        }
+
+        double[] srcKeys = keys;
+        double[] srcValues = values;
+        double[] dstKeys = new double[n];
+        double[] dstValues = new double[n];
+        for (int width = 1; width < n; width *= 2) {
+            for (int from = 0; from < n; from += 2 * width) {
+                int mid = Math.min(from + width, n);
+                int to = Math.min(from + 2 * width, n);
+                int i = from;
+                int j = mid;
+                for (int k = from; k < to; k++) {
+                    if (j >= to || (i < mid && srcKeys[i] <= srcKeys[j])) {
+                        dstKeys[k] = srcKeys[i];
+                        dstValues[k] = srcValues[i];
+                        i++;
+                    } else {
+                        dstKeys[k] = srcKeys[j];
+                        dstValues[k] = srcValues[j];
+                        j++;
+                    }
+                }
+            }
+            double[] tk = srcKeys;
+            srcKeys = dstKeys;
+            dstKeys = tk;
+            double[] tv = srcValues;
+            srcValues = dstValues;
+            dstValues = tv;
+        }
+
+        if (srcKeys != keys) {
+            System.arraycopy(srcKeys, 0, keys, 0, n);
+            System.arraycopy(srcValues, 0, values, 0, n);
+        }
+    }
+}
@@ -0,0 +1,363 @@
+/*
+ * Copyright © 2026 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+/*
+ * 2026.10.18
+ */
+package matsu.num.statistics.kdeapp.kde1d;
+
+import static java.nio.file.StandardOpenOption.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Objects;
+
+import matsu.num.statistics.kdeapp.kde1d.command.GridPoints;
+import matsu.num.statistics.kdeapp.kde1d.exception.CalculationException;
+
+/**
+ * 複数のノードで分割して計算し, 併合できるカーネル密度推定の部分集計.
+ * 
+ * <p>
+ * 部分集計は, 固定のグリッド上の線形ビニングのビン ({@link LinearBins}) と,
+ * 要約統計量 (件数, 総重み, 最小値, 最大値, 平均, 偏差平方和) からなる. <br>
+ * ビンは加算により, 要約統計量は Chan らの方法により併合されるので,
+ * シャードごとの部分集計を併合した結果は, 全サンプルを1個のノードでビニングした結果と
+ * (丸め誤差を除いて) 一致する. <br>
+ * バンド幅 (正規分布参照則) は件数と偏差平方和のみに依存するので, 併合後に計算できる.
+ * 密度は {@link GaussianBinnedKde1dCalculator} と同じ FFT による畳み込みで評価され,
+ * 誤差評価も同一である.
+ * </p>
+ * 
+ * <p>
+ * グリッドはすべてのシャードで共通でなければならず, サンプルはグリッドの区間に含まれなければならない
+ * (区間外のサンプルは端のビンに寄せられて密度を歪めるので, 部分集計の計算時に拒否される).
+ * </p>
+ * 
+ * <p>
+ * <u><i>ファイルの形式</i></u> <br>
+ * 値はすべてリトルエンディアンであり, 次の順に並ぶ. <br>
+ * マジックナンバー ("KDEP", int32), バージョン (int32),
+ * グリッドの下端, 上端 (float64), グリッド点数 (int32),
+ * 件数, inf と NaN の件数 (int64), 重み付きであるか (int32, 0 または 1),
+ * 総重み, 最小値, 最大値, 平均, 偏差平方和 (float64),
+ * ビン (float64 をグリッド点数だけ).
+ * </p>
+ * 
+ * <p>
+ * このクラスはイミュータブルである.
+ * </p>
+ * 
+ * @author Matsuura Y.
+ */
+final class PartialAggregate {
+
+    /**
+     * 形式のバージョン.
+     */
+    static final int VERSION = 1;
+
+    /**
+     * 部分集計のファイルの拡張子.
+     */
+    static final String SUFFIX = ".kde1dpart";
+
+    /**
+     * グリッド点数のデフォルト値. <br>
+     * バンド幅が未知の段階でグリッドを決めるので, 通常の推定のデフォルトより細かくしている.
+     */
+    static final int DEFAULT_SIZE = 1 << 14;
+
+    /**
+     * マジックナンバー ("KDEP").
+     */
+    private static final int MAGIC = 0x4B444550;
+
+    private static final int HEADER_SIZE = 4 + 4 + 8 + 8 + 4 + 8 + 8 + 4 + 8 * 5;
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final double lower;
+    private final double upper;
+    private final EvaluationGrid grid;
+    private final double[] bins;
+    private final SampleSummary summary;
+
+    private PartialAggregate(double lower, double upper, int size, double[] bins, SampleSummary summary) {
+        super();
+        this.lower = lower;
+        this.upper = upper;
+        this.grid = EvaluationGrid.of(lower, upper, size);
+        this.bins = bins;
+        this.summary = summary;
+    }
+
+    /**
+     * ソースを与えたグリッド上でビニングし, 部分集計を返す.
+     * 
+     * <p>
+     * ソースは空でもよい.
+     * </p>
+     * 
+     * @param source ソース
+     * @param lower グリッドの下端
+     * @param upper グリッドの上端
+     * @param size グリッド点数
+     * @return 部分集計
+     * @throws IllegalArgumentException グリッドが不正な場合 (see {@link EvaluationGrid#of(double, double, int)})
+     * @throws CalculationException ソースが inf や NaN を含む場合, グリッドの区間の外にサンプルがある場合
+     * @throws NullPointerException 引数がnullの場合
+     */
+    static PartialAggregate of(Kde1dSource source, double lower, double upper, int size) {
+        SampleSummary summary = source.summary();
+        if (summary.includesNonFinite()) {
+            throw new CalculationException("source includes inf or NaN");
+        }
+        if (summary.count() > 0L && (summary.min() < lower || upper < summary.max())) {
+            throw new CalculationException(
+                    "source [%s, %s] lies outside the partial range [%s, %s]".formatted(
+                            summary.min(), summary.max(), lower, upper));
+        }
+
+        EvaluationGrid grid = EvaluationGrid.of(lower, upper, size);
+        LinearBins bins = new LinearBins(grid);
+        if (source.isSinglePrecision()) {
+            for (float v : source.floatValues()) {
+                bins.accept(v);
+            }
+            return new PartialAggregate(lower, upper, size, bins.toArray(), summary);
+        }
+        double[] values = source.values();
+        if (source.isWeighted()) {
+            double[] weights = source.weights().get();
+            for (int i = 0; i < values.length; i++) {
+                bins.accept(values[i], weights[i]);
+            }
+        } else {
+            for (double v : values) {
+                bins.accept(v);
+            }
+        }
+        return new PartialAggregate(lower, upper, size, bins.toArray(), summary);
+    }
+
+    /**
+     * 他の部分集計と併合した部分集計を返す.
+     * 
+     * @param other 併合する部分集計
+     * @return 併合した部分集計
+     * @throws IllegalArgumentException グリッドが異なる場合
+     * @throws NullPointerException 引数がnullの場合
+     */
+    PartialAggregate merge(PartialAggregate other) {
+        if (lower != other.lower || upper != other.upper || bins.length != other.bins.length) {
+            throw new IllegalArgumentException(
+                    "grid mismatch: %s and %s".formatted(gridString(), other.gridString()));
+        }
+        double[] merged = bins.clone();
+        for (int i = 0; i < merged.length; i++) {
+            merged[i] += other.bins[i];
+        }
+        SampleSummary mergedSummary = new SampleSummary.Accumulator()
+                .combine(summary)
+                .combine(other.summary)
+                .summary();
+        return new PartialAggregate(lower, upper, merged.length, merged, mergedSummary);
+    }
+
+    /**
+     * 要約統計量を返す.
+     * 
+     * @return 要約統計量
+     */
+    SampleSummary summary() {
+        return summary;
+    }
+
+    /**
+     * グリッド上の密度を評価する.
+     * 
+     * <p>
+     * バンド幅は要約統計量から正規分布参照則で定める. <br>
+     * 描画区間はグリッドの区間である.
+     * </p>
+     * 
+     * @return 推定結果
+     * @throws CalculationException サンプルが空の場合, 広がりを持たない場合
+     */
+    WritableKde1dResult evaluate() {
+        summary.requireValid();
+        double bandwidth = summary.normalReferenceBandwidth();
+        if (!(bandwidth > 0 && summary.min() < summary.max())) {
+            throw new CalculationException("source has no spread");
+        }
+        double[] density = GaussianBinnedKde1dCalculator.convolve(
+                bins, summary.totalWeight(), grid, bandwidth);
+        return WritableKde1dResult.of(grid, density);
+    }
+
+    /**
+     * 部分集計をファイルに書き込む (既存のファイルは上書きする).
+     * 
+     * @param path ファイル
+     * @throws IOException ファイルアクセスで例外が発生した場合
+     * @throws NullPointerException 引数がnullの場合
+     */
+    void write(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, WRITE, CREATE, TRUNCATE_EXISTING)) {
+            write(channel);
+        }
+    }
+
+    /**
+     * 部分集計をチャネルの現在位置から書き込む.
+     * 
+     * @param channel チャネル
+     * @throws IOException ファイルアクセスで例外が発生した場合
+     * @throws NullPointerException 引数がnullの場合
+     */
+    void write(FileChannel channel) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(MAGIC)
+                .putInt(VERSION)
+                .putDouble(lower)
+                .putDouble(upper)
+                .putInt(bins.length)
+                .putLong(summary.count())
+                .putLong(summary.nonFiniteCount())
+                .putInt(summary.isWeighted() ? 1 : 0)
+                .putDouble(summary.totalWeight())
+                .putDouble(summary.min())
+                .putDouble(summary.max())
+                .putDouble(summary.mean())
+                .putDouble(summary.sumOfSquaredDeviations());
+        writeFully(channel, header.flip());
+
+        ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        int capacity = BUFFER_SIZE / Double.BYTES;
+        for (int from = 0; from < bins.length; from += capacity) {
+            int n = Math.min(capacity, bins.length - from);
+            buffer.clear();
+            buffer.asDoubleBuffer().put(bins, from, n);
+            buffer.limit(n * Double.BYTES);
+            writeFully(channel, buffer);
+        }
+    }
+
+    /**
+     * ファイルから部分集計を読み込む.
+     * 
+     * @param path ファイル
+     * @return 部分集計
+     * @throws IOException ファイルアクセスで例外が発生した場合, 形式が不正の場合
+     * @throws NullPointerException 引数がnullの場合
+     */
+    static PartialAggregate read(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, READ)) {
+            return read(channel, path.toString());
+        }
+    }
+
+    /**
+     * チャネルの現在位置からチャネルの終端までを部分集計として読み込む.
+     * 
+     * @param channel チャネル
+     * @param name 例外のメッセージに用いるチャネルの名前
+     * @return 部分集計
+     * @throws IOException ファイルアクセスで例外が発生した場合, 形式が不正の場合
+     * @throws NullPointerException 引数がnullの場合
+     */
+    static PartialAggregate read(FileChannel channel, String name) throws IOException {
+        Objects.requireNonNull(name);
+        long fileSize = channel.size() - channel.position();
+        if (fileSize < HEADER_SIZE) {
+            throw new IOException("not a partial aggregate: " + name);
+        }
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        readFully(channel, header);
+        header.flip();
+        if (header.getInt() != MAGIC) {
+            throw new IOException("not a partial aggregate: " + name);
+        }
+        int version = header.getInt();
+        if (version != VERSION) {
+            throw new IOException("unsupported partial aggregate version " + version + ": " + name);
+        }
+        double lower = header.getDouble();
+        double upper = header.getDouble();
+        int size = header.getInt();
+        long count = header.getLong();
+        long nonFiniteCount = header.getLong();
+        boolean weighted = header.getInt() != 0;
+        double totalWeight = header.getDouble();
+        double min = header.getDouble();
+        double max = header.getDouble();
+        double mean = header.getDouble();
+        double sumOfSquaredDeviations = header.getDouble();
+
+        if (size < EvaluationGrid.MIN_SIZE || size > GridPoints.MAX_POINTS
+                || fileSize != HEADER_SIZE + (long) size * Double.BYTES) {
+            throw new IOException("broken partial aggregate: " + name);
+        }
+
+        double[] bins = new double[size];
+        ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        int filled = 0;
+        while (filled < size) {
+            buffer.clear();
+            buffer.limit((int) Math.min(BUFFER_SIZE, (long) (size - filled) * Double.BYTES));
+            readFully(channel, buffer);
+            buffer.flip();
+            int n = buffer.remaining() / Double.BYTES;
+            buffer.asDoubleBuffer().get(bins, filled, n);
+            filled += n;
+        }
+
+        try {
+            return new PartialAggregate(lower, upper, size, bins,
+                    SampleSummary.restore(count, nonFiniteCount, weighted, totalWeight,
+                            min, max, mean, sumOfSquaredDeviations));
+        } catch (IllegalArgumentException e) {
+            throw new IOException("broken partial aggregate: " + name);
+        }
+    }
+
+    private String gridString() {
+        return "[%s, %s] x %d".formatted(lower, upper, bins.length);
+    }
+
+    @Override
+    public String toString() {
+        return "PartialAggregate(grid: %s, count: %d)".formatted(gridString(), summary.count());
+    }
+
+    /**
+     * テスト用. <br>
+     * ビンのコピーを返す.
+     */
+    double[] bins() {
+        return Arrays.copyOf(bins, bins.length);
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new IOException("unexpected end of file");
+            }
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
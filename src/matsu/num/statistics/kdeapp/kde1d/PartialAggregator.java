@@ -0,0 +1,79 @@
+/*
+ * Copyright © 2026 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+/*
+ * 2026.10.18
+ */
+package matsu.num.statistics.kdeapp.kde1d;
+
+import java.io.IOException;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.util.Objects;
+
+import matsu.num.statistics.kdeapp.kde1d.exception.CalculationException;
+import matsu.num.statistics.kdeapp.kde1d.exception.OutputException;
+
+/**
+ * ソースから固定のグリッド上の部分集計 ({@link PartialAggregate}) を計算し, ファイルに書き込む.
+ * 
+ * @author Matsuura Y.
+ */
+final class PartialAggregator {
+
+    private final double lower;
+    private final double upper;
+    private final int size;
+    private final String pathString;
+
+    /**
+     * グリッドと出力先を与えて構築する.
+     * 
+     * @param lower グリッドの下端
+     * @param upper グリッドの上端
+     * @param size グリッド点数
+     * @param pathString 部分集計の出力先のファイルパス
+     * @throws IllegalArgumentException グリッドが不正な場合 (see {@link EvaluationGrid#of(double, double, int)})
+     * @throws NullPointerException 引数がnullの場合
+     */
+    PartialAggregator(double lower, double upper, int size, String pathString) {
+        super();
+        EvaluationGrid.of(lower, upper, size);
+        this.lower = lower;
+        this.upper = upper;
+        this.size = size;
+        this.pathString = Objects.requireNonNull(pathString);
+    }
+
+    /**
+     * ソースの部分集計を計算する.
+     * 
+     * @param source ソース
+     * @return 部分集計
+     * @throws CalculationException ソースが inf や NaN を含む場合, グリッドの区間の外にサンプルがある場合
+     * @throws NullPointerException 引数がnullの場合
+     */
+    PartialAggregate aggregate(Kde1dSource source) {
+        return PartialAggregate.of(source, lower, upper, size);
+    }
+
+    /**
+     * 部分集計を出力先に書き込む (既存のファイルは上書きする).
+     * 
+     * @param partial 部分集計
+     * @throws OutputException ファイルアクセスで例外が発生した場合
+     * @throws NullPointerException 引数がnullの場合
+     */
+    void write(PartialAggregate partial) {
+        try {
+            partial.write(Path.of(pathString));
+        } catch (InvalidPathException | IOException e) {
+            throw new OutputException(
+                    e.getClass().getSimpleName() + ": " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright © 2026 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+/*
+ * 2026.10.18
+ */
+package matsu.num.statistics.kdeapp.kde1d;
+
+import static matsu.num.statistics.kdeapp.kde1d.command.ArgumentRequiringCommand.*;
+import static matsu.num.statistics.kdeapp.kde1d.command.NoArgumentCommand.*;
+
+import matsu.num.statistics.kdeapp.kde1d.command.ConsoleParameterInterpreter;
+import matsu.num.statistics.kdeapp.kde1d.command.GridPoints;
+import matsu.num.statistics.kdeapp.kde1d.command.PlotRange;
+import matsu.num.statistics.kdeapp.kde1d.exception.InvalidParameterException;
+
+/**
+ * {@link PartialAggregator} の構築器.
+ * 
+ * <p>
+ * 部分集計のグリッドはすべてのシャードで共通でなければならないので,
+ * 描画区間は固定の区間 ({@code --range <下限>,<上限>}) で指定しなければならない. <br>
+ * グリッド点数は固定の点数で指定される.
+ * 指定されない場合, {@link PartialAggregate#DEFAULT_SIZE} 点となる. <br>
+ * 部分集計は線形ビニングによるので, 評価エンジン, ストリーミングモード, 列の指定とは併用できない.
+ * </p>
+ * 
+ * @author Matsuura Y.
+ */
+final class PartialAggregatorConstructor implements ComponentConstructor<PartialAggregator> {
+
+    /**
+     * 唯一のコンストラクタ.
+     */
+    PartialAggregatorConstructor() {
+    }
+
+    /**
+     * @throws InvalidParameterException 描画区間が固定の区間でない場合, グリッド点数が自動の場合,
+     *             併用できないオプションが指定された場合
+     * @throws NullPointerException {@inheritDoc }
+     */
+    @Override
+    public PartialAggregator construct(ConsoleParameterInterpreter interpreter) {
+        String pathString = interpreter.valueOf(PARTIAL_OUTPUT_FILE_PATH)
+                .orElseThrow(() -> new AssertionError("unreachable"));
+
+        if (interpreter.valueOf(ENGINE).isPresent()) {
+            throw new InvalidParameterException(
+                    ENGINE.commandString() + " cannot be used with " + PARTIAL_OUTPUT_FILE_PATH.commandString());
+        }
+        if (interpreter.contains(STREAMING)) {
+            throw new InvalidParameterException(
+                    STREAMING.commandString() + " cannot be used with " + PARTIAL_OUTPUT_FILE_PATH.commandString());
+        }
+        if (interpreter.valueOf(COLUMNS).isPresent()) {
+            throw new InvalidParameterException(
+                    COLUMNS.commandString() + " cannot be used with " + PARTIAL_OUTPUT_FILE_PATH.commandString());
+        }
+
+        PlotRange range = new PlotRangeConstructor().construct(interpreter);
+        if (!range.isFixed()) {
+            throw new InvalidParameterException(
+                    PARTIAL_OUTPUT_FILE_PATH.commandString() + " requires fixed "
+                            + RANGE.commandString() + " <lower>,<upper>");
+        }
+        GridPoints gridPoints = interpreter.valueOf(GRID_POINTS)
+                .orElse(GridPoints.fixed(PartialAggregate.DEFAULT_SIZE));
+        if (gridPoints.isAuto()) {
+            throw new InvalidParameterException(
+                    PARTIAL_OUTPUT_FILE_PATH.commandString() + " requires fixed "
+                            + GRID_POINTS.commandString());
+        }
+
+        // 固定の点数は区間の幅とバンド幅によらない
+        return new PartialAggregator(
+                range.lowerLimit(), range.upperLimit(), gridPoints.sizeFor(1d, 1d), pathString);
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright © 2026 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+/*
+ * 2026.10.18
+ */
+package matsu.num.statistics.kdeapp.kde1d;
+
+import java.util.Objects;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.Supplier;
+
+import matsu.num.statistics.kdeapp.kde1d.command.GridPoints;
+import matsu.num.statistics.kdeapp.kde1d.command.PlotRange;
+import matsu.num.statistics.kdeapp.kde1d.exception.CalculationException;
+
+/**
+ * 描画区間の指定 ({@link PlotRange}) をソースに対して解決した, 具体的な描画区間を表現する.
+ * 
+ * <p>
+ * このクラスはイミュータブルである.
+ * </p>
+ * 
+ * @author Matsuura Y.
+ */
+final class PlotInterval {
+
+    private final double lower;
+    private final double upper;
+
+    private PlotInterval(double lower, double upper) {
+        super();
+        this.lower = lower;
+        this.upper = upper;
+    }
+
+    /**
+     * 描画区間の指定を解決する.
+     * 
+     * <p>
+     * 分位点による指定の場合に限り, ソースの分位点関数を取得する
+     * (重みなしのソースでは, 分位点のスケッチの構築であり, ソートは行わない). <br>
+     * 解決された区間は空 (下端と上端が一致) でありうる.
+     * </p>
+     * 
+     * @param range 描画区間の指定
+     * @param summary ソースの要約統計量 (検証済み)
+     * @param bandwidth バンド幅 (余白をバンド幅で与える場合に用いる)
+     * @param quantileSupplier ソースの分位点関数 (確率から分位点への関数) の供給元
+     * @return 描画区間
+     * @throws NullPointerException 引数にnullが含まれる場合
+     */
+    static PlotInterval resolve(
+            PlotRange range, SampleSummary summary, double bandwidth,
+            Supplier<? extends DoubleUnaryOperator> quantileSupplier) {
+        Objects.requireNonNull(quantileSupplier);
+        if (range.isFixed()) {
+            return new PlotInterval(range.lowerLimit(), range.upperLimit());
+        }
+
+        double baseLower = summary.min();
+        double baseUpper = summary.max();
+        if (range.isQuantile()) {
+            DoubleUnaryOperator quantile = quantileSupplier.get();
+            baseLower = quantile.applyAsDouble(range.tailProbability());
+            baseUpper = quantile.applyAsDouble(1 - range.tailProbability());
+        }
+
+        double pad = range.padBandwidths().isPresent()
+                ? range.padBandwidths().getAsDouble() * bandwidth
+                : (baseUpper - baseLower) * PlotRange.DEFAULT_PAD_RATIO;
+        return new PlotInterval(baseLower - pad, baseUpper + pad);
+    }
+
+    /**
+     * 下端を返す.
+     * 
+     * @return 下端
+     */
+    double lower() {
+        return lower;
+    }
+
+    /**
+     * 上端を返す.
+     * 
+     * @return 上端
+     */
+    double upper() {
+        return upper;
+    }
+
+    /**
+     * 区間 {@code [min, max]} を含むかを判定する.
+     * 
+     * @param min 下端
+     * @param max 上端
+     * @return 含むならば {@code true}
+     */
+    boolean contains(double min, double max) {
+        return lower <= min && max <= upper;
+    }
+
+    /**
+     * この区間を, 点数を区間の幅とバンド幅から定めて等分割したグリッドを返す.
+     * 
+     * <p>
+     * 点数は {@link GridPoints#sizeFor(double, double)} による.
+     * </p>
+     * 
+     * @param bandwidth バンド幅
+     * @param points グリッド点数の指定
+     * @return グリッド
+     * @throws CalculationException 区間が空の場合
+     * @throws NullPointerException 引数にnullが含まれる場合
+     */
+    EvaluationGrid toGrid(double bandwidth, GridPoints points) {
+        int size = points.sizeFor(upper - lower, bandwidth);
+        if (!(lower < upper)) {
+            throw new CalculationException("plot range is empty: " + this);
+        }
+        return EvaluationGrid.of(lower, upper, size);
+    }
+
+    @Override
+    public String toString() {
+        return "[%s, %s]".formatted(lower, upper);
+    }
+}
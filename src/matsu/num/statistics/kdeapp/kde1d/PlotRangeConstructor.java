@@ -0,0 +1,60 @@
+/*
+ * Copyright © 2026 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+/*
+ * 2026.10.18
+ */
+package matsu.num.statistics.kdeapp.kde1d;
+
+import static matsu.num.statistics.kdeapp.kde1d.command.ArgumentRequiringCommand.*;
+
+import java.util.Optional;
+
+import matsu.num.statistics.kdeapp.kde1d.command.ConsoleParameterInterpreter;
+import matsu.num.statistics.kdeapp.kde1d.command.PlotRange;
+import matsu.num.statistics.kdeapp.kde1d.exception.InvalidParameterException;
+
+/**
+ * {@link PlotRange} の構築器.
+ * 
+ * <p>
+ * 描画区間と余白はオプションコマンドで指定される. <br>
+ * 描画区間が指定されない場合, {@link PlotRange#data()} となる. <br>
+ * 固定の区間には余白を指定できない.
+ * </p>
+ * 
+ * @author Matsuura Y.
+ */
+final class PlotRangeConstructor implements ComponentConstructor<PlotRange> {
+
+    /**
+     * 唯一のコンストラクタ.
+     */
+    PlotRangeConstructor() {
+    }
+
+    /**
+     * @throws InvalidParameterException 固定の区間に余白が指定された場合
+     * @throws NullPointerException {@inheritDoc }
+     */
+    @Override
+    public PlotRange construct(ConsoleParameterInterpreter interpreter) {
+        PlotRange range = interpreter.valueOf(RANGE)
+                .orElse(PlotRange.data());
+        Optional<Double> padBandwidths = interpreter.valueOf(PAD_BANDWIDTHS);
+        if (padBandwidths.isEmpty()) {
+            return range;
+        }
+
+        if (range.isFixed()) {
+            throw new InvalidParameterException(
+                    PAD_BANDWIDTHS.commandString() + " is not supported by fixed "
+                            + RANGE.commandString());
+        }
+        return range.withPadBandwidths(padBandwidths.get());
+    }
+}
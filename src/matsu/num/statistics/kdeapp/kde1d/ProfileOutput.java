@@ -0,0 +1,201 @@
+/*
+ * Copyright © 2026 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+/*
+ * 2026.10.18
+ */
+package matsu.num.statistics.kdeapp.kde1d;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Objects;
+
+import matsu.num.statistics.kdeapp.kde1d.exception.OutputException;
+
+/**
+ * ステージごとの計測値 ({@link StageMetrics}) の出力を扱う.
+ * 
+ * @author Matsuura Y.
+ */
+abstract class ProfileOutput {
+
+    /**
+     * null-出力を表すシングルトンインスタンス.
+     */
+    private static final ProfileOutput nullOutput = new ProfileOutput() {
+
+        @Override
+        void write(List<StageMetrics> records) {
+            // 何もしない.
+        }
+    };
+
+    /**
+     * 標準エラー出力への出力を返す.
+     * 
+     * @param err System.err
+     * @return 出力
+     * @throws NullPointerException 引数がnullの場合
+     */
+    static ProfileOutput stderr(PrintStream err) {
+        return new StdErrOutput(err);
+    }
+
+    /**
+     * JSON ファイルへの出力 (強制上書き) を返す.
+     * 
+     * @param filePath ファイルパス
+     * @return 出力
+     * @throws NullPointerException 引数がnullの場合
+     */
+    static ProfileOutput jsonFile(String filePath) {
+        return new JsonFileOutput(filePath);
+    }
+
+    /**
+     * 与えた出力を順に実行する出力を返す.
+     * 
+     * @param outputs 出力
+     * @return 出力
+     * @throws NullPointerException 引数にnullが含まれる場合
+     */
+    static ProfileOutput composite(List<ProfileOutput> outputs) {
+        List<ProfileOutput> copy = List.copyOf(outputs);
+        return switch (copy.size()) {
+            case 0 -> nullOutput;
+            case 1 -> copy.get(0);
+            default -> new CompositeOutput(copy);
+        };
+    }
+
+    /**
+     * null-出力を返す.
+     * 
+     * @return 出力
+     */
+    static ProfileOutput nullOutput() {
+        return nullOutput;
+    }
+
+    /**
+     * 非公開のコンストラクタ. <br>
+     * ネストしたクラスからの継承のみ許可.
+     */
+    private ProfileOutput() {
+
+    }
+
+    /**
+     * 計測値を出力する.
+     * 
+     * @param records 計測値
+     * @throws OutputException 例外が発生した場合
+     * @throws NullPointerException 引数がnull (スローされない場合がある)
+     */
+    abstract void write(List<StageMetrics> records);
+
+    /**
+     * 標準エラー出力.
+     */
+    private static final class StdErrOutput extends ProfileOutput {
+
+        private final PrintStream err;
+
+        StdErrOutput(PrintStream err) {
+            super();
+            this.err = Objects.requireNonNull(err);
+        }
+
+        /**
+         * @throws OutputException {@inheritDoc }
+         * @throws NullPointerException {@inheritDoc }
+         */
+        @Override
+        void write(List<StageMetrics> records) {
+            for (StageMetrics metrics : records) {
+                err.println("[profile] " + metrics.describe());
+            }
+            if (err.checkError()) {
+                throw new OutputException("System.err");
+            }
+        }
+    }
+
+    /**
+     * JSON ファイルへの出力.
+     */
+    private static final class JsonFileOutput extends ProfileOutput {
+
+        private final String filePath;
+
+        JsonFileOutput(String filePath) {
+            super();
+            this.filePath = Objects.requireNonNull(filePath);
+        }
+
+        /**
+         * @throws OutputException {@inheritDoc }
+         * @throws NullPointerException {@inheritDoc }
+         */
+        @Override
+        void write(List<StageMetrics> records) {
+            try {
+                Path path = Path.of(filePath);
+
+                // 出力ディレクトリの構築
+                Path parent = path.getParent();
+                if (Objects.nonNull(parent)) {
+                    Files.createDirectories(parent);
+                }
+
+                try (PrintWriter output = new PrintWriter(Files.newBufferedWriter(path))) {
+                    output.println("{\"stages\": [");
+                    for (int i = 0; i < records.size(); i++) {
+                        output.print("  " + records.get(i).toJson());
+                        output.println(i < records.size() - 1 ? "," : "");
+                    }
+                    output.println("]}");
+                    if (output.checkError()) {
+                        throw new IOException("write to " + path.toString());
+                    }
+                }
+            } catch (InvalidPathException | IOException e) {
+                throw new OutputException(
+                        e.getClass().getSimpleName() + ": " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 複数の出力.
+     */
+    private static final class CompositeOutput extends ProfileOutput {
+
+        private final List<ProfileOutput> outputs;
+
+        CompositeOutput(List<ProfileOutput> outputs) {
+            super();
+            this.outputs = outputs;
+        }
+
+        /**
+         * @throws OutputException {@inheritDoc }
+         * @throws NullPointerException {@inheritDoc }
+         */
+        @Override
+        void write(List<StageMetrics> records) {
+            for (ProfileOutput output : outputs) {
+                output.write(records);
+            }
+        }
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright © 2026 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+/*
+ * 2026.10.18
+ */
+package matsu.num.statistics.kdeapp.kde1d;
+
+import static matsu.num.statistics.kdeapp.kde1d.command.ArgumentRequiringCommand.*;
+import static matsu.num.statistics.kdeapp.kde1d.command.NoArgumentCommand.*;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import matsu.num.statistics.kdeapp.kde1d.command.ConsoleParameterInterpreter;
+
+/**
+ * {@link ProfileOutput} の構築器.
+ * 
+ * <p>
+ * 計測値の標準エラー出力と JSON ファイル出力は,
+ * それぞれオプションコマンドで指定される (両方を指定してもよい).
+ * </p>
+ * 
+ * @author Matsuura Y.
+ */
+final class ProfileOutputConstructor implements ComponentConstructor<ProfileOutput> {
+
+    private final PrintStream err;
+
+    /**
+     * 唯一のコンストラクタ.
+     * 
+     * @param err System.err
+     * @throws NullPointerException 引数がnull
+     */
+    ProfileOutputConstructor(PrintStream err) {
+        super();
+        this.err = Objects.requireNonNull(err);
+    }
+
+    /**
+     * @throws NullPointerException {@inheritDoc }
+     */
+    @Override
+    public ProfileOutput construct(ConsoleParameterInterpreter interpreter) {
+
+        List<ProfileOutput> outputs = new ArrayList<>();
+        if (interpreter.contains(PROFILE)) {
+            outputs.add(ProfileOutput.stderr(err));
+        }
+        interpreter.valueOf(PROFILE_JSON_FILE_PATH)
+                .ifPresent(path -> outputs.add(ProfileOutput.jsonFile(path)));
+        return ProfileOutput.composite(outputs);
+    }
+}
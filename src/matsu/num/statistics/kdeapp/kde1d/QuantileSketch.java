@@ -0,0 +1,309 @@
+/*
+ * Copyright © 2026 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+/*
+ * 2026.10.18
+ */
+package matsu.num.statistics.kdeapp.kde1d;
+
+import java.util.Arrays;
+import java.util.function.DoubleConsumer;
+
+/**
+ * 値を1個ずつ受け取り, ソートせずに分位点を近似するストリーミングスケッチ (KLL スケッチ).
+ * 
+ * <p>
+ * 値は重み 2<sup><i>h</i></sup> のレベル <i>h</i> のバッファに保持される. <br>
+ * バッファが容量を超えると, ソートして1個おきに取り出し, 上のレベルに送る (コンパクション). <br>
+ * 容量は最上位レベルで <i>k</i>, 下のレベルほど 2/3 倍ずつ小さくなる
+ * (ただし {@link #MIN_CAPACITY} 以上). <br>
+ * 保持する値の個数は O(<i>k</i> + log(<i>n</i>/<i>k</i>)) であり,
+ * 分位点の順位の誤差はサンプル数によらずおよそ {@code 2/k} 以内である
+ * (<i>k</i> = {@link #DEFAULT_K} で 1% 以内). <br>
+ * サンプル数がレベル0の容量に満たない場合, 分位点は厳密である.
+ * </p>
+ * 
+ * <p>
+ * コンパクションで取り出す位置 (偶数番目か奇数番目か) は,
+ * 乱数ではなくレベルごとに交互に選ぶ. <br>
+ * したがって, 同じ値の列 (と同じ併合の順序) に対して結果は常に一致する.
+ * </p>
+ * 
+ * <p>
+ * 別々に計算された2個のスケッチは, {@link #combine(QuantileSketch)} により併合できる. <br>
+ * inf と NaN は無視される. <br>
+ * このクラスはスレッドセーフではない.
+ * </p>
+ * 
+ * @author Matsuura Y.
+ */
+final class QuantileSketch implements DoubleConsumer {
+
+    /**
+     * 精度パラメータ <i>k</i> のデフォルト値.
+     */
+    static final int DEFAULT_K = 256;
+
+    /**
+     * 各レベルの容量の最小値.
+     */
+    static final int MIN_CAPACITY = 8;
+
+    private static final double CAPACITY_DECAY = 2d / 3d;
+
+    private final int k;
+
+    private double[][] levels;
+    private int[] sizes;
+    private int[] capacities;
+    private long[] compactions;
+    private int levelCount;
+
+    private long count = 0L;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    /**
+     * デフォルトの精度で空のスケッチを構築する.
+     */
+    QuantileSketch() {
+        this(DEFAULT_K);
+    }
+
+    /**
+     * 精度パラメータを与えて空のスケッチを構築する.
+     * 
+     * @param k 精度パラメータ
+     * @throws IllegalArgumentException 精度パラメータが {@link #MIN_CAPACITY} 未満の場合
+     */
+    QuantileSketch(int k) {
+        super();
+        if (k < MIN_CAPACITY) {
+            throw new IllegalArgumentException("illegal k: " + k);
+        }
+        this.k = k;
+        this.levels = new double[0][];
+        this.sizes = new int[0];
+        this.capacities = new int[0];
+        this.compactions = new long[0];
+        this.levelCount = 0;
+        addLevel();
+    }
+
+    /**
+     * 配列の値を順に受け取ったスケッチを返す.
+     * 
+     * @param values 値
+     * @return スケッチ
+     * @throws NullPointerException 引数がnullの場合
+     */
+    static QuantileSketch of(double[] values) {
+        QuantileSketch sketch = new QuantileSketch();
+        for (double v : values) {
+            sketch.accept(v);
+        }
+        return sketch;
+    }
+
+    /**
+     * {@code float} の配列の値を順に受け取ったスケッチを返す.
+     * 
+     * @param values 値
+     * @return スケッチ
+     * @throws NullPointerException 引数がnullの場合
+     */
+    static QuantileSketch of(float[] values) {
+        QuantileSketch sketch = new QuantileSketch();
+        for (float v : values) {
+            sketch.accept(v);
+        }
+        return sketch;
+    }
+
+    @Override
+    public void accept(double v) {
+        if (!Double.isFinite(v)) {
+            return;
+        }
+        count++;
+        min = Math.min(min, v);
+        max = Math.max(max, v);
+        append(0, v);
+        if (sizes[0] >= capacities[0]) {
+            compress();
+        }
+    }
+
+    /**
+     * 他のスケッチの状態を, このスケッチに併合する.
+     * 
+     * @param other 併合するスケッチ
+     * @return this
+     * @throws IllegalArgumentException 精度パラメータが異なる場合
+     * @throws NullPointerException 引数がnullの場合
+     */
+    QuantileSketch combine(QuantileSketch other) {
+        if (other.k != k) {
+            throw new IllegalArgumentException("k mismatch");
+        }
+        if (other.count == 0L) {
+            return this;
+        }
+        while (levelCount < other.levelCount) {
+            addLevel();
+        }
+        for (int h = 0; h < other.levelCount; h++) {
+            for (int i = 0; i < other.sizes[h]; i++) {
+                append(h, other.levels[h][i]);
+            }
+        }
+        count += other.count;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+        compress();
+        return this;
+    }
+
+    /**
+     * 受け取った有限値の件数を返す.
+     * 
+     * @return 件数
+     */
+    long count() {
+        return count;
+    }
+
+    /**
+     * 分位点の近似値を返す.
+     * 
+     * <p>
+     * 分位点は, 累積の重みが {@code probability * count} 以上となる最小の値である. <br>
+     * 確率が0以下なら最小値, 1以上なら最大値を返す. <br>
+     * 戻り値は常に最小値以上最大値以下である.
+     * </p>
+     * 
+     * @param probability 確率
+     * @return 分位点
+     * @throws IllegalStateException スケッチが空の場合
+     */
+    double quantile(double probability) {
+        if (count == 0L) {
+            throw new IllegalStateException("sketch is empty");
+        }
+        if (!(probability > 0)) {
+            return min;
+        }
+        if (probability >= 1) {
+            return max;
+        }
+
+        int retained = 0;
+        for (int h = 0; h < levelCount; h++) {
+            retained += sizes[h];
+        }
+        // レベルごとにソートした列を, 重みとともに1本の列に併合する
+        double[] values = new double[retained];
+        long[] weights = new long[retained];
+        int filled = 0;
+        for (int h = 0; h < levelCount; h++) {
+            double[] level = Arrays.copyOf(levels[h], sizes[h]);
+            Arrays.sort(level);
+            filled = mergeInto(values, weights, filled, level, 1L << h);
+        }
+
+        double target = probability * count;
+        long cumulative = 0L;
+        for (int i = 0; i < filled; i++) {
+            cumulative += weights[i];
+            if (cumulative >= target) {
+                return Math.min(max, Math.max(min, values[i]));
+            }
+        }
+        return max;
+    }
+
+    /**
+     * ソート済みの列 {@code values[0, filled)} に, ソート済みの列を重みつきで併合する.
+     * 
+     * @return 併合後の長さ
+     */
+    private static int mergeInto(
+            double[] values, long[] weights, int filled, double[] sorted, long weight) {
+        int i = filled - 1;
+        int j = sorted.length - 1;
+        int dst = filled + sorted.length - 1;
+        while (j >= 0) {
+            if (i >= 0 && values[i] > sorted[j]) {
+                values[dst] = values[i];
+                weights[dst] = weights[i];
+                i--;
+            } else {
+                values[dst] = sorted[j];
+                weights[dst] = weight;
+                j--;
+            }
+            dst--;
+        }
+        return filled + sorted.length;
+    }
+
+    /**
+     * 容量を超えたレベルを, 下から順にコンパクションする.
+     */
+    private void compress() {
+        for (int h = 0; h < levelCount; h++) {
+            if (sizes[h] >= capacities[h]) {
+                compact(h);
+            }
+        }
+    }
+
+    /**
+     * レベル <i>h</i> をソートし, 1個おきに取り出してレベル <i>h</i>+1 に送る. <br>
+     * 個数が奇数の場合, 最小の1個はレベル <i>h</i> に残す.
+     */
+    private void compact(int h) {
+        if (h + 1 == levelCount) {
+            addLevel();
+        }
+        double[] level = levels[h];
+        int size = sizes[h];
+        Arrays.sort(level, 0, size);
+
+        int keep = size & 1;
+        int offset = (int) (compactions[h]++ & 1L);
+        for (int i = keep + offset; i < size; i += 2) {
+            append(h + 1, level[i]);
+        }
+        sizes[h] = keep;
+    }
+
+    private void append(int h, double v) {
+        if (sizes[h] == levels[h].length) {
+            levels[h] = Arrays.copyOf(levels[h], Math.max(MIN_CAPACITY, levels[h].length * 2));
+        }
+        levels[h][sizes[h]++] = v;
+    }
+
+    /**
+     * 最上位にレベルを追加し, 各レベルの容量を更新する.
+     */
+    private void addLevel() {
+        int h = levelCount;
+        levelCount++;
+        levels = Arrays.copyOf(levels, levelCount);
+        sizes = Arrays.copyOf(sizes, levelCount);
+        capacities = Arrays.copyOf(capacities, levelCount);
+        compactions = Arrays.copyOf(compactions, levelCount);
+        levels[h] = new double[0];
+
+        for (int i = 0; i < levelCount; i++) {
+            capacities[i] = Math.max(MIN_CAPACITY,
+                    (int) Math.ceil(k * Math.pow(CAPACITY_DECAY, levelCount - 1 - i)));
+        }
+    }
+}
@@ -0,0 +1,371 @@
+/*
+ * Copyright © 2026 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+/*
+ * 2026.10.18
+ */
+package matsu.num.statistics.kdeapp.kde1d;
+
+import static java.nio.charset.StandardCharsets.*;
+import static java.nio.file.StandardCopyOption.*;
+import static java.nio.file.StandardOpenOption.*;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.zip.CRC32;
+import java.util.zip.CRC32C;
+
+import matsu.num.statistics.kdeapp.kde1d.binary.Kde1dBinaryResult;
+
+/**
+ * 推定結果のディスク上のキャッシュを扱う.
+ * 
+ * <p>
+ * キャッシュのキーは, 推定に影響するパラメータの文字列表現の SHA-256 ハッシュと,
+ * 入力ファイルのサイズと内容のチェックサム (CRC-32C と CRC-32 の組, 64 bits) である. <br>
+ * 入力ファイルの内容は暗号学的ハッシュではなく, ハードウェア支援のある高速なチェックサムで要約する
+ * (キャッシュミスでは入力ファイルをキーの計算とロードで2回読むので, キーの計算を軽くする). <br>
+ * キャッシュのエントリは, 推定結果 (バイナリ形式, see {@link Kde1dBinaryResult}) と
+ * 要約統計量の表示 ({@link SampleSummary#describe()}) の2個のファイルからなる.
+ * </p>
+ * 
+ * <p>
+ * ディレクトリ内のエントリの合計サイズは上限を超えないように,
+ * 最後に利用された時刻 (ファイルの更新時刻) が古いものから削除される (LRU). <br>
+ * エントリは一時ファイルに書き込まれた後にアトミックに移動されるので,
+ * 複数のプロセスが同じディレクトリを共有してもよい.
+ * </p>
+ * 
+ * <p>
+ * キャッシュの読み書きでの例外は推定を妨げない
+ * (読み込みの失敗はキャッシュミスとして扱い, 書き込みの失敗は無視する).
+ * </p>
+ * 
+ * @author Matsuura Y.
+ */
+abstract class ResultCache {
+
+    /**
+     * キャッシュの形式のバージョン (キーに含まれる).
+     */
+    static final int VERSION = 2;
+
+    /**
+     * 推定結果のファイルの拡張子.
+     */
+    static final String RESULT_SUFFIX = ".kde1d";
+
+    /**
+     * 要約統計量のファイルの拡張子.
+     */
+    static final String SUMMARY_SUFFIX = ".summary";
+
+    /**
+     * 入力ファイルのチェックサム計算の読み込みバッファのサイズ.
+     */
+    private static final int HASH_BUFFER_SIZE = 1 << 20;
+
+    /**
+     * 何もしないキャッシュを表すシングルトンインスタンス.
+     */
+    private static final ResultCache disabled = new ResultCache() {
+
+        @Override
+        Optional<Entry> lookup() {
+            return Optional.empty();
+        }
+
+        @Override
+        void store(WritableKde1dResult result, SampleSummary summary) {
+            // 何もしない.
+        }
+    };
+
+    /**
+     * 何もしない (常にキャッシュミスとなり, 保存もしない) キャッシュを返す.
+     * 
+     * @return 何もしないキャッシュ
+     */
+    static ResultCache disabled() {
+        return disabled;
+    }
+
+    /**
+     * ディレクトリに保存するキャッシュを返す.
+     * 
+     * @param directory キャッシュのディレクトリ (存在しなければ保存時に作成される)
+     * @param maxBytes エントリの合計サイズの上限 (バイト)
+     * @param input 入力ファイル
+     * @param parameters 推定に影響するパラメータの文字列表現
+     * @return キャッシュ
+     * @throws IllegalArgumentException 上限が正でない場合
+     * @throws NullPointerException 引数がnullの場合
+     */
+    static ResultCache directory(Path directory, long maxBytes, Path input, String parameters) {
+        return new DirectoryCache(directory, maxBytes, input, parameters);
+    }
+
+    /**
+     * 非公開のコンストラクタ. <br>
+     * ネストしたクラスからの継承のみ許可.
+     */
+    private ResultCache() {
+        super();
+    }
+
+    /**
+     * キャッシュを参照する.
+     * 
+     * <p>
+     * エントリが存在する場合, そのエントリを最後に利用されたものとする.
+     * </p>
+     * 
+     * @return エントリ, キャッシュミスの場合は空
+     */
+    abstract Optional<Entry> lookup();
+
+    /**
+     * 推定結果と要約統計量を保存し, 上限を超えたエントリを削除する.
+     * 
+     * @param result 推定結果
+     * @param summary 要約統計量
+     * @throws NullPointerException 引数がnullの場合 (スローされない場合がある)
+     */
+    abstract void store(WritableKde1dResult result, SampleSummary summary);
+
+    /**
+     * キャッシュのエントリ.
+     */
+    static final class Entry {
+
+        private final WritableKde1dResult result;
+        private final List<String> summary;
+
+        Entry(WritableKde1dResult result, List<String> summary) {
+            super();
+            this.result = Objects.requireNonNull(result);
+            this.summary = List.copyOf(summary);
+        }
+
+        /**
+         * 保存された推定結果を返す.
+         * 
+         * @return 推定結果
+         */
+        WritableKde1dResult result() {
+            return result;
+        }
+
+        /**
+         * 保存された要約統計量の表示を返す.
+         * 
+         * @return 要約統計量の表示 ({@link SampleSummary#describe()})
+         */
+        List<String> summary() {
+            return summary;
+        }
+    }
+
+    /**
+     * ディレクトリに保存するキャッシュ.
+     */
+    private static final class DirectoryCache extends ResultCache {
+
+        private final Path directory;
+        private final long maxBytes;
+        private final Path input;
+        private final String parameters;
+
+        /**
+         * キー (一度計算したら保持する).
+         */
+        private String key;
+
+        DirectoryCache(Path directory, long maxBytes, Path input, String parameters) {
+            super();
+            this.directory = Objects.requireNonNull(directory);
+            if (maxBytes <= 0) {
+                throw new IllegalArgumentException("illegal max bytes: " + maxBytes);
+            }
+            this.maxBytes = maxBytes;
+            this.input = Objects.requireNonNull(input);
+            this.parameters = Objects.requireNonNull(parameters);
+        }
+
+        @Override
+        Optional<Entry> lookup() {
+            try {
+                String key = key();
+                Path resultPath = directory.resolve(key + RESULT_SUFFIX);
+                Path summaryPath = directory.resolve(key + SUMMARY_SUFFIX);
+                if (!Files.isRegularFile(resultPath)) {
+                    return Optional.empty();
+                }
+
+                Kde1dBinaryResult stored = Kde1dBinaryResult.map(resultPath);
+                double[] points = new double[stored.size()];
+                double[] density = new double[stored.size()];
+                stored.points().get(points);
+                stored.density().get(density);
+                List<String> summary = Files.readAllLines(summaryPath, UTF_8);
+
+                Files.setLastModifiedTime(resultPath, FileTime.from(Instant.now()));
+                return Optional.of(new Entry(WritableKde1dResult.of(points, density), summary));
+            } catch (InvalidPathException | IOException | UncheckedIOException e) {
+                return Optional.empty();
+            }
+        }
+
+        @Override
+        void store(WritableKde1dResult result, SampleSummary summary) {
+            Objects.requireNonNull(result);
+            Objects.requireNonNull(summary);
+            try {
+                String key = key();
+                Files.createDirectories(directory);
+
+                double[][] columns = result.columns();
+                Path resultTemp = Files.createTempFile(directory, key, ".tmp");
+                Path summaryTemp = Files.createTempFile(directory, key, ".tmp");
+                try {
+                    try (FileChannel channel = FileChannel.open(resultTemp, WRITE, TRUNCATE_EXISTING)) {
+                        Kde1dBinaryResult.write(channel, columns[0], columns[1]);
+                    }
+                    Files.write(summaryTemp, summary.describe(), UTF_8);
+
+                    // 推定結果のファイルが見えるときには, 要約統計量のファイルが存在するようにする
+                    Files.move(summaryTemp, directory.resolve(key + SUMMARY_SUFFIX),
+                            REPLACE_EXISTING, ATOMIC_MOVE);
+                    Files.move(resultTemp, directory.resolve(key + RESULT_SUFFIX),
+                            REPLACE_EXISTING, ATOMIC_MOVE);
+                } finally {
+                    Files.deleteIfExists(resultTemp);
+                    Files.deleteIfExists(summaryTemp);
+                }
+
+                evict();
+            } catch (InvalidPathException | IOException | UncheckedIOException e) {
+                // キャッシュへの保存の失敗は無視する
+            }
+        }
+
+        /**
+         * 最後に利用された時刻が新しい順にエントリのサイズを足し, 上限を超えたエントリを削除する.
+         */
+        private void evict() throws IOException {
+            List<CachedFile> entries = new ArrayList<>();
+            try (DirectoryStream<Path> stream =
+                    Files.newDirectoryStream(directory, "*" + RESULT_SUFFIX)) {
+                for (Path resultPath : stream) {
+                    Path summaryPath = summaryPath(resultPath);
+                    try {
+                        long size = Files.size(resultPath)
+                                + (Files.exists(summaryPath) ? Files.size(summaryPath) : 0L);
+                        entries.add(new CachedFile(
+                                resultPath, summaryPath, Files.getLastModifiedTime(resultPath), size));
+                    } catch (NoSuchFileException e) {
+                        // 他のプロセスにより削除された
+                    }
+                }
+            }
+
+            entries.sort(Comparator.comparing((CachedFile f) -> f.lastUsed).reversed());
+            long total = 0L;
+            for (CachedFile entry : entries) {
+                total += entry.size;
+                if (total > maxBytes) {
+                    Files.deleteIfExists(entry.resultPath);
+                    Files.deleteIfExists(entry.summaryPath);
+                }
+            }
+        }
+
+        private static Path summaryPath(Path resultPath) {
+            String name = resultPath.getFileName().toString();
+            return resultPath.resolveSibling(
+                    name.substring(0, name.length() - RESULT_SUFFIX.length()) + SUMMARY_SUFFIX);
+        }
+
+        /**
+         * キャッシュのキー
+         * (パラメータの SHA-256 の先頭 128 bits, 入力ファイルのサイズ, 内容のチェックサムの16進表現)
+         * を返す.
+         */
+        private String key() throws IOException {
+            if (Objects.isNull(key)) {
+                MessageDigest digest = sha256();
+                digest.update(("kde1d-cache/" + VERSION + "\n" + parameters + "\n").getBytes(UTF_8));
+
+                CRC32C crc32c = new CRC32C();
+                CRC32 crc32 = new CRC32();
+                long size = 0L;
+                try (FileChannel channel = FileChannel.open(input, READ)) {
+                    ByteBuffer buffer = ByteBuffer.allocateDirect(HASH_BUFFER_SIZE);
+                    while (channel.read(buffer) >= 0) {
+                        buffer.flip();
+                        size += buffer.remaining();
+                        crc32c.update(buffer.duplicate());
+                        crc32.update(buffer);
+                        buffer.clear();
+                    }
+                }
+
+                HexFormat hex = HexFormat.of();
+                key = hex.formatHex(digest.digest(), 0, 16)
+                        + "-" + hex.toHexDigits(size)
+                        + "-" + hex.toHexDigits((int) crc32c.getValue())
+                        + hex.toHexDigits((int) crc32.getValue());
+            }
+            return key;
+        }
+
+        private static MessageDigest sha256() {
+            try {
+                return MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                // SHA-256 はすべての Java プラットフォームで提供される
+                throw new AssertionError(e);
+            }
+        }
+
+        /**
+         * 削除の判定に用いるエントリの属性.
+         */
+        private static final class CachedFile {
+
+            final Path resultPath;
+            final Path summaryPath;
+            final FileTime lastUsed;
+            final long size;
+
+            CachedFile(Path resultPath, Path summaryPath, FileTime lastUsed, long size) {
+                super();
+                this.resultPath = resultPath;
+                this.summaryPath = summaryPath;
+                this.lastUsed = lastUsed;
+                this.size = size;
+            }
+        }
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright © 2026 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+/*
+ * 2026.10.18
+ */
+package matsu.num.statistics.kdeapp.kde1d;
+
+import static matsu.num.statistics.kdeapp.kde1d.command.ArgumentRequiringCommand.*;
+import static matsu.num.statistics.kdeapp.kde1d.command.NoArgumentCommand.*;
+
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+import matsu.num.statistics.kdeapp.kde1d.command.ConsoleParameterInterpreter;
+import matsu.num.statistics.kdeapp.kde1d.command.GridPoints;
+import matsu.num.statistics.kdeapp.kde1d.command.InputFormat;
+import matsu.num.statistics.kdeapp.kde1d.command.KdeEngine;
+import matsu.num.statistics.kdeapp.kde1d.exception.InvalidParameterException;
+
+/**
+ * {@link ResultCache} の構築器.
+ * 
+ * <p>
+ * キャッシュのディレクトリはオプションコマンドで指定される. <br>
+ * 指定されない場合, 環境変数 {@value #CACHE_DIR_VARIABLE} の値となる. <br>
+ * いずれもない場合, キャッシュを利用しない ({@link ResultCache#disabled()}).
+ * </p>
+ * 
+ * <p>
+ * キャッシュの合計サイズの上限はオプションコマンドで指定される (MiB). <br>
+ * 指定されない場合, {@value #DEFAULT_CACHE_SIZE_MIB} MiB となる.
+ * </p>
+ * 
+ * <p>
+ * 次の場合, キャッシュを利用しない.
+ * </p>
+ * 
+ * <ul>
+ * <li>キャッシュを利用しないことが指定された場合</li>
+ * <li>入力が標準入力の場合 (内容を事前にハッシュできない)</li>
+ * <li>多列の入力の場合</li>
+ * <li>増分モードの場合 (入力全体のハッシュは追記部分のみの解析を無意味にする)</li>
+ * </ul>
+ * 
+ * <p>
+ * キーに含まれるパラメータは, 推定結果に影響するもの (入力形式, エスケープ文字, 評価エンジン,
+ * ストリーミングモード, 単精度モード, グリッド点数, 打ち切り半径, 描画区間, 並列度) の実効値である
+ * (指定されない場合はデフォルト値). <br>
+ * 並列度は, 要約統計量の並列計算の丸め誤差を通して結果に影響しうるので, キーに含める.
+ * </p>
+ * 
+ * @author Matsuura Y.
+ */
+final class ResultCacheConstructor implements ComponentConstructor<ResultCache> {
+
+    /**
+     * キャッシュのディレクトリを指定する環境変数.
+     */
+    static final String CACHE_DIR_VARIABLE = "KDE1D_CACHE_DIR";
+
+    /**
+     * キャッシュの合計サイズの上限のデフォルト値 (MiB).
+     */
+    static final int DEFAULT_CACHE_SIZE_MIB = 256;
+
+    /**
+     * 環境変数.
+     */
+    private final Map<String, String> environment;
+
+    /**
+     * プロセスの環境変数を参照する構築器を生成する.
+     */
+    ResultCacheConstructor() {
+        this(System.getenv());
+    }
+
+    /**
+     * 環境変数を与えて構築器を生成する. <br>
+     * (主にテスト用)
+     * 
+     * @param environment 環境変数
+     * @throws NullPointerException 引数がnullの場合
+     */
+    ResultCacheConstructor(Map<String, String> environment) {
+        super();
+        this.environment = Objects.requireNonNull(environment);
+    }
+
+    /**
+     * @throws InvalidParameterException 描画区間の指定が不正な場合, キャッシュのディレクトリのパスが不正な場合
+     * @throws NullPointerException {@inheritDoc }
+     */
+    @Override
+    public ResultCache construct(ConsoleParameterInterpreter interpreter) {
+
+        Optional<String> directory = interpreter.valueOf(CACHE_DIR_PATH)
+                .or(() -> Optional.ofNullable(environment.get(CACHE_DIR_VARIABLE))
+                        .filter(s -> !s.isBlank()));
+        String pathString = interpreter.valueOf(INPUT_FILE_PATH)
+                .orElseThrow(() -> new AssertionError("unreachable"));
+
+        if (directory.isEmpty()
+                || interpreter.contains(NO_CACHE)
+                || STANDARD_INPUT.equals(pathString)
+                || interpreter.valueOf(COLUMNS).isPresent()
+                || interpreter.contains(INCREMENTAL)) {
+            return ResultCache.disabled();
+        }
+
+        long maxBytes = (long) interpreter.valueOf(CACHE_SIZE).orElse(DEFAULT_CACHE_SIZE_MIB) << 20;
+        try {
+            return ResultCache.directory(
+                    Path.of(directory.get()), maxBytes, Path.of(pathString), parameters(interpreter));
+        } catch (InvalidPathException e) {
+            throw new InvalidParameterException(
+                    "invalid path for " + CACHE_DIR_PATH.commandString() + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * 推定結果に影響するパラメータの実効値の文字列表現を返す.
+     */
+    private static String parameters(ConsoleParameterInterpreter interpreter) {
+        boolean streaming = interpreter.contains(STREAMING);
+        KdeEngine engine = interpreter.valueOf(ENGINE).orElse(KdeEngine.EXACT);
+
+        StringBuilder sb = new StringBuilder();
+        sb.append("format=")
+                .append(interpreter.valueOf(INPUT_FORMAT).orElse(InputFormat.TEXT).stringValue());
+        sb.append(";comment=").append(interpreter.valueOf(COMMENT_CHAR).orElse("#"));
+        sb.append(";engine=").append(streaming ? "streaming" : engine.stringValue());
+        if (interpreter.contains(FLOAT32)) {
+            sb.append(";precision=float32");
+        }
+        sb.append(";bandwidth=normal-reference");
+        if (streaming || engine != KdeEngine.EXACT) {
+            sb.append(";grid=").append(interpreter.valueOf(GRID_POINTS)
+                    .orElse(GridPoints.fixed(EvaluationGrid.DEFAULT_SIZE)));
+        }
+        if (!streaming && engine == KdeEngine.TRUNCATED) {
+            sb.append(";cutoff=").append(interpreter.valueOf(CUTOFF)
+                    .orElse(GaussianTruncatedKde1dCalculator.DEFAULT_CUTOFF));
+        }
+        sb.append(";range=").append(new PlotRangeConstructor().construct(interpreter));
+        sb.append(";parallelism=").append(interpreter.valueOf(PARALLELISM)
+                .orElse(Runtime.getRuntime().availableProcessors()));
+        return sb.toString();
+    }
+}
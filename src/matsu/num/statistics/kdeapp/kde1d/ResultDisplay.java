@@ -6,12 +6,13 @@
  */
 
 /*
- * 2026.2.15
+ * 2026.10.18
  */
 package matsu.num.statistics.kdeapp.kde1d;
 
+import java.io.IOException;
 import java.io.PrintStream;
-import java.io.PrintWriter;
+import java.nio.charset.Charset;
 import java.util.Objects;
 
 import matsu.num.statistics.kdeapp.kde1d.exception.OutputException;
@@ -96,7 +97,13 @@ abstract class ResultDisplay {
          */
         @Override
         void write(WritableKde1dResult result, WritingFormatter writingFormatter) {
-            if (result.write(new PrintWriter(out), writingFormatter)) {
+            try {
+                result.write(new DelimitedTextWriter(out, Charset.defaultCharset()), writingFormatter);
+            } catch (IOException e) {
+                // PrintStream は IOException をスローしないが, 念のため
+                throw new OutputException("System.out");
+            }
+            if (out.checkError()) {
                 throw new OutputException("System.out");
             }
         }
@@ -6,26 +6,43 @@
  */
 
 /*
- * 2026.2.15
+ * 2026.10.18
  */
 package matsu.num.statistics.kdeapp.kde1d;
 
 import static java.nio.file.StandardOpenOption.*;
 
+import java.io.File;
 import java.io.IOException;
-import java.io.PrintWriter;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.InvalidPathException;
 import java.nio.file.OpenOption;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Locale;
 import java.util.Objects;
+import java.util.zip.GZIPOutputStream;
 
+import matsu.num.statistics.kdeapp.kde1d.binary.Kde1dBinaryResult;
 import matsu.num.statistics.kdeapp.kde1d.exception.OutputException;
 
 /**
  * 結果の外部出力を扱う.
  * 
+ * <p>
+ * ファイルパスが {@code .gz} で終わる場合, 出力は gzip 形式で圧縮される.
+ * </p>
+ * 
+ * <p>
+ * 多列の入力の結果を列ごとのファイルに分けて出力する場合,
+ * {@link #resolveColumn(int)} により列ごとの出力を得る.
+ * </p>
+ * 
  * @author Matsuura Y.
  */
 abstract class ResultOutput {
@@ -39,6 +56,11 @@ abstract class ResultOutput {
         void write(WritableKde1dResult result, WritingFormatter writingFormatter) {
             // 何もしない.
         }
+
+        @Override
+        ResultOutput resolveColumn(int columnNumber) {
+            return this;
+        }
     };
 
     /**
@@ -47,7 +69,16 @@ abstract class ResultOutput {
      * @throws NullPointerException 引数がnullを含む場合
      */
     static ResultOutput forceOutput(String filePath) {
-        return new FileOutput(filePath, FileOutput.OverwriteOption.FORCE);
+        return new FileOutput(filePath, FileOutput.OverwriteOption.FORCE, FileOutput.Encoding.TEXT);
+    }
+
+    /**
+     * 強制上書きモードによる, バイナリ形式 (see {@link Kde1dBinaryResult}) の出力を返す.
+     * 
+     * @throws NullPointerException 引数がnullを含む場合
+     */
+    static ResultOutput forceBinaryOutput(String filePath) {
+        return new FileOutput(filePath, FileOutput.OverwriteOption.FORCE, FileOutput.Encoding.BINARY);
     }
 
     /**
@@ -56,7 +87,16 @@ abstract class ResultOutput {
      * @throws NullPointerException 引数がnullを含む場合
      */
     static ResultOutput regularOutput(String filePath) {
-        return new FileOutput(filePath, FileOutput.OverwriteOption.REGULAR);
+        return new FileOutput(filePath, FileOutput.OverwriteOption.REGULAR, FileOutput.Encoding.TEXT);
+    }
+
+    /**
+     * 上書き禁止モードによる, バイナリ形式 (see {@link Kde1dBinaryResult}) の出力を返す.
+     * 
+     * @throws NullPointerException 引数がnullを含む場合
+     */
+    static ResultOutput regularBinaryOutput(String filePath) {
+        return new FileOutput(filePath, FileOutput.OverwriteOption.REGULAR, FileOutput.Encoding.BINARY);
     }
 
     /**
@@ -84,21 +124,50 @@ abstract class ResultOutput {
      */
     abstract void write(WritableKde1dResult result, WritingFormatter writingFormatter);
 
+    /**
+     * 多列の入力の, 1列分の結果の出力を返す.
+     * 
+     * <p>
+     * ファイルへの出力の場合, ファイル名の拡張子 ({@code .gz} を除く) の直前に
+     * {@code .col<列の番号>} を挿入したファイルへの, 同じ設定の出力を返す
+     * (例: {@code result.txt} は {@code result.col2.txt},
+     * {@code result.txt.gz} は {@code result.col2.txt.gz} となる). <br>
+     * null-出力の場合, 自身を返す.
+     * </p>
+     * 
+     * @param columnNumber 列の番号
+     * @return 列の結果の出力
+     */
+    abstract ResultOutput resolveColumn(int columnNumber);
+
     /**
      * ファイルへの出力.
      */
     private static final class FileOutput extends ResultOutput {
 
+        /**
+         * gzip 形式で圧縮して出力するファイルの拡張子.
+         */
+        private static final String GZIP_SUFFIX = ".gz";
+
+        /**
+         * 圧縮ストリームのバッファサイズ.
+         */
+        private static final int GZIP_BUFFER_SIZE = 1 << 16;
+
         private final OverwriteOption outputOption;
+        private final Encoding encoding;
         private final String filePath;
 
         /**
          * @param forceOverwrite 強制上書きするかどうかに関するオプション
+         * @param encoding 出力の形式
          * @throws NullPointerException 引数がnullを含む場合
          */
-        FileOutput(String filePath, OverwriteOption outputOption) {
+        FileOutput(String filePath, OverwriteOption outputOption, Encoding encoding) {
             this.filePath = Objects.requireNonNull(filePath);
             this.outputOption = Objects.requireNonNull(outputOption);
+            this.encoding = Objects.requireNonNull(encoding);
         }
 
         /**
@@ -117,11 +186,29 @@ abstract class ResultOutput {
                 }
 
                 // 結果の出力
-                try (PrintWriter output = new PrintWriter(
-                        Files.newBufferedWriter(path, outputOption.openOption))) {
-                    if (result.write(output, writingFormatter)) {
-                        throw new IOException("write to " + path.toString());
-                    }
+                boolean gzip = filePath.toLowerCase(Locale.ROOT).endsWith(GZIP_SUFFIX);
+                switch (encoding) {
+                    case TEXT:
+                        try (OutputStream output = gzip
+                                ? new GZIPOutputStream(openStream(path), GZIP_BUFFER_SIZE)
+                                : openStream(path)) {
+                            result.write(
+                                    new DelimitedTextWriter(output, StandardCharsets.UTF_8),
+                                    writingFormatter);
+                        }
+                        break;
+                    case BINARY:
+                        try (WritableByteChannel output = gzip
+                                ? Channels.newChannel(
+                                        new GZIPOutputStream(openStream(path), GZIP_BUFFER_SIZE))
+                                : FileChannel.open(
+                                        path, outputOption.openOption, WRITE, TRUNCATE_EXISTING)) {
+                            double[][] columns = result.columns();
+                            Kde1dBinaryResult.write(output, columns[0], columns[1]);
+                        }
+                        break;
+                    default:
+                        throw new AssertionError("unreachable");
                 }
             } catch (InvalidPathException | IOException e) {
                 throw new OutputException(
@@ -129,6 +216,50 @@ abstract class ResultOutput {
             }
         }
 
+        @Override
+        ResultOutput resolveColumn(int columnNumber) {
+            return new FileOutput(columnFilePath(filePath, columnNumber), outputOption, encoding);
+        }
+
+        /**
+         * ファイル名の拡張子 ({@code .gz} を除く) の直前に列の番号を挿入する.
+         */
+        static String columnFilePath(String filePath, int columnNumber) {
+            String gzipSuffix = "";
+            String base = filePath;
+            if (base.toLowerCase(Locale.ROOT).endsWith(GZIP_SUFFIX)) {
+                gzipSuffix = base.substring(base.length() - GZIP_SUFFIX.length());
+                base = base.substring(0, base.length() - GZIP_SUFFIX.length());
+            }
+
+            int nameStart = Math.max(base.lastIndexOf('/'), base.lastIndexOf(File.separatorChar)) + 1;
+            int dot = base.lastIndexOf('.');
+            String tag = ".col" + columnNumber;
+            return dot > nameStart
+                    ? base.substring(0, dot) + tag + base.substring(dot) + gzipSuffix
+                    : base + tag + gzipSuffix;
+        }
+
+        private OutputStream openStream(Path path) throws IOException {
+            return Files.newOutputStream(path, outputOption.openOption, WRITE, TRUNCATE_EXISTING);
+        }
+
+        /**
+         * 出力の形式.
+         */
+        private static enum Encoding {
+
+            /**
+             * フォーマッターによるテキスト.
+             */
+            TEXT,
+
+            /**
+             * {@link Kde1dBinaryResult} によるバイナリ.
+             */
+            BINARY;
+        }
+
         /**
          * 出力の上書きに関するオプション.
          */
@@ -6,17 +6,25 @@
  */
 
 /*
- * 2026.2.10
+ * 2026.10.18
  */
 package matsu.num.statistics.kdeapp.kde1d;
 
 import static matsu.num.statistics.kdeapp.kde1d.command.ArgumentRequiringCommand.*;
 
+import java.util.function.Function;
+
 import matsu.num.statistics.kdeapp.kde1d.command.ConsoleParameterInterpreter;
+import matsu.num.statistics.kdeapp.kde1d.command.OutputFormat;
 
 /**
  * {@link ResultOutput} の構築器.
  * 
+ * <p>
+ * 出力形式が指定されない場合, テキスト形式となる. <br>
+ * 出力ファイルが指定されない場合, 出力形式の指定は無視される.
+ * </p>
+ * 
  * @author Matsuura Y.
  */
 final class ResultOutputConstructor implements ComponentConstructor<ResultOutput> {
@@ -34,16 +42,26 @@ final class ResultOutputConstructor implements ComponentConstructor<ResultOutput
     public ResultOutput construct(ConsoleParameterInterpreter interpreter) {
 
         /*
-         * OUTPUT_FORCE -> forceOutput
-         * OUTPUT -> regularOutput
+         * OUTPUT_FORCE -> forceOutput (or forceBinaryOutput)
+         * OUTPUT -> regularOutput (or regularBinaryOutput)
          * empty -> nullOutput
          */
 
+        boolean binary = interpreter.valueOf(OUTPUT_FORMAT)
+                .map(f -> f == OutputFormat.BINARY)
+                .orElse(false);
+        Function<String, ResultOutput> force = binary
+                ? ResultOutput::forceBinaryOutput
+                : ResultOutput::forceOutput;
+        Function<String, ResultOutput> regular = binary
+                ? ResultOutput::regularBinaryOutput
+                : ResultOutput::regularOutput;
+
         return interpreter.valueOf(OUTPUT_FORCE_FILE_PATH)
-                .map(ResultOutput::forceOutput)
+                .map(force)
                 .orElse(
                         interpreter.valueOf(OUTPUT_FILE_PATH)
-                                .map(ResultOutput::regularOutput)
+                                .map(regular)
                                 .orElse(ResultOutput.nullOutput()));
     }
 }
@@ -0,0 +1,377 @@
+/*
+ * Copyright © 2026 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+/*
+ * 2026.10.18
+ */
+package matsu.num.statistics.kdeapp.kde1d;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.DoubleConsumer;
+
+import matsu.num.statistics.kdeapp.kde1d.exception.CalculationException;
+
+/**
+ * ソースの要約統計量 (件数, 最小値, 最大値, 平均, 偏差平方和) を表現する.
+ * 
+ * <p>
+ * 平均と偏差平方和は, Welford の方法により1パスで計算される. <br>
+ * 重み付きのソースでは, 重みを度数として扱い (West の方法),
+ * 件数は行数, 総重みは重みの和である (重みなしのソースでは総重みは件数に等しい). <br>
+ * 値を1個ずつ受け取る {@link Accumulator} を用いれば,
+ * ソースの解析と同時に計算できる. <br>
+ * このクラスはイミュータブルである.
+ * </p>
+ * 
+ * @author Matsuura Y.
+ */
+final class SampleSummary {
+
+    private final long count;
+    private final long nonFiniteCount;
+    private final boolean weighted;
+    private final double totalWeight;
+    private final double min;
+    private final double max;
+    private final double mean;
+    private final double sumOfSquaredDeviations;
+
+    private SampleSummary(
+            long count, long nonFiniteCount, boolean weighted, double totalWeight,
+            double min, double max, double mean, double sumOfSquaredDeviations) {
+        super();
+        this.count = count;
+        this.nonFiniteCount = nonFiniteCount;
+        this.weighted = weighted;
+        this.totalWeight = totalWeight;
+        this.min = min;
+        this.max = max;
+        this.mean = mean;
+        this.sumOfSquaredDeviations = sumOfSquaredDeviations;
+    }
+
+    /**
+     * 配列の要約統計量を1パスで計算する.
+     * 
+     * @param source ソース
+     * @return 要約統計量
+     * @throws NullPointerException 引数がnullの場合
+     */
+    static SampleSummary of(double[] source) {
+        Accumulator accumulator = new Accumulator();
+        for (double v : source) {
+            accumulator.accept(v);
+        }
+        return accumulator.summary();
+    }
+
+    /**
+     * 重み付きの配列の要約統計量を1パスで計算する.
+     * 
+     * @param values 値
+     * @param weights 重み
+     * @return 要約統計量
+     * @throws IllegalArgumentException 配列長が一致しない場合
+     * @throws NullPointerException 引数にnullが含まれる場合
+     */
+    static SampleSummary of(double[] values, double[] weights) {
+        if (values.length != weights.length) {
+            throw new IllegalArgumentException("length mismatch");
+        }
+        Accumulator accumulator = new Accumulator();
+        for (int i = 0; i < values.length; i++) {
+            accumulator.accept(values[i], weights[i]);
+        }
+        return accumulator.summary();
+    }
+
+    /**
+     * 保存された各項目の値から要約統計量を復元する.
+     * 
+     * @param count 有限値の件数
+     * @param nonFiniteCount inf, NaN の件数
+     * @param weighted 重み付きであるか
+     * @param totalWeight 総重み
+     * @param min 最小値
+     * @param max 最大値
+     * @param mean 平均
+     * @param sumOfSquaredDeviations 偏差平方和
+     * @return 要約統計量
+     * @throws IllegalArgumentException 件数が負の場合, 偏差平方和が負の場合
+     */
+    static SampleSummary restore(
+            long count, long nonFiniteCount, boolean weighted, double totalWeight,
+            double min, double max, double mean, double sumOfSquaredDeviations) {
+        if (count < 0L || nonFiniteCount < 0L || !(sumOfSquaredDeviations >= 0d)) {
+            throw new IllegalArgumentException("illegal summary");
+        }
+        return new SampleSummary(
+                count, nonFiniteCount, weighted, totalWeight, min, max, mean, sumOfSquaredDeviations);
+    }
+
+    /**
+     * 推定に用いることができるかを検証する.
+     * 
+     * @return this
+     * @throws CalculationException ソースが空の場合, infやNaNを含む場合
+     */
+    SampleSummary requireValid() {
+        if (nonFiniteCount > 0L) {
+            throw new CalculationException("source includes inf or NaN");
+        }
+        if (count == 0L) {
+            throw new CalculationException("source is empty");
+        }
+        return this;
+    }
+
+    /**
+     * 有限値の件数を返す.
+     * 
+     * @return 件数
+     */
+    long count() {
+        return count;
+    }
+
+    /**
+     * 重み付きのソースの要約統計量であるかを返す.
+     * 
+     * @return 重み付きならtrue
+     */
+    boolean isWeighted() {
+        return weighted;
+    }
+
+    /**
+     * 有限値の重みの和を返す (重みなしのソースでは件数).
+     * 
+     * @return 総重み
+     */
+    double totalWeight() {
+        return totalWeight;
+    }
+
+    /**
+     * inf または NaN の件数を返す.
+     * 
+     * @return inf または NaN の件数
+     */
+    long nonFiniteCount() {
+        return nonFiniteCount;
+    }
+
+    /**
+     * inf または NaN を含むかを返す.
+     * 
+     * @return inf または NaN を含むならtrue
+     */
+    boolean includesNonFinite() {
+        return nonFiniteCount > 0L;
+    }
+
+    /**
+     * 最小値を返す (空の場合は正の無限大).
+     * 
+     * @return 最小値
+     */
+    double min() {
+        return min;
+    }
+
+    /**
+     * 最大値を返す (空の場合は負の無限大).
+     * 
+     * @return 最大値
+     */
+    double max() {
+        return max;
+    }
+
+    /**
+     * 平均を返す.
+     * 
+     * @return 平均
+     */
+    double mean() {
+        return mean;
+    }
+
+    /**
+     * 偏差平方和を返す.
+     * 
+     * @return 偏差平方和
+     */
+    double sumOfSquaredDeviations() {
+        return sumOfSquaredDeviations;
+    }
+
+    /**
+     * 不偏分散による標準偏差を返す (総重みが2未満の場合は0).
+     * 
+     * @return 標準偏差
+     */
+    double standardDeviation() {
+        return totalWeight < 2 ? 0d : Math.sqrt(sumOfSquaredDeviations / (totalWeight - 1));
+    }
+
+    /**
+     * 正規分布参照則によるバンド幅を返す (サンプル数は総重みとする).
+     * 
+     * @return バンド幅
+     * @see NormalReferenceBandwidth
+     */
+    double normalReferenceBandwidth() {
+        return NormalReferenceBandwidth.of(totalWeight, sumOfSquaredDeviations);
+    }
+
+    /**
+     * 表示用の文字列表現を, 1項目1行として返す.
+     * 
+     * @return 文字列表現の行のリスト
+     */
+    List<String> describe() {
+        List<String> lines = new ArrayList<>();
+        lines.add("count: " + count);
+        if (weighted) {
+            lines.add("total weight: " + totalWeight);
+        }
+        lines.add("non-finite count: " + nonFiniteCount);
+        lines.add("min: " + min);
+        lines.add("max: " + max);
+        lines.add("mean: " + mean);
+        lines.add("standard deviation: " + standardDeviation());
+        lines.add("normal reference bandwidth: " + normalReferenceBandwidth());
+        return List.copyOf(lines);
+    }
+
+    /**
+     * 値を1個ずつ受け取り, 要約統計量を1パスで計算する.
+     * 
+     * <p>
+     * 重み付きの値は {@link #accept(double, double)} で受け取る
+     * (重みは正の有限値であることを呼び出し側が保証する). <br>
+     * 別々に計算された2個のアキュムレータは, {@link #combine(Accumulator)} により併合できる
+     * (Chan らの方法). <br>
+     * このクラスはスレッドセーフではない.
+     * </p>
+     */
+    static final class Accumulator implements DoubleConsumer, WeightedDoubleConsumer {
+
+        private long count = 0L;
+        private long nonFiniteCount = 0L;
+        private boolean weighted = false;
+        private double totalWeight = 0d;
+        private double min = Double.POSITIVE_INFINITY;
+        private double max = Double.NEGATIVE_INFINITY;
+        private double mean = 0d;
+        private double m2 = 0d;
+
+        /**
+         * 空のアキュムレータを構築する.
+         */
+        Accumulator() {
+            super();
+        }
+
+        @Override
+        public void accept(double v) {
+            if (!Double.isFinite(v)) {
+                nonFiniteCount++;
+                return;
+            }
+            count++;
+            totalWeight += 1d;
+            min = Math.min(min, v);
+            max = Math.max(max, v);
+            double d = v - mean;
+            mean += d / totalWeight;
+            m2 += d * (v - mean);
+        }
+
+        @Override
+        public void accept(double v, double weight) {
+            weighted = true;
+            if (!Double.isFinite(v)) {
+                nonFiniteCount++;
+                return;
+            }
+            count++;
+            totalWeight += weight;
+            min = Math.min(min, v);
+            max = Math.max(max, v);
+            double d = v - mean;
+            mean += d * weight / totalWeight;
+            m2 += weight * d * (v - mean);
+        }
+
+        /**
+         * 他のアキュムレータの状態を, このアキュムレータに併合する.
+         * 
+         * @param other 併合するアキュムレータ
+         * @return this
+         * @throws NullPointerException 引数がnullの場合
+         */
+        Accumulator combine(Accumulator other) {
+            nonFiniteCount += other.nonFiniteCount;
+            weighted |= other.weighted;
+            if (other.count == 0L) {
+                return this;
+            }
+            if (count == 0L) {
+                count = other.count;
+                totalWeight = other.totalWeight;
+                min = other.min;
+                max = other.max;
+                mean = other.mean;
+                m2 = other.m2;
+                return this;
+            }
+
+            double w = totalWeight + other.totalWeight;
+            double d = other.mean - mean;
+            mean += d * other.totalWeight / w;
+            m2 += other.m2 + d * d * (totalWeight * other.totalWeight / w);
+            count += other.count;
+            totalWeight = w;
+            min = Math.min(min, other.min);
+            max = Math.max(max, other.max);
+            return this;
+        }
+
+        /**
+         * 要約統計量の状態を, このアキュムレータに併合する.
+         * 
+         * @param summary 併合する要約統計量
+         * @return this
+         * @throws NullPointerException 引数がnullの場合
+         */
+        Accumulator combine(SampleSummary summary) {
+            Accumulator other = new Accumulator();
+            other.count = summary.count;
+            other.nonFiniteCount = summary.nonFiniteCount;
+            other.weighted = summary.weighted;
+            other.totalWeight = summary.totalWeight;
+            other.min = summary.min;
+            other.max = summary.max;
+            other.mean = summary.mean;
+            other.m2 = summary.sumOfSquaredDeviations;
+            return combine(other);
+        }
+
+        /**
+         * 現在の状態の要約統計量を返す.
+         * 
+         * @return 要約統計量
+         */
+        SampleSummary summary() {
+            return new SampleSummary(
+                    count, nonFiniteCount, weighted, totalWeight, min, max, mean, m2);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright © 2026 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+/*
+ * 2026.10.18
+ */
+package matsu.num.statistics.kdeapp.kde1d;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * 処理の1ステージを表現する JFR イベント.
+ * 
+ * <p>
+ * {@link StageProfiler} が計測を有効にしている場合, ステージごとにコミットされる. <br>
+ * JFR の記録 ({@code -XX:StartFlightRecording} など) が有効であれば,
+ * JDK Mission Control などで他のイベント (GC, ロック競合など) と並べて参照できる.
+ * </p>
+ * 
+ * @author Matsuura Y.
+ */
+@Name("matsu.kdeapp.kde1d.Stage")
+@Label("KDE Stage")
+@Category({ "KdeApp", "kde1d" })
+@Description("A stage of the kde1d pipeline")
+final class StageEvent extends Event {
+
+    @Label("Stage")
+    String stage;
+
+    @Label("Process CPU Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long processCpuTime;
+
+    @Label("Thread CPU Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long threadCpuTime;
+
+    @Label("Allocated (Process)")
+    @DataAmount(DataAmount.BYTES)
+    long allocated;
+
+    @Label("Peak Heap")
+    @DataAmount(DataAmount.BYTES)
+    long peakHeap;
+}
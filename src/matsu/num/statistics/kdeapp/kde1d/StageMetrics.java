@@ -0,0 +1,159 @@
+/*
+ * Copyright © 2026 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+/*
+ * 2026.10.18
+ */
+package matsu.num.statistics.kdeapp.kde1d;
+
+import java.util.Objects;
+
+/**
+ * 処理の1ステージについての計測値を表現する.
+ * 
+ * <p>
+ * 計測できない値は {@code -1} である. <br>
+ * このクラスはイミュータブルである.
+ * </p>
+ * 
+ * @author Matsuura Y.
+ * @see StageProfiler
+ */
+final class StageMetrics {
+
+    private final String stage;
+    private final long wallNanos;
+    private final long processCpuNanos;
+    private final long threadCpuNanos;
+    private final long allocatedBytes;
+    private final long peakHeapBytes;
+
+    /**
+     * 計測値を与えて構築する.
+     * 
+     * @param stage ステージ名
+     * @param wallNanos 経過時間 (ns)
+     * @param processCpuNanos プロセス全体の CPU 時間 (ns)
+     * @param threadCpuNanos 呼び出しスレッドの CPU 時間 (ns)
+     * @param allocatedBytes プロセス全体のヒープ割り当て量 (byte)
+     * @param peakHeapBytes ヒープ使用量のピーク (byte)
+     * @throws NullPointerException ステージ名がnullの場合
+     */
+    StageMetrics(String stage, long wallNanos, long processCpuNanos,
+            long threadCpuNanos, long allocatedBytes, long peakHeapBytes) {
+        super();
+        this.stage = Objects.requireNonNull(stage);
+        this.wallNanos = wallNanos;
+        this.processCpuNanos = processCpuNanos;
+        this.threadCpuNanos = threadCpuNanos;
+        this.allocatedBytes = allocatedBytes;
+        this.peakHeapBytes = peakHeapBytes;
+    }
+
+    /**
+     * ステージ名を返す.
+     * 
+     * @return ステージ名
+     */
+    String stage() {
+        return stage;
+    }
+
+    /**
+     * 経過時間 (ns) を返す.
+     * 
+     * @return 経過時間
+     */
+    long wallNanos() {
+        return wallNanos;
+    }
+
+    /**
+     * プロセス全体の CPU 時間 (ns) を返す. <br>
+     * 並列処理のワーカースレッドの時間を含む.
+     * 
+     * @return CPU 時間
+     */
+    long processCpuNanos() {
+        return processCpuNanos;
+    }
+
+    /**
+     * 呼び出しスレッドの CPU 時間 (ns) を返す.
+     * 
+     * @return CPU 時間
+     */
+    long threadCpuNanos() {
+        return threadCpuNanos;
+    }
+
+    /**
+     * プロセス全体のヒープ割り当て量 (byte) を返す.
+     * 
+     * @return ヒープ割り当て量
+     */
+    long allocatedBytes() {
+        return allocatedBytes;
+    }
+
+    /**
+     * ステージ中のヒープ使用量のピーク (byte) を返す.
+     * 
+     * @return ヒープ使用量のピーク
+     */
+    long peakHeapBytes() {
+        return peakHeapBytes;
+    }
+
+    /**
+     * 1行の文字列表現を返す.
+     * 
+     * @return 文字列表現
+     */
+    String describe() {
+        return String.format(
+                "%s: wall = %.3f ms, cpu(process) = %.3f ms, cpu(thread) = %.3f ms, "
+                        + "allocated(process) = %d bytes, peak heap = %d bytes",
+                stage, wallNanos * 1E-6, processCpuNanos * 1E-6, threadCpuNanos * 1E-6,
+                allocatedBytes, peakHeapBytes);
+    }
+
+    /**
+     * JSON オブジェクトとしての文字列表現を返す.
+     * 
+     * @return JSON 文字列
+     */
+    String toJson() {
+        return "{\"stage\": \"" + escapeJson(stage) + "\""
+                + ", \"wallNanos\": " + wallNanos
+                + ", \"processCpuNanos\": " + processCpuNanos
+                + ", \"threadCpuNanos\": " + threadCpuNanos
+                + ", \"allocatedBytes\": " + allocatedBytes
+                + ", \"peakHeapBytes\": " + peakHeapBytes
+                + "}";
+    }
+
+    private static String escapeJson(String s) {
+        StringBuilder sb = new StringBuilder(s.length());
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == '"' || c == '\\') {
+                sb.append('\\').append(c);
+            } else if (c < 0x20) {
+                sb.append(String.format("\\u%04x", (int) c));
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public String toString() {
+        return describe();
+    }
+}
@@ -0,0 +1,365 @@
+/*
+ * Copyright © 2026 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+/*
+ * 2026.10.18
+ */
+package matsu.num.statistics.kdeapp.kde1d;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import javax.management.ListenerNotFoundException;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+import com.sun.management.GcInfo;
+
+/**
+ * 処理のステージごとの時間とメモリの計測を扱う.
+ * 
+ * <p>
+ * 計測には JDK の機能のみを用いる.
+ * </p>
+ * 
+ * <ul>
+ * <li>経過時間: {@link System#nanoTime()}</li>
+ * <li>CPU 時間: {@link com.sun.management.OperatingSystemMXBean#getProcessCpuTime()}
+ * (プロセス全体), {@link java.lang.management.ThreadMXBean#getCurrentThreadCpuTime()}
+ * (呼び出しスレッド)</li>
+ * <li>ヒープ割り当て量: ステージの前後のヒープ使用量の差に, ステージ中の GC が回収した量
+ * ({@link GarbageCollectionNotificationInfo} の通知による) を加えたもの
+ * (プロセス全体, 並列処理のワーカースレッドを含む近似値)</li>
+ * <li>ヒープ使用量のピーク: ステージ開始時にリセットした, ヒープの各メモリプールのピーク使用量の和
+ * (プールごとのピークは同時刻とは限らないので, 上界である)</li>
+ * </ul>
+ * 
+ * <p>
+ * ヒープ割り当て量とヒープ使用量のピークは JVM 全体の量である. <br>
+ * したがって, 1個の JVM で複数のジョブを同時に実行する場合
+ * ({@link Kde1dBatch} で並列度が2以上の場合, {@link Kde1dServer}),
+ * これらの計測値は他のジョブの割り当てを含み,
+ * さらにピークのリセットが互いに干渉するので, ジョブごとの値としては信頼できない. <br>
+ * 経過時間と呼び出しスレッドの CPU 時間は, この影響を受けない.
+ * </p>
+ * 
+ * <p>
+ * 計測値は, JFR イベント ({@link StageEvent}) としてもコミットされる.
+ * </p>
+ * 
+ * @author Matsuura Y.
+ */
+abstract class StageProfiler {
+
+    /**
+     * 何も計測しないプロファイラを表すシングルトンインスタンス.
+     */
+    private static final StageProfiler nullProfiler = new StageProfiler() {
+
+        @Override
+        <T> T measure(String stage, Supplier<? extends T> task) {
+            Objects.requireNonNull(stage);
+            return task.get();
+        }
+
+        @Override
+        List<StageMetrics> records() {
+            return List.of();
+        }
+    };
+
+    /**
+     * 計測を行うプロファイラを返す.
+     * 
+     * @return プロファイラ
+     */
+    static StageProfiler recording() {
+        return new RecordingProfiler();
+    }
+
+    /**
+     * 何も計測しないプロファイラを返す.
+     * 
+     * @return プロファイラ
+     */
+    static StageProfiler nullProfiler() {
+        return nullProfiler;
+    }
+
+    /**
+     * 非公開のコンストラクタ. <br>
+     * ネストしたクラスからの継承のみ許可.
+     */
+    private StageProfiler() {
+
+    }
+
+    /**
+     * ステージを実行し, 計測する.
+     * 
+     * <p>
+     * ステージが例外をスローした場合, 計測値は記録されない.
+     * </p>
+     * 
+     * @param <T> ステージの結果の型
+     * @param stage ステージ名
+     * @param task ステージの処理
+     * @return ステージの結果
+     * @throws NullPointerException 引数がnullの場合
+     */
+    abstract <T> T measure(String stage, Supplier<? extends T> task);
+
+    /**
+     * ステージを実行し, 計測する (結果を持たないステージ).
+     * 
+     * @param stage ステージ名
+     * @param task ステージの処理
+     * @throws NullPointerException 引数がnullの場合
+     */
+    final void run(String stage, Runnable task) {
+        Objects.requireNonNull(task);
+        this.measure(stage, () -> {
+            task.run();
+            return null;
+        });
+    }
+
+    /**
+     * 記録された計測値を, 実行順に返す.
+     * 
+     * @return 計測値のリスト
+     */
+    abstract List<StageMetrics> records();
+
+    /**
+     * 計測を行うプロファイラ.
+     */
+    private static final class RecordingProfiler extends StageProfiler {
+
+        private final java.lang.management.ThreadMXBean threadBean =
+                ManagementFactory.getThreadMXBean();
+        private final java.lang.management.OperatingSystemMXBean osBean =
+                ManagementFactory.getOperatingSystemMXBean();
+        private final List<MemoryPoolMXBean> heapPools =
+                ManagementFactory.getMemoryPoolMXBeans().stream()
+                        .filter(pool -> pool.getType() == MemoryType.HEAP && pool.isValid())
+                        .toList();
+        private final Set<String> heapPoolNames = heapPools.stream()
+                .map(MemoryPoolMXBean::getName)
+                .collect(Collectors.toUnmodifiableSet());
+
+        private final List<StageMetrics> records = new ArrayList<>();
+
+        RecordingProfiler() {
+            super();
+        }
+
+        @Override
+        <T> T measure(String stage, Supplier<? extends T> task) {
+            Objects.requireNonNull(stage);
+            Objects.requireNonNull(task);
+
+            heapPools.forEach(MemoryPoolMXBean::resetPeakUsage);
+            StageEvent event = new StageEvent();
+            event.begin();
+
+            long processCpu0 = processCpuTime();
+            long threadCpu0 = threadCpuTime();
+            ReclaimedHeapCounter reclaimed = new ReclaimedHeapCounter(heapPoolNames);
+            long heapUsed0 = heapUsed();
+            long wall0 = System.nanoTime();
+
+            T result;
+            try {
+                result = task.get();
+            } finally {
+                reclaimed.stop();
+            }
+
+            long wall = System.nanoTime() - wall0;
+            long processCpu = difference(processCpuTime(), processCpu0);
+            long threadCpu = difference(threadCpuTime(), threadCpu0);
+            long allocated = reclaimed.bytes() < 0
+                    ? -1L
+                    : heapUsed() - heapUsed0 + reclaimed.bytes();
+            long peakHeap = heapPools.stream()
+                    .mapToLong(pool -> pool.getPeakUsage().getUsed())
+                    .sum();
+
+            event.end();
+            if (event.shouldCommit()) {
+                event.stage = stage;
+                event.processCpuTime = processCpu;
+                event.threadCpuTime = threadCpu;
+                event.allocated = allocated;
+                event.peakHeap = peakHeap;
+                event.commit();
+            }
+
+            records.add(new StageMetrics(
+                    stage, wall, processCpu, threadCpu, allocated, peakHeap));
+            return result;
+        }
+
+        @Override
+        List<StageMetrics> records() {
+            return List.copyOf(records);
+        }
+
+        private long processCpuTime() {
+            return osBean instanceof com.sun.management.OperatingSystemMXBean sunBean
+                    ? sunBean.getProcessCpuTime()
+                    : -1L;
+        }
+
+        private long threadCpuTime() {
+            return threadBean.isCurrentThreadCpuTimeSupported()
+                    ? threadBean.getCurrentThreadCpuTime()
+                    : -1L;
+        }
+
+        /**
+         * ヒープの各メモリプールの使用量の和.
+         */
+        private long heapUsed() {
+            return heapPools.stream()
+                    .mapToLong(pool -> pool.getUsage().getUsed())
+                    .sum();
+        }
+
+        /**
+         * 計測できない場合は -1 とする差分.
+         */
+        private static long difference(long after, long before) {
+            return after < 0 || before < 0 ? -1L : after - before;
+        }
+    }
+
+    /**
+     * 計測期間中の GC がヒープから回収した量を, GC の通知により数える.
+     * 
+     * <p>
+     * 通知は GC の後に別スレッドから非同期に届くので,
+     * 終了時には期間中の GC の回数分の通知が届くまで (上限 {@link #DELIVERY_TIMEOUT_MILLIS} ms) 待つ. <br>
+     * 通知に対応しない GC がある場合, 通知が揃わない場合は, 計測できない (-1) とする.
+     * </p>
+     */
+    private static final class ReclaimedHeapCounter implements NotificationListener {
+
+        private static final long DELIVERY_TIMEOUT_MILLIS = 1000L;
+
+        private final List<GarbageCollectorMXBean> collectors =
+                ManagementFactory.getGarbageCollectorMXBeans();
+        private final Set<String> heapPoolNames;
+        private final boolean supported;
+        private final long collections0;
+
+        private long reclaimed = 0L;
+        private long notified = 0L;
+        private long bytes = -1L;
+
+        /**
+         * 計測を開始する.
+         */
+        ReclaimedHeapCounter(Set<String> heapPoolNames) {
+            super();
+            this.heapPoolNames = heapPoolNames;
+            this.supported = collectors.stream().allMatch(c -> c instanceof NotificationEmitter);
+            if (supported) {
+                for (GarbageCollectorMXBean collector : collectors) {
+                    ((NotificationEmitter) collector).addNotificationListener(this, null, null);
+                }
+            }
+            this.collections0 = collectionCount();
+        }
+
+        @Override
+        public synchronized void handleNotification(Notification notification, Object handback) {
+            if (!GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION
+                    .equals(notification.getType())) {
+                return;
+            }
+            GcInfo info = GarbageCollectionNotificationInfo
+                    .from((CompositeData) notification.getUserData())
+                    .getGcInfo();
+            // 世代間の移動を打ち消すため, プールごとではなくヒープ全体の差をとる
+            reclaimed += heapUsed(info.getMemoryUsageBeforeGc()) - heapUsed(info.getMemoryUsageAfterGc());
+            notified++;
+            notifyAll();
+        }
+
+        /**
+         * 計測を終了する.
+         */
+        synchronized void stop() {
+            if (!supported) {
+                return;
+            }
+            long expected = collectionCount() - collections0;
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(DELIVERY_TIMEOUT_MILLIS);
+            try {
+                while (notified < expected) {
+                    long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                    if (remaining <= 0) {
+                        break;
+                    }
+                    wait(remaining);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            for (GarbageCollectorMXBean collector : collectors) {
+                try {
+                    ((NotificationEmitter) collector).removeNotificationListener(this);
+                } catch (ListenerNotFoundException ignored) {
+                    // 登録済みであるので起こらない
+                }
+            }
+            bytes = notified < expected ? -1L : reclaimed;
+        }
+
+        /**
+         * 回収した量を返す (計測できない場合は -1).
+         */
+        synchronized long bytes() {
+            return bytes;
+        }
+
+        private long heapUsed(Map<String, MemoryUsage> usages) {
+            long sum = 0L;
+            for (String name : heapPoolNames) {
+                MemoryUsage usage = usages.get(name);
+                if (Objects.nonNull(usage)) {
+                    sum += usage.getUsed();
+                }
+            }
+            return sum;
+        }
+
+        private long collectionCount() {
+            long sum = 0L;
+            for (GarbageCollectorMXBean collector : collectors) {
+                sum += Math.max(0L, collector.getCollectionCount());
+            }
+            return sum;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright © 2026 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+/*
+ * 2026.10.18
+ */
+package matsu.num.statistics.kdeapp.kde1d;
+
+import static matsu.num.statistics.kdeapp.kde1d.command.ArgumentRequiringCommand.*;
+import static matsu.num.statistics.kdeapp.kde1d.command.NoArgumentCommand.*;
+
+import matsu.num.statistics.kdeapp.kde1d.command.ConsoleParameterInterpreter;
+
+/**
+ * {@link StageProfiler} の構築器.
+ * 
+ * <p>
+ * 計測値の出力 (標準エラー出力, JSON ファイル) のいずれかが指定された場合,
+ * 計測を行うプロファイラとなる. <br>
+ * 指定されない場合, 何も計測しない.
+ * </p>
+ * 
+ * @author Matsuura Y.
+ */
+final class StageProfilerConstructor implements ComponentConstructor<StageProfiler> {
+
+    /**
+     * 唯一のコンストラクタ.
+     */
+    StageProfilerConstructor() {
+    }
+
+    /**
+     * @throws NullPointerException {@inheritDoc }
+     */
+    @Override
+    public StageProfiler construct(ConsoleParameterInterpreter interpreter) {
+
+        return interpreter.contains(PROFILE)
+                || interpreter.valueOf(PROFILE_JSON_FILE_PATH).isPresent()
+                        ? StageProfiler.recording()
+                        : StageProfiler.nullProfiler();
+    }
+}
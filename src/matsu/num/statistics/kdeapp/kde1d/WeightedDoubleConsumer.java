@@ -0,0 +1,35 @@
+/*
+ * Copyright © 2026 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+/*
+ * 2026.10.18
+ */
+package matsu.num.statistics.kdeapp.kde1d;
+
+import java.util.function.DoubleConsumer;
+
+/**
+ * 重み付きの値を受け取る, {@link DoubleConsumer} を模したコンシューマ.
+ * 
+ * <p>
+ * 重みは度数 (同じ値の出現回数) として扱われる. <br>
+ * ラムダ (あるいはメソッド参照) により実装されてもよい.
+ * </p>
+ * 
+ * @author Matsuura Y.
+ */
+@FunctionalInterface
+interface WeightedDoubleConsumer {
+
+    /**
+     * 重み付きの値を受け取る.
+     * 
+     * @param value 値
+     * @param weight 重み
+     */
+    public abstract void accept(double value, double weight);
+}
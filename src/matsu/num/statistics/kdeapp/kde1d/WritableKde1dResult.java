@@ -6,36 +6,127 @@
  */
 
 /*
- * 2026.1.25
+ * 2026.10.18
  */
 package matsu.num.statistics.kdeapp.kde1d;
 
+import java.io.IOException;
 import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 
 import matsu.num.statistics.kerneldensity.output.FormattableKdeResult1D;
+import matsu.num.statistics.kerneldensity.output.Kde1dCharSVTextFormatter;
 
 /**
  * 1次元のカーネル密度推定結果を扱うクラス.
  * 
  * @author Matsuura Y.
  */
-final class WritableKde1dResult {
-
-    private final FormattableKdeResult1D kde1dResult;
+abstract class WritableKde1dResult {
 
     /**
-     * パッケージ内にのみ公開されたコンストラクタ.
+     * ライブラリによる計算結果を, グリッド点と密度の配列に変換したインスタンスを返す.
      * 
      * <p>
      * {@link FormattableKdeResult1D} を生成する計算器から呼ばれることを想定している. <br>
      * それ以外の呼ばれ方は不適当である.
      * </p>
+     * 
+     * <p>
+     * ライブラリの結果は文字列としてのみ取り出せるので,
+     * ここで1回だけラベル無しのテキストに変換して解析する
+     * ({@link Double#toString(double)} の表現であるので, 値は失われない). <br>
+     * 以後の出力 (ラベル行を含む) はアプリ内部の評価エンジンの結果と同一の経路となる.
+     * </p>
+     * 
+     * @param kde1dResult 計算結果
+     * @return 結果
      */
-    WritableKde1dResult(FormattableKdeResult1D kde1dResult) {
+    static WritableKde1dResult of(FormattableKdeResult1D kde1dResult) {
+        List<String> lines = new ArrayList<>();
+        kde1dResult.formatted(Kde1dCharSVTextFormatter.labelless('\t')).forEach(lines::add);
+
+        double[] x = new double[lines.size()];
+        double[] density = new double[lines.size()];
+        for (int i = 0; i < lines.size(); i++) {
+            String line = lines.get(i);
+            int sep = line.indexOf('\t');
+            x[i] = Double.parseDouble(line.substring(0, sep));
+            density[i] = Double.parseDouble(line.substring(sep + 1));
+        }
+        return new ArrayResult(x, density);
+    }
+
+    /**
+     * グリッド上で評価された密度をラップしたインスタンスを返す.
+     * 
+     * <p>
+     * アプリ内部で実装された評価エンジンから呼ばれることを想定している. <br>
+     * 密度配列はコピーされないので, 以後書き換えてはならない.
+     * </p>
+     * 
+     * @param grid グリッド
+     * @param density 各グリッド点での密度
+     * @return 結果
+     */
+    static WritableKde1dResult of(EvaluationGrid grid, double[] density) {
+        return new GridResult(grid, density);
+    }
+
+    /**
+     * グリッド点と密度の配列をラップしたインスタンスを返す.
+     * 
+     * <p>
+     * 保存された結果 (キャッシュなど) から復元する場合に用いる. <br>
+     * 配列はコピーされないので, 以後書き換えてはならない.
+     * </p>
+     * 
+     * @param points グリッド点
+     * @param density 各グリッド点での密度
+     * @return 結果
+     * @throws IllegalArgumentException 配列の長さが一致しない場合
+     * @throws NullPointerException 引数がnullの場合
+     */
+    static WritableKde1dResult of(double[] points, double[] density) {
+        if (points.length != density.length) {
+            throw new IllegalArgumentException("length mismatch");
+        }
+        return new ArrayResult(points, density);
+    }
+
+    /**
+     * 多列の入力の列ごとの推定結果を, 横に並べた1個の結果として返す.
+     * 
+     * <p>
+     * 結果出力フォーマットは, 列ごとのグリッド点と密度の組を横に並べたものである
+     * (see {@link WritingFormatter#formatWide(int[], double[][], double[][])}). <br>
+     * 1列のみの場合, 結果は元の結果と同一の形式で出力される.
+     * </p>
+     * 
+     * @param results 列ごとの推定結果
+     * @param columnNumbers 列の番号 (ラベルに用いる)
+     * @return 結果
+     * @throws IllegalArgumentException 結果が空の場合, 結果と列の番号の個数が一致しない場合
+     * @throws NullPointerException 引数がnullの場合, nullを含む場合
+     */
+    static WritableKde1dResult wide(List<WritableKde1dResult> results, int[] columnNumbers) {
+        if (results.isEmpty() || results.size() != columnNumbers.length) {
+            throw new IllegalArgumentException("size mismatch");
+        }
+        if (results.size() == 1) {
+            return Objects.requireNonNull(results.get(0));
+        }
+        return new WideResult(List.copyOf(results), columnNumbers.clone());
+    }
+
+    /**
+     * 非公開のコンストラクタ. <br>
+     * ネストしたクラスからの継承のみ許可.
+     */
+    private WritableKde1dResult() {
         super();
-        assert Objects.nonNull(kde1dResult) : " arg is null";
-        this.kde1dResult = kde1dResult;
     }
 
     /**
@@ -54,10 +145,172 @@ final class WritableKde1dResult {
      * @return 書き込み処理で例外が発生した場合はtrue
      * @throws NullPointerException 引数にnullが含まれる場合
      */
-    boolean write(PrintWriter pw, WritingFormatter formatter) {
-        for (String s : formatter.format(kde1dResult)) {
+    final boolean write(PrintWriter pw, WritingFormatter formatter) {
+        for (String s : this.formatted(formatter)) {
             pw.println(s);
         }
         return pw.checkError();
     }
+
+    /**
+     * 結果をライターに出力する.
+     * 
+     * <p>
+     * 結果出力フォーマットは {@link #write(PrintWriter, WritingFormatter)} と同一である
+     * (ただし, 数値は {@link DoubleFormatter} による最短表現となる). <br>
+     * メソッド終了時に, ライターはフラッシュされる.
+     * </p>
+     * 
+     * @param writer 出力となるライター
+     * @param formatter フォーマッター
+     * @throws IOException 書き込みで例外が発生した場合
+     * @throws NullPointerException 引数にnullが含まれる場合
+     */
+    final void write(DelimitedTextWriter writer, WritingFormatter formatter) throws IOException {
+        this.writeTo(writer, formatter);
+        writer.flush();
+    }
+
+    /**
+     * 結果をグリッド点と密度の2個の配列として返す.
+     * 
+     * <p>
+     * 戻り値の要素0はグリッド点, 要素1は各グリッド点での密度であり, 長さは等しい. <br>
+     * 戻り値は呼び出しごとに生成されるので, 書き換えてもよい.
+     * </p>
+     * 
+     * @return {グリッド点, 密度}
+     */
+    abstract double[][] columns();
+
+    /**
+     * フォーマッターにより結果を文字列に変換する.
+     * 
+     * @param formatter フォーマッター
+     * @return 文字列変換後
+     */
+    abstract Iterable<String> formatted(WritingFormatter formatter);
+
+    /**
+     * フォーマッターにより結果をライターに書き込む (フラッシュはしない).
+     * 
+     * @param writer 書き込み先
+     * @param formatter フォーマッター
+     * @throws IOException 書き込みで例外が発生した場合
+     */
+    abstract void writeTo(DelimitedTextWriter writer, WritingFormatter formatter) throws IOException;
+
+    /**
+     * グリッド上で評価された結果.
+     */
+    private static final class GridResult extends WritableKde1dResult {
+
+        private final EvaluationGrid grid;
+        private final double[] density;
+
+        GridResult(EvaluationGrid grid, double[] density) {
+            super();
+            assert Objects.nonNull(grid) : " arg is null";
+            assert density.length == grid.size() : " size mismatch";
+            this.grid = grid;
+            this.density = density;
+        }
+
+        @Override
+        Iterable<String> formatted(WritingFormatter formatter) {
+            return formatter.format(grid.points(), density);
+        }
+
+        @Override
+        void writeTo(DelimitedTextWriter writer, WritingFormatter formatter) throws IOException {
+            formatter.write(grid.points(), density, writer);
+        }
+
+        @Override
+        double[][] columns() {
+            return new double[][] { grid.points(), density.clone() };
+        }
+    }
+
+    /**
+     * 配列として与えられた結果.
+     */
+    private static final class ArrayResult extends WritableKde1dResult {
+
+        private final double[] points;
+        private final double[] density;
+
+        ArrayResult(double[] points, double[] density) {
+            super();
+            this.points = points;
+            this.density = density;
+        }
+
+        @Override
+        Iterable<String> formatted(WritingFormatter formatter) {
+            return formatter.format(points, density);
+        }
+
+        @Override
+        void writeTo(DelimitedTextWriter writer, WritingFormatter formatter) throws IOException {
+            formatter.write(points, density, writer);
+        }
+
+        @Override
+        double[][] columns() {
+            return new double[][] { points.clone(), density.clone() };
+        }
+    }
+
+    /**
+     * 2列以上の推定結果を横に並べた結果.
+     */
+    private static final class WideResult extends WritableKde1dResult {
+
+        private final List<WritableKde1dResult> results;
+        private final int[] columnNumbers;
+
+        WideResult(List<WritableKde1dResult> results, int[] columnNumbers) {
+            super();
+            assert results.size() == columnNumbers.length : " size mismatch";
+            this.results = results;
+            this.columnNumbers = columnNumbers;
+        }
+
+        @Override
+        Iterable<String> formatted(WritingFormatter formatter) {
+            double[][][] parts = parts();
+            return formatter.formatWide(columnNumbers, parts[0], parts[1]);
+        }
+
+        @Override
+        void writeTo(DelimitedTextWriter writer, WritingFormatter formatter) throws IOException {
+            double[][][] parts = parts();
+            formatter.writeWide(columnNumbers, parts[0], parts[1], writer);
+        }
+
+        /**
+         * 横に並べた結果は2個の配列で表現できない.
+         * 
+         * @throws UnsupportedOperationException 常に
+         */
+        @Override
+        double[][] columns() {
+            throw new UnsupportedOperationException("wide result has multiple columns");
+        }
+
+        /**
+         * 列ごとのグリッド点と密度を {x の配列, density の配列} として返す.
+         */
+        private double[][][] parts() {
+            double[][] x = new double[results.size()][];
+            double[][] density = new double[results.size()][];
+            for (int j = 0; j < results.size(); j++) {
+                double[][] columns = results.get(j).columns();
+                x[j] = columns[0];
+                density[j] = columns[1];
+            }
+            return new double[][][] { x, density };
+        }
+    }
 }
@@ -6,15 +6,15 @@
  */
 
 /*
- * 2026.1.25
+ * 2026.10.18
  */
 package matsu.num.statistics.kdeapp.kde1d;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 
-import matsu.num.statistics.kerneldensity.output.FormattableKdeResult1D;
-import matsu.num.statistics.kerneldensity.output.Kde1dCharSVTextFormatter;
-
 /**
  * kde1dの結果出力のフォーマッターを扱う.
  * 
@@ -25,8 +25,6 @@ final class WritingFormatter {
     private final char separator;
     private final String labelHeader;
 
-    private final Kde1dCharSVTextFormatter formatter;
-
     /**
      * ビルダから呼ばれる.
      */
@@ -35,27 +33,179 @@ final class WritingFormatter {
 
         this.separator = builder.separator;
         this.labelHeader = builder.labelHeader;
-
-        this.formatter = createFormatter();
     }
 
     /**
-     * この書き込みパラメータからフォーマッターを構築する.
+     * グリッド上で評価された計算結果をフォーマットして文字列の形で返す.
+     * 
+     * <p>
+     * ラベルを出力する設定の場合, 先頭行は
+     * {@code <labelHeader>x<sep>density} となる. <br>
+     * 以降の各行は {@code <x><sep><density>} である.
+     * </p>
+     * 
+     * @param x グリッド点
+     * @param density 各グリッド点での密度
+     * @return 文字列変換後
+     * @throws IllegalArgumentException 配列の長さが一致しない場合
      */
-    private Kde1dCharSVTextFormatter createFormatter() {
-        return Objects.isNull(labelHeader)
-                ? Kde1dCharSVTextFormatter.labelless(separator)
-                : Kde1dCharSVTextFormatter.withLabelEscaped(separator, labelHeader);
+    Iterable<String> format(double[] x, double[] density) {
+        if (x.length != density.length) {
+            throw new IllegalArgumentException("length mismatch");
+        }
+
+        List<String> lines = new ArrayList<>(x.length + 1);
+        if (Objects.nonNull(labelHeader)) {
+            lines.add(labelHeader + "x" + separator + "density");
+        }
+        for (int i = 0; i < x.length; i++) {
+            lines.add(String.valueOf(x[i]) + separator + density[i]);
+        }
+        return lines;
     }
 
     /**
-     * kde1dの計算結果をフォーマットして文字列の形で返す.
+     * 複数の列の計算結果を横に並べ, フォーマットして文字列の形で返す.
+     * 
+     * <p>
+     * ラベルを出力する設定の場合, 先頭行は
+     * {@code <labelHeader>x_<k1><sep>density_<k1><sep>x_<k2><sep>density_<k2>...} となる
+     * ({@code k1, k2, ...} は列の番号). <br>
+     * 以降の各行は, 列ごとの {@code <x><sep><density>} を区切り文字で連結したものである. <br>
+     * 点数が他より少ない列は, 不足する行のフィールドを空にする.
+     * </p>
      * 
-     * @param kde1dResult 計算結果
+     * @param columnNumbers 列の番号
+     * @param x 列ごとのグリッド点
+     * @param density 列ごとの, 各グリッド点での密度
      * @return 文字列変換後
+     * @throws IllegalArgumentException 配列の長さが一致しない場合
      */
-    Iterable<String> format(FormattableKdeResult1D kde1dResult) {
-        return kde1dResult.formatted(formatter);
+    Iterable<String> formatWide(int[] columnNumbers, double[][] x, double[][] density) {
+        int rows = wideRowCount(columnNumbers, x, density);
+
+        List<String> lines = new ArrayList<>(rows + 1);
+        if (Objects.nonNull(labelHeader)) {
+            lines.add(wideLabel(columnNumbers));
+        }
+        for (int i = 0; i < rows; i++) {
+            lines.add(wideLine(x, density, i));
+        }
+        return lines;
+    }
+
+    /**
+     * 複数の列の計算結果を横に並べ, フォーマットしてライターに書き込む.
+     * 
+     * <p>
+     * 行の構成は {@link #formatWide(int[], double[][], double[][])} と同一であるが,
+     * すべての列が値を持つ行は {@link DoubleFormatter} による最短表現で書き込まれる.
+     * </p>
+     * 
+     * @param columnNumbers 列の番号
+     * @param x 列ごとのグリッド点
+     * @param density 列ごとの, 各グリッド点での密度
+     * @param writer 書き込み先
+     * @throws IOException 書き込みで例外が発生した場合
+     * @throws IllegalArgumentException 配列の長さが一致しない場合
+     */
+    void writeWide(int[] columnNumbers, double[][] x, double[][] density, DelimitedTextWriter writer)
+            throws IOException {
+        int rows = wideRowCount(columnNumbers, x, density);
+
+        if (Objects.nonNull(labelHeader)) {
+            writer.writeLine(wideLabel(columnNumbers));
+        }
+        double[] row = new double[2 * x.length];
+        for (int i = 0; i < rows; i++) {
+            boolean complete = true;
+            for (int j = 0; j < x.length; j++) {
+                if (i >= x[j].length) {
+                    complete = false;
+                    break;
+                }
+                row[2 * j] = x[j][i];
+                row[2 * j + 1] = density[j][i];
+            }
+            if (complete) {
+                writer.writeRow(row, separator);
+            } else {
+                writer.writeLine(wideLine(x, density, i));
+            }
+        }
+    }
+
+    /**
+     * 横に並べる列の配列の長さを検証し, 行数 (最大の点数) を返す.
+     */
+    private static int wideRowCount(int[] columnNumbers, double[][] x, double[][] density) {
+        if (columnNumbers.length != x.length || x.length != density.length) {
+            throw new IllegalArgumentException("length mismatch");
+        }
+        int rows = 0;
+        for (int j = 0; j < x.length; j++) {
+            if (x[j].length != density[j].length) {
+                throw new IllegalArgumentException("length mismatch");
+            }
+            rows = Math.max(rows, x[j].length);
+        }
+        return rows;
+    }
+
+    private String wideLabel(int[] columnNumbers) {
+        StringBuilder sb = new StringBuilder(labelHeader);
+        for (int j = 0; j < columnNumbers.length; j++) {
+            if (j > 0) {
+                sb.append(separator);
+            }
+            sb.append("x_").append(columnNumbers[j])
+                    .append(separator)
+                    .append("density_").append(columnNumbers[j]);
+        }
+        return sb.toString();
+    }
+
+    private String wideLine(double[][] x, double[][] density, int i) {
+        StringBuilder sb = new StringBuilder();
+        for (int j = 0; j < x.length; j++) {
+            if (j > 0) {
+                sb.append(separator);
+            }
+            if (i < x[j].length) {
+                sb.append(x[j][i]).append(separator).append(density[j][i]);
+            } else {
+                sb.append(separator);
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * グリッド上で評価された計算結果をフォーマットしてライターに書き込む.
+     * 
+     * <p>
+     * 行の構成は {@link #format(double[], double[])} と同一であるが,
+     * 数値は {@link DoubleFormatter} による最短表現で書き込まれ,
+     * 行ごとの文字列は生成されない.
+     * </p>
+     * 
+     * @param x グリッド点
+     * @param density 各グリッド点での密度
+     * @param writer 書き込み先
+     * @throws IOException 書き込みで例外が発生した場合
+     * @throws IllegalArgumentException 配列の長さが一致しない場合
+     */
+    void write(double[] x, double[] density, DelimitedTextWriter writer) throws IOException {
+        if (x.length != density.length) {
+            throw new IllegalArgumentException("length mismatch");
+        }
+
+        if (Objects.nonNull(labelHeader)) {
+            writer.writeLine(labelHeader + "x" + separator + "density");
+        }
+        for (int i = 0; i < x.length; i++) {
+            writer.writeRow(x[i], separator, density[i]);
+        }
     }
 
     /**
@@ -0,0 +1,90 @@
+/*
+ * Copyright © 2026 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+/*
+ * 2026.10.18
+ */
+package matsu.num.statistics.kdeapp.kde1d.binary;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * ダイレクトバッファを経由して, ヘッダと {@code double} 配列をブロック単位でチャネルに書き込む.
+ * 
+ * <p>
+ * このクラスのインスタンスはスレッドセーフでない.
+ * </p>
+ * 
+ * @author Matsuura Y.
+ */
+final class BlockWriter {
+
+    /**
+     * 書き込みに用いるダイレクトバッファのバイト数.
+     */
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final WritableByteChannel channel;
+    private final ByteBuffer buffer;
+
+    /**
+     * 書き込み先とバイトオーダーを与えて, インスタンスを構築する.
+     * 
+     * @param channel 書き込み先
+     * @param order バイトオーダー
+     */
+    BlockWriter(WritableByteChannel channel, ByteOrder order) {
+        super();
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(order);
+    }
+
+    /**
+     * ヘッダを書き込むためのバッファを返す. <br>
+     * 配列を書き込む前に呼ぶこと.
+     * 
+     * @return バッファ
+     */
+    ByteBuffer header() {
+        return buffer;
+    }
+
+    /**
+     * 配列をバッファに詰め, バッファが満ちるたびに書き込む.
+     * 
+     * @param values 配列
+     * @throws IOException 書き込みで例外が発生した場合
+     */
+    void writeArray(double[] values) throws IOException {
+        int offset = 0;
+        while (offset < values.length) {
+            if (buffer.remaining() < Double.BYTES) {
+                drain();
+            }
+            int count = Math.min(values.length - offset, buffer.remaining() / Double.BYTES);
+            buffer.asDoubleBuffer().put(values, offset, count);
+            buffer.position(buffer.position() + count * Double.BYTES);
+            offset += count;
+        }
+    }
+
+    /**
+     * バッファの内容をすべて書き込み, バッファを空にする.
+     * 
+     * @throws IOException 書き込みで例外が発生した場合
+     */
+    void drain() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
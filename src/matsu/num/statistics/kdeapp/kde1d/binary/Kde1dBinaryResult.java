@@ -0,0 +1,186 @@
+/*
+ * Copyright © 2026 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+/*
+ * 2026.10.18
+ */
+package matsu.num.statistics.kdeapp.kde1d.binary;
+
+import static java.nio.charset.StandardCharsets.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * kde1d の推定結果のバイナリ形式 (カラムナ形式) を扱うクラス.
+ * 
+ * <p>
+ * バイナリ形式はリトルエンディアンであり, 次の順に構成される. <br>
+ * 配列は8バイト境界に整列している.
+ * </p>
+ * 
+ * <ol>
+ * <li>マジックナンバー: ASCII 4バイト {@code "KDE1"}</li>
+ * <li>バージョン: int32 ({@link #VERSION})</li>
+ * <li>グリッド点数 {@code n}: int64</li>
+ * <li>グリッド点 {@code x[n]}: float64 の配列</li>
+ * <li>密度 {@code density[n]}: float64 の配列</li>
+ * </ol>
+ * 
+ * <p>
+ * 読み込みはファイルをメモリマップし, 配列をコピーせずに {@link DoubleBuffer} として公開する. <br>
+ * このクラスのインスタンスはイミュータブルであり, スレッドセーフである.
+ * </p>
+ * 
+ * @author Matsuura Y.
+ */
+public final class Kde1dBinaryResult {
+
+    /**
+     * バイナリ形式のバージョン.
+     */
+    public static final int VERSION = 1;
+
+    /**
+     * ヘッダのバイト数.
+     */
+    public static final int HEADER_SIZE = 16;
+
+    private static final byte[] MAGIC = "KDE1".getBytes(US_ASCII);
+
+    /**
+     * 書き込みに用いるダイレクトバッファのバイト数.
+     */
+    private static final int WRITE_BUFFER_SIZE = 1 << 16;
+
+    private final int size;
+    private final DoubleBuffer points;
+    private final DoubleBuffer density;
+
+    private Kde1dBinaryResult(int size, DoubleBuffer points, DoubleBuffer density) {
+        super();
+        this.size = size;
+        this.points = points;
+        this.density = density;
+    }
+
+    /**
+     * グリッド点数を返す.
+     * 
+     * @return グリッド点数
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * グリッド点の読み取り専用のビューを返す.
+     * 
+     * <p>
+     * 戻り値の位置は0, リミットはグリッド点数である.
+     * </p>
+     * 
+     * @return グリッド点
+     */
+    public DoubleBuffer points() {
+        return points.duplicate();
+    }
+
+    /**
+     * 各グリッド点での密度の読み取り専用のビューを返す.
+     * 
+     * <p>
+     * 戻り値の位置は0, リミットはグリッド点数である.
+     * </p>
+     * 
+     * @return 密度
+     */
+    public DoubleBuffer density() {
+        return density.duplicate();
+    }
+
+    /**
+     * バイナリ形式のファイルをメモリマップして読み込む.
+     * 
+     * <p>
+     * マップはファイルのクローズ後も有効であり, インスタンスがガベージコレクトされるまで保持される. <br>
+     * ファイルサイズが {@link Integer#MAX_VALUE} を超える結果は扱えない.
+     * </p>
+     * 
+     * @param path ファイルパス
+     * @return 読み込んだ結果
+     * @throws IOException ファイルアクセスで例外が発生した場合, ファイルの形式が不正な場合
+     * @throws NullPointerException 引数がnullの場合
+     */
+    public static Kde1dBinaryResult map(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            if (fileSize < HEADER_SIZE || fileSize > Integer.MAX_VALUE) {
+                throw new IOException("illegal file size: " + path);
+            }
+            ByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize)
+                    .order(ByteOrder.LITTLE_ENDIAN);
+
+            byte[] magic = new byte[MAGIC.length];
+            mapped.get(0, magic);
+            if (!Arrays.equals(magic, MAGIC)) {
+                throw new IOException("not a kde1d binary result: " + path);
+            }
+            int version = mapped.getInt(4);
+            if (version != VERSION) {
+                throw new IOException("unsupported version: " + version);
+            }
+            long size = mapped.getLong(8);
+            if (size < 0 || HEADER_SIZE + 2 * Double.BYTES * size != fileSize) {
+                throw new IOException("size mismatch: " + path);
+            }
+
+            int n = (int) size;
+            int length = n * Double.BYTES;
+            DoubleBuffer points = mapped.slice(HEADER_SIZE, length)
+                    .order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer().asReadOnlyBuffer();
+            DoubleBuffer density = mapped.slice(HEADER_SIZE + length, length)
+                    .order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer().asReadOnlyBuffer();
+            return new Kde1dBinaryResult(n, points, density);
+        }
+    }
+
+    /**
+     * 推定結果をバイナリ形式で書き込む.
+     * 
+     * <p>
+     * 配列はダイレクトバッファを経由してブロック単位で書き込まれる. <br>
+     * チャネルはクローズされない.
+     * </p>
+     * 
+     * @param channel 書き込み先
+     * @param points グリッド点
+     * @param density 各グリッド点での密度
+     * @throws IOException 書き込みで例外が発生した場合
+     * @throws IllegalArgumentException 配列の長さが一致しない場合
+     * @throws NullPointerException 引数がnullの場合
+     */
+    public static void write(WritableByteChannel channel, double[] points, double[] density)
+            throws IOException {
+        if (points.length != density.length) {
+            throw new IllegalArgumentException("length mismatch");
+        }
+
+        BlockWriter writer = new BlockWriter(channel, ByteOrder.LITTLE_ENDIAN);
+        writer.header().put(MAGIC).putInt(VERSION).putLong(points.length);
+        writer.writeArray(points);
+        writer.writeArray(density);
+        writer.drain();
+    }
+}
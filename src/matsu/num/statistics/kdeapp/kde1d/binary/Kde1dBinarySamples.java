@@ -0,0 +1,177 @@
+/*
+ * Copyright © 2026 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+/*
+ * 2026.10.18
+ */
+package matsu.num.statistics.kdeapp.kde1d.binary;
+
+import static java.nio.charset.StandardCharsets.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * kde1d の入力となるサンプルのバイナリ形式 (float64 の配列) のレイアウトを扱うクラス.
+ * 
+ * <p>
+ * バイナリ形式には, ヘッダ無しの形式とヘッダ付きの形式がある. <br>
+ * ヘッダ無しの形式は float64 の配列そのものであり, バイトオーダーは読み込み側で指定する. <br>
+ * ヘッダ付きの形式は次の順に構成され, バイトオーダーはバージョンの表現から判別される.
+ * </p>
+ * 
+ * <ol>
+ * <li>マジックナンバー: ASCII 4バイト {@code "KDES"}</li>
+ * <li>バージョン: int32 ({@link #VERSION})</li>
+ * <li>サンプル数 {@code n}: int64</li>
+ * <li>サンプル {@code values[n]}: float64 の配列</li>
+ * </ol>
+ * 
+ * <p>
+ * このクラスのインスタンスは, 1個のファイルの中の配列の位置とバイトオーダーを表現する. <br>
+ * イミュータブルであり, スレッドセーフである.
+ * </p>
+ * 
+ * @author Matsuura Y.
+ */
+public final class Kde1dBinarySamples {
+
+    /**
+     * ヘッダ付きの形式のバージョン.
+     */
+    public static final int VERSION = 1;
+
+    /**
+     * ヘッダ付きの形式のヘッダのバイト数.
+     */
+    public static final int HEADER_SIZE = 16;
+
+    private static final byte[] MAGIC = "KDES".getBytes(US_ASCII);
+
+    private final ByteOrder order;
+    private final long offset;
+    private final long count;
+
+    private Kde1dBinarySamples(ByteOrder order, long offset, long count) {
+        super();
+        this.order = order;
+        this.offset = offset;
+        this.count = count;
+    }
+
+    /**
+     * 配列のバイトオーダーを返す.
+     * 
+     * @return バイトオーダー
+     */
+    public ByteOrder order() {
+        return order;
+    }
+
+    /**
+     * ファイル先頭から配列の先頭までのバイト数を返す.
+     * 
+     * @return 配列の位置
+     */
+    public long offset() {
+        return offset;
+    }
+
+    /**
+     * サンプル数を返す.
+     * 
+     * @return サンプル数
+     */
+    public long count() {
+        return count;
+    }
+
+    /**
+     * ヘッダ無しの形式として, ファイルのレイアウトを返す.
+     * 
+     * @param channel ファイル
+     * @param order バイトオーダー
+     * @return レイアウト
+     * @throws IOException ファイルアクセスで例外が発生した場合,
+     *             ファイルサイズが8の倍数でない場合
+     * @throws NullPointerException 引数がnullの場合
+     */
+    public static Kde1dBinarySamples raw(FileChannel channel, ByteOrder order) throws IOException {
+        Objects.requireNonNull(order);
+        long size = channel.size();
+        if (size % Double.BYTES != 0) {
+            throw new IOException("file size is not a multiple of " + Double.BYTES + ": " + size);
+        }
+        return new Kde1dBinarySamples(order, 0L, size / Double.BYTES);
+    }
+
+    /**
+     * ヘッダ付きの形式として, ヘッダを読み込んでファイルのレイアウトを返す.
+     * 
+     * @param channel ファイル
+     * @return レイアウト
+     * @throws IOException ファイルアクセスで例外が発生した場合, ファイルの形式が不正な場合
+     * @throws NullPointerException 引数がnullの場合
+     */
+    public static Kde1dBinarySamples headered(FileChannel channel) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        while (header.hasRemaining()) {
+            if (channel.read(header, header.position()) < 0) {
+                throw new IOException("not a kde1d binary samples: header is too short");
+            }
+        }
+
+        byte[] magic = new byte[MAGIC.length];
+        header.get(0, magic);
+        if (!Arrays.equals(magic, MAGIC)) {
+            throw new IOException("not a kde1d binary samples: illegal magic number");
+        }
+
+        // バージョンの表現からバイトオーダーを判別する
+        ByteOrder order;
+        if (header.order(ByteOrder.LITTLE_ENDIAN).getInt(4) == VERSION) {
+            order = ByteOrder.LITTLE_ENDIAN;
+        } else if (header.order(ByteOrder.BIG_ENDIAN).getInt(4) == VERSION) {
+            order = ByteOrder.BIG_ENDIAN;
+        } else {
+            throw new IOException("unsupported version");
+        }
+
+        long count = header.order(order).getLong(8);
+        if (count < 0 || channel.size() != HEADER_SIZE + Double.BYTES * count) {
+            throw new IOException("size mismatch: header = " + count + ", file = " + channel.size());
+        }
+        return new Kde1dBinarySamples(order, HEADER_SIZE, count);
+    }
+
+    /**
+     * サンプルをヘッダ付きの形式で書き込む.
+     * 
+     * <p>
+     * 配列はダイレクトバッファを経由してブロック単位で書き込まれる. <br>
+     * チャネルはクローズされない.
+     * </p>
+     * 
+     * @param channel 書き込み先
+     * @param values サンプル
+     * @param order バイトオーダー
+     * @throws IOException 書き込みで例外が発生した場合
+     * @throws NullPointerException 引数がnullの場合
+     */
+    public static void write(WritableByteChannel channel, double[] values, ByteOrder order)
+            throws IOException {
+        BlockWriter writer = new BlockWriter(channel, order);
+        writer.header().put(MAGIC).putInt(VERSION).putLong(values.length);
+        writer.writeArray(values);
+        writer.drain();
+    }
+}
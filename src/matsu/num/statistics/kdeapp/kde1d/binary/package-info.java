@@ -0,0 +1,15 @@
+/*
+ * Copyright © 2026 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+/**
+ * kde1d のバイナリ形式の入出力に関するパッケージ.
+ * 
+ * <p>
+ * 他の Java プログラムから, kde1d のバイナリ出力を読み込むために利用できる.
+ * </p>
+ */
+package matsu.num.statistics.kdeapp.kde1d.binary;
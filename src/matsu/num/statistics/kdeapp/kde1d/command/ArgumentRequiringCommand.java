@@ -6,7 +6,7 @@
  */
 
 /*
- * 2026.2.11
+ * 2026.10.18
  */
 package matsu.num.statistics.kdeapp.kde1d.command;
 
@@ -33,15 +33,21 @@ import matsu.num.statistics.kdeapp.kde1d.exception.InvalidParameterException;
  */
 public final class ArgumentRequiringCommand<T> extends ConsoleOptionCommand {
 
+    /**
+     * 入力ファイルの指定において, 標準入力を表す引数.
+     */
+    public static final String STANDARD_INPUT = "-";
+
     /**
      * 入力ファイルの指定を表現するシングルトンインスタンス.
      * 
      * <p>
-     * 引数はバリデーションされない.
+     * 引数はバリデーションされない. <br>
+     * 引数が {@link #STANDARD_INPUT} の場合, 標準入力を表す.
      * </p>
      */
     public static final ArgumentRequiringCommand<String> INPUT_FILE_PATH =
-            identifying("INPUT_FILE_PATH", "--input-file", "-f");
+            filePath("INPUT_FILE_PATH", "--input-file", "-f");
 
     /**
      * 強制上書きモードによる出力ファイルの指定を表現するシングルトンインスタンス.
@@ -51,7 +57,7 @@ public final class ArgumentRequiringCommand<T> extends ConsoleOptionCommand {
      * </p>
      */
     public static final ArgumentRequiringCommand<String> OUTPUT_FORCE_FILE_PATH =
-            identifying("OUTPUT_FORCE_FILE_PATH", "--output-force", "-out-f");
+            filePath("OUTPUT_FORCE_FILE_PATH", "--output-force", "-out-f");
 
     /**
      * 上書き禁止モードである出力ファイルの指定を表現するシングルトンインスタンス.
@@ -61,7 +67,35 @@ public final class ArgumentRequiringCommand<T> extends ConsoleOptionCommand {
      * </p>
      */
     public static final ArgumentRequiringCommand<String> OUTPUT_FILE_PATH =
-            identifying("OUTPUT_FILE_PATH", "--output", "-out");
+            filePath("OUTPUT_FILE_PATH", "--output", "-out");
+
+    /**
+     * 入力ファイルの形式の指定を表現するシングルトンインスタンス.
+     * 
+     * <p>
+     * 引数はバリデーションされたうえで, {@link InputFormat} に変換される. <br>
+     * 引数は {@link InputFormat#stringValue()} のいずれかでなければならない.
+     * </p>
+     */
+    public static final ArgumentRequiringCommand<InputFormat> INPUT_FORMAT =
+            new ArgumentRequiringCommand<>(
+                    "INPUT_FORMAT", InputFormat.class,
+                    InputFormat::from,
+                    "--input-format");
+
+    /**
+     * 出力ファイルの形式の指定を表現するシングルトンインスタンス.
+     * 
+     * <p>
+     * 引数はバリデーションされたうえで, {@link OutputFormat} に変換される. <br>
+     * 引数は {@link OutputFormat#stringValue()} のいずれかでなければならない.
+     * </p>
+     */
+    public static final ArgumentRequiringCommand<OutputFormat> OUTPUT_FORMAT =
+            new ArgumentRequiringCommand<>(
+                    "OUTPUT_FORMAT", OutputFormat.class,
+                    OutputFormat::from,
+                    "--output-format");
 
     /**
      * 入力のコメント行の prefix の指定を表現するシングルトンインスタンス.
@@ -104,8 +138,197 @@ public final class ArgumentRequiringCommand<T> extends ConsoleOptionCommand {
     public static final ArgumentRequiringCommand<String> LABEL_HEADER =
             identifying("LABEL_HEADER", "--label-header");
 
+    /**
+     * 評価エンジンの指定を表現するシングルトンインスタンス.
+     * 
+     * <p>
+     * 引数はバリデーションされたうえで, {@link KdeEngine} に変換される. <br>
+     * 引数は {@link KdeEngine#stringValue()} のいずれかでなければならない.
+     * </p>
+     */
+    public static final ArgumentRequiringCommand<KdeEngine> ENGINE =
+            new ArgumentRequiringCommand<>(
+                    "ENGINE", KdeEngine.class,
+                    KdeEngine::from,
+                    "--engine");
+
+    /**
+     * 評価の並列度の指定を表現するシングルトンインスタンス.
+     * 
+     * <p>
+     * 引数はバリデーションされたうえで, {@code int} に変換される. <br>
+     * 引数は正の整数でなければならない.
+     * </p>
+     */
+    public static final ArgumentRequiringCommand<Integer> PARALLELISM =
+            new ArgumentRequiringCommand<>(
+                    "PARALLELISM", Integer.class,
+                    NumberInterpreter::positiveInteger,
+                    "--parallelism");
+
+    /**
+     * 評価グリッドの点数の指定を表現するシングルトンインスタンス.
+     * 
+     * <p>
+     * 引数はバリデーションされたうえで, {@link GridPoints} に変換される. <br>
+     * 引数は {@link GridPoints#MIN_POINTS} 以上 {@link GridPoints#MAX_POINTS} 以下の整数,
+     * {@code auto}, {@code auto:<正の数>} のいずれかでなければならない.
+     * </p>
+     */
+    public static final ArgumentRequiringCommand<GridPoints> GRID_POINTS =
+            new ArgumentRequiringCommand<>(
+                    "GRID_POINTS", GridPoints.class,
+                    GridPoints::from,
+                    "--grid-points");
+
+    /**
+     * カーネルの打ち切り半径 (バンド幅を単位とする) の指定を表現するシングルトンインスタンス.
+     * 
+     * <p>
+     * 引数はバリデーションされたうえで, {@code double} に変換される. <br>
+     * 引数は正の有限な数でなければならない.
+     * </p>
+     */
+    public static final ArgumentRequiringCommand<Double> CUTOFF =
+            new ArgumentRequiringCommand<>(
+                    "CUTOFF", Double.class,
+                    NumberInterpreter::positiveFiniteDouble,
+                    "--cutoff");
+
+    /**
+     * 描画区間の指定を表現するシングルトンインスタンス.
+     * 
+     * <p>
+     * 引数はバリデーションされたうえで, {@link PlotRange} に変換される. <br>
+     * 引数は {@code data}, {@code quantile:<裾確率>} (裾確率は0より大きく0.5未満),
+     * {@code <下端>,<上端>} のいずれかでなければならない.
+     * </p>
+     */
+    public static final ArgumentRequiringCommand<PlotRange> RANGE =
+            new ArgumentRequiringCommand<>(
+                    "RANGE", PlotRange.class,
+                    PlotRange::from,
+                    "--range");
+
+    /**
+     * 描画区間の余白 (バンド幅を単位とする) の指定を表現するシングルトンインスタンス.
+     * 
+     * <p>
+     * 引数はバリデーションされたうえで, {@code double} に変換される. <br>
+     * 引数は0以上の有限な数でなければならない.
+     * </p>
+     */
+    public static final ArgumentRequiringCommand<Double> PAD_BANDWIDTHS =
+            new ArgumentRequiringCommand<>(
+                    "PAD_BANDWIDTHS", Double.class,
+                    NumberInterpreter::nonNegativeFiniteDouble,
+                    "--pad-bandwidths");
+
+    /**
+     * 多列のテキスト入力から推定に用いる列の指定を表現するシングルトンインスタンス.
+     * 
+     * <p>
+     * 引数はバリデーションされたうえで, {@link ColumnSelection} に変換される. <br>
+     * 引数は1以上 {@link ColumnSelection#MAX_COLUMN} 以下の重複しない整数をカンマで区切ったものでなければならない.
+     * </p>
+     */
+    public static final ArgumentRequiringCommand<ColumnSelection> COLUMNS =
+            new ArgumentRequiringCommand<>(
+                    "COLUMNS", ColumnSelection.class,
+                    ColumnSelection::from,
+                    "--columns");
+
+    /**
+     * 多列の推定結果の出力レイアウトの指定を表現するシングルトンインスタンス.
+     * 
+     * <p>
+     * 引数はバリデーションされたうえで, {@link ColumnLayout} に変換される. <br>
+     * 引数は {@link ColumnLayout#stringValue()} のいずれかでなければならない.
+     * </p>
+     */
+    public static final ArgumentRequiringCommand<ColumnLayout> COLUMN_OUTPUT =
+            new ArgumentRequiringCommand<>(
+                    "COLUMN_OUTPUT", ColumnLayout.class,
+                    ColumnLayout::from,
+                    "--column-output");
+
+    /**
+     * 結果のキャッシュを保存するディレクトリの指定を表現するシングルトンインスタンス.
+     * 
+     * <p>
+     * 引数はバリデーションされない.
+     * </p>
+     */
+    public static final ArgumentRequiringCommand<String> CACHE_DIR_PATH =
+            filePath("CACHE_DIR_PATH", "--cache-dir");
+
+    /**
+     * 結果のキャッシュの合計サイズの上限 (MiB) の指定を表現するシングルトンインスタンス.
+     * 
+     * <p>
+     * 引数はバリデーションされたうえで, {@code int} に変換される. <br>
+     * 引数は正の整数でなければならない.
+     * </p>
+     */
+    public static final ArgumentRequiringCommand<Integer> CACHE_SIZE =
+            new ArgumentRequiringCommand<>(
+                    "CACHE_SIZE", Integer.class,
+                    NumberInterpreter::positiveInteger,
+                    "--cache-size");
+
+    /**
+     * ステージごとの時間とメモリの計測値を出力する JSON ファイルの指定を表現するシングルトンインスタンス.
+     * 
+     * <p>
+     * 引数はバリデーションされない.
+     * </p>
+     */
+    public static final ArgumentRequiringCommand<String> PROFILE_JSON_FILE_PATH =
+            filePath("PROFILE_JSON_FILE_PATH", "--profile-json");
+
+    /**
+     * バッチ実行におけるマニフェストファイルの指定を表現するシングルトンインスタンス.
+     * 
+     * <p>
+     * 引数はバリデーションされない.
+     * </p>
+     */
+    public static final ArgumentRequiringCommand<String> MANIFEST_FILE_PATH =
+            filePath("MANIFEST_FILE_PATH", "--manifest");
+
+    /**
+     * サーバー実行における UNIX ドメインソケットのファイルパスの指定を表現するシングルトンインスタンス.
+     * 
+     * <p>
+     * 引数はバリデーションされない.
+     * </p>
+     */
+    public static final ArgumentRequiringCommand<String> SOCKET_FILE_PATH =
+            filePath("SOCKET_FILE_PATH", "--socket");
+
+    /**
+     * 密度の代わりに部分集計を書き込むファイルパスの指定を表現するシングルトンインスタンス.
+     * 
+     * <p>
+     * 引数はバリデーションされない.
+     * </p>
+     */
+    public static final ArgumentRequiringCommand<String> PARTIAL_OUTPUT_FILE_PATH =
+            filePath("PARTIAL_OUTPUT_FILE_PATH", "--partial-output");
+
+    /**
+     * 併合実行における部分集計のファイルを置いたディレクトリの指定を表現するシングルトンインスタンス.
+     * 
+     * <p>
+     * 引数はバリデーションされない.
+     * </p>
+     */
+    public static final ArgumentRequiringCommand<String> PARTIAL_DIR_PATH =
+            filePath("PARTIAL_DIR_PATH", "--partials");
+
     private final Class<T> valueType;
     private final Function<? super String, ? extends T> converter;
+    private final boolean filePath;
 
     /**
      * 内部から呼ばれる唯一のコンストラクタ.
@@ -123,10 +346,24 @@ public final class ArgumentRequiringCommand<T> extends ConsoleOptionCommand {
             String enumString,
             Class<T> valueType, Function<? super String, ? extends T> converter,
             String commandString, String... asString) {
+        this(enumString, valueType, converter, false, commandString, asString);
+    }
+
+    /**
+     * 引数がファイルパスであるかを指定してインスタンスを生成する.
+     * 
+     * @param filePath 引数がファイルパスならば {@code true}
+     */
+    private ArgumentRequiringCommand(
+            String enumString,
+            Class<T> valueType, Function<? super String, ? extends T> converter,
+            boolean filePath,
+            String commandString, String... asString) {
         super(enumString, commandString, asString);
 
         this.valueType = valueType;
         this.converter = converter;
+        this.filePath = filePath;
     }
 
     /**
@@ -140,6 +377,31 @@ public final class ArgumentRequiringCommand<T> extends ConsoleOptionCommand {
                 commandString, asString);
     }
 
+    /**
+     * 引数がファイルパスであり, コンバータに恒等写像を与える形式で, インスタンスを生成.
+     */
+    private static ArgumentRequiringCommand<String> filePath(
+            String enumString, String commandString, String... asString) {
+
+        return new ArgumentRequiringCommand<String>(
+                enumString, String.class, s -> s, true,
+                commandString, asString);
+    }
+
+    /**
+     * このコマンドの引数がファイルパスであるかを判定する.
+     * 
+     * <p>
+     * ファイルパスである引数は, 作業ディレクトリを基準とした相対パスで与えることができる
+     * (see {@link ConsoleParameterInterpreter#resolveFilePaths(String[], java.nio.file.Path)}).
+     * </p>
+     * 
+     * @return 引数がファイルパスならば {@code true}
+     */
+    public boolean isFilePath() {
+        return this.filePath;
+    }
+
     /**
      * 与えたインスタンスを自身の型にキャストする.
      * 
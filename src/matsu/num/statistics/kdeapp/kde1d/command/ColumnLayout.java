@@ -0,0 +1,75 @@
+/*
+ * Copyright © 2026 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+/*
+ * 2026.10.18
+ */
+package matsu.num.statistics.kdeapp.kde1d.command;
+
+import static java.util.stream.Collectors.*;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 多列入力における, 列ごとの推定結果の出力の配置を表現する列挙型.
+ * 
+ * @author Matsuura Y.
+ */
+public enum ColumnLayout {
+
+    /**
+     * 列ごとのグリッド点と密度を横に並べた, 1個の出力.
+     */
+    WIDE("wide"),
+
+    /**
+     * 列ごとに分けた出力 (ファイル名に列番号を付与する).
+     */
+    SPLIT("split");
+
+    private final String stringValue;
+
+    private ColumnLayout(String stringValue) {
+        this.stringValue = stringValue;
+    }
+
+    /**
+     * コマンド引数としての文字列表現を返す.
+     * 
+     * @return 文字列表現
+     */
+    public String stringValue() {
+        return stringValue;
+    }
+
+    /**
+     * 文字列表現から出力の配置を取得する. <br>
+     * 該当するものがない場合, {@code null} を返す.
+     * 
+     * @param s 文字列
+     * @return 出力の配置, 該当なしなら {@code null}
+     * @throws NullPointerException 引数がnull
+     */
+    static ColumnLayout from(String s) {
+        return MapperHolder.mapper.get(Objects.requireNonNull(s));
+    }
+
+    /**
+     * String から列挙定数へのマッパホルダ.
+     */
+    private static final class MapperHolder {
+
+        static final Map<String, ColumnLayout> mapper;
+
+        static {
+            mapper = Arrays.stream(ColumnLayout.values())
+                    .collect(toMap(ColumnLayout::stringValue, e -> e));
+        }
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright © 2026 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+/*
+ * 2026.10.18
+ */
+package matsu.num.statistics.kdeapp.kde1d.command;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * 多列のテキスト入力から推定に用いる列の選択を表現する.
+ * 
+ * <p>
+ * 列は1始まりの列番号で指定され, 重複してはならない. <br>
+ * 列番号の並びは指定された順序のまま保持され, 推定結果もこの順序で出力される.
+ * </p>
+ * 
+ * <p>
+ * このクラスはイミュータブルである.
+ * </p>
+ * 
+ * @author Matsuura Y.
+ */
+public final class ColumnSelection {
+
+    /**
+     * 列番号の最大値.
+     */
+    public static final int MAX_COLUMN = 1 << 12;
+
+    /**
+     * 文字列表現において, 列番号を区切る文字.
+     */
+    private static final char SEPARATOR = ',';
+
+    /**
+     * 1始まりの列番号.
+     */
+    private final int[] columns;
+
+    private ColumnSelection(int[] columns) {
+        super();
+        this.columns = columns;
+    }
+
+    /**
+     * 1始まりの列番号を与えて選択を返す.
+     * 
+     * @param columns 列番号
+     * @return 選択
+     * @throws IllegalArgumentException 列番号が空の場合, 列番号が1以上 {@link #MAX_COLUMN} 以下でない場合,
+     *             列番号が重複する場合
+     * @throws NullPointerException 引数がnullの場合
+     */
+    public static ColumnSelection of(int... columns) {
+        int[] copy = columns.clone();
+        if (copy.length == 0) {
+            throw new IllegalArgumentException("no column");
+        }
+        for (int column : copy) {
+            if (!(1 <= column && column <= MAX_COLUMN)) {
+                throw new IllegalArgumentException("illegal column: " + column);
+            }
+        }
+        if (Arrays.stream(copy).distinct().count() != copy.length) {
+            throw new IllegalArgumentException("duplicate column: " + Arrays.toString(copy));
+        }
+        return new ColumnSelection(copy);
+    }
+
+    /**
+     * 選択した列の個数を返す.
+     * 
+     * @return 列の個数
+     */
+    public int size() {
+        return columns.length;
+    }
+
+    /**
+     * 選択した列番号 (1始まり) の配列を返す. <br>
+     * 戻り値は呼び出しごとに生成されるので, 書き換えてもよい.
+     * 
+     * @return 列番号
+     */
+    public int[] columns() {
+        return columns.clone();
+    }
+
+    /**
+     * 文字列表現から列の選択を取得する. <br>
+     * 該当するものがない場合, {@code null} を返す.
+     * 
+     * <p>
+     * 文字列表現は, 列番号 (正の整数) をカンマで区切って並べたものである
+     * (例: {@code 1,3,4}).
+     * </p>
+     * 
+     * @param s 文字列
+     * @return 選択, 該当なしなら {@code null}
+     * @throws NullPointerException 引数がnull
+     */
+    static ColumnSelection from(String s) {
+        String[] tokens = Objects.requireNonNull(s).split(String.valueOf(SEPARATOR), -1);
+        int[] columns = new int[tokens.length];
+        for (int i = 0; i < tokens.length; i++) {
+            Integer value = NumberInterpreter.positiveInteger(tokens[i].strip());
+            if (Objects.isNull(value) || value > MAX_COLUMN) {
+                return null;
+            }
+            columns[i] = value;
+        }
+        if (Arrays.stream(columns).distinct().count() != columns.length) {
+            return null;
+        }
+        return new ColumnSelection(columns);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < columns.length; i++) {
+            if (i > 0) {
+                sb.append(SEPARATOR);
+            }
+            sb.append(columns[i]);
+        }
+        return sb.toString();
+    }
+}
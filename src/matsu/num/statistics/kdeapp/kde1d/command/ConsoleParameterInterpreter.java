@@ -6,13 +6,15 @@
  */
 
 /*
- * 2026.2.12
+ * 2026.10.18
  */
 package matsu.num.statistics.kdeapp.kde1d.command;
 
 import static matsu.num.statistics.kdeapp.kde1d.command.ArgumentRequiringCommand.*;
 import static matsu.num.statistics.kdeapp.kde1d.command.rule.CommandAssignmentRule.*;
 
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
@@ -51,10 +53,47 @@ public final class ConsoleParameterInterpreter {
      */
     private static final CommandAssignmentRule COMMAND_ASSIGNMENT_RULE;
 
+    /**
+     * バッチ実行のコマンドの指定に関するルール.
+     */
+    private static final CommandAssignmentRule BATCH_COMMAND_ASSIGNMENT_RULE;
+
+    /**
+     * サーバー実行のコマンドの指定に関するルール.
+     */
+    private static final CommandAssignmentRule SERVER_COMMAND_ASSIGNMENT_RULE;
+
+    /**
+     * 部分集計の併合実行のコマンドの指定に関するルール.
+     */
+    private static final CommandAssignmentRule MERGE_COMMAND_ASSIGNMENT_RULE;
+
     static {
         COMMAND_ASSIGNMENT_RULE = composite(
                 singleRequiredRule(INPUT_FILE_PATH),
-                singleOptionalRule(OUTPUT_FILE_PATH, OUTPUT_FORCE_FILE_PATH));
+                singleOptionalRule(OUTPUT_FILE_PATH, OUTPUT_FORCE_FILE_PATH, PARTIAL_OUTPUT_FILE_PATH),
+                singleOptionalRule(ENGINE, NoArgumentCommand.STREAMING),
+                prohibitedCommandRule(MANIFEST_FILE_PATH),
+                prohibitedCommandRule(SOCKET_FILE_PATH),
+                prohibitedCommandRule(PARTIAL_DIR_PATH));
+
+        BATCH_COMMAND_ASSIGNMENT_RULE = composite(
+                singleRequiredRule(MANIFEST_FILE_PATH),
+                prohibitedCommandRule(INPUT_FILE_PATH),
+                prohibitedCommandRule(SOCKET_FILE_PATH));
+
+        SERVER_COMMAND_ASSIGNMENT_RULE = composite(
+                singleRequiredRule(SOCKET_FILE_PATH),
+                prohibitedCommandRule(INPUT_FILE_PATH),
+                prohibitedCommandRule(MANIFEST_FILE_PATH));
+
+        MERGE_COMMAND_ASSIGNMENT_RULE = composite(
+                singleRequiredRule(PARTIAL_DIR_PATH),
+                singleOptionalRule(OUTPUT_FILE_PATH, OUTPUT_FORCE_FILE_PATH),
+                prohibitedCommandRule(INPUT_FILE_PATH),
+                prohibitedCommandRule(MANIFEST_FILE_PATH),
+                prohibitedCommandRule(SOCKET_FILE_PATH),
+                prohibitedCommandRule(PARTIAL_OUTPUT_FILE_PATH));
     }
 
     private final Map<ArgumentRequiringCommand<?>, Object> argCommandMapper;
@@ -113,6 +152,107 @@ public final class ConsoleParameterInterpreter {
         return from(args, COMMAND_ASSIGNMENT_RULE);
     }
 
+    /**
+     * 与えられた raw なコンソール引数で解釈された, バッチ実行のためのコンソールパラメータ解釈を返す.
+     * 
+     * <p>
+     * バッチ実行では, マニフェストファイルの指定が必須であり,
+     * 入力ファイルの指定は禁止される
+     * (入力ファイルなど各ジョブのパラメータは, マニフェストの各行で指定する).
+     * </p>
+     * 
+     * @param args raw なコンソール引数
+     * @return (解釈された) コンソールパラメータ
+     * @throws InvalidParameterException パラメータの形式が不正の場合, コマンドの組み合わせが不正の場合
+     * @throws NullPointerException 引数にnullが含まれる場合
+     */
+    public static ConsoleParameterInterpreter fromBatch(
+            String[] args) {
+
+        return from(args, BATCH_COMMAND_ASSIGNMENT_RULE);
+    }
+
+    /**
+     * 与えられた raw なコンソール引数で解釈された, サーバー実行のためのコンソールパラメータ解釈を返す.
+     * 
+     * <p>
+     * サーバー実行では, ソケットファイルの指定が必須であり,
+     * 入力ファイルとマニフェストファイルの指定は禁止される
+     * (各ジョブのパラメータは, クライアントからの要求で指定する).
+     * </p>
+     * 
+     * @param args raw なコンソール引数
+     * @return (解釈された) コンソールパラメータ
+     * @throws InvalidParameterException パラメータの形式が不正の場合, コマンドの組み合わせが不正の場合
+     * @throws NullPointerException 引数にnullが含まれる場合
+     */
+    public static ConsoleParameterInterpreter fromServer(
+            String[] args) {
+
+        return from(args, SERVER_COMMAND_ASSIGNMENT_RULE);
+    }
+
+    /**
+     * 与えられた raw なコンソール引数で解釈された, 部分集計の併合実行のためのコンソールパラメータ解釈を返す.
+     * 
+     * <p>
+     * 併合実行では, 部分集計のディレクトリの指定が必須であり,
+     * 入力ファイル, マニフェストファイル, ソケットファイル, 部分集計の出力先の指定は禁止される.
+     * </p>
+     * 
+     * @param args raw なコンソール引数
+     * @return (解釈された) コンソールパラメータ
+     * @throws InvalidParameterException パラメータの形式が不正の場合, コマンドの組み合わせが不正の場合
+     * @throws NullPointerException 引数にnullが含まれる場合
+     */
+    public static ConsoleParameterInterpreter fromMerge(
+            String[] args) {
+
+        return from(args, MERGE_COMMAND_ASSIGNMENT_RULE);
+    }
+
+    /**
+     * raw なコンソール引数のうち, ファイルパスを引数にとるコマンドの後続の文字列を,
+     * 与えた作業ディレクトリを基準に解決した, 新しいコンソール引数を返す.
+     * 
+     * <p>
+     * ファイルパスを引数にとるコマンドは, {@link ArgumentRequiringCommand#isFilePath()} で判断する. <br>
+     * 絶対パスとして与えられた引数, パスとして解釈できない引数, コマンドとして解釈できない文字列,
+     * 標準入力を表す入力ファイルの指定 ({@link ArgumentRequiringCommand#STANDARD_INPUT}) はそのまま残す
+     * (コマンドとしての検証は, {@link #from(String[])} などで行われる).
+     * </p>
+     * 
+     * @param args raw なコンソール引数
+     * @param workingDirectory 作業ディレクトリ
+     * @return 解決後のコンソール引数
+     * @throws NullPointerException 引数にnullが含まれる場合
+     */
+    public static String[] resolveFilePaths(String[] args, Path workingDirectory) {
+        Objects.requireNonNull(workingDirectory);
+
+        String[] out = args.clone();
+        for (int i = 0; i < out.length - 1; i++) {
+            Optional<ArgumentRequiringCommand<?>> op =
+                    ArgumentRequiringCommand.interpret(out[i]);
+            if (op.isEmpty()) {
+                continue;
+            }
+            i++;
+            if (!op.get().isFilePath()) {
+                continue;
+            }
+            if (op.get() == INPUT_FILE_PATH && STANDARD_INPUT.equals(out[i])) {
+                continue;
+            }
+            try {
+                out[i] = workingDirectory.resolve(out[i]).toString();
+            } catch (InvalidPathException ignore) {
+                // パスとして解釈できない場合は, 実行時のファイルアクセスで検出される
+            }
+        }
+        return out;
+    }
+
     /**
      * (非公開) 与えられた raw なコンソール引数で解釈された, コンソールパラメータ解釈を返す. <br>
      * このメソッドは, 公開すべきではない.
@@ -0,0 +1,188 @@
+/*
+ * Copyright © 2026 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+/*
+ * 2026.10.18
+ */
+package matsu.num.statistics.kdeapp.kde1d.command;
+
+import java.util.Objects;
+
+/**
+ * 評価グリッドの点数 (空間分解能) の指定を表現する.
+ * 
+ * <p>
+ * 指定は次のいずれかである.
+ * </p>
+ * 
+ * <ul>
+ * <li>固定: 描画区間によらず, 与えた点数で評価する.</li>
+ * <li>自動: バンド幅あたりの点数を与え, 描画区間の幅とバンド幅から点数を定める.
+ * 点数は {@link #MIN_AUTO_POINTS} 以上 {@link #MAX_AUTO_POINTS} 以下に制限される.</li>
+ * </ul>
+ * 
+ * <p>
+ * このクラスはイミュータブルである.
+ * </p>
+ * 
+ * @author Matsuura Y.
+ */
+public final class GridPoints {
+
+    /**
+     * 固定の点数の最小値.
+     */
+    public static final int MIN_POINTS = 2;
+
+    /**
+     * 固定の点数の最大値.
+     */
+    public static final int MAX_POINTS = 1 << 24;
+
+    /**
+     * 自動で定める点数の最小値.
+     */
+    public static final int MIN_AUTO_POINTS = 32;
+
+    /**
+     * 自動で定める点数の最大値.
+     */
+    public static final int MAX_AUTO_POINTS = 1 << 20;
+
+    /**
+     * 自動モードにおける, バンド幅あたりの点数のデフォルト値.
+     */
+    public static final double DEFAULT_POINTS_PER_BANDWIDTH = 8d;
+
+    /**
+     * 自動モードを表すコマンド引数.
+     */
+    private static final String AUTO = "auto";
+
+    /**
+     * 自動モードにおいて, バンド幅あたりの点数を区切る文字.
+     */
+    private static final char AUTO_SEPARATOR = ':';
+
+    /**
+     * 固定の点数 (自動モードでは0).
+     */
+    private final int points;
+
+    /**
+     * バンド幅あたりの点数 (固定モードでは NaN).
+     */
+    private final double pointsPerBandwidth;
+
+    private GridPoints(int points, double pointsPerBandwidth) {
+        super();
+        this.points = points;
+        this.pointsPerBandwidth = pointsPerBandwidth;
+    }
+
+    /**
+     * 固定の点数による指定を返す.
+     * 
+     * @param points 点数
+     * @return 指定
+     * @throws IllegalArgumentException 点数が {@link #MIN_POINTS} 以上 {@link #MAX_POINTS} 以下でない場合
+     */
+    public static GridPoints fixed(int points) {
+        if (!(MIN_POINTS <= points && points <= MAX_POINTS)) {
+            throw new IllegalArgumentException("illegal grid size: " + points);
+        }
+        return new GridPoints(points, Double.NaN);
+    }
+
+    /**
+     * バンド幅あたりの点数による自動の指定を返す.
+     * 
+     * @param pointsPerBandwidth バンド幅あたりの点数
+     * @return 指定
+     * @throws IllegalArgumentException 引数が正の有限値でない場合
+     */
+    public static GridPoints perBandwidth(double pointsPerBandwidth) {
+        if (!(pointsPerBandwidth > 0 && Double.isFinite(pointsPerBandwidth))) {
+            throw new IllegalArgumentException("illegal points per bandwidth: " + pointsPerBandwidth);
+        }
+        return new GridPoints(0, pointsPerBandwidth);
+    }
+
+    /**
+     * 自動モードであるかを判定する.
+     * 
+     * @return 自動モードならば {@code true}
+     */
+    public boolean isAuto() {
+        return points == 0;
+    }
+
+    /**
+     * 描画区間の幅とバンド幅から, グリッド点数を返す.
+     * 
+     * <p>
+     * 固定モードでは, 引数によらず固定の点数を返す. <br>
+     * 自動モードでは, グリッド間隔がバンド幅の {@code 1 / pointsPerBandwidth}
+     * 以下となる最小の点数を, {@link #MIN_AUTO_POINTS} 以上 {@link #MAX_AUTO_POINTS} 以下に制限して返す
+     * (引数が正の有限値でない場合は {@link #MAX_AUTO_POINTS} とする).
+     * </p>
+     * 
+     * @param span 描画区間の幅
+     * @param bandwidth バンド幅
+     * @return グリッド点数
+     */
+    public int sizeFor(double span, double bandwidth) {
+        if (!isAuto()) {
+            return points;
+        }
+        double intervals = Math.ceil(span / bandwidth * pointsPerBandwidth);
+        if (!(span > 0 && bandwidth > 0 && intervals < MAX_AUTO_POINTS)) {
+            return MAX_AUTO_POINTS;
+        }
+        return Math.max(MIN_AUTO_POINTS, (int) intervals + 1);
+    }
+
+    /**
+     * 文字列表現からグリッド点数の指定を取得する. <br>
+     * 該当するものがない場合, {@code null} を返す.
+     * 
+     * <p>
+     * 文字列表現は, 固定の点数を表す整数,
+     * 自動モードを表す {@code auto} (バンド幅あたり {@link #DEFAULT_POINTS_PER_BANDWIDTH} 点),
+     * またはバンド幅あたりの点数を与えた {@code auto:<正の数>} のいずれかである.
+     * </p>
+     * 
+     * @param s 文字列
+     * @return 指定, 該当なしなら {@code null}
+     * @throws NullPointerException 引数がnull
+     */
+    static GridPoints from(String s) {
+        String stripped = Objects.requireNonNull(s).strip();
+        if (stripped.equals(AUTO)) {
+            return perBandwidth(DEFAULT_POINTS_PER_BANDWIDTH);
+        }
+        if (stripped.startsWith(AUTO + AUTO_SEPARATOR)) {
+            try {
+                double value = Double.parseDouble(stripped.substring(AUTO.length() + 1));
+                return value > 0 && Double.isFinite(value) ? perBandwidth(value) : null;
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+        Integer value = NumberInterpreter.positiveInteger(stripped);
+        return Objects.nonNull(value) && MIN_POINTS <= value && value <= MAX_POINTS
+                ? fixed(value)
+                : null;
+    }
+
+    @Override
+    public String toString() {
+        return isAuto()
+                ? AUTO + AUTO_SEPARATOR + pointsPerBandwidth
+                : String.valueOf(points);
+    }
+}
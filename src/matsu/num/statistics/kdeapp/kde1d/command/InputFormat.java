@@ -0,0 +1,90 @@
+/*
+ * Copyright © 2026 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+/*
+ * 2026.10.18
+ */
+package matsu.num.statistics.kdeapp.kde1d.command;
+
+import static java.util.stream.Collectors.*;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 入力ファイルの形式を表現する列挙型.
+ * 
+ * @author Matsuura Y.
+ */
+public enum InputFormat {
+
+    /**
+     * 1行1値のテキスト.
+     */
+    TEXT("text"),
+
+    /**
+     * 1行に値と重みの組 (カンマまたは空白で区切る) を記載したテキスト.
+     */
+    WEIGHTED_TEXT("weighted"),
+
+    /**
+     * ヘッダ無しの, リトルエンディアンの float64 配列.
+     */
+    FLOAT64_LE("f64le"),
+
+    /**
+     * ヘッダ無しの, ビッグエンディアンの float64 配列.
+     */
+    FLOAT64_BE("f64be"),
+
+    /**
+     * バイトオーダーとサンプル数を記載したヘッダ付きの float64 配列.
+     */
+    BINARY("binary");
+
+    private final String stringValue;
+
+    private InputFormat(String stringValue) {
+        this.stringValue = stringValue;
+    }
+
+    /**
+     * コマンド引数としての文字列表現を返す.
+     * 
+     * @return 文字列表現
+     */
+    public String stringValue() {
+        return stringValue;
+    }
+
+    /**
+     * 文字列表現から入力形式を取得する. <br>
+     * 該当するものがない場合, {@code null} を返す.
+     * 
+     * @param s 文字列
+     * @return 入力形式, 該当なしなら {@code null}
+     * @throws NullPointerException 引数がnull
+     */
+    static InputFormat from(String s) {
+        return MapperHolder.mapper.get(Objects.requireNonNull(s));
+    }
+
+    /**
+     * String から列挙定数へのマッパホルダ.
+     */
+    private static final class MapperHolder {
+
+        static final Map<String, InputFormat> mapper;
+
+        static {
+            mapper = Arrays.stream(InputFormat.values())
+                    .collect(toMap(InputFormat::stringValue, e -> e));
+        }
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright © 2026 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+/*
+ * 2026.10.18
+ */
+package matsu.num.statistics.kdeapp.kde1d.command;
+
+import static java.util.stream.Collectors.*;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * カーネル密度推定の評価エンジンの種類を表現する列挙型.
+ * 
+ * @author Matsuura Y.
+ */
+public enum KdeEngine {
+
+    /**
+     * ライブラリによる厳密な評価.
+     */
+    EXACT("exact"),
+
+    /**
+     * 全サンプルについてのカーネルの和を直接計算する評価 (並列評価に対応).
+     */
+    DIRECT("direct"),
+
+    /**
+     * ソート済みサンプルのうち, 打ち切り半径内のサンプルについてのみカーネルの和を計算する評価
+     * (並列評価に対応).
+     */
+    TRUNCATED("truncated"),
+
+    /**
+     * 線形ビニングと FFT による畳み込みを用いた近似評価.
+     */
+    BINNED("binned");
+
+    private final String stringValue;
+
+    private KdeEngine(String stringValue) {
+        this.stringValue = stringValue;
+    }
+
+    /**
+     * コマンド引数としての文字列表現を返す.
+     * 
+     * @return 文字列表現
+     */
+    public String stringValue() {
+        return stringValue;
+    }
+
+    /**
+     * 文字列表現から評価エンジンを取得する. <br>
+     * 該当するものがない場合, {@code null} を返す.
+     * 
+     * @param s 文字列
+     * @return 評価エンジン, 該当なしなら {@code null}
+     * @throws NullPointerException 引数がnull
+     */
+    static KdeEngine from(String s) {
+        return MapperHolder.mapper.get(Objects.requireNonNull(s));
+    }
+
+    /**
+     * String から列挙定数へのマッパホルダ.
+     */
+    private static final class MapperHolder {
+
+        static final Map<String, KdeEngine> mapper;
+
+        static {
+            mapper = Arrays.stream(KdeEngine.values())
+                    .collect(toMap(KdeEngine::stringValue, e -> e));
+        }
+    }
+}
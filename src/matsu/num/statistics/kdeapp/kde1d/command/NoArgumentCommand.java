@@ -6,7 +6,7 @@
  */
 
 /*
- * 2026.2.12
+ * 2026.10.18
  */
 package matsu.num.statistics.kdeapp.kde1d.command;
 
@@ -35,6 +35,42 @@ public final class NoArgumentCommand extends ConsoleOptionCommand {
     public static final NoArgumentCommand ECHO_OFF =
             new NoArgumentCommand("ECHO_OFF", "--echo-off");
 
+    /**
+     * ソースの要約統計量を標準出力することを表現するシングルトンインスタンス.
+     */
+    public static final NoArgumentCommand SHOW_SUMMARY =
+            new NoArgumentCommand("SHOW_SUMMARY", "--summary");
+
+    /**
+     * ソースを配列として保持せず, ファイルを2回走査して推定することを表現するシングルトンインスタンス.
+     */
+    public static final NoArgumentCommand STREAMING =
+            new NoArgumentCommand("STREAMING", "--streaming");
+
+    /**
+     * ステージごとの時間とメモリの計測値を標準エラー出力することを表現するシングルトンインスタンス.
+     */
+    public static final NoArgumentCommand PROFILE =
+            new NoArgumentCommand("PROFILE", "--profile");
+
+    /**
+     * 結果のキャッシュを利用しない (参照も保存もしない) ことを表現するシングルトンインスタンス.
+     */
+    public static final NoArgumentCommand NO_CACHE =
+            new NoArgumentCommand("NO_CACHE", "--no-cache");
+
+    /**
+     * 出力の隣のチェックポイントを利用し, 入力ファイルの追記部分のみを解析することを表現するシングルトンインスタンス.
+     */
+    public static final NoArgumentCommand INCREMENTAL =
+            new NoArgumentCommand("INCREMENTAL", "--incremental");
+
+    /**
+     * ソースの値を {@code float} に丸めて保持する (単精度モード) ことを表現するシングルトンインスタンス.
+     */
+    public static final NoArgumentCommand FLOAT32 =
+            new NoArgumentCommand("FLOAT32", "--float32");
+
     /**
      * 内部から呼ばれる唯一のコンストラクタ.
      */
@@ -0,0 +1,77 @@
+/*
+ * Copyright © 2026 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+/*
+ * 2026.10.18
+ */
+package matsu.num.statistics.kdeapp.kde1d.command;
+
+/**
+ * 数値をとるコマンド引数の解釈を行うクラス.
+ * 
+ * <p>
+ * 各メソッドは, 引数不正の場合に {@code null} を返す
+ * ({@link ArgumentRequiringCommand} のコンバータの規約に従う).
+ * </p>
+ * 
+ * @author Matsuura Y.
+ */
+final class NumberInterpreter {
+
+    private NumberInterpreter() {
+        // インスタンス化不可
+        throw new AssertionError();
+    }
+
+    /**
+     * 与えた文字列を正の整数として解釈する.
+     * 
+     * @param s 文字列
+     * @return 正の整数, 不正なら {@code null}
+     * @throws NullPointerException 引数がnull
+     */
+    static Integer positiveInteger(String s) {
+        try {
+            int value = Integer.parseInt(s.strip());
+            return value > 0 ? value : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 与えた文字列を正の有限な実数として解釈する.
+     * 
+     * @param s 文字列
+     * @return 正の有限な実数, 不正なら {@code null}
+     * @throws NullPointerException 引数がnull
+     */
+    static Double positiveFiniteDouble(String s) {
+        try {
+            double value = Double.parseDouble(s.strip());
+            return value > 0 && Double.isFinite(value) ? value : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 与えた文字列を0以上の有限な実数として解釈する.
+     * 
+     * @param s 文字列
+     * @return 0以上の有限な実数, 不正なら {@code null}
+     * @throws NullPointerException 引数がnull
+     */
+    static Double nonNegativeFiniteDouble(String s) {
+        try {
+            double value = Double.parseDouble(s.strip());
+            return value >= 0 && Double.isFinite(value) ? value : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright © 2026 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+/*
+ * 2026.10.18
+ */
+package matsu.num.statistics.kdeapp.kde1d.command;
+
+import static java.util.stream.Collectors.*;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 推定結果のファイル出力の形式を表現する列挙型.
+ * 
+ * @author Matsuura Y.
+ */
+public enum OutputFormat {
+
+    /**
+     * 区切り文字で区切られたテキスト.
+     */
+    TEXT("text"),
+
+    /**
+     * グリッド点と密度の float64 配列からなるバイナリ.
+     */
+    BINARY("binary");
+
+    private final String stringValue;
+
+    private OutputFormat(String stringValue) {
+        this.stringValue = stringValue;
+    }
+
+    /**
+     * コマンド引数としての文字列表現を返す.
+     * 
+     * @return 文字列表現
+     */
+    public String stringValue() {
+        return stringValue;
+    }
+
+    /**
+     * 文字列表現から出力形式を取得する. <br>
+     * 該当するものがない場合, {@code null} を返す.
+     * 
+     * @param s 文字列
+     * @return 出力形式, 該当なしなら {@code null}
+     * @throws NullPointerException 引数がnull
+     */
+    static OutputFormat from(String s) {
+        return MapperHolder.mapper.get(Objects.requireNonNull(s));
+    }
+
+    /**
+     * String から列挙定数へのマッパホルダ.
+     */
+    private static final class MapperHolder {
+
+        static final Map<String, OutputFormat> mapper;
+
+        static {
+            mapper = Arrays.stream(OutputFormat.values())
+                    .collect(toMap(OutputFormat::stringValue, e -> e));
+        }
+    }
+}
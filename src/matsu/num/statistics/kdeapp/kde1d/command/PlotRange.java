@@ -0,0 +1,268 @@
+/*
+ * Copyright © 2026 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+/*
+ * 2026.10.18
+ */
+package matsu.num.statistics.kdeapp.kde1d.command;
+
+import java.util.Objects;
+import java.util.OptionalDouble;
+
+/**
+ * 描画区間 (密度を評価する区間) の指定を表現する.
+ * 
+ * <p>
+ * 指定は次のいずれかである.
+ * </p>
+ * 
+ * <ul>
+ * <li>データ: ソースの最小値と最大値による区間を基準区間とし, 両側に余白を加える.</li>
+ * <li>分位点: 下側と上側の裾確率を与え, 分位点による区間を基準区間とし, 両側に余白を加える.</li>
+ * <li>固定: 与えた区間で評価する (余白は加えない).</li>
+ * </ul>
+ * 
+ * <p>
+ * 余白は, バンド幅を単位として与えるか ({@link #withPadBandwidths(double)}),
+ * 与えない場合は基準区間の幅の {@link #DEFAULT_PAD_RATIO} 倍である. <br>
+ * このクラスはイミュータブルである.
+ * </p>
+ * 
+ * @author Matsuura Y.
+ */
+public final class PlotRange {
+
+    /**
+     * 余白をバンド幅で与えない場合の, 基準区間の幅に対する片側の余白の比.
+     */
+    public static final double DEFAULT_PAD_RATIO = 0.5;
+
+    /**
+     * データによる指定を表すコマンド引数.
+     */
+    private static final String DATA = "data";
+
+    /**
+     * 分位点による指定を表すコマンド引数.
+     */
+    private static final String QUANTILE = "quantile";
+
+    /**
+     * 分位点による指定において, 裾確率を区切る文字.
+     */
+    private static final char QUANTILE_SEPARATOR = ':';
+
+    /**
+     * 固定の区間において, 下端と上端を区切る文字.
+     */
+    private static final char FIXED_SEPARATOR = ',';
+
+    private static final PlotRange DATA_INSTANCE =
+            new PlotRange(Kind.DATA, Double.NaN, Double.NaN, Double.NaN, Double.NaN);
+
+    private final Kind kind;
+
+    /**
+     * 分位点による指定の裾確率 (他では NaN).
+     */
+    private final double tailProbability;
+
+    /**
+     * 固定の区間の下端と上端 (他では NaN).
+     */
+    private final double lowerLimit;
+    private final double upperLimit;
+
+    /**
+     * バンド幅を単位とする余白 (与えない場合は NaN).
+     */
+    private final double padBandwidths;
+
+    private PlotRange(
+            Kind kind, double tailProbability,
+            double lowerLimit, double upperLimit, double padBandwidths) {
+        super();
+        this.kind = kind;
+        this.tailProbability = tailProbability;
+        this.lowerLimit = lowerLimit;
+        this.upperLimit = upperLimit;
+        this.padBandwidths = padBandwidths;
+    }
+
+    /**
+     * ソースの最小値と最大値による指定 (デフォルト) を返す.
+     * 
+     * @return 指定
+     */
+    public static PlotRange data() {
+        return DATA_INSTANCE;
+    }
+
+    /**
+     * 分位点による指定を返す.
+     * 
+     * <p>
+     * 基準区間は, 裾確率を <i>p</i> として
+     * {@code [Q(p), Q(1 - p)]} である (<i>Q</i> は分位点関数).
+     * </p>
+     * 
+     * @param tailProbability 片側の裾確率
+     * @return 指定
+     * @throws IllegalArgumentException 裾確率が {@code 0 < p < 0.5} を満たさない場合
+     */
+    public static PlotRange quantile(double tailProbability) {
+        if (!(0 < tailProbability && tailProbability < 0.5)) {
+            throw new IllegalArgumentException("illegal tail probability: " + tailProbability);
+        }
+        return new PlotRange(Kind.QUANTILE, tailProbability, Double.NaN, Double.NaN, Double.NaN);
+    }
+
+    /**
+     * 固定の区間による指定を返す.
+     * 
+     * @param lowerLimit 下端
+     * @param upperLimit 上端
+     * @return 指定
+     * @throws IllegalArgumentException 区間が不正 ({@code lower < upper} でない, 有限でない) の場合
+     */
+    public static PlotRange fixed(double lowerLimit, double upperLimit) {
+        if (!(Double.isFinite(lowerLimit) && Double.isFinite(upperLimit)
+                && lowerLimit < upperLimit)) {
+            throw new IllegalArgumentException(
+                    "illegal range: [%s, %s]".formatted(lowerLimit, upperLimit));
+        }
+        return new PlotRange(Kind.FIXED, Double.NaN, lowerLimit, upperLimit, Double.NaN);
+    }
+
+    /**
+     * 余白をバンド幅を単位として与えた指定を返す.
+     * 
+     * @param padBandwidths バンド幅を単位とする片側の余白
+     * @return 指定
+     * @throws IllegalArgumentException 余白が0以上の有限値でない場合, 固定の区間による指定の場合
+     */
+    public PlotRange withPadBandwidths(double padBandwidths) {
+        if (!(padBandwidths >= 0 && Double.isFinite(padBandwidths))) {
+            throw new IllegalArgumentException("illegal pad: " + padBandwidths);
+        }
+        if (isFixed()) {
+            throw new IllegalArgumentException("fixed range cannot be padded");
+        }
+        return new PlotRange(kind, tailProbability, lowerLimit, upperLimit, padBandwidths);
+    }
+
+    /**
+     * 固定の区間による指定であるかを判定する.
+     * 
+     * @return 固定の区間ならば {@code true}
+     */
+    public boolean isFixed() {
+        return kind == Kind.FIXED;
+    }
+
+    /**
+     * 分位点による指定であるかを判定する.
+     * 
+     * @return 分位点による指定ならば {@code true}
+     */
+    public boolean isQuantile() {
+        return kind == Kind.QUANTILE;
+    }
+
+    /**
+     * 分位点による指定の片側の裾確率を返す (他では NaN).
+     * 
+     * @return 裾確率
+     */
+    public double tailProbability() {
+        return tailProbability;
+    }
+
+    /**
+     * 固定の区間の下端を返す (他では NaN).
+     * 
+     * @return 下端
+     */
+    public double lowerLimit() {
+        return lowerLimit;
+    }
+
+    /**
+     * 固定の区間の上端を返す (他では NaN).
+     * 
+     * @return 上端
+     */
+    public double upperLimit() {
+        return upperLimit;
+    }
+
+    /**
+     * バンド幅を単位とする片側の余白を返す.
+     * 
+     * @return 余白, 与えられていない場合は空
+     */
+    public OptionalDouble padBandwidths() {
+        return Double.isNaN(padBandwidths)
+                ? OptionalDouble.empty()
+                : OptionalDouble.of(padBandwidths);
+    }
+
+    /**
+     * 文字列表現から描画区間の指定を取得する. <br>
+     * 該当するものがない場合, {@code null} を返す.
+     * 
+     * <p>
+     * 文字列表現は, データによる指定を表す {@code data},
+     * 分位点による指定を表す {@code quantile:<裾確率>},
+     * または固定の区間を表す {@code <下端>,<上端>} のいずれかである.
+     * </p>
+     * 
+     * @param s 文字列
+     * @return 指定, 該当なしなら {@code null}
+     * @throws NullPointerException 引数がnull
+     */
+    static PlotRange from(String s) {
+        String stripped = Objects.requireNonNull(s).strip();
+        if (stripped.equals(DATA)) {
+            return data();
+        }
+        try {
+            if (stripped.startsWith(QUANTILE + QUANTILE_SEPARATOR)) {
+                double p = Double.parseDouble(stripped.substring(QUANTILE.length() + 1));
+                return 0 < p && p < 0.5 ? quantile(p) : null;
+            }
+            int separator = stripped.indexOf(FIXED_SEPARATOR);
+            if (separator < 0) {
+                return null;
+            }
+            double lower = Double.parseDouble(stripped.substring(0, separator));
+            double upper = Double.parseDouble(stripped.substring(separator + 1));
+            return Double.isFinite(lower) && Double.isFinite(upper) && lower < upper
+                    ? fixed(lower, upper)
+                    : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public String toString() {
+        String base = switch (kind) {
+            case DATA -> DATA;
+            case QUANTILE -> QUANTILE + QUANTILE_SEPARATOR + tailProbability;
+            case FIXED -> lowerLimit + String.valueOf(FIXED_SEPARATOR) + upperLimit;
+        };
+        return Double.isNaN(padBandwidths) ? base : base + " (pad: " + padBandwidths + "h)";
+    }
+
+    /**
+     * 指定の種類.
+     */
+    private static enum Kind {
+        DATA, QUANTILE, FIXED;
+    }
+}
@@ -14,8 +14,12 @@
  * </p>
  * 
  * @author Matsuura Y.
- * @version 0.4.1
+ * @version 0.5.0
  */
 module matsu.num.Statistics.KdeApp {
     requires matsu.num.Statistics.KernelDensity;
+    requires jdk.jfr;
+    requires jdk.management;
+
+    exports matsu.num.statistics.kdeapp.kde1d.binary;
 }
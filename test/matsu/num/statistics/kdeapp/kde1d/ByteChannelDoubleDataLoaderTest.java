@@ -0,0 +1,356 @@
+/*
+ * Copyright © 2026 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+package matsu.num.statistics.kdeapp.kde1d;
+
+import static java.nio.charset.StandardCharsets.*;
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.DoubleConsumer;
+
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+
+/**
+ * {@link ByteChannelDoubleDataLoader} のテスト.
+ */
+@RunWith(Enclosed.class)
+final class ByteChannelDoubleDataLoaderTest {
+
+    public static class 生成に関する {
+
+        @Test(expected = NullPointerException.class)
+        public void test_パーサーはnullではいけない() {
+            new ByteChannelDoubleDataLoader(null);
+        }
+    }
+
+    public static class 値の抽出に関する {
+
+        private static final ByteLineDoubleParser PARSER = new ByteLineDoubleParser(List.of("#"));
+
+        @Test
+        public void test_正常系() throws IOException {
+            // U+3000は全角スペース
+            String content = " 1.0 \n -1d \n# dummy\n 　\n100";
+
+            assertThat(load(content, ByteChannelDoubleDataLoader.DEFAULT_BUFFER_SIZE),
+                    is(new double[] { 1d, -1d, 100d }));
+        }
+
+        @Test
+        public void test_行終端の種類によらない() throws IOException {
+            double[] expected = { 1d, 2d, 3d, 4d };
+            assertThat(load("1\n2\n3\n4\n", 1024), is(expected));
+            assertThat(load("1\r\n2\r\n3\r\n4\r\n", 1024), is(expected));
+            assertThat(load("1\r2\r3\r4", 1024), is(expected));
+            assertThat(load("1\r\n\r\n2\n\r3\r\r4", 1024), is(expected));
+        }
+
+        @Test
+        public void test_バッファ境界をまたぐ行() throws IOException {
+            StringBuilder sb = new StringBuilder("# header line longer than buffer\r\n");
+            double[] expected = new double[200];
+            for (int i = 0; i < expected.length; i++) {
+                expected[i] = i * 0.125 - 3;
+                sb.append(expected[i]).append("\r\n");
+            }
+
+            for (int bufferSize : new int[] { 1, 2, 3, 7, 64 }) {
+                assertThat(load(sb.toString(), bufferSize), is(expected));
+            }
+        }
+
+        @Test
+        public void test_異常系は行番号を報告する() {
+            try {
+                load("# header\r\n1.0\r\ndummy\r\n", 4);
+                throw new AssertionError("no exception");
+            } catch (IOException e) {
+                assertThat(e.getMessage(), containsString("line 3"));
+            }
+        }
+
+        private static double[] load(String content, int bufferSize) throws IOException {
+            return new ByteChannelDoubleDataLoader(PARSER, bufferSize).load(
+                    () -> Channels.newChannel(new ByteArrayInputStream(content.getBytes(UTF_8))))
+                    .values();
+        }
+    }
+
+    public static class 並列解析に関する {
+
+        private static final ByteLineDoubleParser PARSER = new ByteLineDoubleParser(List.of("#"));
+
+        @Test
+        public void test_結果は逐次解析とファイル内の順序で一致する() throws IOException {
+            StringBuilder sb = new StringBuilder("# header\r\n");
+            double[] expected = new double[1000];
+            for (int i = 0; i < expected.length; i++) {
+                expected[i] = i * 0.25 - 100;
+                sb.append(expected[i]).append(i % 3 == 0 ? "\r\n" : "\n");
+                if (i % 7 == 0) {
+                    sb.append("# comment\n\n");
+                }
+            }
+
+            for (int parallelism : new int[] { 1, 2, 3, 8 }) {
+                for (long minChunkSize : new long[] { 1, 10, 100, 1000 }) {
+                    assertThat(load(sb.toString(), parallelism, minChunkSize).values(),
+                            is(expected));
+                }
+            }
+        }
+
+        @Test
+        public void test_要約統計量は解析と同時に計算される() throws IOException {
+            StringBuilder sb = new StringBuilder();
+            double[] values = new double[1000];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = Math.sin(i) * 10;
+                sb.append(values[i]).append("\n");
+            }
+            SampleSummary expected = SampleSummary.of(values);
+
+            for (long minChunkSize : new long[] { 10, 1000, 100000 }) {
+                SampleSummary summary = load(sb.toString(), 4, minChunkSize).summary();
+                assertThat(summary.count(), is(expected.count()));
+                assertThat(summary.min(), is(expected.min()));
+                assertThat(summary.max(), is(expected.max()));
+                assertThat(summary.mean(), is(closeTo(expected.mean(), 1E-12)));
+                assertThat(summary.sumOfSquaredDeviations(),
+                        is(closeTo(expected.sumOfSquaredDeviations(), 1E-8)));
+            }
+        }
+
+        @Test
+        public void test_異常系はファイル先頭からの行番号を報告する() {
+            StringBuilder sb = new StringBuilder();
+            for (int i = 0; i < 500; i++) {
+                sb.append(i).append("\r\n");
+            }
+            sb.append("dummy\r\n");
+            for (int i = 0; i < 500; i++) {
+                sb.append(i).append("\r\n");
+            }
+
+            for (long minChunkSize : new long[] { 1, 10, 100 }) {
+                try {
+                    load(sb.toString(), 4, minChunkSize);
+                    throw new AssertionError("no exception");
+                } catch (IOException e) {
+                    assertThat(e.getMessage(), containsString("line 501:"));
+                }
+            }
+        }
+
+        @Test
+        public void test_シンクでの実行時例外はそのままスローされる() throws IOException {
+            StringBuilder sb = new StringBuilder();
+            for (int i = 0; i < 1000; i++) {
+                sb.append(i).append("\n");
+            }
+
+            Path file = Files.createTempFile("kde1d-loader-test", ".txt");
+            try {
+                Files.writeString(file, sb.toString());
+                new ByteChannelDoubleDataLoader(PARSER).scan(
+                        () -> FileChannel.open(file), 4, 10,
+                        () -> (DoubleConsumer) v -> {
+                            throw new IllegalStateException("sink failure");
+                        });
+                throw new AssertionError("no exception");
+            } catch (IllegalStateException e) {
+                assertThat(e.getMessage(), is("sink failure"));
+            } finally {
+                Files.delete(file);
+            }
+        }
+
+        private static Kde1dSource load(String content, int parallelism, long minChunkSize)
+                throws IOException {
+            Path file = Files.createTempFile("kde1d-loader-test", ".txt");
+            try {
+                Files.writeString(file, content);
+                return new ByteChannelDoubleDataLoader(PARSER).load(
+                        () -> FileChannel.open(file), parallelism, minChunkSize);
+            } finally {
+                Files.delete(file);
+            }
+        }
+    }
+
+    public static class 重み付きの解析に関する {
+
+        private static final ByteLineDoubleParser PARSER = new ByteLineDoubleParser(List.of("#"));
+
+        @Test
+        public void test_値と重みはファイル内の順序で一致する() throws IOException {
+            StringBuilder sb = new StringBuilder("# value,weight\r\n");
+            double[] values = new double[1000];
+            double[] weights = new double[1000];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = i * 0.25 - 100;
+                weights[i] = 1 + i % 5;
+                sb.append(values[i]).append(i % 2 == 0 ? "," : "\t").append(weights[i]).append("\n");
+            }
+
+            Kde1dSource sequential = new ByteChannelDoubleDataLoader(PARSER).loadWeighted(
+                    () -> Channels.newChannel(new ByteArrayInputStream(sb.toString().getBytes(UTF_8))));
+            assertThat(sequential.values(), is(values));
+            assertThat(sequential.weights().get(), is(weights));
+            assertThat(sequential.summary().totalWeight(), is(3000d));
+
+            for (long minChunkSize : new long[] { 1, 100, 100000 }) {
+                Kde1dSource parallel = load(sb.toString(), 4, minChunkSize);
+                assertThat(parallel.values(), is(values));
+                assertThat(parallel.weights().get(), is(weights));
+                assertThat(parallel.summary().count(), is(1000L));
+                assertThat(parallel.summary().totalWeight(), is(3000d));
+                assertThat(parallel.summary().mean(),
+                        is(closeTo(sequential.summary().mean(), 1E-12)));
+            }
+        }
+
+        @Test
+        public void test_重みの欠けた行は行番号を報告する() {
+            for (long minChunkSize : new long[] { 1, 100000 }) {
+                try {
+                    load("1,1\n2,1\n3\n4,1\n", 2, minChunkSize);
+                    throw new AssertionError("no exception");
+                } catch (IOException e) {
+                    assertThat(e.getMessage(), containsString("line 3:"));
+                }
+            }
+        }
+
+        private static Kde1dSource load(String content, int parallelism, long minChunkSize)
+                throws IOException {
+            Path file = Files.createTempFile("kde1d-loader-test", ".txt");
+            try {
+                Files.writeString(file, content);
+                return new ByteChannelDoubleDataLoader(PARSER).loadWeighted(
+                        () -> FileChannel.open(file), parallelism, minChunkSize);
+            } finally {
+                Files.delete(file);
+            }
+        }
+    }
+
+    public static class 多列の解析に関する {
+
+        private static final ByteLineDoubleParser PARSER = new ByteLineDoubleParser(List.of("#"));
+
+        @Test
+        public void test_列ごとの値はファイル内の順序で一致する() throws IOException {
+            StringBuilder sb = new StringBuilder("# a,b,c\r\n");
+            double[] a = new double[1000];
+            double[] c = new double[1000];
+            for (int i = 0; i < a.length; i++) {
+                a[i] = i * 0.25 - 100;
+                c[i] = (i % 7) * 1.5;
+                sb.append(a[i]).append(i % 2 == 0 ? "," : "\t").append(i)
+                        .append(i % 3 == 0 ? " , " : " ").append(c[i]).append("\n");
+            }
+            int[] fields = { 2, 0 };
+
+            List<Kde1dSource> sequential = new ByteChannelDoubleDataLoader(PARSER).loadColumns(
+                    () -> Channels.newChannel(new ByteArrayInputStream(sb.toString().getBytes(UTF_8))),
+                    fields);
+            assertThat(sequential.size(), is(2));
+            assertThat(sequential.get(0).values(), is(c));
+            assertThat(sequential.get(1).values(), is(a));
+
+            for (long minChunkSize : new long[] { 1, 100, 100000 }) {
+                List<Kde1dSource> parallel = load(sb.toString(), fields, 4, minChunkSize);
+                assertThat(parallel.get(0).values(), is(c));
+                assertThat(parallel.get(1).values(), is(a));
+                assertThat(parallel.get(1).summary().count(), is(1000L));
+                assertThat(parallel.get(1).summary().mean(),
+                        is(closeTo(sequential.get(1).summary().mean(), 1E-12)));
+            }
+        }
+
+        @Test
+        public void test_列の欠けた行は行番号を報告する() {
+            for (long minChunkSize : new long[] { 1, 100000 }) {
+                try {
+                    load("1,1\n2,1\n3\n4,1\n", new int[] { 1 }, 2, minChunkSize);
+                    throw new AssertionError("no exception");
+                } catch (IOException e) {
+                    assertThat(e.getMessage(), containsString("line 3:"));
+                }
+            }
+        }
+
+        private static List<Kde1dSource> load(
+                String content, int[] fields, int parallelism, long minChunkSize) throws IOException {
+            Path file = Files.createTempFile("kde1d-loader-test", ".txt");
+            try {
+                Files.writeString(file, content);
+                return new ByteChannelDoubleDataLoader(PARSER).loadColumns(
+                        () -> FileChannel.open(file), fields, parallelism, minChunkSize);
+            } finally {
+                Files.delete(file);
+            }
+        }
+    }
+
+    public static class バイト範囲の解析に関する {
+
+        private static final ByteLineDoubleParser PARSER = new ByteLineDoubleParser(List.of("#"));
+
+        @Test
+        public void test_範囲内の値のみが解析される() throws IOException {
+            // "1\n2\n" の直後 (位置4) から "5\n" の直前 (位置10) まで
+            Kde1dSource source = load("1\n2\n3\n# c\n5\n", 4, 10, 0L);
+            assertThat(source.values(), is(new double[] { 3d }));
+        }
+
+        @Test
+        public void test_終了位置がファイルサイズを超える場合は終端まで() throws IOException {
+            Kde1dSource source = load("1\n2\n3", 4, Long.MAX_VALUE, 0L);
+            assertThat(source.values(), is(new double[] { 3d }));
+        }
+
+        @Test
+        public void test_行番号は範囲より前の行数を加えて報告する() {
+            try {
+                load("1\n2\nx\n", 4, Long.MAX_VALUE, 2L);
+                throw new AssertionError("no exception");
+            } catch (IOException e) {
+                assertThat(e.getMessage(), containsString("line 3:"));
+            }
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void test_範囲が逆転している場合は例外() throws IOException {
+            load("1\n2\n", 2, 1, 0L);
+        }
+
+        private static Kde1dSource load(String content, long from, long to, long lineOffset)
+                throws IOException {
+            Path file = Files.createTempFile("kde1d-loader-test", ".txt");
+            try {
+                Files.writeString(file, content);
+                return new ByteChannelDoubleDataLoader(PARSER).load(
+                        () -> FileChannel.open(file), from, to, lineOffset, 2);
+            } finally {
+                Files.delete(file);
+            }
+        }
+    }
+}
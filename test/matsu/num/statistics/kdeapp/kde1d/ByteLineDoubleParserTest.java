@@ -0,0 +1,245 @@
+/*
+ * Copyright © 2026 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+package matsu.num.statistics.kdeapp.kde1d;
+
+import static java.nio.charset.StandardCharsets.*;
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+import java.nio.charset.CharacterCodingException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalDouble;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+
+/**
+ * {@link ByteLineDoubleParser} のテスト.
+ */
+@RunWith(Enclosed.class)
+final class ByteLineDoubleParserTest {
+
+    public static class DoubleLineParserとの一致に関する {
+
+        private DoubleLineParser lineParser;
+        private ByteLineDoubleParser byteParser;
+
+        @Before
+        public void before_パーサーの準備() {
+            lineParser = new DoubleLineParser(List.of("#", "//"));
+            byteParser = new ByteLineDoubleParser(List.of("#", "//"));
+        }
+
+        @Test
+        public void test_様々な行() throws CharacterCodingException {
+            String[] lines = {
+                    "0", "-0", "+1", "1.", ".5", "-.5", "00012.5000", "1e3", "1E-3",
+                    "1.5e+10", "-2.25E-300", "123456789012345678", "1234567890123456789",
+                    "0.30000000000000004", "4.9E-324", "1.7976931348623157E308", "1e400",
+                    "1d", "2.5F", "0x1.8p1", "Infinity", "-Infinity", "NaN",
+                    " 1.0 ", "\t-1d\t", "# dummy", "// dummy", "", "   ",
+                    // U+3000は全角スペース
+                    " 　", "　1.5　", "　# dummy" };
+
+            for (String line : lines) {
+                assertThat(line, parseBytes(line), is(lineParser.parse(line)));
+            }
+        }
+
+        @Test
+        public void test_ランダムな値() throws CharacterCodingException {
+            Random random = new Random(0L);
+            for (int i = 0; i < 10000; i++) {
+                double v = random.nextGaussian() * Math.pow(10, random.nextInt(40) - 20);
+                String[] lines = {
+                        String.valueOf(v),
+                        "%.6f".formatted(v),
+                        "%.3e".formatted(v),
+                        String.valueOf((float) v) };
+                for (String line : lines) {
+                    assertThat(line, parseBytes(line), is(lineParser.parse(line)));
+                }
+            }
+        }
+
+        @Test
+        public void test_不正なフォーマットは例外() throws CharacterCodingException {
+            String[] lines = { "dummy", "1e", "-", ".", "1.0.0", "1 2", "e5", "　1x" };
+            for (String line : lines) {
+                try {
+                    parseBytes(line);
+                    throw new AssertionError("no exception: " + line);
+                } catch (NumberFormatException expected) {
+                    // OK
+                }
+            }
+        }
+
+        private OptionalDouble parseBytes(String line) throws CharacterCodingException {
+            // 前後にダミーのバイトを置き, 範囲指定を検証する
+            byte[] body = line.getBytes(UTF_8);
+            byte[] bytes = new byte[body.length + 2];
+            bytes[0] = 'x';
+            System.arraycopy(body, 0, bytes, 1, body.length);
+            bytes[bytes.length - 1] = 'x';
+
+            List<Double> values = new ArrayList<>();
+            boolean parsed = byteParser.parse(bytes, 1, bytes.length - 1, values::add);
+            assertThat(parsed, is(!values.isEmpty()));
+            return parsed ? OptionalDouble.of(values.get(0)) : OptionalDouble.empty();
+        }
+    }
+
+    public static class 重み付きの行に関する {
+
+        private DoubleLineParser lineParser;
+        private ByteLineDoubleParser byteParser;
+
+        @Before
+        public void before_パーサーの準備() {
+            lineParser = new DoubleLineParser(List.of("#"));
+            byteParser = new ByteLineDoubleParser(List.of("#"));
+        }
+
+        @Test
+        public void test_DoubleLineParserと一致する() throws CharacterCodingException {
+            // U+3000は全角スペース
+            String[] lines = {
+                    "1,2", " 1.5 , 0.25 ", "-1e3\t3", "0x1.8p1 1d", "1 ,2", "1, 2",
+                    "# dummy", "", "   ", "　1.5,2　", "1.5　2" };
+
+            for (String line : lines) {
+                assertThat(line, parseBytes(line), is(parseString(line)));
+            }
+        }
+
+        @Test
+        public void test_不正なフォーマットは例外() throws CharacterCodingException {
+            String[] lines = { "1", "1,", ",1", "1,,2", "1,0", "1,-2", "1,NaN", "1,x", "1 2 3", "1,2,3" };
+            for (String line : lines) {
+                try {
+                    parseString(line);
+                    throw new AssertionError("no exception (string): " + line);
+                } catch (NumberFormatException expected) {
+                    // OK
+                }
+                try {
+                    parseBytes(line);
+                    throw new AssertionError("no exception (bytes): " + line);
+                } catch (NumberFormatException expected) {
+                    // OK
+                }
+            }
+        }
+
+        private List<Double> parseString(String line) {
+            List<Double> values = new ArrayList<>();
+            lineParser.parseWeighted(line, (v, w) -> {
+                values.add(v);
+                values.add(w);
+            });
+            return values;
+        }
+
+        private List<Double> parseBytes(String line) throws CharacterCodingException {
+            byte[] body = line.getBytes(UTF_8);
+            byte[] bytes = new byte[body.length + 2];
+            bytes[0] = 'x';
+            System.arraycopy(body, 0, bytes, 1, body.length);
+            bytes[bytes.length - 1] = 'x';
+
+            List<Double> values = new ArrayList<>();
+            boolean parsed = byteParser.parseWeighted(bytes, 1, bytes.length - 1, (v, w) -> {
+                values.add(v);
+                values.add(w);
+            });
+            assertThat(parsed, is(!values.isEmpty()));
+            return values;
+        }
+    }
+
+    public static class 多列の行に関する {
+
+        private final int[] fields = { 2, 0 };
+        private DoubleLineParser lineParser;
+        private ByteLineDoubleParser byteParser;
+
+        @Before
+        public void before_パーサーの準備() {
+            lineParser = new DoubleLineParser(List.of("#"));
+            byteParser = new ByteLineDoubleParser(List.of("#"));
+        }
+
+        @Test
+        public void test_DoubleLineParserと一致する() throws CharacterCodingException {
+            // U+3000は全角スペース
+            String[] lines = {
+                    "1,2,3", " 1.5 , 0.25 , -3 ", "-1e3	3	4	5", "0x1.8p1 1d 2", "1,,3", "1 ,2, 3",
+                    "# dummy", "", "   ", "　1.5,2,3　", "1.5　2　3" };
+
+            for (String line : lines) {
+                assertThat(line, parseBytes(line), is(parseString(line)));
+            }
+        }
+
+        @Test
+        public void test_不正なフォーマットは例外() throws CharacterCodingException {
+            String[] lines = { "1", "1,2", ",1,2", "1,2,", "1,2,x", "1,2　" };
+            for (String line : lines) {
+                try {
+                    parseString(line);
+                    throw new AssertionError("no exception (string): " + line);
+                } catch (NumberFormatException expected) {
+                    // OK
+                }
+                try {
+                    parseBytes(line);
+                    throw new AssertionError("no exception (bytes): " + line);
+                } catch (NumberFormatException expected) {
+                    // OK
+                }
+            }
+        }
+
+        private List<Double> parseString(String line) {
+            double[] row = new double[fields.length];
+            if (!lineParser.parseColumns(line, fields, row)) {
+                return List.of();
+            }
+            return List.of(row[0], row[1]);
+        }
+
+        private List<Double> parseBytes(String line) throws CharacterCodingException {
+            byte[] body = line.getBytes(UTF_8);
+            byte[] bytes = new byte[body.length + 2];
+            bytes[0] = 'x';
+            System.arraycopy(body, 0, bytes, 1, body.length);
+            bytes[bytes.length - 1] = 'x';
+
+            double[] row = new double[fields.length];
+            if (!byteParser.parseColumns(bytes, 1, bytes.length - 1, fields, row)) {
+                return List.of();
+            }
+            return List.of(row[0], row[1]);
+        }
+    }
+
+    public static class 不正なエンコーディングに関する {
+
+        @Test(expected = CharacterCodingException.class)
+        public void test_UTF8として不正なバイト列は例外() throws CharacterCodingException {
+            byte[] bytes = { '1', (byte) 0xFF };
+            new ByteLineDoubleParser(List.of("#")).parse(bytes, 0, bytes.length, v -> {
+            });
+        }
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright © 2026 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+package matsu.num.statistics.kdeapp.kde1d;
+
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+import java.util.List;
+
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+
+/**
+ * {@link DoubleArrayBuilder} のテスト.
+ */
+@RunWith(Enclosed.class)
+final class DoubleArrayBuilderTest {
+
+    private static DoubleArrayBuilder filled(int from, int to) {
+        DoubleArrayBuilder builder = new DoubleArrayBuilder();
+        for (int i = from; i < to; i++) {
+            builder.accept(i);
+        }
+        return builder;
+    }
+
+    public static class 蓄積に関する {
+
+        @Test
+        public void test_空の場合() {
+            DoubleArrayBuilder builder = new DoubleArrayBuilder();
+            assertThat(builder.size(), is(0));
+            assertThat(builder.toArray().length, is(0));
+        }
+
+        @Test
+        public void test_チャンク境界をまたぐ蓄積() {
+            int n = DoubleArrayBuilder.CHUNK_SIZE * 2 + 5;
+            DoubleArrayBuilder builder = filled(0, n);
+
+            assertThat(builder.size(), is(n));
+            assertThat(builder.get(DoubleArrayBuilder.CHUNK_SIZE - 1), is(DoubleArrayBuilder.CHUNK_SIZE - 1d));
+            assertThat(builder.get(DoubleArrayBuilder.CHUNK_SIZE), is((double) DoubleArrayBuilder.CHUNK_SIZE));
+            assertThat(builder.get(n - 1), is(n - 1d));
+
+            double[] array = builder.toArray();
+            assertThat(array.length, is(n));
+            for (int i = 0; i < n; i++) {
+                assertThat(array[i], is((double) i));
+            }
+        }
+
+        @Test
+        public void test_ちょうど1チャンクの場合はコピーしない() {
+            DoubleArrayBuilder builder = filled(0, DoubleArrayBuilder.CHUNK_SIZE);
+            assertThat(builder.toArray(), is(sameInstance(builder.toArray())));
+        }
+
+        @Test(expected = IndexOutOfBoundsException.class)
+        public void test_範囲外の参照は不可() {
+            filled(0, 3).get(3);
+        }
+    }
+
+    public static class 連結に関する {
+
+        @Test
+        public void test_順序通りに連結される() {
+            int chunk = DoubleArrayBuilder.CHUNK_SIZE;
+            DoubleArrayBuilder first = filled(0, chunk + 1);
+            DoubleArrayBuilder second = filled(chunk + 1, chunk + 3);
+            DoubleArrayBuilder third = filled(chunk + 3, 3 * chunk);
+
+            double[] array = DoubleArrayBuilder.concat(List.of(first, second, third));
+            assertThat(array.length, is(3 * chunk));
+            for (int i = 0; i < array.length; i++) {
+                assertThat(array[i], is((double) i));
+            }
+        }
+
+        @Test
+        public void test_連結後はチャンクが解放される() {
+            DoubleArrayBuilder first = filled(0, 10);
+            DoubleArrayBuilder second = filled(10, 20);
+
+            DoubleArrayBuilder.concat(List.of(first, second));
+            assertThat(first.size(), is(0));
+            assertThat(second.size(), is(0));
+        }
+    }
+}
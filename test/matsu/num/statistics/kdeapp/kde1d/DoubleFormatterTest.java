@@ -0,0 +1,95 @@
+/*
+ * Copyright © 2026 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+package matsu.num.statistics.kdeapp.kde1d;
+
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+
+/**
+ * {@link DoubleFormatter} のテスト.
+ */
+@RunWith(Enclosed.class)
+final class DoubleFormatterTest {
+
+    public static class 表記のテスト {
+
+        @Test
+        public void test_特殊な値() {
+            assertThat(format(0d), is("0.0"));
+            assertThat(format(-0d), is("-0.0"));
+            assertThat(format(Double.NaN), is("NaN"));
+            assertThat(format(Double.POSITIVE_INFINITY), is("Infinity"));
+            assertThat(format(Double.NEGATIVE_INFINITY), is("-Infinity"));
+        }
+
+        @Test
+        public void test_固定小数点表記と指数表記の境界() {
+            assertThat(format(1d), is("1.0"));
+            assertThat(format(100d), is("100.0"));
+            assertThat(format(9999999d), is("9999999.0"));
+            assertThat(format(1e7), is("1.0E7"));
+            assertThat(format(0.001), is("0.001"));
+            assertThat(format(9.999e-4), is("9.999E-4"));
+            assertThat(format(-1.25e-10), is("-1.25E-10"));
+        }
+
+        @Test
+        public void test_極端な値() {
+            assertThat(format(Double.MIN_VALUE), is("4.9E-324"));
+            assertThat(format(Double.MAX_VALUE), is("1.7976931348623157E308"));
+            assertThat(format(Double.MIN_NORMAL), is("2.2250738585072014E-308"));
+        }
+
+        @Test
+        public void test_一般的な値はDouble_toStringと一致() {
+            double[] values = { 0.1, 0.2, 0.3, 1.5, -2.75, 3.141592653589793, 123456.789, 0.3989422804014327 };
+            for (double v : values) {
+                assertThat(format(v), is(Double.toString(v)));
+            }
+        }
+    }
+
+    public static class 往復変換のテスト {
+
+        @Test
+        public void test_ランダムなビット列は往復変換で一致() {
+            Random random = new Random(8128L);
+            for (int i = 0; i < 100000; i++) {
+                double v = Double.longBitsToDouble(random.nextLong());
+                if (Double.isNaN(v)) {
+                    continue;
+                }
+                String s = format(v);
+                assertThat(s, Double.parseDouble(s), is(v));
+                assertThat(s, s.length(), is(lessThanOrEqualTo(Double.toString(v).length())));
+            }
+        }
+
+        @Test
+        public void test_グリッド点は往復変換で一致() {
+            EvaluationGrid grid = EvaluationGrid.of(-5d, 5d, 10000);
+            for (double v : grid.points()) {
+                String s = format(v);
+                assertThat(s, Double.parseDouble(s), is(v));
+            }
+        }
+    }
+
+    private static String format(double v) {
+        byte[] buffer = new byte[DoubleFormatter.MAX_LENGTH];
+        int end = DoubleFormatter.format(v, buffer, 0);
+        return new String(buffer, 0, end, StandardCharsets.US_ASCII);
+    }
+}
@@ -10,6 +10,7 @@ package matsu.num.statistics.kdeapp.kde1d;
 import static org.hamcrest.CoreMatchers.*;
 import static org.hamcrest.MatcherAssert.*;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.OptionalDouble;
 
@@ -77,4 +78,77 @@ final class DoubleLineParserTest {
             assertThat(parser.parse(" 1.0d "), is(OptionalDouble.of(1d)));
         }
     }
+
+    public static class 重み付きの値抽出のテスト {
+
+        private final DoubleLineParser parser = new DoubleLineParser(List.of("#"));
+
+        @Test
+        public void test_区切りはカンマまたは空白() {
+            for (String line : new String[] { "1.5,2", " 1.5 , 2 ", "1.5\t2", "1.5   2" }) {
+                List<Double> parsed = new ArrayList<>();
+                assertThat(parser.parseWeighted(line, (v, w) -> {
+                    parsed.add(v);
+                    parsed.add(w);
+                }), is(true));
+                assertThat(line, parsed, is(List.of(1.5, 2d)));
+            }
+        }
+
+        @Test
+        public void test_空行とエスケープ行は渡さない() {
+            WeightedDoubleConsumer failing = (v, w) -> {
+                throw new AssertionError();
+            };
+            assertThat(parser.parseWeighted("  ", failing), is(false));
+            assertThat(parser.parseWeighted("# value,weight", failing), is(false));
+        }
+
+        @Test
+        public void test_重みの欠落や不正は例外() {
+            for (String line : new String[] { "1.5", "1.5,", "1.5,0", "1.5,-1", "1.5,NaN", "1.5 Infinity", ",2" }) {
+                try {
+                    parser.parseWeighted(line, (v, w) -> {
+                    });
+                    throw new AssertionError("no exception: " + line);
+                } catch (NumberFormatException expected) {
+                    // OK
+                }
+            }
+        }
+    }
+
+    public static class 多列の値抽出のテスト {
+
+        private final DoubleLineParser parser = new DoubleLineParser(List.of("#"));
+
+        @Test
+        public void test_指定したフィールドを指定した順に格納する() {
+            for (String line : new String[] { "1,2,3,4", " 1 , 2 , 3 , 4 ", "1	2	3	4", "1 2,3   4" }) {
+                double[] row = new double[2];
+                assertThat(parser.parseColumns(line, new int[] { 3, 1 }, row), is(true));
+                assertThat(line, row, is(new double[] { 4d, 2d }));
+            }
+        }
+
+        @Test
+        public void test_空行とエスケープ行は格納しない() {
+            double[] row = { -1d };
+            assertThat(parser.parseColumns("  ", new int[] { 0 }, row), is(false));
+            assertThat(parser.parseColumns("# a,b", new int[] { 0 }, row), is(false));
+            assertThat(row, is(new double[] { -1d }));
+        }
+
+        @Test
+        public void test_フィールドの欠落や不正は例外() {
+            for (String line : new String[] { "1,2", "1,2,x", "1,2," }) {
+                try {
+                    parser.parseColumns(line, new int[] { 0, 2 }, new double[2]);
+                    throw new AssertionError("no exception: " + line);
+                } catch (NumberFormatException expected) {
+                    // OK
+                }
+            }
+        }
+    }
 }
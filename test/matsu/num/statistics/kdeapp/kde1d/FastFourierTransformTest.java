@@ -0,0 +1,93 @@
+/*
+ * Copyright © 2026 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+package matsu.num.statistics.kdeapp.kde1d;
+
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+import java.util.Random;
+
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+
+/**
+ * {@link FastFourierTransform} のテスト.
+ */
+@RunWith(Enclosed.class)
+final class FastFourierTransformTest {
+
+    public static class 生成に関する {
+
+        @Test(expected = IllegalArgumentException.class)
+        public void test_2の累乗でない長さは不可() {
+            new FastFourierTransform(12);
+        }
+
+        @Test
+        public void test_2の累乗への切り上げ() {
+            assertThat(FastFourierTransform.ceilPowerOf2(1), is(1));
+            assertThat(FastFourierTransform.ceilPowerOf2(2), is(2));
+            assertThat(FastFourierTransform.ceilPowerOf2(3), is(4));
+            assertThat(FastFourierTransform.ceilPowerOf2(1025), is(2048));
+        }
+    }
+
+    public static class 変換の検証 {
+
+        private static final int LENGTH = 64;
+
+        @Test
+        public void test_正変換は離散フーリエ変換と一致する() {
+            Random random = new Random(0L);
+            double[] re = new double[LENGTH];
+            double[] im = new double[LENGTH];
+            for (int j = 0; j < LENGTH; j++) {
+                re[j] = random.nextGaussian();
+                im[j] = random.nextGaussian();
+            }
+
+            double[] expectedRe = new double[LENGTH];
+            double[] expectedIm = new double[LENGTH];
+            for (int k = 0; k < LENGTH; k++) {
+                for (int j = 0; j < LENGTH; j++) {
+                    double theta = -2 * Math.PI * j * k / LENGTH;
+                    expectedRe[k] += re[j] * Math.cos(theta) - im[j] * Math.sin(theta);
+                    expectedIm[k] += re[j] * Math.sin(theta) + im[j] * Math.cos(theta);
+                }
+            }
+
+            new FastFourierTransform(LENGTH).forward(re, im);
+            for (int k = 0; k < LENGTH; k++) {
+                assertThat(re[k], is(closeTo(expectedRe[k], 1E-10)));
+                assertThat(im[k], is(closeTo(expectedIm[k], 1E-10)));
+            }
+        }
+
+        @Test
+        public void test_逆変換で元に戻る() {
+            Random random = new Random(1L);
+            double[] re = new double[LENGTH];
+            double[] im = new double[LENGTH];
+            for (int j = 0; j < LENGTH; j++) {
+                re[j] = random.nextGaussian();
+                im[j] = random.nextGaussian();
+            }
+            double[] originalRe = re.clone();
+            double[] originalIm = im.clone();
+
+            FastFourierTransform fft = new FastFourierTransform(LENGTH);
+            fft.forward(re, im);
+            fft.inverse(re, im);
+            for (int j = 0; j < LENGTH; j++) {
+                assertThat(re[j], is(closeTo(originalRe[j], 1E-12)));
+                assertThat(im[j], is(closeTo(originalIm[j], 1E-12)));
+            }
+        }
+    }
+}
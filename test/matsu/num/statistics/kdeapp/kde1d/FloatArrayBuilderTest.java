@@ -0,0 +1,66 @@
+/*
+ * Copyright © 2026 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+package matsu.num.statistics.kdeapp.kde1d;
+
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+import java.util.List;
+
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+
+/**
+ * {@link FloatArrayBuilder} のテスト.
+ */
+@RunWith(Enclosed.class)
+final class FloatArrayBuilderTest {
+
+    public static class 蓄積に関する {
+
+        @Test
+        public void test_値はfloatに丸めて保持される() {
+            FloatArrayBuilder builder = new FloatArrayBuilder();
+            builder.accept(0.1);
+            builder.accept(1E39);
+
+            assertThat(builder.get(0), is(0.1f));
+            assertThat(builder.get(1), is(Float.POSITIVE_INFINITY));
+        }
+
+        @Test(expected = IndexOutOfBoundsException.class)
+        public void test_範囲外の参照は不可() {
+            new FloatArrayBuilder().get(0);
+        }
+    }
+
+    public static class 連結に関する {
+
+        @Test
+        public void test_チャンク境界をまたいで順序通りに連結される() {
+            int chunk = FloatArrayBuilder.CHUNK_SIZE;
+            FloatArrayBuilder first = new FloatArrayBuilder();
+            FloatArrayBuilder second = new FloatArrayBuilder();
+            for (int i = 0; i < chunk + 3; i++) {
+                first.accept(i);
+            }
+            for (int i = chunk + 3; i < 2 * chunk + 10; i++) {
+                second.accept(i);
+            }
+
+            float[] array = FloatArrayBuilder.concat(List.of(first, second));
+            assertThat(array.length, is(2 * chunk + 10));
+            for (int i = 0; i < array.length; i++) {
+                assertThat(array[i], is((float) i));
+            }
+            assertThat(first.size(), is(0));
+            assertThat(second.size(), is(0));
+        }
+    }
+}
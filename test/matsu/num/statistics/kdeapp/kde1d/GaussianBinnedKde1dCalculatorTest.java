@@ -0,0 +1,177 @@
+/*
+ * Copyright © 2026 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+package matsu.num.statistics.kdeapp.kde1d;
+
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+import java.util.Random;
+
+import matsu.num.statistics.kdeapp.kde1d.command.GridPoints;
+import matsu.num.statistics.kdeapp.kde1d.command.PlotRange;
+
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+
+import matsu.num.statistics.kdeapp.kde1d.exception.CalculationException;
+
+/**
+ * {@link GaussianBinnedKde1dCalculator} のテスト.
+ */
+@RunWith(Enclosed.class)
+final class GaussianBinnedKde1dCalculatorTest {
+
+    public static class 引数の検証に関する {
+
+        @Test(expected = CalculationException.class)
+        public void test_空ソースは例外() {
+            new GaussianBinnedKde1dCalculator().calc(Kde1dSource.of(new double[0]));
+        }
+
+        @Test(expected = CalculationException.class)
+        public void test_NaNを含むと例外() {
+            new GaussianBinnedKde1dCalculator()
+                    .calc(Kde1dSource.of(new double[] { 1d, Double.NaN }));
+        }
+
+        @Test(expected = CalculationException.class)
+        public void test_広がりがないと例外() {
+            new GaussianBinnedKde1dCalculator().calc(Kde1dSource.of(new double[] { 1d, 1d }));
+        }
+    }
+
+    public static class グリッド点数の指定に関する {
+
+        @Test
+        public void test_固定の点数() {
+            double[] source = { 0d, 1d, 2d, 4d };
+            WritableKde1dResult result =
+                    new GaussianBinnedKde1dCalculator(GridPoints.fixed(300)).calc(Kde1dSource.of(source));
+            assertThat(result.columns()[0].length, is(300));
+        }
+
+        @Test
+        public void test_自動の点数はバンド幅あたりの点数から定まる() {
+            Random random = new Random(1L);
+            double[] source = new double[10000];
+            for (int i = 0; i < source.length; i++) {
+                source[i] = random.nextGaussian();
+            }
+            Kde1dSource kde1dSource = Kde1dSource.of(source);
+            double bandwidth = kde1dSource.summary().normalReferenceBandwidth();
+
+            double[] x = new GaussianBinnedKde1dCalculator(GridPoints.perBandwidth(8d))
+                    .calc(kde1dSource).columns()[0];
+            double step = x[1] - x[0];
+            assertThat(step, is(lessThanOrEqualTo(bandwidth / 8d)));
+            assertThat(step, is(greaterThan(bandwidth / 8d * 0.99)));
+        }
+    }
+
+    public static class 描画区間の指定に関する {
+
+        @Test
+        public void test_区間外のサンプルの寄与も評価される() {
+            Random random = new Random(2L);
+            double[] source = new double[5000];
+            for (int i = 0; i < source.length; i++) {
+                // 裾の重い分布 (コーシー分布)
+                source[i] = Math.tan(Math.PI * (random.nextDouble() - 0.5));
+            }
+            Kde1dSource kde1dSource = Kde1dSource.of(source);
+            double bandwidth = kde1dSource.summary().normalReferenceBandwidth();
+            PlotRange range = PlotRange.fixed(-2d, 2d);
+
+            double[][] binned = new GaussianBinnedKde1dCalculator(GridPoints.fixed(4001), range)
+                    .calc(kde1dSource).columns();
+            double[][] direct = new GaussianDirectKde1dCalculator(GridPoints.fixed(4001), range, 1)
+                    .calc(kde1dSource).columns();
+
+            double step = binned[0][1] - binned[0][0];
+            double bound = step * step / (8 * Math.sqrt(2 * Math.PI) * Math.pow(bandwidth, 3));
+            assertThat(binned[0][0], is(-2d));
+            for (int i = 0; i < binned[1].length; i++) {
+                assertThat(binned[1][i], is(closeTo(direct[1][i], bound + 1E-12)));
+            }
+        }
+    }
+
+    public static class 厳密な評価との誤差に関する {
+
+        @Test
+        public void test_誤差は評価式の範囲内() {
+            Random random = new Random(0L);
+            double[] source = new double[2000];
+            for (int i = 0; i < source.length; i++) {
+                source[i] = random.nextGaussian() + (i % 3 == 0 ? 4d : 0d);
+            }
+
+            double bandwidth = 0.3;
+            EvaluationGrid grid = EvaluationGrid.of(-6d, 10d, 257);
+            double step = grid.step();
+            double bound = step * step / (8 * Math.sqrt(2 * Math.PI) * Math.pow(bandwidth, 3));
+
+            double[] density = GaussianBinnedKde1dCalculator.evaluate(source, grid, bandwidth);
+            for (int i = 0; i < grid.size(); i++) {
+                assertThat(density[i], is(closeTo(exactDensity(source, grid.x(i), bandwidth), bound)));
+            }
+        }
+
+        private static double exactDensity(double[] source, double x, double bandwidth) {
+            double sum = 0d;
+            for (double v : source) {
+                double z = (x - v) / bandwidth;
+                sum += Math.exp(-0.5 * z * z);
+            }
+            return sum / (source.length * bandwidth * Math.sqrt(2 * Math.PI));
+        }
+    }
+
+    public static class 重み付きのソースに関する {
+
+        @Test
+        public void test_重みを度数として展開したソースと一致する() {
+            double[] values = new double[40];
+            double[] weights = new double[values.length];
+            double[] expanded = new double[100];
+            for (int i = 0, k = 0; i < values.length; i++) {
+                values[i] = Math.sin(i) * 3;
+                weights[i] = 1 + i % 4;
+                for (int j = 0; j < weights[i]; j++) {
+                    expanded[k++] = values[i];
+                }
+            }
+
+            double[][] weighted = new GaussianBinnedKde1dCalculator(GridPoints.fixed(257)).calc(Kde1dSource.weighted(values, weights)).columns();
+            double[][] raw = new GaussianBinnedKde1dCalculator(GridPoints.fixed(257)).calc(Kde1dSource.of(expanded)).columns();
+            for (int i = 0; i < raw[0].length; i++) {
+                assertThat(weighted[0][i], is(closeTo(raw[0][i], 1E-12)));
+                assertThat(weighted[1][i], is(closeTo(raw[1][i], 1E-12)));
+            }
+        }
+    }
+
+    public static class 単精度のソースに関する {
+
+        @Test
+        public void test_丸めた値の倍精度のソースとビット単位で一致する() {
+            float[] values = new float[300];
+            double[] rounded = new double[values.length];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = (float) (100 + Math.sin(i) * 3 + Math.cos(7 * i));
+                rounded[i] = values[i];
+            }
+
+            double[][] single = new GaussianBinnedKde1dCalculator(257).calc(Kde1dSource.singlePrecision(values)).columns();
+            double[][] expected = new GaussianBinnedKde1dCalculator(257).calc(Kde1dSource.of(rounded)).columns();
+            assertThat(single[0], is(expected[0]));
+            assertThat(single[1], is(expected[1]));
+        }
+    }
+}
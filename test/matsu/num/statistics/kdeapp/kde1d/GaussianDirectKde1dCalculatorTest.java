@@ -0,0 +1,152 @@
+/*
+ * Copyright © 2026 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+package matsu.num.statistics.kdeapp.kde1d;
+
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+
+import matsu.num.statistics.kdeapp.kde1d.exception.CalculationException;
+
+/**
+ * {@link GaussianDirectKde1dCalculator} のテスト.
+ */
+@RunWith(Enclosed.class)
+final class GaussianDirectKde1dCalculatorTest {
+
+    public static class 引数の検証に関する {
+
+        @Test(expected = IllegalArgumentException.class)
+        public void test_並列度は正でなければならない() {
+            new GaussianDirectKde1dCalculator(EvaluationGrid.DEFAULT_SIZE, 0);
+        }
+
+        @Test(expected = CalculationException.class)
+        public void test_空ソースは例外() {
+            new GaussianDirectKde1dCalculator(EvaluationGrid.DEFAULT_SIZE, 1)
+                    .calc(Kde1dSource.of(new double[0]));
+        }
+
+        @Test(expected = CalculationException.class)
+        public void test_NaNを含むと例外() {
+            new GaussianDirectKde1dCalculator(EvaluationGrid.DEFAULT_SIZE, 1)
+                    .calc(Kde1dSource.of(new double[] { 1d, Double.NaN }));
+        }
+    }
+
+    public static class 並列評価に関する {
+
+        private final double bandwidth = 0.25;
+
+        private double[] source;
+        private EvaluationGrid grid;
+
+        @Before
+        public void before_ソースとグリッドの準備() {
+            Random random = new Random(0L);
+            source = new double[500];
+            for (int i = 0; i < source.length; i++) {
+                source[i] = random.nextGaussian();
+            }
+            grid = EvaluationGrid.of(-5d, 5d, 1001);
+        }
+
+        @Test
+        public void test_並列評価は逐次評価とビット単位で一致する() {
+            double[] serial = GaussianDirectKde1dCalculator.evaluate(source, grid, bandwidth, 1);
+            double[] parallel = GaussianDirectKde1dCalculator.evaluate(source, grid, bandwidth, 4);
+
+            assertThat(parallel, is(serial));
+        }
+
+        @Test
+        public void test_評価値はカーネルの和に一致する() {
+            double[] density = GaussianDirectKde1dCalculator.evaluate(source, grid, bandwidth, 3);
+
+            for (int i = 0; i < grid.size(); i += 50) {
+                double sum = 0d;
+                for (double v : source) {
+                    double z = (grid.x(i) - v) / bandwidth;
+                    sum += Math.exp(-0.5 * z * z);
+                }
+                double expected = sum / (source.length * bandwidth * Math.sqrt(2 * Math.PI));
+                assertThat(density[i], is(closeTo(expected, 1E-12)));
+            }
+        }
+    }
+
+    public static class 重み付きのソースに関する {
+
+        @Test
+        public void test_重みを度数として展開したソースと一致する() {
+            double[] values = new double[40];
+            double[] weights = new double[values.length];
+            double[] expanded = new double[100];
+            for (int i = 0, k = 0; i < values.length; i++) {
+                values[i] = Math.sin(i) * 3;
+                weights[i] = 1 + i % 4;
+                for (int j = 0; j < weights[i]; j++) {
+                    expanded[k++] = values[i];
+                }
+            }
+
+            double[][] weighted = new GaussianDirectKde1dCalculator(257, 2).calc(Kde1dSource.weighted(values, weights)).columns();
+            double[][] raw = new GaussianDirectKde1dCalculator(257, 2).calc(Kde1dSource.of(expanded)).columns();
+            for (int i = 0; i < raw[0].length; i++) {
+                assertThat(weighted[0][i], is(closeTo(raw[0][i], 1E-12)));
+                assertThat(weighted[1][i], is(closeTo(raw[1][i], 1E-12)));
+            }
+        }
+    }
+
+    public static class 単精度のソースに関する {
+
+        @Test
+        public void test_丸めた値の倍精度のソースとビット単位で一致する() {
+            float[] values = new float[300];
+            double[] rounded = new double[values.length];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = (float) (100 + Math.sin(i) * 3 + Math.cos(7 * i));
+                rounded[i] = values[i];
+            }
+
+            double[][] single = new GaussianDirectKde1dCalculator(257, 2).calc(Kde1dSource.singlePrecision(values)).columns();
+            double[][] expected = new GaussianDirectKde1dCalculator(257, 2).calc(Kde1dSource.of(rounded)).columns();
+            assertThat(single[0], is(expected[0]));
+            assertThat(single[1], is(expected[1]));
+        }
+
+        @Test
+        public void test_倍精度との誤差は誤差評価の範囲内() {
+            double bandwidth = 0.25;
+            Random random = new Random(0L);
+            double[] source = new double[500];
+            float[] floatSource = new float[source.length];
+            for (int i = 0; i < source.length; i++) {
+                source[i] = 1000 + random.nextGaussian();
+                floatSource[i] = (float) source[i];
+            }
+            EvaluationGrid grid = EvaluationGrid.of(995d, 1005d, 1001);
+
+            double[] exact = GaussianDirectKde1dCalculator.evaluate(source, grid, bandwidth, 2);
+            double[] single = GaussianDirectKde1dCalculator.evaluate(floatSource, grid, bandwidth, 2);
+            double maxAbs = Arrays.stream(source).map(Math::abs).max().getAsDouble();
+            double bound = 0.25 * Math.ulp(1f) / 2 * maxAbs / (bandwidth * bandwidth);
+            for (int i = 0; i < grid.size(); i++) {
+                assertThat(single[i], is(closeTo(exact[i], bound)));
+            }
+        }
+    }
+}
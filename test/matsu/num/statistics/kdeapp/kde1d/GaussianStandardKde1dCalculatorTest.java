@@ -23,12 +23,19 @@ final class GaussianStandardKde1dCalculatorTest {
 
         @Test(expected = CalculationException.class)
         public void test_空ソースは例外() {
-            new GaussianStandardKde1dCalculator().calc(new double[0]);
+            new GaussianStandardKde1dCalculator().calc(Kde1dSource.of(new double[0]));
         }
 
         @Test(expected = CalculationException.class)
         public void test_NaNを含むと例外() {
-            new GaussianStandardKde1dCalculator().calc(new double[] { 1d, Double.NaN });
+            new GaussianStandardKde1dCalculator()
+                    .calc(Kde1dSource.of(new double[] { 1d, Double.NaN }));
+        }
+
+        @Test(expected = CalculationException.class)
+        public void test_重み付きのソースは例外() {
+            new GaussianStandardKde1dCalculator()
+                    .calc(Kde1dSource.weighted(new double[] { 1d, 2d }, new double[] { 1d, 3d }));
         }
     }
 }
@@ -0,0 +1,81 @@
+/*
+ * Copyright © 2026 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+package matsu.num.statistics.kdeapp.kde1d;
+
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+
+import matsu.num.statistics.kdeapp.kde1d.exception.CalculationException;
+
+/**
+ * {@link GaussianStreamingKde1dCalculator} のテスト.
+ */
+@RunWith(Enclosed.class)
+final class GaussianStreamingKde1dCalculatorTest {
+
+    public static class 配列による評価との比較 {
+
+        private Path file;
+        private double[] source;
+
+        @Before
+        public void before_ファイルの作成() throws IOException {
+            Random random = new Random(0L);
+            source = new double[3000];
+            StringBuilder sb = new StringBuilder("# header\n");
+            for (int i = 0; i < source.length; i++) {
+                source[i] = random.nextGaussian() + (i % 3 == 0 ? 4d : 0d);
+                sb.append(source[i]).append("\n");
+            }
+            file = Files.createTempFile("kde1d-streaming-test", ".txt");
+            Files.writeString(file, sb.toString());
+        }
+
+        @After
+        public void after_ファイルの削除() throws IOException {
+            Files.deleteIfExists(file);
+        }
+
+        @Test
+        public void test_binnedエンジンと一致する() {
+            for (int parallelism : new int[] { 1, 4 }) {
+                Kde1dSourceLoader loader = Kde1dSourceLoader.text(file.toString(), parallelism, "#");
+                SampleSummary summary = loader.summarize();
+                assertThat(summary.count(), is((long) source.length));
+
+                WritableKde1dResult streaming =
+                        new GaussianStreamingKde1dCalculator(257).calc(loader, summary);
+                WritableKde1dResult binned =
+                        new GaussianBinnedKde1dCalculator(257).calc(Kde1dSource.of(source));
+
+                WritingFormatter formatter = new WritingFormatter.Builder().build();
+                assertThat(streaming.formatted(formatter), is(binned.formatted(formatter)));
+            }
+        }
+    }
+
+    public static class 引数の検証に関する {
+
+        @Test(expected = CalculationException.class)
+        public void test_空ソースは例外() {
+            new GaussianStreamingKde1dCalculator().calc(
+                    Kde1dSourceLoader.text("dummy.txt", 1, "#"), SampleSummary.of(new double[0]));
+        }
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright © 2026 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+package matsu.num.statistics.kdeapp.kde1d;
+
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+
+import matsu.num.statistics.kdeapp.kde1d.command.GridPoints;
+import matsu.num.statistics.kdeapp.kde1d.exception.CalculationException;
+
+/**
+ * {@link GaussianTruncatedKde1dCalculator} のテスト.
+ */
+@RunWith(Enclosed.class)
+final class GaussianTruncatedKde1dCalculatorTest {
+
+    public static class 引数の検証に関する {
+
+        private final GridPoints gridPoints = GridPoints.fixed(EvaluationGrid.DEFAULT_SIZE);
+
+        @Test(expected = IllegalArgumentException.class)
+        public void test_打ち切り半径は正でなければならない() {
+            new GaussianTruncatedKde1dCalculator(gridPoints, 0d, 1);
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void test_打ち切り半径は有限でなければならない() {
+            new GaussianTruncatedKde1dCalculator(gridPoints, Double.POSITIVE_INFINITY, 1);
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void test_並列度は正でなければならない() {
+            new GaussianTruncatedKde1dCalculator(gridPoints, 8d, 0);
+        }
+
+        @Test(expected = CalculationException.class)
+        public void test_空ソースは例外() {
+            new GaussianTruncatedKde1dCalculator(gridPoints, 8d, 1)
+                    .calc(Kde1dSource.of(new double[0]));
+        }
+    }
+
+    public static class 二分探索に関する {
+
+        private final double[] sorted = { 1d, 2d, 2d, 3d };
+
+        @Test
+        public void test_キー以上の最初のインデックスを返す() {
+            assertThat(GaussianTruncatedKde1dCalculator.lowerBound(sorted, 0d), is(0));
+            assertThat(GaussianTruncatedKde1dCalculator.lowerBound(sorted, 2d), is(1));
+            assertThat(GaussianTruncatedKde1dCalculator.lowerBound(sorted, 2.5), is(3));
+            assertThat(GaussianTruncatedKde1dCalculator.lowerBound(sorted, 4d), is(4));
+        }
+    }
+
+    public static class 打ち切り評価に関する {
+
+        private final double bandwidth = 0.25;
+
+        private double[] source;
+        private EvaluationGrid grid;
+
+        @Before
+        public void before_ソースとグリッドの準備() {
+            Random random = new Random(0L);
+            source = new double[500];
+            for (int i = 0; i < source.length; i++) {
+                source[i] = random.nextGaussian();
+            }
+            grid = EvaluationGrid.of(-5d, 5d, 1001);
+        }
+
+        @Test
+        public void test_並列評価は逐次評価とビット単位で一致する() {
+            double[] serial = GaussianTruncatedKde1dCalculator.evaluate(source, grid, bandwidth, 4d, 1);
+            double[] parallel = GaussianTruncatedKde1dCalculator.evaluate(source, grid, bandwidth, 4d, 4);
+
+            assertThat(parallel, is(serial));
+        }
+
+        @Test
+        public void test_ソースは変更されない() {
+            double[] copy = source.clone();
+            GaussianTruncatedKde1dCalculator.evaluate(source, grid, bandwidth, 4d, 2);
+
+            assertThat(source, is(copy));
+        }
+
+        @Test
+        public void test_直接評価との差は誤差上限以内である() {
+            double cutoff = 3d;
+            double bound = Math.exp(-0.5 * cutoff * cutoff) / (bandwidth * Math.sqrt(2 * Math.PI));
+            double[] truncated = GaussianTruncatedKde1dCalculator.evaluate(source, grid, bandwidth, cutoff, 2);
+            double[] direct = GaussianDirectKde1dCalculator.evaluate(source, grid, bandwidth, 1);
+
+            for (int i = 0; i < grid.size(); i++) {
+                assertThat(truncated[i], is(lessThanOrEqualTo(direct[i] + 1E-12)));
+                assertThat(truncated[i], is(greaterThan(direct[i] - bound)));
+            }
+        }
+
+        @Test
+        public void test_デフォルトの打ち切り半径では直接評価に一致する() {
+            double[] truncated = GaussianTruncatedKde1dCalculator.evaluate(
+                    source, grid, bandwidth, GaussianTruncatedKde1dCalculator.DEFAULT_CUTOFF, 3);
+            double[] direct = GaussianDirectKde1dCalculator.evaluate(source, grid, bandwidth, 1);
+
+            for (int i = 0; i < grid.size(); i++) {
+                assertThat(truncated[i], is(closeTo(direct[i], 1E-12)));
+            }
+        }
+    }
+
+    public static class 重み付きのソースに関する {
+
+        @Test
+        public void test_重みを度数として展開したソースと一致する() {
+            double[] values = new double[40];
+            double[] weights = new double[values.length];
+            double[] expanded = new double[100];
+            for (int i = 0, k = 0; i < values.length; i++) {
+                values[i] = Math.sin(i) * 3;
+                weights[i] = 1 + i % 4;
+                for (int j = 0; j < weights[i]; j++) {
+                    expanded[k++] = values[i];
+                }
+            }
+
+            double[][] weighted = new GaussianTruncatedKde1dCalculator(GridPoints.fixed(257), 8d, 2).calc(Kde1dSource.weighted(values, weights)).columns();
+            double[][] raw = new GaussianTruncatedKde1dCalculator(GridPoints.fixed(257), 8d, 2).calc(Kde1dSource.of(expanded)).columns();
+            for (int i = 0; i < raw[0].length; i++) {
+                assertThat(weighted[0][i], is(closeTo(raw[0][i], 1E-12)));
+                assertThat(weighted[1][i], is(closeTo(raw[1][i], 1E-12)));
+            }
+        }
+    }
+
+    public static class 単精度のソースに関する {
+
+        @Test
+        public void test_丸めた値の倍精度のソースとビット単位で一致する() {
+            float[] values = new float[300];
+            double[] rounded = new double[values.length];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = (float) (100 + Math.sin(i) * 3 + Math.cos(7 * i));
+                rounded[i] = values[i];
+            }
+
+            double[][] single = new GaussianTruncatedKde1dCalculator(GridPoints.fixed(257), 8d, 2).calc(Kde1dSource.singlePrecision(values)).columns();
+            double[][] expected = new GaussianTruncatedKde1dCalculator(GridPoints.fixed(257), 8d, 2).calc(Kde1dSource.of(rounded)).columns();
+            assertThat(single[0], is(expected[0]));
+            assertThat(single[1], is(expected[1]));
+        }
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright © 2026 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+package matsu.num.statistics.kdeapp.kde1d;
+
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+
+/**
+ * {@link GzipInflatingChannel} のテスト.
+ */
+@RunWith(Enclosed.class)
+final class GzipInflatingChannelTest {
+
+    public static class 展開のテスト {
+
+        @Test
+        public void test_展開した内容が一致_ブロックとキューが小さい() throws IOException {
+            byte[] raw = randomText(100_000);
+            try (ReadableByteChannel channel =
+                    new GzipInflatingChannel(new ByteArrayInputStream(gzip(raw)), 100, 1)) {
+                assertThat(readAll(channel, 37), is(raw));
+            }
+        }
+
+        @Test
+        public void test_展開した内容が一致_デフォルト() throws IOException {
+            byte[] raw = randomText(3_000_000);
+            try (ReadableByteChannel channel =
+                    new GzipInflatingChannel(new ByteArrayInputStream(gzip(raw)))) {
+                assertThat(readAll(channel, 1 << 16), is(raw));
+            }
+        }
+
+        @Test
+        public void test_連結された複数のメンバを展開() throws IOException {
+            byte[] first = randomText(1000);
+            byte[] second = randomText(2000);
+            ByteArrayOutputStream concat = new ByteArrayOutputStream();
+            concat.write(gzip(first));
+            concat.write(gzip(second));
+
+            ByteArrayOutputStream expected = new ByteArrayOutputStream();
+            expected.write(first);
+            expected.write(second);
+
+            try (ReadableByteChannel channel = new GzipInflatingChannel(
+                    new ByteArrayInputStream(concat.toByteArray()), 256, 2)) {
+                assertThat(readAll(channel, 100), is(expected.toByteArray()));
+            }
+        }
+
+        @Test
+        public void test_空のストリーム() throws IOException {
+            try (ReadableByteChannel channel =
+                    new GzipInflatingChannel(new ByteArrayInputStream(gzip(new byte[0])))) {
+                assertThat(readAll(channel, 16).length, is(0));
+            }
+        }
+    }
+
+    public static class 例外とクローズのテスト {
+
+        @Test(expected = IOException.class)
+        public void test_gzip形式でない場合は例外() throws IOException {
+            try (ReadableByteChannel channel = new GzipInflatingChannel(
+                    new ByteArrayInputStream("1.0\n2.0\n".getBytes()))) {
+                readAll(channel, 16);
+            }
+        }
+
+        @Test(expected = IOException.class)
+        public void test_途中で切れている場合は例外() throws IOException {
+            byte[] compressed = gzip(randomText(100_000));
+            byte[] truncated = Arrays.copyOf(compressed, compressed.length / 2);
+            try (ReadableByteChannel channel =
+                    new GzipInflatingChannel(new ByteArrayInputStream(truncated), 128, 2)) {
+                readAll(channel, 64);
+            }
+        }
+
+        @Test
+        public void test_読み切らずにクローズできる() throws IOException {
+            byte[] raw = randomText(1_000_000);
+            ReadableByteChannel channel =
+                    new GzipInflatingChannel(new ByteArrayInputStream(gzip(raw)), 1024, 1);
+            channel.read(ByteBuffer.allocate(10));
+            channel.close();
+            assertThat(channel.isOpen(), is(false));
+        }
+    }
+
+    public static class マジックナンバーの判定のテスト {
+
+        @Test
+        public void test_判定() throws IOException {
+            Path gz = Files.createTempFile("kde1d-test", ".gz");
+            Path txt = Files.createTempFile("kde1d-test", ".txt");
+            Path empty = Files.createTempFile("kde1d-test", ".txt");
+            try {
+                Files.write(gz, gzip("1.0\n".getBytes()));
+                Files.write(txt, "1.0\n".getBytes());
+                assertThat(isGzip(gz), is(true));
+                assertThat(isGzip(txt), is(false));
+                assertThat(isGzip(empty), is(false));
+            } finally {
+                Files.delete(gz);
+                Files.delete(txt);
+                Files.delete(empty);
+            }
+        }
+
+        private static boolean isGzip(Path path) throws IOException {
+            try (FileChannel channel = FileChannel.open(path)) {
+                return GzipInflatingChannel.isGzip(channel);
+            }
+        }
+    }
+
+    private static byte[] randomText(int length) {
+        Random random = new Random(length);
+        byte[] out = new byte[length];
+        for (int i = 0; i < length; i++) {
+            out[i] = (byte) (random.nextInt(12) < 10 ? '0' + random.nextInt(10) : '\n');
+        }
+        return out;
+    }
+
+    private static byte[] gzip(byte[] raw) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gz = new GZIPOutputStream(out)) {
+            gz.write(raw);
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] readAll(ReadableByteChannel channel, int chunk) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ByteBuffer buffer = ByteBuffer.allocate(chunk);
+        while (channel.read(buffer) >= 0) {
+            buffer.flip();
+            out.write(buffer.array(), 0, buffer.limit());
+            buffer.clear();
+        }
+        return out.toByteArray();
+    }
+}
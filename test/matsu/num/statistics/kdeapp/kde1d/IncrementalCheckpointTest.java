@@ -0,0 +1,293 @@
+/*
+ * Copyright © 2026 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+package matsu.num.statistics.kdeapp.kde1d;
+
+import static java.nio.file.StandardOpenOption.*;
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+
+import matsu.num.statistics.kdeapp.kde1d.exception.InputException;
+
+/**
+ * {@link IncrementalCheckpoint} と, それを用いる増分集計 ({@link IncrementalAggregator}) のテスト.
+ */
+@RunWith(Enclosed.class)
+final class IncrementalCheckpointTest {
+
+    private static final double LOWER = -10d;
+    private static final double UPPER = 50d;
+    private static final int SIZE = 64;
+
+    public static class 読み書きに関する {
+
+        private Path workDir;
+
+        @Before
+        public void before_作業ディレクトリの準備() throws IOException {
+            workDir = Files.createTempDirectory("kde1d-checkpoint-test");
+        }
+
+        @After
+        public void after_作業ディレクトリの削除() throws IOException {
+            deleteDir(workDir);
+        }
+
+        @Test
+        public void test_書き込んだチェックポイントが読み込める() throws IOException {
+            PartialAggregate aggregate = aggregate(1d, 2d, 3.5d, 7d);
+            Path path = workDir.resolve("out.txt" + IncrementalCheckpoint.SUFFIX);
+            new IncrementalCheckpoint("text;comment=#", 123L, 45L, -6, aggregate).write(path);
+
+            IncrementalCheckpoint read = IncrementalCheckpoint.read(path).get();
+            assertThat(read.parameters(), is("text;comment=#"));
+            assertThat(read.offset(), is(123L));
+            assertThat(read.lineCount(), is(45L));
+            assertThat(read.fingerprint(), is(-6));
+            assertThat(read.aggregate().bins(), is(aggregate.bins()));
+            assertThat(read.aggregate().summary().describe(), is(aggregate.summary().describe()));
+        }
+
+        @Test
+        public void test_チェックポイントの大きさはサンプル数によらない() throws IOException {
+            Path small = workDir.resolve("small" + IncrementalCheckpoint.SUFFIX);
+            Path large = workDir.resolve("large" + IncrementalCheckpoint.SUFFIX);
+            double[] values = new double[100000];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = i % 40;
+            }
+            new IncrementalCheckpoint("p", 1L, 1L, 0, aggregate(1d)).write(small);
+            new IncrementalCheckpoint("p", 1L, 1L, 0, aggregate(values)).write(large);
+
+            assertThat(Files.size(large), is(Files.size(small)));
+        }
+
+        @Test
+        public void test_存在しない場合と壊れている場合は空() throws IOException {
+            Path path = workDir.resolve("out.txt" + IncrementalCheckpoint.SUFFIX);
+            assertThat(IncrementalCheckpoint.read(path), is(Optional.empty()));
+
+            new IncrementalCheckpoint("p", 1L, 1L, 0, aggregate(1d, 2d)).write(path);
+            byte[] bytes = Files.readAllBytes(path);
+            Files.write(path, Arrays.copyOf(bytes, bytes.length - 3));
+            assertThat(IncrementalCheckpoint.read(path), is(Optional.empty()));
+        }
+
+        @Test
+        public void test_行の終端の数と最後の行の終端() throws IOException {
+            Path file = workDir.resolve("input.txt");
+            Files.writeString(file, "1\r\n2\r3\n\n45");
+            try (FileChannel channel = FileChannel.open(file, READ)) {
+                assertThat(IncrementalCheckpoint.countLineEnds(channel, 0L, channel.size()), is(4L));
+                assertThat(IncrementalCheckpoint.lastLineEnd(channel, 0L, channel.size()), is(8L));
+                assertThat(IncrementalCheckpoint.lastLineEnd(channel, 9L, channel.size()), is(9L));
+            }
+        }
+
+        @Test
+        public void test_フィンガープリントは追記で変わらず先頭部分の変更で変わる() throws IOException {
+            Path file = workDir.resolve("input.txt");
+            byte[] bytes = new byte[1 << 20];
+            for (int i = 0; i < bytes.length; i++) {
+                bytes[i] = (byte) ('0' + i % 10);
+            }
+            Files.write(file, bytes);
+            long end = bytes.length - 100;
+            int original;
+            try (FileChannel channel = FileChannel.open(file, READ)) {
+                original = IncrementalCheckpoint.fingerprint(channel, end);
+                assertThat(IncrementalCheckpoint.fingerprint(channel, end - 1), is(not(original)));
+            }
+
+            Files.write(file, new byte[] { 'x' }, APPEND);
+            try (FileChannel channel = FileChannel.open(file, READ)) {
+                assertThat(IncrementalCheckpoint.fingerprint(channel, end), is(original));
+            }
+
+            // 先頭と, 先頭部分の末尾の書き換えは検出される
+            for (long position : new long[] { 0L, end - 1 }) {
+                bytes[(int) position] = 'y';
+                Files.write(file, bytes);
+                try (FileChannel channel = FileChannel.open(file, READ)) {
+                    assertThat(IncrementalCheckpoint.fingerprint(channel, end), is(not(original)));
+                }
+                bytes[(int) position] = (byte) ('0' + position % 10);
+            }
+        }
+    }
+
+    public static class 増分集計に関する {
+
+        private Path workDir;
+        private Path input;
+        private Path checkpoint;
+
+        @Before
+        public void before_作業ディレクトリの準備() throws IOException {
+            workDir = Files.createTempDirectory("kde1d-checkpoint-test");
+            input = workDir.resolve("input.txt");
+            checkpoint = workDir.resolve("out.txt" + IncrementalCheckpoint.SUFFIX);
+        }
+
+        @After
+        public void after_作業ディレクトリの削除() throws IOException {
+            deleteDir(workDir);
+        }
+
+        @Test
+        public void test_追記した値が併合される() throws IOException {
+            Files.writeString(input, "# header\n1\n2\n");
+            assertAggregate(updateAndCommit(), 1d, 2d);
+            assertThat(IncrementalCheckpoint.read(checkpoint).get().offset(), is(13L));
+
+            Files.writeString(input, "3\n4\n", APPEND);
+            assertAggregate(updateAndCommit(), 1d, 2d, 3d, 4d);
+            IncrementalCheckpoint written = IncrementalCheckpoint.read(checkpoint).get();
+            assertThat(written.lineCount(), is(5L));
+            assertAggregate(written.aggregate(), 1d, 2d, 3d, 4d);
+        }
+
+        @Test
+        public void test_チェックポイントの部分集計が再利用される() throws IOException {
+            Files.writeString(input, "1\n2\n");
+            updateAndCommit();
+
+            // チェックポイントの部分集計を差し替えても, 先頭部分が同一ならばそれが使われる
+            IncrementalCheckpoint written = IncrementalCheckpoint.read(checkpoint).get();
+            new IncrementalCheckpoint(written.parameters(), written.offset(), written.lineCount(),
+                    written.fingerprint(), aggregate(10d, 20d)).write(checkpoint);
+
+            Files.writeString(input, "3\n", APPEND);
+            assertAggregate(updateAndCommit(), 10d, 20d, 3d);
+        }
+
+        @Test
+        public void test_グリッドが異なるとチェックポイントは破棄される() throws IOException {
+            Files.writeString(input, "1\n2\n");
+            updateAndCommit();
+
+            Files.writeString(input, "3\n", APPEND);
+            PartialAggregate aggregate = new IncrementalAggregator(
+                    input.toString(), 2, checkpoint.toString(), LOWER, UPPER, SIZE * 2, "#").update();
+            assertThat(aggregate.bins(),
+                    is(PartialAggregate.of(Kde1dSource.of(new double[] { 1d, 2d, 3d }),
+                            LOWER, UPPER, SIZE * 2).bins()));
+        }
+
+        @Test
+        public void test_先頭部分が変更されるとチェックポイントは破棄される() throws IOException {
+            Files.writeString(input, "1\n2\n");
+            updateAndCommit();
+
+            Files.writeString(input, "5\n2\n3\n");
+            assertAggregate(updateAndCommit(), 5d, 2d, 3d);
+            assertThat(IncrementalCheckpoint.read(checkpoint).get().offset(), is(6L));
+        }
+
+        @Test
+        public void test_ファイルが切り詰められるとチェックポイントは破棄される() throws IOException {
+            Files.writeString(input, "1\n2\n3\n");
+            updateAndCommit();
+
+            Files.writeString(input, "1\n");
+            assertAggregate(updateAndCommit(), 1d);
+        }
+
+        @Test
+        public void test_終端のない最後の行は次回に再解析される() throws IOException {
+            Files.writeString(input, "1\n2\n3");
+            assertAggregate(updateAndCommit(), 1d, 2d, 3d);
+            IncrementalCheckpoint written = IncrementalCheckpoint.read(checkpoint).get();
+            assertThat(written.offset(), is(4L));
+            assertAggregate(written.aggregate(), 1d, 2d);
+
+            Files.writeString(input, "4\n", APPEND);
+            assertAggregate(updateAndCommit(), 1d, 2d, 34d);
+        }
+
+        @Test
+        public void test_追記部分の不正な行はファイル全体の行番号で報告する() throws IOException {
+            Files.writeString(input, "1\n2\n");
+            updateAndCommit();
+
+            Files.writeString(input, "3\nx\n", APPEND);
+            try {
+                updateAndCommit();
+                throw new AssertionError("no exception");
+            } catch (InputException e) {
+                assertThat(e.getMessage(), containsString("line 4:"));
+            }
+        }
+
+        @Test
+        public void test_確定するまでチェックポイントは書き込まれない() throws IOException {
+            Files.writeString(input, "1\n2\n");
+            IncrementalAggregator aggregator = aggregator();
+            aggregator.update();
+            assertThat(Files.exists(checkpoint), is(false));
+
+            aggregator.commit();
+            assertThat(IncrementalCheckpoint.read(checkpoint).get().offset(), is(4L));
+        }
+
+        private IncrementalAggregator aggregator() {
+            return new IncrementalAggregator(
+                    input.toString(), 2, checkpoint.toString(), LOWER, UPPER, SIZE, "#");
+        }
+
+        /**
+         * 更新し, 出力の成功を模してチェックポイントを確定する.
+         */
+        private PartialAggregate updateAndCommit() {
+            IncrementalAggregator aggregator = aggregator();
+            PartialAggregate aggregate = aggregator.update();
+            aggregator.commit();
+            return aggregate;
+        }
+    }
+
+    private static PartialAggregate aggregate(double... values) {
+        return PartialAggregate.of(Kde1dSource.of(values), LOWER, UPPER, SIZE);
+    }
+
+    /**
+     * 部分集計が, 与えた値を一括で集計したものと (丸め誤差を除いて) 一致することを検証する.
+     */
+    private static void assertAggregate(PartialAggregate actual, double... values) {
+        PartialAggregate expected = aggregate(values);
+        assertThat(actual.summary().count(), is(expected.summary().count()));
+        assertThat(actual.summary().mean(), is(closeTo(expected.summary().mean(), 1E-12)));
+        double[] actualBins = actual.bins();
+        double[] expectedBins = expected.bins();
+        for (int i = 0; i < expectedBins.length; i++) {
+            assertThat(actualBins[i], is(closeTo(expectedBins[i], 1E-12)));
+        }
+    }
+
+    private static void deleteDir(Path dir) throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+}
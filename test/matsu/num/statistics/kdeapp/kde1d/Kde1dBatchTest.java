@@ -0,0 +1,107 @@
+/*
+ * Copyright © 2026 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+package matsu.num.statistics.kdeapp.kde1d;
+
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+
+import matsu.num.statistics.kdeapp.kde1d.exception.InvalidParameterException;
+
+/**
+ * {@link Kde1dBatch} のテスト.
+ */
+@RunWith(Enclosed.class)
+final class Kde1dBatchTest {
+
+    public static class バッチの実行に関する {
+
+        private final Path inputFile = Path.of("test/resources/kde1d test.txt");
+        private final Path outputDir = Path.of("test/output/batch");
+
+        @Test
+        public void test_失敗したジョブは他のジョブに影響しない() throws IOException {
+            Files.createDirectories(outputDir);
+            Path manifest = outputDir.resolve("manifest.txt");
+            Files.write(manifest, List.of(
+                    "# comment",
+                    "-f \"" + inputFile + "\" --echo-off -out-f \""
+                            + outputDir.resolve("1.txt") + "\"",
+                    "-f dummy.txt",
+                    "",
+                    "-f \"" + inputFile + "\" --echo-off --engine binned -out-f \""
+                            + outputDir.resolve("2.txt") + "\""));
+
+            ByteArrayOutputStream outBuffer = new ByteArrayOutputStream();
+            PrintStream out = new PrintStream(outBuffer, true);
+            PrintStream err = new PrintStream(OutputStream.nullOutputStream());
+
+            int exitCode = new Kde1dBatch().run(
+                    new String[] { "--manifest", manifest.toString(), "--parallelism", "2" },
+                    out, err);
+
+            assertThat(exitCode, is(1));
+            assertThat(outBuffer.toString(), allOf(
+                    containsString("[job 2] succeeded"),
+                    containsString("[job 3] failed"),
+                    containsString("[job 5] succeeded"),
+                    containsString("jobs: 3, succeeded: 2, failed: 1")));
+            assertThat(Files.exists(outputDir.resolve("1.txt")), is(true));
+            assertThat(Files.exists(outputDir.resolve("2.txt")), is(true));
+        }
+
+        @Test
+        public void test_同時に投入する数を超えるジョブもマニフェストの順に出力される() throws IOException {
+            Files.createDirectories(outputDir);
+            Path manifest = outputDir.resolve("manifest many.txt");
+            List<String> lines = new ArrayList<>();
+            for (int i = 0; i < 9; i++) {
+                lines.add("-f \"" + inputFile + "\" --echo-off --engine binned -out-f \""
+                        + outputDir.resolve("many " + i + ".txt") + "\"");
+            }
+            Files.write(manifest, lines);
+
+            ByteArrayOutputStream outBuffer = new ByteArrayOutputStream();
+            PrintStream out = new PrintStream(outBuffer, true);
+            PrintStream err = new PrintStream(OutputStream.nullOutputStream());
+
+            int exitCode = new Kde1dBatch().run(
+                    new String[] { "--manifest", manifest.toString(), "--parallelism", "2" },
+                    out, err);
+
+            assertThat(exitCode, is(0));
+            String output = outBuffer.toString();
+            int position = -1;
+            for (int i = 1; i <= lines.size(); i++) {
+                int next = output.indexOf("[job " + i + "] succeeded");
+                assertThat(next, is(greaterThan(position)));
+                position = next;
+            }
+            assertThat(output, containsString("jobs: 9, succeeded: 9, failed: 0"));
+        }
+
+        @Test(expected = InvalidParameterException.class)
+        public void test_マニフェストの指定は必須() {
+            new Kde1dBatch().run(new String[] { "-f", inputFile.toString() },
+                    new PrintStream(OutputStream.nullOutputStream()),
+                    new PrintStream(OutputStream.nullOutputStream()));
+        }
+    }
+}
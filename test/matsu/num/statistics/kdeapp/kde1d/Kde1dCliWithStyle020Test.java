@@ -7,23 +7,38 @@
 
 package matsu.num.statistics.kdeapp.kde1d;
 
+import static java.nio.charset.StandardCharsets.*;
 import static org.hamcrest.MatcherAssert.*;
 import static org.hamcrest.Matchers.*;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.PrintStream;
 import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
 import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.experimental.runners.Enclosed;
 import org.junit.runner.RunWith;
 
+import matsu.num.statistics.kdeapp.kde1d.binary.Kde1dBinaryResult;
+import matsu.num.statistics.kdeapp.kde1d.exception.InvalidParameterException;
+import matsu.num.statistics.kdeapp.kde1d.exception.OutputException;
+
 /**
  * {@link Kde1dCliWithStyle020} のテスト.
  */
@@ -60,6 +75,763 @@ final class Kde1dCliWithStyle020Test {
                             }, out, err),
                     is(0));
         }
+
+        @Test
+        public void test_ハッピーパス_ストリーミングモード() throws Exception {
+            if (!Files.exists(inputFile)) {
+                throw new AssertionError("does not exists: " + inputFile.toAbsolutePath());
+            }
+
+            PrintStream out = new PrintStream(OutputStream.nullOutputStream());
+            PrintStream err = new PrintStream(OutputStream.nullOutputStream());
+
+            assertThat(
+                    new Kde1dCliWithStyle020().run(
+                            new String[] {
+                                    "-f", inputFile.toString(), "-out-f", outputFile.toString(),
+                                    "--streaming", "--summary"
+                            }, out, err),
+                    is(0));
+        }
+
+        @Test
+        public void test_ハッピーパス_計測値のJSON出力() throws Exception {
+            if (!Files.exists(inputFile)) {
+                throw new AssertionError("does not exists: " + inputFile.toAbsolutePath());
+            }
+
+            PrintStream out = new PrintStream(OutputStream.nullOutputStream());
+            PrintStream err = new PrintStream(OutputStream.nullOutputStream());
+            Path profileFile = outputDir.resolve("profile.json");
+
+            assertThat(
+                    new Kde1dCliWithStyle020().run(
+                            new String[] {
+                                    "-f", inputFile.toString(), "--echo-off",
+                                    "--profile", "--profile-json", profileFile.toString()
+                            }, out, err),
+                    is(0));
+            assertThat(Files.readString(profileFile),
+                    allOf(containsString("\"stage\": \"load\""),
+                            containsString("\"stage\": \"calc\"")));
+        }
+
+        @Test
+        public void test_ハッピーパス_バイナリ出力() throws Exception {
+            if (!Files.exists(inputFile)) {
+                throw new AssertionError("does not exists: " + inputFile.toAbsolutePath());
+            }
+
+            PrintStream out = new PrintStream(OutputStream.nullOutputStream());
+            PrintStream err = new PrintStream(OutputStream.nullOutputStream());
+            Path textFile = outputDir.resolve("kde1d result.txt");
+            Path binaryFile = outputDir.resolve("kde1d result.bin");
+
+            new Kde1dCliWithStyle020().run(
+                    new String[] {
+                            "-f", inputFile.toString(), "--echo-off", "-out-f", textFile.toString()
+                    }, out, err);
+            assertThat(
+                    new Kde1dCliWithStyle020().run(
+                            new String[] {
+                                    "-f", inputFile.toString(), "--echo-off",
+                                    "-out-f", binaryFile.toString(), "--output-format", "binary"
+                            }, out, err),
+                    is(0));
+
+            // テキスト出力と同じ値がバイナリで出力される
+            List<String> lines = Files.readAllLines(textFile);
+            Kde1dBinaryResult binary = Kde1dBinaryResult.map(binaryFile);
+            assertThat(binary.size(), is(lines.size()));
+            for (int i = 0; i < lines.size(); i++) {
+                String[] columns = lines.get(i).split("\t");
+                assertThat(binary.points().get(i), is(Double.parseDouble(columns[0])));
+                assertThat(binary.density().get(i), is(Double.parseDouble(columns[1])));
+            }
+        }
+    }
+
+    public static class gzip形式の入出力のテスト {
+
+        private final Path inputFile = Path.of("test/resources/kde1d test.txt");
+        private final Path outputDir = Path.of("test/output");
+
+        @Before
+        public void before_出力ディレクトリの削除() throws IOException {
+            deleteDir(outputDir);
+        }
+
+        @Test
+        public void test_圧縮の有無によらず同じ結果() throws Exception {
+            PrintStream out = new PrintStream(OutputStream.nullOutputStream());
+            PrintStream err = new PrintStream(OutputStream.nullOutputStream());
+            Files.createDirectories(outputDir);
+            Path compressedInput = outputDir.resolve("kde1d test.txt.gz");
+            try (OutputStream gz = new GZIPOutputStream(Files.newOutputStream(compressedInput))) {
+                gz.write(Files.readAllBytes(inputFile));
+            }
+            Path textFile = outputDir.resolve("kde1d result.txt");
+            Path compressedFile = outputDir.resolve("kde1d result.txt.gz");
+
+            for (String streaming : new String[] { "--summary", "--streaming" }) {
+                new Kde1dCliWithStyle020().run(
+                        new String[] {
+                                "-f", inputFile.toString(), "--echo-off", streaming,
+                                "-out-f", textFile.toString()
+                        }, out, err);
+                assertThat(
+                        new Kde1dCliWithStyle020().run(
+                                new String[] {
+                                        "-f", compressedInput.toString(), "--echo-off", streaming,
+                                        "-out-f", compressedFile.toString()
+                                }, out, err),
+                        is(0));
+
+                try (InputStream in = new GZIPInputStream(Files.newInputStream(compressedFile))) {
+                    assertThat(in.readAllBytes(), is(Files.readAllBytes(textFile)));
+                }
+            }
+        }
+    }
+
+    public static class 標準入力からの読み込みのテスト {
+
+        private final Path inputFile = Path.of("test/resources/kde1d test.txt");
+        private final Path outputDir = Path.of("test/output");
+        private final Path fileResult = outputDir.resolve("kde1d result file.txt");
+        private final Path stdinResult = outputDir.resolve("kde1d result stdin.txt");
+
+        private final PrintStream out = new PrintStream(OutputStream.nullOutputStream());
+        private final PrintStream err = new PrintStream(OutputStream.nullOutputStream());
+
+        @Before
+        public void before_出力ディレクトリの削除() throws IOException {
+            deleteDir(outputDir);
+        }
+
+        @Test
+        public void test_ファイルからの読み込みと同じ結果() throws Exception {
+            new Kde1dCliWithStyle020().run(
+                    new String[] {
+                            "-f", inputFile.toString(), "--echo-off", "-out-f", fileResult.toString()
+                    }, out, err);
+            assertThat(
+                    new Kde1dCliWithStyle020().run(
+                            new String[] {
+                                    "-f", "-", "--echo-off", "-out-f", stdinResult.toString()
+                            },
+                            new ByteArrayInputStream(Files.readAllBytes(inputFile)), out, err),
+                    is(0));
+
+            assertThat(Files.readAllBytes(stdinResult), is(Files.readAllBytes(fileResult)));
+        }
+
+        @Test
+        public void test_gzip形式の標準入力() throws Exception {
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+            try (OutputStream gz = new GZIPOutputStream(compressed)) {
+                gz.write(Files.readAllBytes(inputFile));
+            }
+
+            new Kde1dCliWithStyle020().run(
+                    new String[] {
+                            "-f", inputFile.toString(), "--echo-off", "-out-f", fileResult.toString()
+                    }, out, err);
+            new Kde1dCliWithStyle020().run(
+                    new String[] {
+                            "-f", "-", "--echo-off", "-out-f", stdinResult.toString()
+                    },
+                    new ByteArrayInputStream(compressed.toByteArray()), out, err);
+
+            assertThat(Files.readAllBytes(stdinResult), is(Files.readAllBytes(fileResult)));
+        }
+
+        @Test(expected = InvalidParameterException.class)
+        public void test_標準入力を利用できない場合は例外() {
+            new Kde1dCliWithStyle020().run(new String[] { "-f", "-" }, out, err);
+        }
+
+        @Test(expected = InvalidParameterException.class)
+        public void test_ストリーミングモードとは併用できない() {
+            new Kde1dCliWithStyle020().run(
+                    new String[] { "-f", "-", "--streaming" },
+                    new ByteArrayInputStream(new byte[0]), out, err);
+        }
+
+        @Test(expected = InvalidParameterException.class)
+        public void test_バイナリ形式とは併用できない() {
+            new Kde1dCliWithStyle020().run(
+                    new String[] { "-f", "-", "--input-format", "binary" },
+                    new ByteArrayInputStream(new byte[0]), out, err);
+        }
+    }
+
+    public static class グリッド点数の指定のテスト {
+
+        private final Path inputFile = Path.of("test/resources/kde1d test.txt");
+        private final Path outputDir = Path.of("test/output");
+        private final Path outputFile = outputDir.resolve("kde1d result.txt");
+
+        private final PrintStream out = new PrintStream(OutputStream.nullOutputStream());
+        private final PrintStream err = new PrintStream(OutputStream.nullOutputStream());
+
+        @Before
+        public void before_出力ディレクトリの削除() throws IOException {
+            deleteDir(outputDir);
+        }
+
+        @Test
+        public void test_固定の点数で出力される() throws Exception {
+            new Kde1dCliWithStyle020().run(
+                    new String[] {
+                            "-f", inputFile.toString(), "--echo-off", "--engine", "binned",
+                            "--grid-points", "300", "-out-f", outputFile.toString()
+                    }, out, err);
+            assertThat(Files.readAllLines(outputFile).size(), is(300));
+        }
+
+        @Test(expected = InvalidParameterException.class)
+        public void test_ライブラリによる評価では指定できない() {
+            new Kde1dCliWithStyle020().run(
+                    new String[] { "-f", inputFile.toString(), "--grid-points", "auto" }, out, err);
+        }
+    }
+
+    public static class 描画区間の指定のテスト {
+
+        private final Path inputFile = Path.of("test/resources/kde1d test.txt");
+        private final Path outputDir = Path.of("test/output");
+        private final Path outputFile = outputDir.resolve("kde1d result.txt");
+
+        private final PrintStream out = new PrintStream(OutputStream.nullOutputStream());
+        private final PrintStream err = new PrintStream(OutputStream.nullOutputStream());
+
+        @Before
+        public void before_出力ディレクトリの削除() throws IOException {
+            deleteDir(outputDir);
+        }
+
+        @Test
+        public void test_固定の区間で出力される() throws Exception {
+            new Kde1dCliWithStyle020().run(
+                    new String[] {
+                            "-f", inputFile.toString(), "--echo-off", "--engine", "direct",
+                            "--range", "-1,2", "--grid-points", "4", "-out-f", outputFile.toString()
+                    }, out, err);
+            List<String> lines = Files.readAllLines(outputFile);
+            assertThat(lines.size(), is(4));
+            assertThat(lines.get(0), startsWith("-1"));
+            assertThat(lines.get(3), startsWith("2"));
+        }
+
+        @Test
+        public void test_ストリーミングモードで分位点による区間を指定できる() throws Exception {
+            new Kde1dCliWithStyle020().run(
+                    new String[] {
+                            "-f", inputFile.toString(), "--echo-off", "--streaming",
+                            "--range", "quantile:0.05", "--pad-bandwidths", "2",
+                            "-out-f", outputFile.toString()
+                    }, out, err);
+            assertThat(Files.readAllLines(outputFile).size(), is(EvaluationGrid.DEFAULT_SIZE));
+        }
+
+        @Test(expected = InvalidParameterException.class)
+        public void test_固定の区間には余白を指定できない() {
+            new Kde1dCliWithStyle020().run(
+                    new String[] {
+                            "-f", inputFile.toString(), "--range", "-1,2", "--pad-bandwidths", "2"
+                    }, out, err);
+        }
+    }
+
+    public static class 打ち切り評価のテスト {
+
+        private final Path inputFile = Path.of("test/resources/kde1d test.txt");
+        private final Path outputDir = Path.of("test/output");
+        private final Path outputFile = outputDir.resolve("kde1d result.txt");
+
+        private final PrintStream out = new PrintStream(OutputStream.nullOutputStream());
+        private final PrintStream err = new PrintStream(OutputStream.nullOutputStream());
+
+        @Before
+        public void before_出力ディレクトリの削除() throws IOException {
+            deleteDir(outputDir);
+        }
+
+        @Test
+        public void test_打ち切り半径を指定して出力される() throws Exception {
+            new Kde1dCliWithStyle020().run(
+                    new String[] {
+                            "-f", inputFile.toString(), "--echo-off", "--engine", "truncated",
+                            "--cutoff", "5", "--grid-points", "300", "-out-f", outputFile.toString()
+                    }, out, err);
+            assertThat(Files.readAllLines(outputFile).size(), is(300));
+        }
+
+        @Test(expected = InvalidParameterException.class)
+        public void test_他のエンジンでは打ち切り半径を指定できない() {
+            new Kde1dCliWithStyle020().run(
+                    new String[] { "-f", inputFile.toString(), "--engine", "direct", "--cutoff", "5" },
+                    out, err);
+        }
+    }
+
+    public static class 重み付きの入力のテスト {
+
+        private final Path outputDir = Path.of("test/output");
+        private final Path weightedResult = outputDir.resolve("kde1d result weighted.txt");
+        private final Path rawResult = outputDir.resolve("kde1d result raw.txt");
+
+        private final PrintStream out = new PrintStream(OutputStream.nullOutputStream());
+        private final PrintStream err = new PrintStream(OutputStream.nullOutputStream());
+
+        @Before
+        public void before_出力ディレクトリの削除() throws IOException {
+            deleteDir(outputDir);
+        }
+
+        @Test
+        public void test_重みを度数として展開した入力と同じ結果() throws Exception {
+            String weighted = "# value,weight\n0,2\n1.5, 1\n4\t3\n";
+            String raw = "0\n0\n1.5\n4\n4\n4\n";
+
+            assertThat(
+                    new Kde1dCliWithStyle020().run(
+                            new String[] {
+                                    "-f", "-", "--input-format", "weighted", "--echo-off",
+                                    "--engine", "direct", "-out-f", weightedResult.toString()
+                            },
+                            new ByteArrayInputStream(weighted.getBytes(UTF_8)), out, err),
+                    is(0));
+            new Kde1dCliWithStyle020().run(
+                    new String[] {
+                            "-f", "-", "--echo-off", "--engine", "direct", "-out-f", rawResult.toString()
+                    },
+                    new ByteArrayInputStream(raw.getBytes(UTF_8)), out, err);
+
+            List<String> weightedLines = Files.readAllLines(weightedResult);
+            List<String> rawLines = Files.readAllLines(rawResult);
+            assertThat(weightedLines.size(), is(rawLines.size()));
+            for (int i = 0; i < rawLines.size(); i++) {
+                String[] w = weightedLines.get(i).strip().split("[,\\s]+");
+                String[] r = rawLines.get(i).strip().split("[,\\s]+");
+                assertThat(Double.parseDouble(w[0]), is(closeTo(Double.parseDouble(r[0]), 1E-12)));
+                assertThat(Double.parseDouble(w[1]), is(closeTo(Double.parseDouble(r[1]), 1E-12)));
+            }
+        }
+
+        @Test(expected = InvalidParameterException.class)
+        public void test_ライブラリによる評価では指定できない() {
+            new Kde1dCliWithStyle020().run(
+                    new String[] { "-f", "-", "--input-format", "weighted" },
+                    new ByteArrayInputStream(new byte[0]), out, err);
+        }
+
+        @Test(expected = InvalidParameterException.class)
+        public void test_ストリーミングモードとは併用できない() {
+            new Kde1dCliWithStyle020().run(
+                    new String[] {
+                            "-f", "test/resources/kde1d test.txt", "--input-format", "weighted",
+                            "--streaming"
+                    }, out, err);
+        }
+    }
+
+    public static class 多列の入力のテスト {
+
+        private final Path outputDir = Path.of("test/output");
+        private final Path wideResult = outputDir.resolve("kde1d result wide.txt");
+        private final Path splitResult = outputDir.resolve("kde1d result split.txt");
+
+        private final PrintStream out = new PrintStream(OutputStream.nullOutputStream());
+        private final PrintStream err = new PrintStream(OutputStream.nullOutputStream());
+
+        private final String table = "# a b c\n0, 10, 5\n1 11 5.5\n2,12,7\n3.5 14 6\n";
+
+        @Before
+        public void before_出力ディレクトリの削除() throws IOException {
+            deleteDir(outputDir);
+        }
+
+        @Test
+        public void test_横に並べた出力は列ごとの推定と一致する() throws Exception {
+            assertThat(
+                    new Kde1dCliWithStyle020().run(
+                            new String[] {
+                                    "-f", "-", "--columns", "3,1", "--echo-off",
+                                    "--engine", "direct", "--parallelism", "2",
+                                    "-out-f", wideResult.toString()
+                            },
+                            new ByteArrayInputStream(table.getBytes(UTF_8)), out, err),
+                    is(0));
+
+            List<String> wideLines = Files.readAllLines(wideResult);
+            List<String> column3 = runSingleColumn("5\n5.5\n7\n6\n", "c3");
+            List<String> column1 = runSingleColumn("0\n1\n2\n3.5\n", "c1");
+            assertThat(wideLines.size(), is(column3.size()));
+            for (int i = 0; i < wideLines.size(); i++) {
+                assertThat(wideLines.get(i), is(column3.get(i) + "\t" + column1.get(i)));
+            }
+        }
+
+        @Test
+        public void test_列ごとのファイルへの出力() throws Exception {
+            new Kde1dCliWithStyle020().run(
+                    new String[] {
+                            "-f", "-", "--columns", "3,1", "--column-output", "split", "--echo-off",
+                            "--engine", "direct", "-out-f", splitResult.toString()
+                    },
+                    new ByteArrayInputStream(table.getBytes(UTF_8)), out, err);
+
+            assertThat(Files.exists(splitResult), is(false));
+            assertThat(Files.readAllLines(outputDir.resolve("kde1d result split.col3.txt")),
+                    is(runSingleColumn("5\n5.5\n7\n6\n", "c3")));
+            assertThat(Files.readAllLines(outputDir.resolve("kde1d result split.col1.txt")),
+                    is(runSingleColumn("0\n1\n2\n3.5\n", "c1")));
+        }
+
+        @Test(expected = InvalidParameterException.class)
+        public void test_ストリーミングモードとは併用できない() {
+            new Kde1dCliWithStyle020().run(
+                    new String[] {
+                            "-f", "test/resources/kde1d test.txt", "--columns", "1", "--streaming"
+                    }, out, err);
+        }
+
+        @Test(expected = InvalidParameterException.class)
+        public void test_重み付きの入力とは併用できない() {
+            new Kde1dCliWithStyle020().run(
+                    new String[] {
+                            "-f", "test/resources/kde1d test.txt", "--columns", "1",
+                            "--input-format", "weighted", "--engine", "direct"
+                    }, out, err);
+        }
+
+        @Test(expected = InvalidParameterException.class)
+        public void test_複数の列を横に並べたバイナリ出力はできない() {
+            new Kde1dCliWithStyle020().run(
+                    new String[] {
+                            "-f", "-", "--columns", "1,2", "--output-format", "binary",
+                            "-out-f", wideResult.toString()
+                    },
+                    new ByteArrayInputStream(table.getBytes(UTF_8)), out, err);
+        }
+
+        private List<String> runSingleColumn(String values, String name) throws IOException {
+            Path file = outputDir.resolve("kde1d result " + name + ".txt");
+            new Kde1dCliWithStyle020().run(
+                    new String[] {
+                            "-f", "-", "--echo-off", "--engine", "direct", "-out-f", file.toString()
+                    },
+                    new ByteArrayInputStream(values.getBytes(UTF_8)), out, err);
+            return Files.readAllLines(file);
+        }
+    }
+
+    public static class 結果のキャッシュのテスト {
+
+        private final Path inputFile = Path.of("test/resources/kde1d test.txt");
+        private final Path outputDir = Path.of("test/output");
+        private final Path cacheDir = outputDir.resolve("cache");
+
+        private final PrintStream out = new PrintStream(OutputStream.nullOutputStream());
+        private final PrintStream err = new PrintStream(OutputStream.nullOutputStream());
+
+        @Before
+        public void before_出力ディレクトリの削除() throws IOException {
+            deleteDir(outputDir);
+        }
+
+        @Test
+        public void test_キャッシュヒットではロードせずに同じ結果を出力する() throws Exception {
+            Path first = outputDir.resolve("kde1d result first.txt");
+            Path second = outputDir.resolve("kde1d result second.txt");
+            Path profileFile = outputDir.resolve("profile.json");
+
+            run("--engine", "direct", "-out-f", first.toString());
+            run("--engine", "direct", "-out-f", second.toString(),
+                    "--profile-json", profileFile.toString());
+
+            assertThat(Files.readAllLines(second), is(Files.readAllLines(first)));
+            assertThat(Files.readString(profileFile),
+                    allOf(containsString("\"stage\": \"cache-lookup\""),
+                            not(containsString("\"stage\": \"load\""))));
+        }
+
+        @Test
+        public void test_既定のエンジンでもキャッシュヒットとミスの出力はバイト単位で一致する() throws Exception {
+            Path first = outputDir.resolve("kde1d result first.txt");
+            Path second = outputDir.resolve("kde1d result second.txt");
+
+            byte[] firstOut = runWithLabel(first);
+            byte[] secondOut = runWithLabel(second);
+
+            assertThat(resultEntries(), is(1L));
+            assertThat(Files.readAllBytes(second), is(Files.readAllBytes(first)));
+            assertThat(secondOut, is(firstOut));
+        }
+
+        /**
+         * 既定のエンジンで, ラベル有りで実行し, 標準出力を返す.
+         */
+        private byte[] runWithLabel(Path outputFile) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            new Kde1dCliWithStyle020().run(
+                    new String[] {
+                            "-f", inputFile.toString(), "--label-header", "//", "--separator", ",",
+                            "--cache-dir", cacheDir.toString(), "-out-f", outputFile.toString()
+                    }, new PrintStream(bytes, true, UTF_8), err);
+            return bytes.toByteArray();
+        }
+
+        @Test
+        public void test_キャッシュヒットでも要約統計量を表示する() throws Exception {
+            ByteArrayOutputStream firstOut = new ByteArrayOutputStream();
+            ByteArrayOutputStream secondOut = new ByteArrayOutputStream();
+            for (ByteArrayOutputStream bytes : List.of(firstOut, secondOut)) {
+                new Kde1dCliWithStyle020().run(
+                        new String[] {
+                                "-f", inputFile.toString(), "--echo-off", "--summary",
+                                "--cache-dir", cacheDir.toString()
+                        }, new PrintStream(bytes, true, UTF_8), err);
+            }
+            assertThat(secondOut.toString(UTF_8), is(firstOut.toString(UTF_8)));
+        }
+
+        @Test
+        public void test_パラメータが異なれば別のエントリ() throws Exception {
+            run("--engine", "direct");
+            run("--engine", "binned");
+            assertThat(resultEntries(), is(2L));
+        }
+
+        @Test
+        public void test_キャッシュを利用しない指定() throws Exception {
+            run("--no-cache");
+            assertThat(Files.exists(cacheDir), is(false));
+        }
+
+        private void run(String... options) {
+            List<String> args = new ArrayList<>(List.of(
+                    "-f", inputFile.toString(), "--echo-off", "--cache-dir", cacheDir.toString()));
+            args.addAll(List.of(options));
+            assertThat(new Kde1dCliWithStyle020().run(args.toArray(String[]::new), out, err), is(0));
+        }
+
+        private long resultEntries() throws IOException {
+            try (Stream<Path> files = Files.list(cacheDir)) {
+                return files.filter(f -> f.toString().endsWith(ResultCache.RESULT_SUFFIX)).count();
+            }
+        }
+    }
+
+    public static class 増分モードのテスト {
+
+        private final Path inputFile = Path.of("test/resources/kde1d test.txt");
+        private final Path outputDir = Path.of("test/output");
+
+        private final PrintStream out = new PrintStream(OutputStream.nullOutputStream());
+        private final PrintStream err = new PrintStream(OutputStream.nullOutputStream());
+
+        @Before
+        public void before_出力ディレクトリの削除() throws IOException {
+            deleteDir(outputDir);
+        }
+
+        @Test
+        public void test_追記後の結果は全体を解析した結果と一致する() throws Exception {
+            Path growing = outputDir.resolve("growing.txt");
+            Path incremental = outputDir.resolve("kde1d result incremental.txt");
+            Path full = outputDir.resolve("kde1d result full.txt");
+
+            List<String> lines = Files.readAllLines(inputFile);
+            Files.createDirectories(outputDir);
+            Files.write(growing, lines.subList(0, lines.size() / 2));
+            run("-f", growing.toString(), "--incremental", "--range", "-2,6", "--grid-points", "256",
+                    "-out-f", incremental.toString());
+            assertThat(Files.exists(Path.of(incremental + IncrementalCheckpoint.SUFFIX)), is(true));
+
+            Files.write(growing, lines.subList(lines.size() / 2, lines.size()), StandardOpenOption.APPEND);
+            run("-f", growing.toString(), "--incremental", "--range", "-2,6", "--grid-points", "256",
+                    "-out-f", incremental.toString());
+            // 新しいチェックポイントで全体を解析した結果と比べる
+            run("-f", growing.toString(), "--incremental", "--range", "-2,6", "--grid-points", "256",
+                    "-out-f", full.toString());
+
+            assertThat(Files.readAllLines(incremental), is(Files.readAllLines(full)));
+        }
+
+        @Test
+        public void test_同じ出力先で繰り返し実行できる() throws Exception {
+            Path growing = outputDir.resolve("growing.txt");
+            Path incremental = outputDir.resolve("kde1d result incremental.txt");
+
+            List<String> lines = Files.readAllLines(inputFile);
+            Files.createDirectories(outputDir);
+            Files.write(growing, lines);
+            for (int i = 0; i < 3; i++) {
+                run("-f", growing.toString(), "--incremental", "--range", "-2,6",
+                        "-out-f", incremental.toString());
+                Files.write(growing, List.of(Integer.toString(i)), StandardOpenOption.APPEND);
+            }
+            assertThat(Files.exists(Path.of(incremental + IncrementalCheckpoint.SUFFIX)), is(true));
+        }
+
+        @Test
+        public void test_出力に失敗した場合はチェックポイントを書き込まない() throws Exception {
+            // ディレクトリへの出力は失敗する
+            Path directory = outputDir.resolve("kde1d result dir");
+            Files.createDirectories(directory);
+            try {
+                new Kde1dCliWithStyle020().run(
+                        new String[] {
+                                "-f", inputFile.toString(), "--echo-off", "--incremental",
+                                "--range", "-2,6", "-out-f", directory.toString()
+                        }, out, err);
+                throw new AssertionError("no exception");
+            } catch (OutputException expected) {
+                // 想定通り
+            }
+            assertThat(Files.exists(Path.of(directory + IncrementalCheckpoint.SUFFIX)), is(false));
+        }
+
+        @Test(expected = InvalidParameterException.class)
+        public void test_出力ファイルの指定がなければ例外() {
+            new Kde1dCliWithStyle020().run(
+                    new String[] {
+                            "-f", inputFile.toString(), "--echo-off", "--incremental", "--range", "-2,6"
+                    }, out, err);
+        }
+
+        @Test(expected = InvalidParameterException.class)
+        public void test_上書きしない出力の指定は不可() {
+            new Kde1dCliWithStyle020().run(
+                    new String[] {
+                            "-f", inputFile.toString(), "--echo-off", "--incremental", "--range", "-2,6",
+                            "-out", outputDir.resolve("kde1d result.txt").toString()
+                    }, out, err);
+        }
+
+        @Test(expected = InvalidParameterException.class)
+        public void test_固定の描画区間の指定がなければ例外() {
+            new Kde1dCliWithStyle020().run(
+                    new String[] {
+                            "-f", inputFile.toString(), "--echo-off", "--incremental",
+                            "-out-f", outputDir.resolve("kde1d result.txt").toString()
+                    }, out, err);
+        }
+
+        @Test(expected = InvalidParameterException.class)
+        public void test_評価エンジンの指定は不可() {
+            new Kde1dCliWithStyle020().run(
+                    new String[] {
+                            "-f", inputFile.toString(), "--echo-off", "--incremental", "--range", "-2,6",
+                            "--engine", "direct", "-out-f", outputDir.resolve("kde1d result.txt").toString()
+                    }, out, err);
+        }
+
+        private void run(String... options) {
+            List<String> args = new ArrayList<>(List.of("--echo-off"));
+            args.addAll(List.of(options));
+            assertThat(new Kde1dCliWithStyle020().run(args.toArray(String[]::new), out, err), is(0));
+        }
+    }
+
+    public static class 単精度モードのテスト {
+
+        private final Path inputFile = Path.of("test/resources/kde1d test.txt");
+        private final Path outputDir = Path.of("test/output");
+
+        private final PrintStream out = new PrintStream(OutputStream.nullOutputStream());
+        private final PrintStream err = new PrintStream(OutputStream.nullOutputStream());
+
+        @Before
+        public void before_出力ディレクトリの削除() throws IOException {
+            deleteDir(outputDir);
+        }
+
+        @Test
+        public void test_floatで表現できる値では倍精度と同じ結果() throws Exception {
+            Path single = outputDir.resolve("kde1d result float32.txt");
+            Path full = outputDir.resolve("kde1d result float64.txt");
+
+            for (String engine : List.of("direct", "truncated", "binned")) {
+                new Kde1dCliWithStyle020().run(
+                        new String[] {
+                                "-f", inputFile.toString(), "--echo-off", "--engine", engine,
+                                "--float32", "-out-f", single.toString()
+                        }, out, err);
+                new Kde1dCliWithStyle020().run(
+                        new String[] {
+                                "-f", inputFile.toString(), "--echo-off", "--engine", engine,
+                                "-out-f", full.toString()
+                        }, out, err);
+                assertThat(Files.readAllLines(single), is(Files.readAllLines(full)));
+            }
+        }
+
+        @Test(expected = InvalidParameterException.class)
+        public void test_ライブラリによる評価では指定できない() {
+            new Kde1dCliWithStyle020().run(
+                    new String[] { "-f", inputFile.toString(), "--echo-off", "--float32" }, out, err);
+        }
+
+        @Test(expected = InvalidParameterException.class)
+        public void test_ストリーミングモードとは併用できない() {
+            new Kde1dCliWithStyle020().run(
+                    new String[] { "-f", inputFile.toString(), "--float32", "--streaming" }, out, err);
+        }
+    }
+
+    public static class 並列度の指定のテスト {
+
+        private final Path outputDir = Path.of("test/output");
+        private final Path inputFile = outputDir.resolve("kde1d large input.txt");
+
+        private final PrintStream err = new PrintStream(OutputStream.nullOutputStream());
+
+        @Before
+        public void before_分割される大きさの入力の準備() throws IOException {
+            deleteDir(outputDir);
+            Files.createDirectories(outputDir);
+
+            // 並列解析でバイト範囲に分割される大きさ (8 MB 超) の入力
+            Random random = new Random(20261018L);
+            StringBuilder sb = new StringBuilder();
+            while (sb.length() <= 2 * ByteChannelDoubleDataLoader.DEFAULT_MIN_CHUNK_SIZE + (1 << 20)) {
+                sb.append(3700 + random.nextGaussian() * 250).append("\n");
+            }
+            Files.writeString(inputFile, sb.toString());
+        }
+
+        @Test
+        public void test_結果は並列度によらずバイト単位で一致する() throws Exception {
+            for (String[] mode : List.of(
+                    new String[] { "--engine", "direct", "--grid-points", "16" },
+                    new String[] { "--engine", "binned", "--grid-points", "16" },
+                    new String[] { "--streaming", "--range", "quantile:0.01", "--grid-points", "16" })) {
+                byte[] serial = null;
+                for (String parallelism : List.of("1", "4")) {
+                    Path outputFile = outputDir.resolve("kde1d result p" + parallelism + ".txt");
+                    ByteArrayOutputStream summary = new ByteArrayOutputStream();
+                    List<String> args = new ArrayList<>(List.of(
+                            "-f", inputFile.toString(), "--echo-off", "--summary",
+                            "--parallelism", parallelism, "-out-f", outputFile.toString()));
+                    args.addAll(List.of(mode));
+                    new Kde1dCliWithStyle020().run(
+                            args.toArray(String[]::new), new PrintStream(summary, true, UTF_8), err);
+
+                    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                    bytes.write(summary.toByteArray());
+                    bytes.write(Files.readAllBytes(outputFile));
+                    if (Objects.isNull(serial)) {
+                        serial = bytes.toByteArray();
+                    } else {
+                        assertThat(bytes.toByteArray(), is(serial));
+                    }
+                }
+            }
+        }
     }
 
     public static class エラーメッセージの表示 {
@@ -0,0 +1,121 @@
+/*
+ * Copyright © 2026 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+package matsu.num.statistics.kdeapp.kde1d;
+
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+
+import matsu.num.statistics.kdeapp.kde1d.exception.InputException;
+import matsu.num.statistics.kdeapp.kde1d.exception.InvalidParameterException;
+
+/**
+ * {@link Kde1dMerge} と, {@link Kde1dCliWithStyle020} による部分集計の出力のテスト.
+ */
+@RunWith(Enclosed.class)
+final class Kde1dMergeTest {
+
+    public static class 部分集計の併合に関する {
+
+        private final Path outputDir = Path.of("test/output/merge");
+        private final Path partialDir = outputDir.resolve("partials");
+
+        private final PrintStream out = new PrintStream(OutputStream.nullOutputStream());
+        private final PrintStream err = new PrintStream(OutputStream.nullOutputStream());
+
+        @Before
+        public void before_出力ディレクトリの準備() throws IOException {
+            if (Files.exists(outputDir)) {
+                try (Stream<Path> files = Files.walk(outputDir)) {
+                    for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                        Files.delete(file);
+                    }
+                }
+            }
+            Files.createDirectories(partialDir);
+        }
+
+        @Test
+        public void test_シャードの部分集計の併合は全体の推定と一致する() throws IOException {
+            Path whole = outputDir.resolve("whole.txt");
+            Path[] shards = {
+                    outputDir.resolve("shard1.txt"), outputDir.resolve("shard2.txt"), outputDir.resolve("shard3.txt") };
+            StringBuilder all = new StringBuilder();
+            StringBuilder[] parts = { new StringBuilder(), new StringBuilder(), new StringBuilder() };
+            for (int i = 0; i < 600; i++) {
+                String line = (Math.sin(i * 0.37) * 3) + "\n";
+                all.append(line);
+                parts[i % 3].append(line);
+            }
+            Files.writeString(whole, all);
+            for (int k = 0; k < 3; k++) {
+                Files.writeString(shards[k], parts[k]);
+                assertThat(new Kde1dCliWithStyle020().run(new String[] {
+                        "-f", shards[k].toString(), "--echo-off", "--range", "-4,4", "--grid-points", "801",
+                        "--partial-output", partialDir.resolve("s" + k + PartialAggregate.SUFFIX).toString()
+                }, out, err), is(0));
+            }
+
+            Path merged = outputDir.resolve("merged.txt");
+            Path binned = outputDir.resolve("binned.txt");
+            assertThat(new Kde1dMerge().run(new String[] {
+                    "--partials", partialDir.toString(), "--echo-off", "-out-f", merged.toString()
+            }, out, err), is(0));
+            new Kde1dCliWithStyle020().run(new String[] {
+                    "-f", whole.toString(), "--echo-off", "--engine", "binned",
+                    "--range", "-4,4", "--grid-points", "801", "-out-f", binned.toString()
+            }, out, err);
+
+            List<String> mergedLines = Files.readAllLines(merged);
+            List<String> binnedLines = Files.readAllLines(binned);
+            assertThat(mergedLines.size(), is(binnedLines.size()));
+            for (int i = 0; i < mergedLines.size(); i++) {
+                String[] m = mergedLines.get(i).split("\t");
+                String[] b = binnedLines.get(i).split("\t");
+                if (m.length != 2 || !Character.isDigit(m[1].charAt(m[1].length() - 1))) {
+                    // ヘッダ行
+                    assertThat(mergedLines.get(i), is(binnedLines.get(i)));
+                    continue;
+                }
+                assertThat(Double.parseDouble(m[0]), is(Double.parseDouble(b[0])));
+                assertThat(Double.parseDouble(m[1]), is(closeTo(Double.parseDouble(b[1]), 1E-12)));
+            }
+        }
+
+        @Test(expected = InputException.class)
+        public void test_部分集計がなければ例外() {
+            new Kde1dMerge().run(new String[] { "--partials", partialDir.toString() }, out, err);
+        }
+
+        @Test(expected = InvalidParameterException.class)
+        public void test_部分集計には固定の描画区間が必要() {
+            new Kde1dCliWithStyle020().run(new String[] {
+                    "-f", "test/resources/kde1d test.txt", "--echo-off",
+                    "--partial-output", partialDir.resolve("s" + PartialAggregate.SUFFIX).toString()
+            }, out, err);
+        }
+
+        @Test(expected = InvalidParameterException.class)
+        public void test_部分集計のディレクトリの指定は必須() {
+            new Kde1dMerge().run(new String[] { "--echo-off" }, out, err);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright © 2026 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+package matsu.num.statistics.kdeapp.kde1d;
+
+import static java.nio.charset.StandardCharsets.*;
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+
+import matsu.num.statistics.kdeapp.kde1d.exception.InvalidParameterException;
+
+/**
+ * {@link Kde1dServer} のテスト.
+ */
+@RunWith(Enclosed.class)
+final class Kde1dServerTest {
+
+    public static class 要求の処理に関する {
+
+        private final Path outputDir = Path.of("test/output/server").toAbsolutePath();
+        private final Path socketPath = outputDir.resolve("kde1d.sock");
+
+        private Thread serverThread;
+
+        @Before
+        public void before_サーバーを起動する() throws Exception {
+            Files.createDirectories(outputDir);
+            serverThread = new Thread(() -> new Kde1dServer().run(
+                    new String[] { "--socket", socketPath.toString(), "--parallelism", "2" },
+                    new PrintStream(OutputStream.nullOutputStream()),
+                    new PrintStream(OutputStream.nullOutputStream())));
+            serverThread.start();
+
+            // ソケットファイルの生成から待ち受けの開始までには間があるため, 接続できるまで待つ
+            for (int i = 0; i < 500; i++) {
+                try {
+                    SocketChannel.open(UnixDomainSocketAddress.of(socketPath)).close();
+                    break;
+                } catch (IOException e) {
+                    Thread.sleep(10);
+                }
+            }
+        }
+
+        @After
+        public void after_サーバーを停止する() throws InterruptedException {
+            serverThread.interrupt();
+            serverThread.join(5000);
+        }
+
+        @Test
+        public void test_相対パスはクライアントの作業ディレクトリで解決される() throws IOException {
+            String response = request(Path.of("test").toAbsolutePath(),
+                    "-f", "resources/kde1d test.txt", "--echo-off",
+                    "-out-f", "output/server/result.txt");
+
+            assertThat(response, allOf(
+                    startsWith("kde1d..."),
+                    endsWith(Kde1dServerProtocol.EXIT_STATUS_PREFIX + "0\n")));
+            assertThat(Files.exists(outputDir.resolve("result.txt")), is(true));
+        }
+
+        @Test
+        public void test_失敗した要求は終了コード1で応答される() throws IOException {
+            String response = request(Path.of("").toAbsolutePath(), "-f", "dummy.txt");
+
+            assertThat(response, allOf(
+                    containsString("InputException"),
+                    endsWith(Kde1dServerProtocol.EXIT_STATUS_PREFIX + "1\n")));
+        }
+
+        @Test
+        public void test_不正な形式の要求は終了コード1で応答される() throws IOException {
+            String response = request("HTTP/1.1\n");
+
+            assertThat(response, endsWith(Kde1dServerProtocol.EXIT_STATUS_PREFIX + "1\n"));
+        }
+
+        private String request(Path workingDirectory, String... args) throws IOException {
+            StringBuilder sb = new StringBuilder();
+            sb.append(Kde1dServerProtocol.VERSION_LINE).append('\n')
+                    .append(workingDirectory).append('\n')
+                    .append(args.length).append('\n');
+            for (String arg : args) {
+                sb.append(arg).append('\n');
+            }
+            return request(sb.toString());
+        }
+
+        private String request(String rawRequest) throws IOException {
+            try (SocketChannel channel = SocketChannel.open(UnixDomainSocketAddress.of(socketPath))) {
+                channel.write(ByteBuffer.wrap(rawRequest.getBytes(UTF_8)));
+                channel.shutdownOutput();
+                return new String(Channels.newInputStream(channel).readAllBytes(), UTF_8);
+            }
+        }
+    }
+
+    public static class パラメータに関する {
+
+        @Test(expected = InvalidParameterException.class)
+        public void test_ソケットの指定は必須() {
+            new Kde1dServer().run(new String[] { "--parallelism", "2" },
+                    new PrintStream(OutputStream.nullOutputStream()),
+                    new PrintStream(OutputStream.nullOutputStream()));
+        }
+
+        @Test(expected = InvalidParameterException.class)
+        public void test_入力ファイルの指定は禁止() {
+            new Kde1dServer().run(new String[] { "--socket", "kde1d.sock", "-f", "dummy.txt" },
+                    new PrintStream(OutputStream.nullOutputStream()),
+                    new PrintStream(OutputStream.nullOutputStream()));
+        }
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright © 2026 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+package matsu.num.statistics.kdeapp.kde1d;
+
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+
+/**
+ * {@link ManifestLineTokenizer} のテスト.
+ */
+@RunWith(Enclosed.class)
+final class ManifestLineTokenizerTest {
+
+    public static class 分解に関する {
+
+        @Test
+        public void test_空白で区切られる() {
+            assertThat(ManifestLineTokenizer.tokenize("  -f  a.txt\t--echo-off "),
+                    is(new String[] { "-f", "a.txt", "--echo-off" }));
+        }
+
+        @Test
+        public void test_引用符は空白を含められる() {
+            assertThat(ManifestLineTokenizer.tokenize("-f \"kde1d test.txt\" -sep \"\\t\""),
+                    is(new String[] { "-f", "kde1d test.txt", "-sep", "\\t" }));
+        }
+
+        @Test
+        public void test_引用符内のエスケープ() {
+            assertThat(ManifestLineTokenizer.tokenize("\"a\\\"b\\\\c\" x\"\"y \"\""),
+                    is(new String[] { "a\"b\\c", "xy", "" }));
+        }
+
+        @Test
+        public void test_空白行とコメント行は空() {
+            assertThat(ManifestLineTokenizer.tokenize("   "), is(new String[0]));
+            assertThat(ManifestLineTokenizer.tokenize(" # -f a.txt"), is(new String[0]));
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void test_引用符が閉じていないと例外() {
+            ManifestLineTokenizer.tokenize("-f \"a.txt");
+        }
+    }
+}
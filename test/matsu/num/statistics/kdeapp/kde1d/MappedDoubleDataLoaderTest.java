@@ -0,0 +1,153 @@
+/*
+ * Copyright © 2026 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+package matsu.num.statistics.kdeapp.kde1d;
+
+import static java.nio.file.StandardOpenOption.*;
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+
+import matsu.num.statistics.kdeapp.kde1d.binary.Kde1dBinarySamples;
+
+/**
+ * {@link MappedDoubleDataLoader} のテスト.
+ */
+@RunWith(Enclosed.class)
+final class MappedDoubleDataLoaderTest {
+
+    private static final Path OUTPUT_DIR = Path.of("test/output/mapped");
+
+    private static final double[] VALUES = values(1000);
+
+    public static class 値の読み込みに関する {
+
+        @Test
+        public void test_ヘッダ無しの形式はバイトオーダーを指定して読み込む() throws IOException {
+            for (ByteOrder order : List.of(ByteOrder.LITTLE_ENDIAN, ByteOrder.BIG_ENDIAN)) {
+                Path file = writeRaw("raw.bin", VALUES, order);
+                Kde1dSource source = new MappedDoubleDataLoader(
+                        channel -> Kde1dBinarySamples.raw(channel, order))
+                                .load(() -> FileChannel.open(file, READ), 1);
+
+                assertThat(source.values(), is(VALUES));
+                assertThat(source.summary().count(), is((long) VALUES.length));
+            }
+        }
+
+        @Test
+        public void test_ヘッダ付きの形式はバイトオーダーを判別する() throws IOException {
+            for (ByteOrder order : List.of(ByteOrder.LITTLE_ENDIAN, ByteOrder.BIG_ENDIAN)) {
+                Path file = writeHeadered("headered.bin", VALUES, order);
+                Kde1dSource source = new MappedDoubleDataLoader(Kde1dBinarySamples::headered)
+                        .load(() -> FileChannel.open(file, READ), 1);
+
+                assertThat(source.values(), is(VALUES));
+            }
+        }
+
+        @Test
+        public void test_空のファイル() throws IOException {
+            Path file = writeRaw("empty.bin", new double[0], ByteOrder.LITTLE_ENDIAN);
+            Kde1dSource source = new MappedDoubleDataLoader(
+                    channel -> Kde1dBinarySamples.raw(channel, ByteOrder.LITTLE_ENDIAN))
+                            .load(() -> FileChannel.open(file, READ), 4);
+
+            assertThat(source.values().length, is(0));
+        }
+
+        @Test(expected = IOException.class)
+        public void test_ヘッダ無しの形式のサイズは8の倍数() throws IOException {
+            Files.createDirectories(OUTPUT_DIR);
+            Path file = OUTPUT_DIR.resolve("illegal.bin");
+            Files.write(file, new byte[12]);
+            new MappedDoubleDataLoader(
+                    channel -> Kde1dBinarySamples.raw(channel, ByteOrder.LITTLE_ENDIAN))
+                            .load(() -> FileChannel.open(file, READ), 1);
+        }
+
+        @Test(expected = IOException.class)
+        public void test_ヘッダのサンプル数とファイルサイズは整合する() throws IOException {
+            Path file = writeHeadered("truncated.bin", VALUES, ByteOrder.LITTLE_ENDIAN);
+            try (FileChannel channel = FileChannel.open(file, WRITE)) {
+                channel.truncate(Files.size(file) - Double.BYTES);
+            }
+            new MappedDoubleDataLoader(Kde1dBinarySamples::headered)
+                    .load(() -> FileChannel.open(file, READ), 1);
+        }
+    }
+
+    public static class 並列読み込みに関する {
+
+        @Test
+        public void test_結果は逐次読み込みと一致する() throws IOException {
+            Path file = writeHeadered("parallel.bin", VALUES, ByteOrder.BIG_ENDIAN);
+            MappedDoubleDataLoader loader = new MappedDoubleDataLoader(Kde1dBinarySamples::headered);
+
+            Kde1dSource sequential = loader.load(() -> FileChannel.open(file, READ), 1);
+            Kde1dSource parallel = loader.load(() -> FileChannel.open(file, READ), 4, 64);
+
+            assertThat(parallel.values(), is(sequential.values()));
+            assertThat(parallel.summary().count(), is(sequential.summary().count()));
+            assertThat(parallel.summary().mean(), is(closeTo(sequential.summary().mean(), 1E-12)));
+        }
+
+        @Test
+        public void test_走査はファイル内の順序でシンクを返す() throws IOException {
+            Path file = writeHeadered("scan.bin", VALUES, ByteOrder.LITTLE_ENDIAN);
+            MappedDoubleDataLoader loader = new MappedDoubleDataLoader(Kde1dBinarySamples::headered);
+
+            List<SampleSummary.Accumulator> sinks = loader.scan(
+                    () -> FileChannel.open(file, READ), 4, 64, SampleSummary.Accumulator::new);
+
+            assertThat(sinks.size(), is(greaterThan(1)));
+            SampleSummary.Accumulator accumulator = new SampleSummary.Accumulator();
+            sinks.forEach(accumulator::combine);
+            assertThat(accumulator.summary().count(), is((long) VALUES.length));
+            assertThat(accumulator.summary().min(), is(VALUES[0]));
+        }
+    }
+
+    private static double[] values(int size) {
+        double[] out = new double[size];
+        for (int i = 0; i < size; i++) {
+            out[i] = Math.sin(i) + 0.001 * i;
+        }
+        out[0] = -10d;
+        return out;
+    }
+
+    private static Path writeRaw(String name, double[] values, ByteOrder order) throws IOException {
+        Files.createDirectories(OUTPUT_DIR);
+        Path file = OUTPUT_DIR.resolve(name);
+        ByteBuffer buffer = ByteBuffer.allocate(values.length * Double.BYTES).order(order);
+        buffer.asDoubleBuffer().put(values);
+        Files.write(file, buffer.array());
+        return file;
+    }
+
+    private static Path writeHeadered(String name, double[] values, ByteOrder order)
+            throws IOException {
+        Files.createDirectories(OUTPUT_DIR);
+        Path file = OUTPUT_DIR.resolve(name);
+        try (FileChannel channel = FileChannel.open(file, CREATE, WRITE, TRUNCATE_EXISTING)) {
+            Kde1dBinarySamples.write(channel, values, order);
+        }
+        return file;
+    }
+}
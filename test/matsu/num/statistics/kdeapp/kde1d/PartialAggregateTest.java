@@ -0,0 +1,142 @@
+/*
+ * Copyright © 2026 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+package matsu.num.statistics.kdeapp.kde1d;
+
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+
+import matsu.num.statistics.kdeapp.kde1d.exception.CalculationException;
+
+/**
+ * {@link PartialAggregate} のテスト.
+ */
+@RunWith(Enclosed.class)
+final class PartialAggregateTest {
+
+    private static double[] samples(int n) {
+        double[] out = new double[n];
+        for (int i = 0; i < n; i++) {
+            out[i] = Math.sin(i * 0.37) * 3 + (i % 7) * 0.1;
+        }
+        return out;
+    }
+
+    public static class 併合に関する {
+
+        @Test
+        public void test_シャードの併合は全体の部分集計と一致する() {
+            double[] all = samples(3000);
+            PartialAggregate whole = PartialAggregate.of(Kde1dSource.of(all), -5, 5, 512);
+
+            PartialAggregate merged = PartialAggregate.of(
+                    Kde1dSource.of(Arrays.copyOfRange(all, 0, 1000)), -5, 5, 512)
+                    .merge(PartialAggregate.of(
+                            Kde1dSource.of(Arrays.copyOfRange(all, 1000, 1100)), -5, 5, 512))
+                    .merge(PartialAggregate.of(
+                            Kde1dSource.of(Arrays.copyOfRange(all, 1100, 3000)), -5, 5, 512));
+
+            assertThat(merged.summary().count(), is(3000L));
+            assertThat(merged.summary().mean(), is(closeTo(whole.summary().mean(), 1E-12)));
+            assertThat(merged.summary().sumOfSquaredDeviations(),
+                    is(closeTo(whole.summary().sumOfSquaredDeviations(), 1E-9)));
+            double[] expected = whole.bins();
+            double[] actual = merged.bins();
+            for (int i = 0; i < expected.length; i++) {
+                assertThat(actual[i], is(closeTo(expected[i], 1E-9)));
+            }
+        }
+
+        @Test
+        public void test_空のシャードは併合に影響しない() {
+            double[] all = samples(100);
+            PartialAggregate whole = PartialAggregate.of(Kde1dSource.of(all), -5, 5, 64);
+            PartialAggregate merged = PartialAggregate.of(Kde1dSource.of(new double[0]), -5, 5, 64)
+                    .merge(whole);
+            assertThat(merged.bins(), is(whole.bins()));
+            assertThat(merged.summary().describe(), is(whole.summary().describe()));
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void test_グリッドが異なれば例外() {
+            double[] all = samples(100);
+            PartialAggregate.of(Kde1dSource.of(all), -5, 5, 64)
+                    .merge(PartialAggregate.of(Kde1dSource.of(all), -5, 5, 65));
+        }
+
+        @Test(expected = CalculationException.class)
+        public void test_区間の外のサンプルは例外() {
+            PartialAggregate.of(Kde1dSource.of(new double[] { 0d, 6d }), -5, 5, 64);
+        }
+    }
+
+    public static class 評価に関する {
+
+        @Test
+        public void test_密度は線形ビニングによる評価と一致する() {
+            double[] all = samples(2000);
+            EvaluationGrid grid = EvaluationGrid.of(-5, 5, 1024);
+            double bandwidth = SampleSummary.of(all).normalReferenceBandwidth();
+            double[] expected = GaussianBinnedKde1dCalculator.evaluate(all, grid, bandwidth);
+
+            double[][] actual = PartialAggregate.of(Kde1dSource.of(Arrays.copyOfRange(all, 0, 700)), -5, 5, 1024)
+                    .merge(PartialAggregate.of(Kde1dSource.of(Arrays.copyOfRange(all, 700, 2000)), -5, 5, 1024))
+                    .evaluate().columns();
+            assertThat(actual[0], is(grid.points()));
+            for (int i = 0; i < expected.length; i++) {
+                assertThat(actual[1][i], is(closeTo(expected[i], 1E-9)));
+            }
+        }
+
+        @Test(expected = CalculationException.class)
+        public void test_空の部分集計は評価できない() {
+            PartialAggregate.of(Kde1dSource.of(new double[0]), -5, 5, 64).evaluate();
+        }
+    }
+
+    public static class 読み書きに関する {
+
+        @Test
+        public void test_書き込んだ部分集計が読み込める() throws IOException {
+            double[] values = samples(500);
+            double[] weights = new double[values.length];
+            Arrays.fill(weights, 0.5);
+            PartialAggregate partial = PartialAggregate.of(Kde1dSource.weighted(values, weights), -5, 5, 300);
+
+            Path file = Files.createTempFile("kde1d-partial-test", PartialAggregate.SUFFIX);
+            try {
+                partial.write(file);
+                PartialAggregate read = PartialAggregate.read(file);
+                assertThat(read.bins(), is(partial.bins()));
+                assertThat(read.summary().describe(), is(partial.summary().describe()));
+                assertThat(read.summary().isWeighted(), is(true));
+            } finally {
+                Files.delete(file);
+            }
+        }
+
+        @Test(expected = IOException.class)
+        public void test_形式が不正なファイルは例外() throws IOException {
+            Path file = Files.createTempFile("kde1d-partial-test", PartialAggregate.SUFFIX);
+            try {
+                Files.write(file, new byte[100]);
+                PartialAggregate.read(file);
+            } finally {
+                Files.delete(file);
+            }
+        }
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright © 2026 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+package matsu.num.statistics.kdeapp.kde1d;
+
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.Supplier;
+
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+
+import matsu.num.statistics.kdeapp.kde1d.command.GridPoints;
+import matsu.num.statistics.kdeapp.kde1d.command.PlotRange;
+import matsu.num.statistics.kdeapp.kde1d.exception.CalculationException;
+
+/**
+ * {@link PlotInterval} のテスト.
+ */
+@RunWith(Enclosed.class)
+final class PlotIntervalTest {
+
+    public static class 区間の解決に関する {
+
+        private final double[] source = { 0d, 1d, 2d, 3d, 4d, 5d, 6d, 7d, 8d, 100d };
+        private final SampleSummary summary = SampleSummary.of(source);
+        private final Supplier<DoubleUnaryOperator> sketch = Kde1dSource.of(source)::quantileFunction;
+
+        @Test
+        public void test_デフォルトは範囲の半分の余白() {
+            PlotInterval interval = PlotInterval.resolve(PlotRange.data(), summary, 1d, sketch);
+            assertThat(interval.lower(), is(-50d));
+            assertThat(interval.upper(), is(150d));
+        }
+
+        @Test
+        public void test_バンド幅を単位とする余白() {
+            PlotInterval interval = PlotInterval.resolve(
+                    PlotRange.data().withPadBandwidths(3d), summary, 0.5, sketch);
+            assertThat(interval.lower(), is(-1.5));
+            assertThat(interval.upper(), is(101.5));
+        }
+
+        @Test
+        public void test_分位点による区間は外れ値の影響を受けない() {
+            PlotInterval interval = PlotInterval.resolve(
+                    PlotRange.quantile(0.1).withPadBandwidths(0d), summary, 1d, sketch);
+            assertThat(interval.lower(), is(0d));
+            assertThat(interval.upper(), is(8d));
+        }
+
+        @Test
+        public void test_固定の区間() {
+            PlotInterval interval = PlotInterval.resolve(PlotRange.fixed(-1d, 2d), summary, 1d, sketch);
+            assertThat(interval.lower(), is(-1d));
+            assertThat(interval.upper(), is(2d));
+            assertThat(interval.contains(summary.min(), summary.max()), is(false));
+        }
+
+        @Test
+        public void test_分位点以外ではスケッチを計算しない() {
+            Supplier<DoubleUnaryOperator> failing = () -> {
+                throw new AssertionError();
+            };
+            PlotInterval.resolve(PlotRange.data(), summary, 1d, failing);
+            PlotInterval.resolve(PlotRange.fixed(0d, 1d), summary, 1d, failing);
+        }
+
+        @Test
+        public void test_重み付きの分位点は重みを度数とする() {
+            double[] values = { 0d, 1d, 2d, 100d };
+            double[] weights = { 1d, 8d, 2d, 1d };
+            Kde1dSource weighted = Kde1dSource.weighted(values, weights);
+            PlotInterval interval = PlotInterval.resolve(
+                    PlotRange.quantile(0.1).withPadBandwidths(0d),
+                    weighted.summary(), 1d, weighted::quantileFunction);
+            assertThat(interval.lower(), is(1d));
+            assertThat(interval.upper(), is(2d));
+        }
+    }
+
+    public static class グリッドへの変換に関する {
+
+        @Test(expected = CalculationException.class)
+        public void test_空の区間は例外() {
+            double[] source = { 1d, 1d, 1d, 1d, 2d };
+            PlotInterval.resolve(
+                    PlotRange.quantile(0.25), SampleSummary.of(source), 1d,
+                    Kde1dSource.of(source)::quantileFunction)
+                    .toGrid(1d, GridPoints.fixed(EvaluationGrid.DEFAULT_SIZE));
+        }
+    }
+}
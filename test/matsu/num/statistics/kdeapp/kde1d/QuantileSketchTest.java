@@ -0,0 +1,100 @@
+/*
+ * Copyright © 2026 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+package matsu.num.statistics.kdeapp.kde1d;
+
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+
+/**
+ * {@link QuantileSketch} のテスト.
+ */
+@RunWith(Enclosed.class)
+final class QuantileSketchTest {
+
+    public static class 少数のサンプルに関する {
+
+        @Test
+        public void test_容量未満では厳密() {
+            QuantileSketch sketch = QuantileSketch.of(new double[] { 5d, 1d, 4d, 2d, 3d });
+            assertThat(sketch.quantile(0d), is(1d));
+            assertThat(sketch.quantile(0.5), is(3d));
+            assertThat(sketch.quantile(0.79), is(4d));
+            assertThat(sketch.quantile(1d), is(5d));
+        }
+
+        @Test
+        public void test_infとNaNは無視される() {
+            QuantileSketch sketch = QuantileSketch.of(
+                    new double[] { Double.NaN, 1d, Double.NEGATIVE_INFINITY, 2d });
+            assertThat(sketch.count(), is(2L));
+            assertThat(sketch.quantile(0d), is(1d));
+        }
+
+        @Test(expected = IllegalStateException.class)
+        public void test_空のスケッチは例外() {
+            new QuantileSketch().quantile(0.5);
+        }
+    }
+
+    public static class 多数のサンプルに関する {
+
+        private double[] source;
+        private double[] sorted;
+
+        @Before
+        public void before_ソースの準備() {
+            Random random = new Random(3L);
+            source = new double[200_000];
+            for (int i = 0; i < source.length; i++) {
+                source[i] = Math.tan(Math.PI * (random.nextDouble() - 0.5));
+            }
+            sorted = source.clone();
+            Arrays.sort(sorted);
+        }
+
+        @Test
+        public void test_順位の誤差は1パーセント以内() {
+            assertRankError(QuantileSketch.of(source));
+        }
+
+        @Test
+        public void test_併合したスケッチの順位の誤差は1パーセント以内() {
+            QuantileSketch sketch = new QuantileSketch();
+            for (int part = 0; part < 4; part++) {
+                int from = source.length * part / 4;
+                int to = source.length * (part + 1) / 4;
+                sketch.combine(QuantileSketch.of(Arrays.copyOfRange(source, from, to)));
+            }
+            assertThat(sketch.count(), is((long) source.length));
+            assertRankError(sketch);
+        }
+
+        @Test
+        public void test_同じ列に対して結果は一致する() {
+            assertThat(QuantileSketch.of(source).quantile(0.3),
+                    is(QuantileSketch.of(source).quantile(0.3)));
+        }
+
+        private void assertRankError(QuantileSketch sketch) {
+            for (double p : new double[] { 0.001, 0.01, 0.1, 0.5, 0.9, 0.99, 0.999 }) {
+                double q = sketch.quantile(p);
+                int rank = Arrays.binarySearch(sorted, q);
+                assertThat(rank, is(greaterThanOrEqualTo(0)));
+                assertThat(Math.abs(rank - p * source.length), is(lessThan(0.01 * source.length)));
+            }
+        }
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright © 2026 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+package matsu.num.statistics.kdeapp.kde1d;
+
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Comparator;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+
+/**
+ * {@link ResultCache} のテスト.
+ */
+@RunWith(Enclosed.class)
+final class ResultCacheTest {
+
+    public static class 保存と参照に関する {
+
+        private Path workDir;
+        private Path cacheDir;
+        private Path input;
+
+        private final WritableKde1dResult result =
+                WritableKde1dResult.of(new double[] { 0d, 0.5, 1d }, new double[] { 0.25, 0.5, 0.25 });
+        private final SampleSummary summary = SampleSummary.of(new double[] { 0d, 0.5, 1d });
+
+        @Before
+        public void before_作業ディレクトリの準備() throws IOException {
+            workDir = Files.createTempDirectory("kde1d-cache-test");
+            cacheDir = workDir.resolve("cache");
+            input = workDir.resolve("input.txt");
+            Files.writeString(input, "0\n0.5\n1\n");
+        }
+
+        @After
+        public void after_作業ディレクトリの削除() throws IOException {
+            deleteDir(workDir);
+        }
+
+        @Test
+        public void test_保存した結果と要約統計量が参照できる() {
+            assertThat(cache("p").lookup().isPresent(), is(false));
+            cache("p").store(result, summary);
+
+            Optional<ResultCache.Entry> entry = cache("p").lookup();
+            assertThat(entry.isPresent(), is(true));
+            assertThat(entry.get().result().columns(), is(result.columns()));
+            assertThat(entry.get().summary(), is(summary.describe()));
+        }
+
+        @Test
+        public void test_パラメータが異なればキャッシュミス() {
+            cache("p").store(result, summary);
+            assertThat(cache("q").lookup().isPresent(), is(false));
+        }
+
+        @Test
+        public void test_入力の内容が変わればキャッシュミス() throws IOException {
+            cache("p").store(result, summary);
+            Files.writeString(input, "0\n0.5\n1\n2\n");
+            assertThat(cache("p").lookup().isPresent(), is(false));
+        }
+
+        @Test
+        public void test_上限を超えると最後に利用されたのが古いものから削除される() throws IOException {
+            // 1エントリのサイズを測る
+            cache("size").store(result, summary);
+            long entrySize;
+            try (Stream<Path> files = Files.list(cacheDir)) {
+                entrySize = files.mapToLong(ResultCacheTest::size).sum();
+            }
+            deleteDir(cacheDir);
+
+            long maxBytes = 2 * entrySize + entrySize / 2;
+            ResultCache.directory(cacheDir, maxBytes, input, "a").store(result, summary);
+            ResultCache.directory(cacheDir, maxBytes, input, "b").store(result, summary);
+            setAllModifiedTimes(FileTime.fromMillis(1_000_000L));
+            // a を参照して最後に利用されたものとする
+            assertThat(ResultCache.directory(cacheDir, maxBytes, input, "a").lookup().isPresent(), is(true));
+
+            ResultCache.directory(cacheDir, maxBytes, input, "c").store(result, summary);
+
+            assertThat(ResultCache.directory(cacheDir, maxBytes, input, "a").lookup().isPresent(), is(true));
+            assertThat(ResultCache.directory(cacheDir, maxBytes, input, "b").lookup().isPresent(), is(false));
+            assertThat(ResultCache.directory(cacheDir, maxBytes, input, "c").lookup().isPresent(), is(true));
+        }
+
+        @Test
+        public void test_壊れたエントリはキャッシュミス() throws IOException {
+            cache("p").store(result, summary);
+            try (Stream<Path> files = Files.list(cacheDir)) {
+                for (Path file : files.filter(f -> f.toString().endsWith(ResultCache.RESULT_SUFFIX)).toList()) {
+                    Files.write(file, new byte[] { 1, 2, 3 });
+                }
+            }
+            assertThat(cache("p").lookup().isPresent(), is(false));
+        }
+
+        private ResultCache cache(String parameters) {
+            return ResultCache.directory(cacheDir, 1L << 20, input, parameters);
+        }
+
+        private void setAllModifiedTimes(FileTime time) throws IOException {
+            try (Stream<Path> files = Files.list(cacheDir)) {
+                for (Path file : files.toList()) {
+                    Files.setLastModifiedTime(file, time);
+                }
+            }
+        }
+    }
+
+    public static class 無効なキャッシュに関する {
+
+        @Test
+        public void test_常にキャッシュミス() {
+            ResultCache cache = ResultCache.disabled();
+            cache.store(WritableKde1dResult.of(new double[1], new double[1]), SampleSummary.of(new double[] { 1d }));
+            assertThat(cache.lookup().isPresent(), is(false));
+        }
+    }
+
+    private static long size(Path path) {
+        try {
+            return Files.size(path);
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    private static void deleteDir(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return;
+        }
+        try (Stream<Path> walk = Files.walk(path)) {
+            for (Path p : walk.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(p);
+            }
+        }
+    }
+}
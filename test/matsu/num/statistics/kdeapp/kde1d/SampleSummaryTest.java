@@ -0,0 +1,140 @@
+/*
+ * Copyright © 2026 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+package matsu.num.statistics.kdeapp.kde1d;
+
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+
+import matsu.num.statistics.kdeapp.kde1d.exception.CalculationException;
+
+/**
+ * {@link SampleSummary} のテスト.
+ */
+@RunWith(Enclosed.class)
+final class SampleSummaryTest {
+
+    public static class 要約統計量の計算に関する {
+
+        @Test
+        public void test_値の検証() {
+            SampleSummary summary = SampleSummary.of(new double[] { 1d, 2d, 3d, 4d });
+
+            assertThat(summary.count(), is(4L));
+            assertThat(summary.min(), is(1d));
+            assertThat(summary.max(), is(4d));
+            assertThat(summary.mean(), is(closeTo(2.5, 1E-15)));
+            assertThat(summary.sumOfSquaredDeviations(), is(closeTo(5d, 1E-14)));
+        }
+
+        @Test
+        public void test_infやNaNは件数のみ数える() {
+            SampleSummary summary = SampleSummary.of(
+                    new double[] { 1d, Double.NaN, 3d, Double.NEGATIVE_INFINITY });
+
+            assertThat(summary.count(), is(2L));
+            assertThat(summary.nonFiniteCount(), is(2L));
+            assertThat(summary.min(), is(1d));
+            assertThat(summary.max(), is(3d));
+        }
+
+        @Test(expected = CalculationException.class)
+        public void test_空の場合は検証で例外() {
+            SampleSummary.of(new double[0]).requireValid();
+        }
+
+        @Test(expected = CalculationException.class)
+        public void test_NaNを含む場合は検証で例外() {
+            SampleSummary.of(new double[] { 1d, Double.NaN }).requireValid();
+        }
+    }
+
+    public static class 重み付きの要約統計量に関する {
+
+        @Test
+        public void test_重みを度数として展開した値と一致する() {
+            double[] values = { 1.5, -2d, 3d, 10d };
+            double[] weights = { 2d, 1d, 3d, 4d };
+            double[] expanded = { 1.5, 1.5, -2d, 3d, 3d, 3d, 10d, 10d, 10d, 10d };
+            SampleSummary expected = SampleSummary.of(expanded);
+            SampleSummary summary = SampleSummary.of(values, weights);
+
+            assertThat(summary.isWeighted(), is(true));
+            assertThat(summary.count(), is(4L));
+            assertThat(summary.totalWeight(), is(10d));
+            assertThat(summary.min(), is(-2d));
+            assertThat(summary.max(), is(10d));
+            assertThat(summary.mean(), is(closeTo(expected.mean(), 1E-14)));
+            assertThat(summary.sumOfSquaredDeviations(),
+                    is(closeTo(expected.sumOfSquaredDeviations(), 1E-12)));
+            assertThat(summary.normalReferenceBandwidth(),
+                    is(closeTo(expected.normalReferenceBandwidth(), 1E-14)));
+        }
+
+        @Test
+        public void test_重みなしでは総重みは件数() {
+            SampleSummary summary = SampleSummary.of(new double[] { 1d, 2d, 3d });
+            assertThat(summary.isWeighted(), is(false));
+            assertThat(summary.totalWeight(), is(3d));
+        }
+
+        @Test
+        public void test_分割して併合しても一致する() {
+            double[] values = new double[100];
+            double[] weights = new double[100];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = Math.cos(i * 0.7) * 100;
+                weights[i] = 0.5 + i % 3;
+            }
+            SampleSummary expected = SampleSummary.of(values, weights);
+
+            SampleSummary.Accumulator left = new SampleSummary.Accumulator();
+            SampleSummary.Accumulator right = new SampleSummary.Accumulator();
+            for (int i = 0; i < values.length; i++) {
+                (i < 37 ? left : right).accept(values[i], weights[i]);
+            }
+            SampleSummary summary = left.combine(right).summary();
+
+            assertThat(summary.totalWeight(), is(closeTo(expected.totalWeight(), 1E-12)));
+            assertThat(summary.mean(), is(closeTo(expected.mean(), 1E-12)));
+            assertThat(summary.sumOfSquaredDeviations(),
+                    is(closeTo(expected.sumOfSquaredDeviations(), 1E-8)));
+        }
+    }
+
+    public static class アキュムレータの併合に関する {
+
+        @Test
+        public void test_分割して併合しても一致する() {
+            double[] values = new double[1000];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = Math.cos(i * 0.7) * 100 + 1E6;
+            }
+            SampleSummary expected = SampleSummary.of(values);
+
+            for (int split : new int[] { 0, 1, 333, 999, 1000 }) {
+                SampleSummary.Accumulator left = new SampleSummary.Accumulator();
+                SampleSummary.Accumulator right = new SampleSummary.Accumulator();
+                for (int i = 0; i < values.length; i++) {
+                    (i < split ? left : right).accept(values[i]);
+                }
+                SampleSummary summary = left.combine(right).summary();
+
+                assertThat(summary.count(), is(expected.count()));
+                assertThat(summary.min(), is(expected.min()));
+                assertThat(summary.max(), is(expected.max()));
+                assertThat(summary.mean(), is(closeTo(expected.mean(), 1E-8)));
+                assertThat(summary.sumOfSquaredDeviations(),
+                        is(closeTo(expected.sumOfSquaredDeviations(), 1E-6)));
+            }
+        }
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright © 2026 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+package matsu.num.statistics.kdeapp.kde1d;
+
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+import java.util.List;
+
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+
+/**
+ * {@link StageProfiler} のテスト.
+ */
+@RunWith(Enclosed.class)
+final class StageProfilerTest {
+
+    public static class 計測を行うプロファイラに関する {
+
+        @Test
+        public void test_ステージは実行順に記録される() {
+            StageProfiler profiler = StageProfiler.recording();
+
+            int result = profiler.measure("first", () -> 1);
+            profiler.run("second", () -> {
+                double[] garbage = new double[1 << 16];
+                garbage[0] = 1d;
+            });
+
+            assertThat(result, is(1));
+            List<StageMetrics> records = profiler.records();
+            assertThat(records.stream().map(StageMetrics::stage).toList(),
+                    is(List.of("first", "second")));
+            assertThat(records.get(1).wallNanos(), is(greaterThanOrEqualTo(0L)));
+            assertThat(records.get(1).peakHeapBytes(), is(greaterThan(0L)));
+        }
+
+        @Test
+        public void test_ワーカースレッドの割り当ても計測される() {
+            StageProfiler profiler = StageProfiler.recording();
+            int size = 1 << 22;
+            profiler.run("worker", () -> {
+                Thread worker = new Thread(() -> {
+                    for (int i = 0; i < 8; i++) {
+                        double[] garbage = new double[size];
+                        garbage[0] = 1d;
+                    }
+                });
+                worker.start();
+                try {
+                    worker.join();
+                } catch (InterruptedException e) {
+                    throw new AssertionError(e);
+                }
+            });
+
+            long allocated = profiler.records().get(0).allocatedBytes();
+            assertThat(allocated, is(greaterThanOrEqualTo(8L * size * Double.BYTES)));
+        }
+
+        @Test
+        public void test_例外をスローしたステージは記録されない() {
+            StageProfiler profiler = StageProfiler.recording();
+            try {
+                profiler.run("failure", () -> {
+                    throw new IllegalStateException();
+                });
+                throw new AssertionError("no exception");
+            } catch (IllegalStateException expected) {
+                // OK
+            }
+            assertThat(profiler.records(), is(empty()));
+        }
+
+        @Test
+        public void test_JSON表現() {
+            StageMetrics metrics = new StageMetrics("lo\"ad", 1L, 2L, 3L, 4L, 5L);
+            assertThat(metrics.toJson(), is(
+                    "{\"stage\": \"lo\\\"ad\", \"wallNanos\": 1, \"processCpuNanos\": 2, "
+                            + "\"threadCpuNanos\": 3, \"allocatedBytes\": 4, \"peakHeapBytes\": 5}"));
+        }
+    }
+
+    public static class 何も計測しないプロファイラに関する {
+
+        @Test
+        public void test_記録されない() {
+            StageProfiler profiler = StageProfiler.nullProfiler();
+
+            assertThat(profiler.measure("stage", () -> "result"), is("result"));
+            assertThat(profiler.records(), is(empty()));
+        }
+    }
+}
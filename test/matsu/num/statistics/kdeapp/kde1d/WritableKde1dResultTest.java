@@ -10,10 +10,14 @@ package matsu.num.statistics.kdeapp.kde1d;
 import static org.hamcrest.MatcherAssert.*;
 import static org.hamcrest.Matchers.*;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.PrintWriter;
 import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.Iterator;
+import java.util.List;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -37,7 +41,7 @@ final class WritableKde1dResultTest {
         @Before
         public void before_結果を準備() {
             result = new GaussianStandardKde1dCalculator()
-                    .calc(new double[] { 0d, 1d });
+                    .calc(Kde1dSource.of(new double[] { 0d, 1d }));
         }
 
         @Before
@@ -87,7 +91,7 @@ final class WritableKde1dResultTest {
         @Before
         public void before_結果を準備() {
             result = new GaussianStandardKde1dCalculator()
-                    .calc(new double[] { 0d, 1d });
+                    .calc(Kde1dSource.of(new double[] { 0d, 1d }));
         }
 
         @Before
@@ -146,7 +150,7 @@ final class WritableKde1dResultTest {
         @Before
         public void before_結果を準備() {
             result = new GaussianStandardKde1dCalculator()
-                    .calc(new double[] { 0d, 1d });
+                    .calc(Kde1dSource.of(new double[] { 0d, 1d }));
         }
 
         @Before
@@ -194,6 +198,164 @@ final class WritableKde1dResultTest {
         }
     }
 
+    public static class ライターによる出力に関する {
+
+        private WritableKde1dResult result;
+
+        @Before
+        public void before_結果を準備() {
+            EvaluationGrid grid = EvaluationGrid.of(-3d, 3d, 1000);
+            double[] density = new double[grid.size()];
+            for (int i = 0; i < density.length; i++) {
+                double x = grid.points()[i];
+                density[i] = Math.exp(-x * x / 2) / Math.sqrt(2 * Math.PI);
+            }
+            result = WritableKde1dResult.of(grid, density);
+        }
+
+        @Test
+        public void test_PrintWriterによる出力と値が一致_ラベル有り() throws IOException {
+            WritingFormatter formatter = new WritingFormatter.Builder()
+                    .setSeparator(',')
+                    .enableLabel("//")
+                    .build();
+            assertSameValues(formatter, ',');
+        }
+
+        @Test
+        public void test_PrintWriterによる出力と値が一致_ラベル無し() throws IOException {
+            WritingFormatter formatter = new WritingFormatter.Builder()
+                    .setSeparator('\t')
+                    .disableLabel()
+                    .build();
+            assertSameValues(formatter, '\t');
+        }
+
+        @Test
+        public void test_非ASCIIの区切り文字() throws IOException {
+            WritingFormatter formatter = new WritingFormatter.Builder()
+                    .setSeparator('\u3000')
+                    .enableLabel('#')
+                    .build();
+            assertSameValues(formatter, '\u3000');
+        }
+
+        @Test
+        public void test_小さいバッファでも同一の出力() throws IOException {
+            WritingFormatter formatter = new WritingFormatter.Builder()
+                    .enableLabel('#')
+                    .build();
+
+            ByteArrayOutputStream expected = new ByteArrayOutputStream();
+            result.write(new DelimitedTextWriter(expected, StandardCharsets.UTF_8), formatter);
+            ByteArrayOutputStream actual = new ByteArrayOutputStream();
+            result.write(new DelimitedTextWriter(actual, StandardCharsets.UTF_8, 64), formatter);
+
+            assertThat(actual.toByteArray(), is(expected.toByteArray()));
+        }
+
+        private void assertSameValues(WritingFormatter formatter, char separator) throws IOException {
+            String[] expected = resultToStrings(result, formatter);
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            result.write(new DelimitedTextWriter(out, StandardCharsets.UTF_8), formatter);
+            String[] actual = new String(out.toByteArray(), StandardCharsets.UTF_8).split("\\R");
+
+            assertThat(actual.length, is(expected.length));
+            for (int i = 0; i < expected.length; i++) {
+                String[] expectedValues = expected[i].split(String.valueOf(separator));
+                String[] actualValues = actual[i].split(String.valueOf(separator));
+                assertThat(actualValues.length, is(expectedValues.length));
+                for (int j = 0; j < expectedValues.length; j++) {
+                    if (expectedValues[j].startsWith("#") || expectedValues[j].startsWith("/")
+                            || expectedValues[j].equals("density")) {
+                        // ラベル行
+                        assertThat(actualValues[j], is(expectedValues[j]));
+                    } else {
+                        assertThat(
+                                Double.parseDouble(actualValues[j]),
+                                is(Double.parseDouble(expectedValues[j])));
+                    }
+                }
+            }
+        }
+    }
+
+    public static class ライブラリによる結果のライターによる出力に関する {
+
+        @Test
+        public void test_アプリ内部の結果と同一の形式で出力される() throws IOException {
+            WritableKde1dResult result = new GaussianStandardKde1dCalculator()
+                    .calc(Kde1dSource.of(new double[] { 0d, 1d, 3d }));
+            double[][] columns = result.columns();
+            WritableKde1dResult array = WritableKde1dResult.of(columns[0], columns[1]);
+
+            WritingFormatter formatter = new WritingFormatter.Builder()
+                    .setSeparator(',')
+                    .enableLabel("//")
+                    .build();
+            ByteArrayOutputStream expected = new ByteArrayOutputStream();
+            array.write(new DelimitedTextWriter(expected, StandardCharsets.UTF_8), formatter);
+            ByteArrayOutputStream actual = new ByteArrayOutputStream();
+            result.write(new DelimitedTextWriter(actual, StandardCharsets.UTF_8), formatter);
+
+            assertThat(actual.toByteArray(), is(expected.toByteArray()));
+            assertThat(new String(actual.toByteArray(), StandardCharsets.UTF_8),
+                    startsWith("//x,density"));
+            assertThat(resultToStrings(result, formatter), is(resultToStrings(array, formatter)));
+        }
+    }
+
+    public static class 横に並べた結果の出力に関する {
+
+        private WritableKde1dResult wide;
+
+        @Before
+        public void before_結果を準備() {
+            EvaluationGrid longGrid = EvaluationGrid.of(0d, 3d, 4);
+            EvaluationGrid shortGrid = EvaluationGrid.of(10d, 11d, 2);
+            wide = WritableKde1dResult.wide(
+                    List.of(
+                            WritableKde1dResult.of(longGrid, new double[] { 0.5, 0.25, 0.125, 0.0625 }),
+                            WritableKde1dResult.of(shortGrid, new double[] { 1d, 2d })),
+                    new int[] { 3, 1 });
+        }
+
+        @Test
+        public void test_ラベルと短い列の空フィールド() {
+            WritingFormatter formatter = new WritingFormatter.Builder()
+                    .setSeparator(',')
+                    .enableLabel('#')
+                    .build();
+            assertThat(resultToStrings(wide, formatter), is(new String[] {
+                    "#x_3,density_3,x_1,density_1",
+                    "0.0,0.5,10.0,1.0",
+                    "1.0,0.25,11.0,2.0",
+                    "2.0,0.125,,",
+                    "3.0,0.0625,,"
+            }));
+        }
+
+        @Test
+        public void test_ライターによる出力と一致() throws IOException {
+            WritingFormatter formatter = new WritingFormatter.Builder()
+                    .setSeparator('\t')
+                    .enableLabel('#')
+                    .build();
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            wide.write(new DelimitedTextWriter(out, StandardCharsets.UTF_8), formatter);
+            String[] actual = new String(out.toByteArray(), StandardCharsets.UTF_8).split("\\R");
+
+            assertThat(actual, is(resultToStrings(wide, formatter)));
+        }
+
+        @Test
+        public void test_1列のみなら元の結果() {
+            WritableKde1dResult single = WritableKde1dResult.of(EvaluationGrid.of(0d, 1d, 2), new double[2]);
+            assertThat(WritableKde1dResult.wide(List.of(single), new int[] { 2 }), is(sameInstance(single)));
+        }
+    }
+
     private static String[] resultToStrings(
             WritableKde1dResult result, WritingFormatter parameter) {
         StringWriter sw = new StringWriter();
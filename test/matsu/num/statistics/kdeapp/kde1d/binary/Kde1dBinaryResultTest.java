@@ -0,0 +1,88 @@
+/*
+ * Copyright © 2026 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+package matsu.num.statistics.kdeapp.kde1d.binary;
+
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+import java.io.IOException;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+
+/**
+ * {@link Kde1dBinaryResult} のテスト.
+ */
+@RunWith(Enclosed.class)
+final class Kde1dBinaryResultTest {
+
+    public static class 書き込みと読み込みに関する {
+
+        private final Path outputDir = Path.of("test/output/binary");
+
+        @Test
+        public void test_書き込んだ値がそのまま読み込まれる() throws IOException {
+            // 書き込みバッファをまたぐ大きさ
+            int size = 10000;
+            double[] x = new double[size];
+            double[] density = new double[size];
+            for (int i = 0; i < size; i++) {
+                x[i] = -1 + 0.001 * i;
+                density[i] = Math.exp(-x[i] * x[i]);
+            }
+
+            Path file = write("result.bin", x, density);
+            assertThat(Files.size(file), is((long) Kde1dBinaryResult.HEADER_SIZE + 16L * size));
+
+            Kde1dBinaryResult result = Kde1dBinaryResult.map(file);
+            assertThat(result.size(), is(size));
+            DoubleBuffer points = result.points();
+            DoubleBuffer values = result.density();
+            for (int i = 0; i < size; i++) {
+                assertThat(points.get(i), is(x[i]));
+                assertThat(values.get(i), is(density[i]));
+            }
+        }
+
+        @Test
+        public void test_ビューは読み取り専用() throws IOException {
+            Path file = write("readonly.bin", new double[] { 0, 1 }, new double[] { 0.5, 0.5 });
+            assertThat(Kde1dBinaryResult.map(file).points().isReadOnly(), is(true));
+        }
+
+        @Test(expected = IOException.class)
+        public void test_形式が不正なファイルは例外() throws IOException {
+            Files.createDirectories(outputDir);
+            Path file = outputDir.resolve("illegal.bin");
+            Files.writeString(file, "x\tdensity\n0.0\t0.5\n");
+            Kde1dBinaryResult.map(file);
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void test_長さが異なる配列は書き込めない() throws IOException {
+            write("mismatch.bin", new double[2], new double[3]);
+        }
+
+        private Path write(String name, double[] x, double[] density) throws IOException {
+            Files.createDirectories(outputDir);
+            Path file = outputDir.resolve(name);
+            try (FileChannel channel = FileChannel.open(file,
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                Kde1dBinaryResult.write(channel, x, density);
+            }
+            return file;
+        }
+    }
+}
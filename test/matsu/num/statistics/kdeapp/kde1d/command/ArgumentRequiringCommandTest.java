@@ -65,5 +65,41 @@ final class ArgumentRequiringCommandTest {
         public void test_セパレータは空文字は不可() {
             SEPARATOR.convertArg("");
         }
+
+        @Test
+        public void test_評価エンジンの変換() {
+            assertThat(ENGINE.convertArg("binned"), is(KdeEngine.BINNED));
+        }
+
+        @Test(expected = InvalidParameterException.class)
+        public void test_未定義の評価エンジンは不可() {
+            ENGINE.convertArg("unknown");
+        }
+
+        @Test
+        public void test_入力形式の変換() {
+            assertThat(INPUT_FORMAT.convertArg("f64be"), is(InputFormat.FLOAT64_BE));
+        }
+
+        @Test
+        public void test_出力形式の変換() {
+            assertThat(OUTPUT_FORMAT.convertArg("binary"), is(OutputFormat.BINARY));
+        }
+
+        @Test(expected = InvalidParameterException.class)
+        public void test_未定義の出力形式は不可() {
+            OUTPUT_FORMAT.convertArg("csv");
+        }
+
+        @Test
+        public void test_グリッド点数の変換() {
+            assertThat(GRID_POINTS.convertArg("4096").isAuto(), is(false));
+            assertThat(GRID_POINTS.convertArg("auto").isAuto(), is(true));
+        }
+
+        @Test(expected = InvalidParameterException.class)
+        public void test_グリッド点数は2以上() {
+            GRID_POINTS.convertArg("1");
+        }
     }
 }
@@ -0,0 +1,69 @@
+/*
+ * Copyright © 2026 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+package matsu.num.statistics.kdeapp.kde1d.command;
+
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+
+/**
+ * {@link ColumnSelection} のテスト.
+ */
+@RunWith(Enclosed.class)
+final class ColumnSelectionTest {
+
+    public static class 文字列表現の解釈のテスト {
+
+        @Test
+        public void test_単一の列() {
+            ColumnSelection selection = ColumnSelection.from("2");
+            assertThat(selection.size(), is(1));
+            assertThat(selection.columns(), is(new int[] { 2 }));
+        }
+
+        @Test
+        public void test_複数の列は指定順に保持される() {
+            ColumnSelection selection = ColumnSelection.from("3, 1,4");
+            assertThat(selection.columns(), is(new int[] { 3, 1, 4 }));
+            assertThat(selection.toString(), is("3,1,4"));
+        }
+
+        @Test
+        public void test_不正な文字列はnull() {
+            assertThat(ColumnSelection.from(""), is(nullValue()));
+            assertThat(ColumnSelection.from("0"), is(nullValue()));
+            assertThat(ColumnSelection.from("1,,2"), is(nullValue()));
+            assertThat(ColumnSelection.from("1,2,1"), is(nullValue()));
+            assertThat(ColumnSelection.from("a"), is(nullValue()));
+            assertThat(ColumnSelection.from(String.valueOf(ColumnSelection.MAX_COLUMN + 1)), is(nullValue()));
+        }
+    }
+
+    public static class ファクトリのテスト {
+
+        @Test(expected = IllegalArgumentException.class)
+        public void test_重複は例外() {
+            ColumnSelection.of(1, 1);
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void test_空は例外() {
+            ColumnSelection.of();
+        }
+
+        @Test
+        public void test_返す配列は防御的コピー() {
+            ColumnSelection selection = ColumnSelection.of(1, 2);
+            selection.columns()[0] = 5;
+            assertThat(selection.columns(), is(new int[] { 1, 2 }));
+        }
+    }
+}
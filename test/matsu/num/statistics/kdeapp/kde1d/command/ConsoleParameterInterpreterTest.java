@@ -13,6 +13,7 @@ import static matsu.num.statistics.kdeapp.kde1d.command.rule.CommandAssignmentRu
 import static org.hamcrest.MatcherAssert.*;
 import static org.hamcrest.Matchers.*;
 
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
@@ -73,6 +74,13 @@ final class ConsoleParameterInterpreterTest {
             String[] args = { "--dummy-no-arg", "--dummy-no-arg" };
             ConsoleParameterInterpreter.from(args, nullRule());
         }
+
+        @Test(expected = InvalidParameterException.class)
+        public void test_評価エンジンとストリーミングモードは併用できない() {
+
+            String[] args = { "-f", "test.txt", "--engine", "binned", "--streaming" };
+            ConsoleParameterInterpreter.from(args);
+        }
     }
 
     public static class 解釈結果の取得に関するテスト {
@@ -109,4 +117,34 @@ final class ConsoleParameterInterpreterTest {
             assertThat(interpretation.contains(ECHO_OFF), is(true));
         }
     }
+
+    public static class ファイルパスの解決に関するテスト {
+
+        private final Path base = Path.of("work").toAbsolutePath();
+
+        @Test
+        public void test_ファイルパスの引数のみが解決される() {
+            String[] args = {
+                    "-f", "in.txt", "--label-header", "x", "--echo-off",
+                    "-out", base.resolve("out.txt").toString() };
+            String[] resolved = ConsoleParameterInterpreter.resolveFilePaths(args, base);
+
+            assertThat(resolved, is(new String[] {
+                    "-f", base.resolve("in.txt").toString(), "--label-header", "x", "--echo-off",
+                    "-out", base.resolve("out.txt").toString() }));
+        }
+
+        @Test
+        public void test_標準入力の指定はそのまま残す() {
+            String[] args = { "-f", "-", "-out", "-" };
+            assertThat(ConsoleParameterInterpreter.resolveFilePaths(args, base), is(new String[] {
+                    "-f", "-", "-out", base.resolve("-").toString() }));
+        }
+
+        @Test
+        public void test_引数が不足するコマンドはそのまま残す() {
+            String[] args = { "--echo-off", "-f" };
+            assertThat(ConsoleParameterInterpreter.resolveFilePaths(args, base), is(args));
+        }
+    }
 }
@@ -0,0 +1,75 @@
+/*
+ * Copyright © 2026 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+package matsu.num.statistics.kdeapp.kde1d.command;
+
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+
+/**
+ * {@link GridPoints} のテスト.
+ */
+@RunWith(Enclosed.class)
+final class GridPointsTest {
+
+    public static class 文字列表現の解釈のテスト {
+
+        @Test
+        public void test_整数は固定の点数() {
+            GridPoints points = GridPoints.from("4096");
+            assertThat(points.isAuto(), is(false));
+            assertThat(points.sizeFor(10d, 0.1), is(4096));
+        }
+
+        @Test
+        public void test_autoはデフォルトのバンド幅あたりの点数() {
+            GridPoints points = GridPoints.from("auto");
+            assertThat(points.isAuto(), is(true));
+            assertThat(points.sizeFor(10d, 0.1), is(801));
+        }
+
+        @Test
+        public void test_バンド幅あたりの点数の指定() {
+            assertThat(GridPoints.from("auto:2.5").sizeFor(10d, 0.1), is(251));
+        }
+
+        @Test
+        public void test_不正な文字列はnull() {
+            assertThat(GridPoints.from("1"), is(nullValue()));
+            assertThat(GridPoints.from("-5"), is(nullValue()));
+            assertThat(GridPoints.from(String.valueOf(GridPoints.MAX_POINTS + 1)), is(nullValue()));
+            assertThat(GridPoints.from("auto:0"), is(nullValue()));
+            assertThat(GridPoints.from("auto:NaN"), is(nullValue()));
+            assertThat(GridPoints.from("auto:"), is(nullValue()));
+            assertThat(GridPoints.from("automatic"), is(nullValue()));
+        }
+    }
+
+    public static class 自動の点数の制限のテスト {
+
+        private final GridPoints points = GridPoints.perBandwidth(8d);
+
+        @Test
+        public void test_下限() {
+            assertThat(points.sizeFor(1d, 10d), is(GridPoints.MIN_AUTO_POINTS));
+        }
+
+        @Test
+        public void test_上限() {
+            assertThat(points.sizeFor(1e10, 1e-3), is(GridPoints.MAX_AUTO_POINTS));
+        }
+
+        @Test
+        public void test_バンド幅が0の場合は上限() {
+            assertThat(points.sizeFor(1d, 0d), is(GridPoints.MAX_AUTO_POINTS));
+        }
+    }
+}
@@ -30,6 +30,11 @@ final class NoArgumentCommandTest {
         public void test_ECHO_OFFを含むことを確かめる() {
             assertThat(values(), containsInRelativeOrder(ECHO_OFF));
         }
+
+        @Test
+        public void test_SHOW_SUMMARYを含むことを確かめる() {
+            assertThat(values(), hasItem(SHOW_SUMMARY));
+        }
     }
 
     public static class オプションコマンドの文字列解釈のテスト {
@@ -46,6 +51,13 @@ final class NoArgumentCommandTest {
                     is(ECHO_OFF));
         }
 
+        @Test
+        public void test_summary() {
+            assertThat(
+                    interpret("--summary").get(),
+                    is(SHOW_SUMMARY));
+        }
+
         @Test
         public void test_未定義の場合() {
             assertThat(
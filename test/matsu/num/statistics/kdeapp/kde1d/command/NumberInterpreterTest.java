@@ -0,0 +1,71 @@
+/*
+ * Copyright © 2026 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+package matsu.num.statistics.kdeapp.kde1d.command;
+
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+
+/**
+ * {@link NumberInterpreter} のテスト.
+ */
+@RunWith(Enclosed.class)
+final class NumberInterpreterTest {
+
+    public static class 正の整数の解釈のテスト {
+
+        @Test
+        public void test_正の整数() {
+            assertThat(NumberInterpreter.positiveInteger("8"), is(8));
+        }
+
+        @Test
+        public void test_0は不正() {
+            assertThat(NumberInterpreter.positiveInteger("0"), is((Integer) null));
+        }
+
+        @Test
+        public void test_小数は不正() {
+            assertThat(NumberInterpreter.positiveInteger("1.5"), is((Integer) null));
+        }
+    }
+
+    public static class 正の有限な実数の解釈のテスト {
+
+        @Test
+        public void test_正の実数() {
+            assertThat(NumberInterpreter.positiveFiniteDouble("2.5"), is(2.5));
+        }
+
+        @Test
+        public void test_0は不正() {
+            assertThat(NumberInterpreter.positiveFiniteDouble("0"), is((Double) null));
+        }
+
+        @Test
+        public void test_無限大は不正() {
+            assertThat(NumberInterpreter.positiveFiniteDouble("Infinity"), is((Double) null));
+        }
+    }
+
+    public static class 非負の有限な実数の解釈のテスト {
+
+        @Test
+        public void test_0は正当() {
+            assertThat(NumberInterpreter.nonNegativeFiniteDouble("0"), is(0d));
+        }
+
+        @Test
+        public void test_負は不正() {
+            assertThat(NumberInterpreter.nonNegativeFiniteDouble("-1"), is((Double) null));
+        }
+    }
+}
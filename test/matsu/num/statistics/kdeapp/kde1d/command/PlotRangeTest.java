@@ -0,0 +1,79 @@
+/*
+ * Copyright © 2026 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+package matsu.num.statistics.kdeapp.kde1d.command;
+
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+
+/**
+ * {@link PlotRange} のテスト.
+ */
+@RunWith(Enclosed.class)
+final class PlotRangeTest {
+
+    public static class 文字列表現の解釈のテスト {
+
+        @Test
+        public void test_dataはデフォルトの指定() {
+            PlotRange range = PlotRange.from("data");
+            assertThat(range.isFixed(), is(false));
+            assertThat(range.isQuantile(), is(false));
+            assertThat(range.padBandwidths().isPresent(), is(false));
+        }
+
+        @Test
+        public void test_分位点による指定() {
+            PlotRange range = PlotRange.from("quantile:0.01");
+            assertThat(range.isQuantile(), is(true));
+            assertThat(range.tailProbability(), is(0.01));
+        }
+
+        @Test
+        public void test_固定の区間() {
+            PlotRange range = PlotRange.from("-3.5,1e2");
+            assertThat(range.isFixed(), is(true));
+            assertThat(range.lowerLimit(), is(-3.5));
+            assertThat(range.upperLimit(), is(100d));
+        }
+
+        @Test
+        public void test_不正な文字列はnull() {
+            assertThat(PlotRange.from("quantile:0.5"), is(nullValue()));
+            assertThat(PlotRange.from("quantile:0"), is(nullValue()));
+            assertThat(PlotRange.from("quantile:"), is(nullValue()));
+            assertThat(PlotRange.from("3,1"), is(nullValue()));
+            assertThat(PlotRange.from("0,Infinity"), is(nullValue()));
+            assertThat(PlotRange.from("1"), is(nullValue()));
+            assertThat(PlotRange.from("auto"), is(nullValue()));
+        }
+    }
+
+    public static class 余白の指定のテスト {
+
+        @Test
+        public void test_余白の指定() {
+            PlotRange range = PlotRange.quantile(0.01).withPadBandwidths(3d);
+            assertThat(range.padBandwidths().getAsDouble(), is(3d));
+            assertThat(range.tailProbability(), is(0.01));
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void test_固定の区間には余白を指定できない() {
+            PlotRange.fixed(0d, 1d).withPadBandwidths(3d);
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void test_負の余白は不可() {
+            PlotRange.data().withPadBandwidths(-1d);
+        }
+    }
+}